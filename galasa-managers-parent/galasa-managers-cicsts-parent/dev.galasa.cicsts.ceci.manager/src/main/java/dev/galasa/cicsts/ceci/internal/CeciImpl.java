@@ -26,7 +26,9 @@ import dev.galasa.cicsts.IExecInterfaceBlock;
 import dev.galasa.zos3270.FieldNotFoundException;
 import dev.galasa.zos3270.KeyboardLockedException;
 import dev.galasa.zos3270.TerminalInterruptedException;
+import dev.galasa.zos3270.TextNotFoundException;
 import dev.galasa.zos3270.TimeoutException;
+import dev.galasa.zos3270.Zos3270Exception;
 import dev.galasa.zos3270.spi.NetworkException;
 
 /**
@@ -54,12 +56,16 @@ public class CeciImpl implements ICeci {
     private static final String VARIABLE_TYPE_4_BYTE_PACKED = "P";
     private static final String VARIABLE_TYPE_8_BYTE_PACKED = "D";
     private static final String MESSAGE_DFHAC2206 = "DFHAC2206";
+    private static final String EIB_HEX_ID = "EIBTIME      = X'";
+    private static final long SCREEN_WAIT_TIMEOUT = 2000;
     
     private static final String WRONG_CICS_REGION = "Provided terminal does not belong to the correct CICS TS Region";
     
     private String command;
     private ICicsTerminal terminal;
     private final ICicsRegion cicsRegion;
+    // The HEX mode of each terminal, if known, to save checking it on the EIB screen every time
+    private final Map<ICicsTerminal, Boolean> hexMode = new HashMap<>();
     
     public CeciImpl(CeciManagerImpl manager, ICicsRegion cicsRegion) {
         this.cicsRegion = cicsRegion;
@@ -72,6 +78,7 @@ public class CeciImpl implements ICeci {
         if (ceciTerminal.getCicsRegion() != cicsRegion) {
             throw new CeciException(WRONG_CICS_REGION);
         }
+        hexMode.remove(ceciTerminal);
 	    try {
 	    	if (!this.terminal.isClearScreen()) {
                 this.terminal.resetAndClear();
@@ -116,7 +123,6 @@ public class CeciImpl implements ICeci {
             // Enter the command variable on the command line
             initialScreen().type(commandVariable).enter().waitForKeyboard();
             // Check for messages
-            terminal.pf9().waitForKeyboard();
             checkForSyntaxMessages();
             // Issue the command
             terminal.enter().waitForKeyboard();
@@ -384,11 +390,17 @@ public class CeciImpl implements ICeci {
             throw new CeciException(WRONG_CICS_REGION);
         }
         try {
-            hexOn();
-            String eibHex = terminal.pf4().waitForKeyboard().retrieveScreen() + terminal.pf11().waitForKeyboard().retrieveScreen();
-            hexOff();
-            String eibText = terminal.pf4().waitForKeyboard().retrieveScreen() + terminal.pf11().waitForKeyboard().retrieveScreen();
-            return new CeciExecInterfaceBlockImpl(eibText, eibHex);
+            // Read both pages of the EIB in the current mode, then switch HEX and read them again
+            String page1 = terminal.pf4().waitForKeyboard().retrieveScreen();
+            boolean hex = page1.contains(EIB_HEX_ID);
+            String eib1 = page1 + terminal.pf11().waitForKeyboard().retrieveScreen();
+            terminal.pf2().waitForKeyboard();
+            String eib2 = terminal.pf4().waitForKeyboard().retrieveScreen() + terminal.pf11().waitForKeyboard().retrieveScreen();
+            hexMode.put(terminal, !hex);
+            if (hex) {
+                return new CeciExecInterfaceBlockImpl(eib2, eib1);
+            }
+            return new CeciExecInterfaceBlockImpl(eib1, eib2);
         } catch (TimeoutException | KeyboardLockedException | NetworkException | TerminalInterruptedException e) {
             throw new CeciException("Unable to navigate to EIB screen", e);
         }
@@ -542,12 +554,7 @@ public class CeciImpl implements ICeci {
             } else {
             	terminal.home().eraseEof().home().enter().waitForKeyboard();
             }
-    		for (int i = 0; i <= 10; i++) {
-    			if (isInitialScreen(terminal.retrieveScreen())) {
-    				break;
-    			}
-    			sleep(10);
-    		}
+            waitForScreen(INITIAL_SCREEN_ID);
     		if (!isInitialScreen(terminal.retrieveScreen())) {
     			terminal.reportScreenWithCursor();
     			throw new CeciException("Unable to navigate to CECI initial screen");
@@ -562,12 +569,7 @@ public class CeciImpl implements ICeci {
     protected ICicsTerminal variableScreen() throws CeciException {
         try {
         	initialScreen().pf5().waitForKeyboard();
-    		for (int i = 0; i <= 10; i++) {
-    			if (isVariablesScreen(terminal.retrieveScreen())) {
-    				break;
-    			}
-    			sleep(10);
-    		}
+            waitForScreen(VAR_SCREEN_ID);
     		if (!isVariablesScreen(terminal.retrieveScreen())) {
     			terminal.reportScreenWithCursor();
     			throw new CeciException("Unable to navigate to CECI variables screen");
@@ -578,14 +580,24 @@ public class CeciImpl implements ICeci {
         }
     }
 
-    protected void sleep(int ms) {
-		try {
-			Thread.sleep(ms);
-		} catch (InterruptedException e) {
-			logger.debug(e);
-			Thread.currentThread().interrupt();
-		}
-	}
+    /**
+     * Wait for the screen to show the text after the keyboard has unlocked, as CECI can 
+     * send the screen in more than one write. Woken by the screen update rather than polling
+     * @param screenId the text identifying the screen
+     * @throws CeciException
+     */
+    protected void waitForScreen(String screenId) throws CeciException {
+        if (terminal.retrieveScreen().contains(screenId)) {
+            return;
+        }
+        try {
+            terminal.waitForTextInField(new String[] {screenId}, null, SCREEN_WAIT_TIMEOUT);
+        } catch (TextNotFoundException e) {
+            // The caller reports the screen it ended up on
+        } catch (Zos3270Exception e) {
+            throw new CeciException("Problem waiting for CECI screen", e);
+        }
+    }
 
 
 	protected boolean isCeciScreen() {
@@ -687,36 +699,17 @@ public class CeciImpl implements ICeci {
     
     protected int setVariable(String name, String value, String type) throws CeciException {
         try {
-            deleteVariable(terminal, name);
-    
             // Set Hex off
             hexOff();
             
-            // Go to the first variable on the variable screen
-            variableScreen().newLine();
-            // Find an empty variable field
-            String fieldValue = terminal.reportScreenWithCursor().retrieveFieldAtCursor();
-            while (!fieldValue.replace(" ", "").isEmpty()) {
-                if (fieldValue.equals("PF")) {
-                    throw new CeciException("No space on CECI variable screen for new variables");
-                }
-                fieldValue = terminal.newLine().retrieveFieldAtCursor();
-            } 
             // Enter variable name and variable length
             String lengthString = type;
             if (lengthString == null) {
                 lengthString = String.valueOf(value.length());
             }
             
-            terminal.type(name);
-            if (name.length() < 10) {
-                terminal.tab();
-            }
-            terminal.type(lengthString).enter().waitForKeyboard();
-            terminal.enter().waitForKeyboard().pf5().waitForKeyboard();
-            
-            // Tab to variable, expand it variable and move to the first data field
-            moveToVariable(name).enter().waitForKeyboard();
+            // Define and expand the variable and move to the first data field
+            defineVariable(name, lengthString);
             multipleNewLine(2);
             
             // Data is written in 64 character chunks and if the length > and we need to write data in pages
@@ -740,6 +733,67 @@ public class CeciImpl implements ICeci {
         }
     }
     
+    /**
+     * Define a variable on the variables screen and expand it. An existing variable has its length 
+     * overtyped rather than being deleted first, and the variable is expanded from the redisplayed
+     * variables screen rather than navigating back to it   
+     * @param name the variable name
+     * @param lengthString the variable length or type
+     * @return the terminal on the variable expansion screen
+     * @throws CeciException
+     */
+    protected ICicsTerminal defineVariable(String name, String lengthString) throws CeciException, TimeoutException, KeyboardLockedException, NetworkException, TerminalInterruptedException, FieldNotFoundException {
+        // Go to the first variable on the variable screen
+        String screen = variableScreen().retrieveScreen();
+        terminal.newLine();
+        if (screen.contains(name + " ")) {
+            if (!findVariableOnScreen(name)) {
+                throw new CeciException("Unable to find variable " + name);
+            }
+            terminal.tab().eraseEof();
+        } else {
+            // Find an empty variable field
+            String fieldValue = terminal.retrieveFieldAtCursor();
+            while (!fieldValue.replace(" ", "").isEmpty()) {
+                if (fieldValue.equals("PF")) {
+                    throw new CeciException("No space on CECI variable screen for new variables");
+                }
+                fieldValue = terminal.newLine().retrieveFieldAtCursor();
+            }
+            terminal.type(name);
+            if (name.length() < 10) {
+                terminal.tab();
+            }
+        }
+        terminal.type(lengthString).enter().waitForKeyboard();
+        
+        // Expand the variable
+        if (isVariablesScreen(terminal.retrieveScreen())) {
+            terminal.home().newLine();
+            if (findVariableOnScreen(name)) {
+                return (ICicsTerminal) terminal.enter().waitForKeyboard();
+            }
+        }
+        terminal.enter().waitForKeyboard().pf5().waitForKeyboard();
+        return (ICicsTerminal) moveToVariable(name).enter().waitForKeyboard();
+    }
+
+    /**
+     * Move the cursor from the current line to the name field of a variable on the variables screen
+     * @param name the variable name
+     * @return false if the variable is not on the screen
+     */
+    protected boolean findVariableOnScreen(String name) throws FieldNotFoundException, KeyboardLockedException {
+        String fieldValue = terminal.retrieveFieldAtCursor().trim();
+        while (!fieldValue.equals(name.trim())) {
+            if (fieldValue.equals("PF")) {
+                return false;
+            }
+            fieldValue = terminal.newLine().retrieveFieldAtCursor().trim();
+        }
+        return true;
+    }
+
     protected int setVariableOnPage(String[] chunks, int start, int numberOfLines) throws CeciException {
         int chunkPos = start;        
         // Enter the page of data 
@@ -763,30 +817,15 @@ public class CeciImpl implements ICeci {
 
     protected int setVariableHex(String name, char[] value) throws CeciException {
         try {
-            deleteVariable(terminal, name);
+            // Set Hex off
+            hexOff();
             
-            // Go to the first variable on the variable screen
-            variableScreen().tab();
-            // Find an empty variable field
-            String fieldValue = terminal.retrieveFieldAtCursor();
-            while (!fieldValue.replace(" ", "").isEmpty()) {
-                if (fieldValue.equals("PF")) {
-                    throw new CeciException("No space on CECI variable screen for new variables");
-                }
-                fieldValue = terminal.newLine().retrieveFieldAtCursor();
-            } 
             // Enter variable name and variable length
             String lengthString = String.valueOf(value.length);
             
-            terminal.type(name);
-            if (name.length() < 10) {
-                terminal.tab();
-            }
-            terminal.type(lengthString).enter().waitForKeyboard();
-            terminal.enter().waitForKeyboard().pf5().waitForKeyboard();
-            
-            // Tab to variable, expand it, set hex on and move to the first data field
-            moveToVariable(name).enter().waitForKeyboard().pf2().waitForKeyboard();
+            // Define and expand the variable, set hex on and move to the first data field
+            defineVariable(name, lengthString).pf2().waitForKeyboard();
+            hexMode.remove(terminal);
             multipleNewLine(2);
             
             // Data is written in 4 byte chunks and we need to write data in pages            
@@ -906,6 +945,7 @@ public class CeciImpl implements ICeci {
         try {            
             // Find the variable, expand it, set hex on, move to the length field and get it's value
             String lengthString = moveToVariable(name).enter().waitForKeyboard().pf2().waitForKeyboard().tab().retrieveFieldAtCursor();
+            hexMode.remove(terminal);
             
             int valueLength = Integer.parseInt(lengthString);
             
@@ -965,15 +1005,10 @@ public class CeciImpl implements ICeci {
             if (!variableScreen().retrieveScreen().contains(name + " ")) {
                 throw new CeciException("Unable to find variable " + name);
             }
-            // Go to the first variable on the variable screen 
-            variableScreen().newLine();
-            // Find an variable name field
-            String fieldValue = terminal.retrieveFieldAtCursor().trim();
-            while (!fieldValue.equals(name.trim())) {
-                if (fieldValue.equals("PF")) {
-                    throw new CeciException("Unable to find variable " + name);
-                }
-                fieldValue = terminal.newLine().retrieveFieldAtCursor().trim();
+            // Go to the first variable on the variable screen and find the variable name field
+            terminal.newLine();
+            if (!findVariableOnScreen(name)) {
+                throw new CeciException("Unable to find variable " + name);
             }
         } catch (FieldNotFoundException | KeyboardLockedException e) {
             throw new CeciException("Problem serching for variable " + name, e);
@@ -988,21 +1023,25 @@ public class CeciImpl implements ICeci {
      */
     protected boolean isHexOn() throws CeciException {
         try {
-            return terminal.pf4().waitForKeyboard().retrieveScreen().contains("EIBTIME      = X'");
+            boolean on = terminal.pf4().waitForKeyboard().retrieveScreen().contains(EIB_HEX_ID);
+            hexMode.put(terminal, on);
+            return on;
         } catch (TimeoutException | KeyboardLockedException | TerminalInterruptedException | NetworkException e) {
             throw new CeciException("Unable to determine if CECI is in HEX mode", e);
         }
     }
     
     /**
-     * Set HEX on. Disruptive, returns the EIB screen  
+     * Set HEX on. Disruptive if the mode has to be checked or changed, returns the EIB screen  
      * @return
      * @throws CeciException
      */
     protected ICicsTerminal hexOn() throws CeciException {
         try {
-            if (!isHexOn()) {
-                return (ICicsTerminal) terminal.pf2().waitForKeyboard();
+            Boolean known = hexMode.get(terminal);
+            if (known == null ? !isHexOn() : !known) {
+                switchHex(known);
+                hexMode.put(terminal, true);
             }
         } catch (TimeoutException | KeyboardLockedException | TerminalInterruptedException | NetworkException e) {
             throw new CeciException("Unable to set CECI HEX ON", e);
@@ -1011,14 +1050,16 @@ public class CeciImpl implements ICeci {
     }
     
     /**
-     * Set HEX off. Disruptive, returns the EIB screen  
+     * Set HEX off. Disruptive if the mode has to be checked or changed, returns the EIB screen  
      * @return
      * @throws CeciException
      */
     protected ICicsTerminal hexOff() throws CeciException {
         try {
-            if (isHexOn()) {
-                return (ICicsTerminal) terminal.pf2().waitForKeyboard();
+            Boolean known = hexMode.get(terminal);
+            if (known == null ? isHexOn() : known) {
+                switchHex(known);
+                hexMode.put(terminal, false);
             }
         } catch (TimeoutException | KeyboardLockedException | TerminalInterruptedException | NetworkException e) {
             throw new CeciException("Unable to set CECI HEX OFF", e);
@@ -1026,6 +1067,14 @@ public class CeciImpl implements ICeci {
         return terminal;
     }
 
+    private void switchHex(Boolean known) throws TimeoutException, KeyboardLockedException, TerminalInterruptedException, NetworkException {
+        if (known != null) {
+            // Not already on the EIB screen from checking the mode
+            terminal.pf4().waitForKeyboard();
+        }
+        terminal.pf2().waitForKeyboard();
+    }
+
     protected ICeciResponse newCeciResponse(boolean parseOutput) throws CeciException {
         String screen = terminal.retrieveScreen();
 
@@ -516,8 +516,12 @@ public class TestCeciImpl {
 
     @Test
     public void testGetEIB() throws Exception {
-        setupTestGetEIB();
+        Mockito.when(ceciTerminalMock.retrieveScreen()).thenReturn("");
         Assert.assertTrue("Error in getEIB() method",  ceciSpy.getEIB(ceciTerminalMock) instanceof CeciExecInterfaceBlockImpl);
+        Mockito.verify(ceciTerminalMock, Mockito.times(2)).pf4();
+        Mockito.verify(ceciTerminalMock, Mockito.times(2)).pf11();
+        Mockito.verify(ceciTerminalMock, Mockito.times(1)).pf2();
+        Mockito.verify(ceciSpy, Mockito.never()).isHexOn();
 
         CeciException expectedException = Assert.assertThrows("expected exception should be thrown", CeciException.class, ()->{
         	ceciSpy.getEIB(wrongCeciTerminalMock);
@@ -527,8 +531,6 @@ public class TestCeciImpl {
 
     @Test
     public void testGetEIBException1() throws Exception {
-        setupTestGetEIB();
-
         Mockito.when(ceciTerminalMock.waitForKeyboard()).thenThrow(new TerminalInterruptedException());
         String expectedMessage = "Unable to navigate to EIB screen";
         CeciException expectedException = Assert.assertThrows("expected exception should be thrown", CeciException.class, ()->{
@@ -539,8 +541,6 @@ public class TestCeciImpl {
 
     @Test
     public void testGetEIBException2() throws Exception {
-        setupTestGetEIB();
-
         Mockito.when(ceciTerminalMock.waitForKeyboard()).thenThrow(new TimeoutException());
         String expectedMessage = "Unable to navigate to EIB screen";
         CeciException expectedException = Assert.assertThrows("expected exception should be thrown", CeciException.class, ()->{
@@ -549,11 +549,6 @@ public class TestCeciImpl {
         Assert.assertEquals("exception should contain expected cause", expectedMessage, expectedException.getMessage());
     }
 
-    private void setupTestGetEIB() throws Exception {
-        Mockito.doReturn(ceciTerminalMock).when(ceciSpy).hexOff();
-        Mockito.doReturn(ceciTerminalMock).when(ceciSpy).hexOn();
-    }
-
     @Test
     public void testLinkProgram() throws Exception {
         Mockito.doReturn(ceciResponseMock).when(ceciSpy).issueCommand(Mockito.any(),Mockito.any());
@@ -836,7 +831,7 @@ public class TestCeciImpl {
     @Test
     public void testCheckForSyntaxMessagesException1() throws Exception {
         setTerminalMockOnCeciSpy();
-        Field f1 = ceciSpy.getClass().getSuperclass().getDeclaredField("command");
+        Field f1 = CeciImpl.class.getDeclaredField("command");
         f1.setAccessible(true);
         f1.set(ceciSpy,COMMAND_VALUE);
 
@@ -977,16 +972,32 @@ public class TestCeciImpl {
         Assert.assertEquals("exception should contain expected cause", expectedMessage, expectedException.getMessage());
     }
 
+    @Test
+    public void testDefineVariableExisting() throws Exception {
+        setupTestVariable();
+        Mockito.when(ceciTerminalMock.retrieveScreen()).thenReturn(VAR_SCREEN_ID + " " + TEXT_VARIABLE_NAME + " ");
+        Mockito.when(ceciTerminalMock.retrieveFieldAtCursor()).thenReturn(String.format("%-10s", "X")).thenReturn(TEXT_VARIABLE_NAME);
+        Assert.assertEquals("Error in defineVariable() method", ceciTerminalMock, ceciSpy.defineVariable(TEXT_VARIABLE_NAME, "10"));
+
+        // The length is overtyped and the variable expanded from the redisplayed variables screen
+        Mockito.verify(ceciTerminalMock).eraseEof();
+        Mockito.verify(ceciTerminalMock, Mockito.never()).type(TEXT_VARIABLE_NAME);
+        Mockito.verify(ceciTerminalMock, Mockito.times(2)).enter();
+        Mockito.verify(ceciTerminalMock, Mockito.never()).pf5();
+        Mockito.verify(ceciSpy, Mockito.never()).moveToVariable(Mockito.any());
+    }
+
     private void setupTestVariable() throws Exception {
         setTerminalMockOnCeciSpy();
-        Mockito.doNothing().when(ceciSpy).deleteVariable(Mockito.any(),Mockito.any());
         Mockito.doReturn(ceciTerminalMock).when(ceciSpy).hexOff();
         Mockito.doReturn(ceciTerminalMock).when(ceciSpy).variableScreen();
         Mockito.doReturn(ceciTerminalMock).when(ceciSpy).moveToVariable(Mockito.any());
+        Mockito.when(ceciTerminalMock.retrieveScreen()).thenReturn("");
     }
 
     private void setTerminalMockOnCeciSpy() throws Exception{
-        Field f1 = ceciSpy.getClass().getSuperclass().getDeclaredField("terminal");
+        // The field is looked up on CeciImpl, as the class of the spy depends on the mock maker
+        Field f1 = CeciImpl.class.getDeclaredField("terminal");
         f1.setAccessible(true);
         f1.set(ceciSpy,ceciTerminalMock);
     }
@@ -1387,8 +1398,16 @@ public class TestCeciImpl {
 
         Assert.assertEquals("Error in hexOff() method", ceciTerminalMock, ceciSpy.hexOff());
 
-        Mockito.doReturn(false).when(ceciSpy).isHexOn();
+        // The mode is remembered, so is not checked or changed again
         Assert.assertEquals("Error in hexOff() method", ceciTerminalMock, ceciSpy.hexOff());
+        Mockito.verify(ceciSpy, Mockito.times(1)).isHexOn();
+        Mockito.verify(ceciTerminalMock, Mockito.times(1)).pf2();
+
+        // Switching back goes to the EIB screen first
+        Assert.assertEquals("Error in hexOn() method", ceciTerminalMock, ceciSpy.hexOn());
+        Mockito.verify(ceciSpy, Mockito.times(1)).isHexOn();
+        Mockito.verify(ceciTerminalMock, Mockito.times(1)).pf4();
+        Mockito.verify(ceciTerminalMock, Mockito.times(2)).pf2();
     }
 
     @Test
@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.ceda.internal;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.cicsts.CedaException;
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.cicsts.ICeda;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.ICicsTerminal;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
+
+/**
+ * CEDA operations on the CSD using the CMCI CICSDefinition resource tables rather than a 3270 terminal.
+ *
+ * Each definition, install and delete is a single request, and a group with any number of definitions is
+ * installed or deleted with one request, so defining many resources does not page through CEDA screens.
+ */
+public class CedaCmciImpl implements ICeda {
+
+    private static final String  GROUP_TABLE       = "CICSCSDGroup";
+    private static final String  INSTALL_REQUEST   = "<request><action name=\"CSDINSTALL\"/></request>";
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("(\\w+)\\(\\s*([^)]*?)\\s*\\)");
+
+    private final ICicsRegion cicsRegion;
+    private final CmciClient  cmciClient;
+
+    public CedaCmciImpl(CmciClient cmciClient) {
+        this.cicsRegion = cmciClient.getCicsRegion();
+        this.cmciClient = cmciClient;
+    }
+
+    @Override
+    public void createResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName, @NotNull String groupName, String resourceParameters) throws CedaException {
+        checkRegion(terminal);
+
+        CmciDefinitionType type = CmciDefinitionType.fromCeda(resourceType);
+
+        StringBuilder body = new StringBuilder("<request><create><parameter name=\"CSD\"/><attributes");
+        body.append(" name=\"").append(CmciClient.escape(resourceName.trim())).append("\"");
+        body.append(" csdgroup=\"").append(CmciClient.escape(groupName.trim())).append("\"");
+        if (resourceParameters != null) {
+            appendAttributes(body, resourceParameters);
+        }
+        body.append("/></create></request>");
+
+        try {
+            this.cmciClient.post(type.getTable(), body.toString());
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem defining " + resourceType + "(" + resourceName + ") in group " + groupName + " using CMCI", e);
+        }
+    }
+
+    @Override
+    public void installGroup(@NotNull ICicsTerminal terminal, @NotNull String groupName) throws CedaException {
+        checkRegion(terminal);
+
+        try {
+            this.cmciClient.put(GROUP_TABLE, groupCriteria(groupName), null, INSTALL_REQUEST);
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem installing group " + groupName + " using CMCI", e);
+        }
+    }
+
+    @Override
+    public void installResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName, @NotNull String cedaGroup) throws CedaException {
+        checkRegion(terminal);
+
+        CmciDefinitionType type = CmciDefinitionType.fromCeda(resourceType);
+        try {
+            this.cmciClient.put(type.getTable(), nameCriteria(resourceName), groupParameter(cedaGroup), INSTALL_REQUEST);
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem installing " + resourceType + "(" + resourceName + ") from group " + cedaGroup + " using CMCI", e);
+        }
+    }
+
+    @Override
+    public void deleteGroup(@NotNull ICicsTerminal terminal, @NotNull String groupName) throws CedaException {
+        checkRegion(terminal);
+
+        try {
+            this.cmciClient.delete(GROUP_TABLE, groupCriteria(groupName), null);
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem deleting group " + groupName + " using CMCI", e);
+        }
+    }
+
+    @Override
+    public void deleteResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName, @NotNull String groupName) throws CedaException {
+        checkRegion(terminal);
+
+        CmciDefinitionType type = CmciDefinitionType.fromCeda(resourceType);
+        try {
+            this.cmciClient.delete(type.getTable(), nameCriteria(resourceName), groupParameter(groupName));
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem deleting " + resourceType + "(" + resourceName + ") from group " + groupName + " using CMCI", e);
+        }
+    }
+
+    @Override
+    public boolean resourceExists(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName, @NotNull String groupName) throws CedaException {
+        checkRegion(terminal);
+
+        CmciDefinitionType type = CmciDefinitionType.fromCeda(resourceType);
+        try {
+            return !this.cmciClient.get(type.getTable(), nameCriteria(resourceName), groupParameter(groupName)).isEmpty();
+        } catch (CicstsManagerException e) {
+            throw new CedaException("Problem displaying " + resourceType + "(" + resourceName + ") in group " + groupName + " using CMCI", e);
+        }
+    }
+
+    /**
+     * Add the CEDA parameters, eg <code>DESCRIPTION(Test program) LANGUAGE(COBOL)</code>, as attributes of the
+     * definition
+     */
+    protected void appendAttributes(StringBuilder body, String resourceParameters) throws CedaException {
+        Matcher matcher = ATTRIBUTE_PATTERN.matcher(resourceParameters);
+        int last = 0;
+        while (matcher.find()) {
+            checkSkipped(resourceParameters.substring(last, matcher.start()));
+            body.append(" ").append(matcher.group(1).toLowerCase()).append("=\"").append(CmciClient.escape(matcher.group(2))).append("\"");
+            last = matcher.end();
+        }
+        checkSkipped(resourceParameters.substring(last));
+    }
+
+    private void checkSkipped(String skipped) throws CedaException {
+        if (!skipped.trim().isEmpty()) {
+            throw new CedaException("CEDA parameter '" + skipped.trim() + "' is not in the form ATTRIBUTE(value) supported by the CMCI CEDA backend");
+        }
+    }
+
+    private String nameCriteria(String resourceName) {
+        return "NAME=" + resourceName.trim();
+    }
+
+    private String groupCriteria(String groupName) {
+        return "GROUP=" + groupName.trim();
+    }
+
+    private String groupParameter(String groupName) {
+        return "CSDGROUP(" + groupName.trim() + ")";
+    }
+
+    private void checkRegion(ICicsTerminal terminal) throws CedaException {
+        if (terminal != null && this.cicsRegion != terminal.getCicsRegion()) {
+            throw new CedaException("The provided terminal is not from the correct CICS Region");
+        }
+    }
+
+}
@@ -19,6 +19,8 @@ import dev.galasa.cicsts.ICeda;
 import dev.galasa.cicsts.ICicsRegion;
 import dev.galasa.cicsts.ceda.internal.properties.CedaPropertiesSingleton;
 import dev.galasa.cicsts.ceda.spi.ICedaManagerSpi;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
+import dev.galasa.cicsts.cemt.spi.ICemtManagerSpi;
 import dev.galasa.cicsts.spi.ICedaProvider;
 import dev.galasa.cicsts.spi.ICicstsManagerSpi;
 import dev.galasa.framework.spi.AbstractManager;
@@ -31,6 +33,7 @@ import dev.galasa.framework.spi.language.GalasaTest;
 public class CedaManagerImpl extends AbstractManager implements ICedaManagerSpi,ICedaProvider {
 
 	private ICicstsManagerSpi cicstsManager;
+	private ICemtManagerSpi cemtManager;
 	HashMap<ICicsRegion, ICeda> regionCeda = new HashMap<>();
 
 	protected static final String NAMESPACE = "ceda";
@@ -71,15 +74,26 @@ public class CedaManagerImpl extends AbstractManager implements ICedaManagerSpi,
 		}
 
 		cicstsManager.registerCedaProvider(this);
+
+		cemtManager = addDependentManager(allManagers,activeManagers,galasaTest, ICemtManagerSpi.class);
+		if(cemtManager == null) {
+			throw new CedaManagerException("CEMT Manager is not available");
+		}
 	}
 
 	@Override
-	public @NotNull ICeda getCeda(ICicsRegion cicsRegion) {
+	public @NotNull ICeda getCeda(ICicsRegion cicsRegion) throws CicstsManagerException {
 
 		ICeda ceda = regionCeda.get(cicsRegion);
 		if(ceda==null) {
 
-			ceda = new CedaImpl(cicsRegion);
+			// The CMCI backend of the region is configured in the CEMT Manager
+			CmciClient cmciClient = cemtManager.getCmciClient(cicsRegion);
+			if(cmciClient != null) {
+				ceda = new CedaCmciImpl(cmciClient);
+			} else {
+				ceda = new CedaImpl(cicsRegion);
+			}
 			regionCeda.put(cicsRegion, ceda);
 
 		}
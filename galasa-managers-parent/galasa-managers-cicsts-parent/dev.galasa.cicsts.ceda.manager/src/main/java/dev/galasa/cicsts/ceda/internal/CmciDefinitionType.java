@@ -0,0 +1,54 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.ceda.internal;
+
+import dev.galasa.cicsts.CedaException;
+
+/**
+ * The CMCI CSD definition tables for the CEDA resource types supported by the CMCI backend
+ */
+public enum CmciDefinitionType {
+
+    PROGRAM("CICSDefinitionProgram", "PROG"),
+    TRANSACTION("CICSDefinitionTransaction", "TRANS", "TRAN"),
+    LIBRARY("CICSDefinitionLibrary", "LIB"),
+    FILE("CICSDefinitionFile"),
+    BUNDLE("CICSDefinitionBundle"),
+    JVMSERVER("CICSDefinitionJVMServer", "JVMS"),
+    TCPIPSERVICE("CICSDefinitionTCPIPService", "TCPIPS"),
+    URIMAP("CICSDefinitionURIMap"),
+    PIPELINE("CICSDefinitionPipeline"),
+    WEBSERVICE("CICSDefinitionWebService"),
+    TSMODEL("CICSDefinitionTSModel");
+
+    private final String   table;
+    private final String[] abbreviations;
+
+    private CmciDefinitionType(String table, String... abbreviations) {
+        this.table = table;
+        this.abbreviations = abbreviations;
+    }
+
+    public String getTable() {
+        return this.table;
+    }
+
+    public static CmciDefinitionType fromCeda(String resourceType) throws CedaException {
+        String type = resourceType.trim().toUpperCase();
+        for (CmciDefinitionType cmciType : values()) {
+            if (cmciType.name().equals(type)) {
+                return cmciType;
+            }
+            for (String abbreviation : cmciType.abbreviations) {
+                if (abbreviation.equals(type)) {
+                    return cmciType;
+                }
+            }
+        }
+        throw new CedaException("Resource type " + resourceType + " is not supported by the CMCI CEDA backend");
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.ceda.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.LogFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import dev.galasa.cicsts.CedaException;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
+import dev.galasa.http.IHttpClient;
+import dev.galasa.http.StandAloneHttpClient;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestCedaCmciImpl {
+
+    private static final String APPLID = "IYK2ZAB1";
+    private static final String PATH   = "/CICSSystemManagement/%s/" + APPLID + "/" + APPLID;
+
+    private static final String OK = "<resultsummary api_response1=\"1024\" api_response1_alt=\"OK\" api_response2=\"0\" api_response2_alt=\"\" recordcount=\"1\"/>";
+    private static final String NODATA = "<resultsummary api_response1=\"1027\" api_response1_alt=\"NODATA\" api_response2=\"0\" api_response2_alt=\"\" recordcount=\"0\"/>";
+
+    @Mock
+    private ICicsRegion cicsRegionMock;
+
+    private HttpServer server;
+
+    private final List<String> requests = new ArrayList<>();
+
+    private CedaCmciImpl ceda;
+
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(cicsRegionMock.getApplid()).thenReturn(APPLID);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/CICSSystemManagement/", this::handle);
+        server.start();
+
+        IHttpClient client = StandAloneHttpClient.getHttpClient(30000, LogFactory.getLog(getClass()));
+        client.setURI(new URI("http://127.0.0.1:" + server.getAddress().getPort()));
+        client.build();
+
+        ceda = new CedaCmciImpl(new CmciClient(cicsRegionMock, client, null));
+    }
+
+    @After
+    public void teardown() {
+        server.stop(0);
+    }
+
+    /**
+     * A mock CMCI server holding the definition of PROGA in group GRP1
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        String decodedQuery = query == null ? "" : URLDecoder.decode(query, "UTF-8");
+        requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " " + decodedQuery + " " + body);
+
+        StringBuilder response = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><response xmlns=\"http://www.ibm.com/xmlns/prod/CICS/smw2int\" version=\"3.0\">");
+        int status = 200;
+        if (query == null || decodedQuery.contains("NAME=PROGA") && decodedQuery.contains("CSDGROUP(GRP1)") || decodedQuery.contains("GROUP=GRP1")) {
+            response.append(OK).append("<records><cicsdefinitionprogram name=\"PROGA\" csdgroup=\"GRP1\"/></records>");
+        } else {
+            response.append(NODATA);
+            status = 404;
+        }
+        response.append("</response>");
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void testCreateResource() throws Exception {
+        ceda.createResource(null, "PROGRAM", "PROGA", "GRP1", "LANGUAGE(COBOL) DESCRIPTION(Test program)");
+
+        Assert.assertEquals(Arrays.asList("POST " + String.format(PATH, "CICSDefinitionProgram") + "  "
+                + "<request><create><parameter name=\"CSD\"/><attributes name=\"PROGA\" csdgroup=\"GRP1\" language=\"COBOL\" description=\"Test program\"/></create></request>"), requests);
+    }
+
+    @Test
+    public void testCreateResourceRejectsKeywordParameter() throws Exception {
+        Assert.assertThrows(CedaException.class, () -> ceda.createResource(null, "PROGRAM", "PROGA", "GRP1", "RESIDENT LANGUAGE(COBOL)"));
+        Assert.assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testInstallGroup() throws Exception {
+        ceda.installGroup(null, "GRP1");
+
+        Assert.assertEquals(Arrays.asList("PUT " + String.format(PATH, "CICSCSDGroup") + " CRITERIA=(GROUP=GRP1) <request><action name=\"CSDINSTALL\"/></request>"), requests);
+    }
+
+    @Test
+    public void testInstallResource() throws Exception {
+        ceda.installResource(null, "PROG", "PROGA", "GRP1");
+
+        Assert.assertEquals(Arrays.asList("PUT " + String.format(PATH, "CICSDefinitionProgram") + " CRITERIA=(NAME=PROGA)&PARAMETER=CSDGROUP(GRP1) <request><action name=\"CSDINSTALL\"/></request>"), requests);
+    }
+
+    @Test
+    public void testResourceExists() throws Exception {
+        Assert.assertTrue(ceda.resourceExists(null, "PROGRAM", "PROGA", "GRP1"));
+        Assert.assertFalse(ceda.resourceExists(null, "PROGRAM", "PROGA", "GRP2"));
+    }
+
+    @Test
+    public void testDeleteMissingResourceFails() throws Exception {
+        Assert.assertThrows(CedaException.class, () -> ceda.deleteResource(null, "PROGRAM", "PROGB", "GRP1"));
+    }
+
+}
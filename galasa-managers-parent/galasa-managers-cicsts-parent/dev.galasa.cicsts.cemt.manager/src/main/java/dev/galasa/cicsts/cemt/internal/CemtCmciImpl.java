@@ -0,0 +1,279 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.cicsts.CemtException;
+import dev.galasa.cicsts.CemtOperation;
+import dev.galasa.cicsts.CicstsHashMap;
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.cicsts.ICemt;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.ICicsTerminal;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
+
+/**
+ * CEMT operations using the CICS Management Client Interface REST API rather than a 3270 terminal.
+ *
+ * The properties returned are normalised to those of the CEMT expanded display, so the resource name is held
+ * under the CEMT resource type, eg <code>jvmserver</code> rather than the CMCI <code>name</code>, and keyword
+ * values are in the mixed case CEMT shows, eg <code>Enabled</code>. The other attributes are those of the CMCI
+ * resource record, with lower case names. A batch of consecutive inquiries of the same resource type is sent
+ * as a single request. PERFORM is not available through CMCI, so is passed to the terminal implementation.
+ */
+public class CemtCmciImpl implements ICemt {
+
+    private static final int     MAX_BATCH_INQUIRE  = 50;
+    private static final Pattern ATTRIBUTE_PATTERN  = Pattern.compile("(\\w+)\\(\\s*([^)]*?)\\s*\\)");
+
+    /**
+     * The attributes, other than the statuses, that CMCI returns as upper case keywords and CEMT shows in mixed case
+     */
+    private static final Set<String> KEYWORD_ATTRIBUTES = new HashSet<>(Arrays.asList("progtype", "language",
+            "concurrency", "apist", "datalocation", "execkey", "executionset", "runtime", "purgeability", "routing",
+            "storageclear", "taskdatakey", "taskdataloc", "tracing", "accessmethod", "protocol"));
+
+    private final ICicsRegion cicsRegion;
+    private final CmciClient  cmciClient;
+    private final ICemt       terminalCemt;
+
+    public CemtCmciImpl(CmciClient cmciClient, ICemt terminalCemt) {
+        this.cicsRegion = cmciClient.getCicsRegion();
+        this.cmciClient = cmciClient;
+        this.terminalCemt = terminalCemt;
+    }
+
+    @Override
+    public CicstsHashMap inquireResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName) throws CemtException {
+        checkRegion(terminal);
+
+        CmciResourceType type = CmciResourceType.fromCemt(resourceType);
+        List<CicstsHashMap> records = get(type, criteria(type, resourceName));
+        if (records.isEmpty()) {
+            return null;
+        }
+        return records.get(0);
+    }
+
+    @Override
+    public CicstsHashMap setResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType, String resourceName,
+            @NotNull String action) throws CemtException {
+        checkRegion(terminal);
+
+        CmciResourceType type = CmciResourceType.fromCemt(resourceType);
+        String criteria = resourceName == null ? null : criteria(type, resourceName);
+
+        // CEMT takes attribute changes and actions together, CMCI needs a request for
+        // the update and one for each action
+        Map<String, String> attributes = new LinkedHashMap<>();
+        List<String> actions = new ArrayList<>();
+        parseAction(type, action, attributes, actions);
+
+        List<CicstsHashMap> records = new ArrayList<>();
+        if (!attributes.isEmpty()) {
+            StringBuilder body = new StringBuilder("<request><update><attributes");
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                body.append(" ").append(attribute.getKey()).append("=\"").append(CmciClient.escape(attribute.getValue())).append("\"");
+            }
+            body.append("/></update></request>");
+            records = put(type, criteria, body.toString());
+        }
+        for (String actionName : actions) {
+            records = put(type, criteria, "<request><action name=\"" + CmciClient.escape(actionName) + "\"/></request>");
+        }
+
+        if (records.isEmpty()) {
+            return new CicstsHashMap();
+        }
+        return records.get(0);
+    }
+
+    @Override
+    public void discardResource(@NotNull ICicsTerminal terminal, @NotNull String resourceType,
+            @NotNull String resourceName) throws CemtException {
+        checkRegion(terminal);
+
+        CmciResourceType type = CmciResourceType.fromCemt(resourceType);
+        try {
+            this.cmciClient.delete(type.getTable(), criteria(type, resourceName), null);
+        } catch (CicstsManagerException e) {
+            throw new CemtException("Problem discarding " + resourceType + "(" + resourceName + ") using CMCI", e);
+        }
+    }
+
+    @Override
+    public boolean performSystemProperty(@NotNull ICicsTerminal terminal, @NotNull String systemArea,
+            @NotNull String setRequest, @NotNull String expectedResponse) throws CemtException {
+        return this.terminalCemt.performSystemProperty(terminal, systemArea, setRequest, expectedResponse);
+    }
+
+    @Override
+    public List<CicstsHashMap> performBatch(@NotNull ICicsTerminal terminal,
+            @NotNull List<CemtOperation> operations) throws CemtException {
+        checkRegion(terminal);
+
+        List<CicstsHashMap> results = new ArrayList<>(operations.size());
+        int i = 0;
+        while (i < operations.size()) {
+            CemtOperation operation = operations.get(i);
+            if (operation.getType() != CemtOperation.Type.INQUIRE || isGeneric(operation.getResourceName())) {
+                results.add(perform(terminal, operation));
+                i++;
+                continue;
+            }
+
+            // Gather the following inquiries of the same type into one request
+            CmciResourceType type = CmciResourceType.fromCemt(operation.getResourceType());
+            int end = i + 1;
+            while (end < operations.size() && end - i < MAX_BATCH_INQUIRE) {
+                CemtOperation next = operations.get(end);
+                if (next.getType() != CemtOperation.Type.INQUIRE || isGeneric(next.getResourceName())
+                        || CmciResourceType.fromCemt(next.getResourceType()) != type) {
+                    break;
+                }
+                end++;
+            }
+
+            StringBuilder criteria = new StringBuilder();
+            for (int j = i; j < end; j++) {
+                if (j > i) {
+                    criteria.append(" OR ");
+                }
+                criteria.append(criteria(type, operations.get(j).getResourceName()));
+            }
+
+            Map<String, CicstsHashMap> byName = new LinkedHashMap<>();
+            String nameKey = type.name().toLowerCase();
+            for (CicstsHashMap record : get(type, criteria.toString())) {
+                String name = record.get(nameKey);
+                if (name != null) {
+                    byName.putIfAbsent(name.trim().toUpperCase(), record);
+                }
+            }
+            for (int j = i; j < end; j++) {
+                results.add(byName.get(operations.get(j).getResourceName().trim().toUpperCase()));
+            }
+            i = end;
+        }
+
+        return results;
+    }
+
+    private CicstsHashMap perform(ICicsTerminal terminal, CemtOperation operation) throws CemtException {
+        switch (operation.getType()) {
+            case INQUIRE:
+                return inquireResource(terminal, operation.getResourceType(), operation.getResourceName());
+            case SET:
+                return setResource(terminal, operation.getResourceType(), operation.getResourceName(), operation.getAction());
+            case DISCARD:
+            default:
+                discardResource(terminal, operation.getResourceType(), operation.getResourceName());
+                return new CicstsHashMap();
+        }
+    }
+
+    /**
+     * Split a CEMT SET action into attribute updates and CMCI actions, so
+     * <code>ENABLED</code> and <code>STATUS(ENABLED)</code> become updates and
+     * <code>NEWCOPY</code> becomes an action
+     */
+    protected void parseAction(CmciResourceType type, String action, Map<String, String> attributes, List<String> actions) {
+        Matcher matcher = ATTRIBUTE_PATTERN.matcher(action);
+        StringBuilder keywords = new StringBuilder();
+        int last = 0;
+        while (matcher.find()) {
+            attributes.put(matcher.group(1).toUpperCase(), matcher.group(2));
+            keywords.append(action, last, matcher.start()).append(" ");
+            last = matcher.end();
+        }
+        keywords.append(action.substring(last));
+
+        for (String keyword : keywords.toString().trim().split("\\s+")) {
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            String upper = keyword.toUpperCase();
+            if (("ENABLED".equals(upper) || "DISABLED".equals(upper)) && type.getStatusAttribute() != null) {
+                attributes.put(type.getStatusAttribute(), upper);
+            } else if ("OPEN".equals(upper) || "CLOSED".equals(upper)) {
+                attributes.put("OPENSTATUS", upper);
+            } else {
+                actions.add(upper);
+            }
+        }
+    }
+
+    private List<CicstsHashMap> get(CmciResourceType type, String criteria) throws CemtException {
+        try {
+            List<CicstsHashMap> records = this.cmciClient.get(type.getTable(), criteria, null);
+            for (CicstsHashMap record : records) {
+                normalise(type, record);
+            }
+            return records;
+        } catch (CicstsManagerException e) {
+            throw new CemtException("Problem inquiring " + type.getTable() + " using CMCI", e);
+        }
+    }
+
+    private List<CicstsHashMap> put(CmciResourceType type, String criteria, String body) throws CemtException {
+        try {
+            List<CicstsHashMap> records = this.cmciClient.put(type.getTable(), criteria, null, body);
+            for (CicstsHashMap record : records) {
+                normalise(type, record);
+            }
+            return records;
+        } catch (CicstsManagerException e) {
+            throw new CemtException("Problem setting " + type.getTable() + " using CMCI", e);
+        }
+    }
+
+    /**
+     * Change a CMCI resource record to the properties the terminal implementation returns for the resource
+     */
+    protected void normalise(CmciResourceType type, CicstsHashMap record) {
+        record.keySet().removeIf(key -> key.startsWith("eyu_") || key.startsWith("_"));
+
+        String name = record.remove(type.getNameAttribute().toLowerCase());
+        if (name != null) {
+            record.put(type.name().toLowerCase(), name);
+        }
+
+        for (Map.Entry<String, String> attribute : record.entrySet()) {
+            String key = attribute.getKey();
+            String value = attribute.getValue();
+            if ((key.endsWith("status") || KEYWORD_ATTRIBUTES.contains(key)) && value.matches("[A-Z][A-Z0-9]*")) {
+                attribute.setValue(value.charAt(0) + value.substring(1).toLowerCase());
+            }
+        }
+    }
+
+    private String criteria(CmciResourceType type, String resourceName) {
+        return type.getNameAttribute() + "=" + resourceName.trim();
+    }
+
+    private boolean isGeneric(String resourceName) {
+        return resourceName == null || resourceName.contains("*") || resourceName.contains("+");
+    }
+
+    private void checkRegion(ICicsTerminal terminal) throws CemtException {
+        if (terminal != null && this.cicsRegion != terminal.getCicsRegion()) {
+            throw new CemtException("CICS Version Mismatch");
+        }
+    }
+
+}
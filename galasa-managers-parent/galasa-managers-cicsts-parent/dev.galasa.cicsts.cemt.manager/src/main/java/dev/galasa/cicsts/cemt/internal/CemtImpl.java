@@ -5,12 +5,15 @@
  */
 package dev.galasa.cicsts.cemt.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.validation.constraints.NotNull;
 
 import dev.galasa.cicsts.CemtException;
+import dev.galasa.cicsts.CemtOperation;
 import dev.galasa.cicsts.CicstsHashMap;
 import dev.galasa.cicsts.CicstsManagerException;
 import dev.galasa.cicsts.ICemt;
@@ -19,6 +22,8 @@ import dev.galasa.cicsts.ICicsTerminal;
 
 public class CemtImpl implements ICemt {
 
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\w*\\(\\s*[a-zA-z0-9.#:// ]*\\s*\\)");
+
     private ICicsRegion cicsRegion;
 
     public CemtImpl(ICicsRegion cicsRegion) {
@@ -27,9 +32,7 @@ public class CemtImpl implements ICemt {
 
     protected CicstsHashMap getAttributes(String string, String resourceName, CicstsHashMap map) throws Exception {
 
-        Pattern pattern = Pattern.compile("\\w*\\(\\s*[a-zA-z0-9.#:// ]*\\s*\\)");
-
-        Matcher matcher = pattern.matcher(string);
+        Matcher matcher = ATTRIBUTE_PATTERN.matcher(string);
 
         try {
 
@@ -76,6 +79,32 @@ public class CemtImpl implements ICemt {
         return map;
     }
 
+    /**
+     * Read the properties from the expanded display, paging down until the last page
+     */
+    protected CicstsHashMap getAllAttributes(ICicsTerminal terminal, String resourceName, CicstsHashMap map) throws Exception {
+
+        String terminalString = terminal.retrieveScreen();
+
+        map = getAttributes(terminalString, resourceName, map);
+
+        boolean pageDown = terminalString.contains("+");
+
+        while(pageDown) {
+
+            terminal.pf11().waitForKeyboard();
+            terminalString = terminal.retrieveScreen();
+            map = getAttributes(terminalString, resourceName, map);
+
+            if(terminalString.indexOf("+") == terminalString.lastIndexOf("+")) {
+                pageDown = false;
+            }
+
+        }
+
+        return map;
+    }
+
     @Override
     public CicstsHashMap inquireResource(@NotNull ICicsTerminal terminal,
             @NotNull String resourceType,
@@ -135,25 +164,7 @@ public class CemtImpl implements ICemt {
         }
 
         try {
-
-            String terminalString = terminal.retrieveScreen();
-
-            returnMap = getAttributes(terminalString, resourceName, returnMap);
-
-            boolean pageDown = terminalString.contains("+");
-
-            while(pageDown) {
-
-                terminal.pf11().waitForKeyboard();
-                terminalString = terminal.retrieveScreen();
-                returnMap = getAttributes(terminalString, resourceName, returnMap);
-
-                if(terminalString.indexOf("+") == terminalString.lastIndexOf("+")) {
-                    pageDown = false;
-                }
-
-            }
-
+            returnMap = getAllAttributes(terminal, resourceName, returnMap);
         }catch(Exception e) {
             throw new CemtException("Problem whilst adding resource properties", e);
         }
@@ -227,25 +238,7 @@ public class CemtImpl implements ICemt {
         }
 
         try {
-
-            String terminalString = terminal.retrieveScreen();
-
-            returnMap = getAttributes(terminalString, resourceName, returnMap);
-
-            boolean pageDown = terminalString.contains("+");
-
-            while(pageDown) {
-
-                terminal.pf11().waitForKeyboard();
-                terminalString = terminal.retrieveScreen();
-                returnMap = getAttributes(terminalString, resourceName, returnMap);
-
-                if(terminalString.indexOf("+") == terminalString.lastIndexOf("+")) {
-                    pageDown = false;
-                }
-
-            }
-
+            returnMap = getAllAttributes(terminal, resourceName, returnMap);
         }catch(Exception e) {
             throw new CemtException("Problem whilst adding resource properties", e);
         }
@@ -366,5 +359,102 @@ public class CemtImpl implements ICemt {
 
     }
 
+    @Override
+    public List<CicstsHashMap> performBatch(@NotNull ICicsTerminal terminal,
+            @NotNull List<CemtOperation> operations) throws CemtException {
+
+        if(cicsRegion != terminal.getCicsRegion()) {
+            throw new CemtException("CICS Version Mismatch");
+        }
+
+        List<CicstsHashMap> results = new ArrayList<>(operations.size());
+        if (operations.isEmpty()) {
+            return results;
+        }
+
+        if (!terminal.isClearScreen()) {
+            try {
+                terminal.resetAndClear();
+            } catch (CicstsManagerException e) {
+                throw new CemtException("Problem reset and clearing screen for CEMT transaction", e);
+            }
+        }
+
+        boolean started = false;
+        for (CemtOperation operation : operations) {
+            String screen;
+            try {
+                // CEMT stays in conversation after a command, so overtype the command line
+                // with the next one rather than ending and restarting the transaction
+                if (!started) {
+                    terminal.type("CEMT " + operation.getCommand()).enter().waitForKeyboard();
+                    terminal.waitForTextInField("STATUS: ");
+                    started = true;
+                } else {
+                    terminal.home().eraseEof().type(operation.getCommand()).enter().waitForKeyboard();
+                }
+                screen = terminal.retrieveScreen();
+            } catch (Exception e) {
+                resetTerminal(terminal);
+                throw new CemtException("Problem issuing " + operation, e);
+            }
+
+            if (screen.contains("E '" + operation.getResourceType() + "' is not valid and is ignored.")) {
+                resetTerminal(terminal);
+                throw new CemtException("Resource type is not valid for " + operation);
+            }
+
+            if (!screen.contains("RESPONSE: NORMAL")) {
+                if (operation.getType() == CemtOperation.Type.INQUIRE) {
+                    results.add(null);
+                    continue;
+                }
+                resetTerminal(terminal);
+                throw new CemtException("Errors detected whilst performing " + operation);
+            }
+
+            if (operation.getType() == CemtOperation.Type.DISCARD) {
+                results.add(new CicstsHashMap());
+                continue;
+            }
+
+            try {
+                terminal.tab().waitForKeyboard().enter().waitForKeyboard();
+
+                // The same checks as inquireResource and setResource that the expanded display is shown
+                String expectedText = operation.getType() == CemtOperation.Type.INQUIRE ? "RESULT - OVERTYPE TO MODIFY" : "+";
+                if (!terminal.retrieveScreen().contains(expectedText)) {
+                    throw new CemtException("Problem finding properties");
+                }
+
+                CicstsHashMap returnMap = getAllAttributes(terminal, operation.getResourceName(), new CicstsHashMap());
+                // Enter returns from the expanded display to the command display
+                terminal.enter().waitForKeyboard();
+                results.add(returnMap);
+            } catch (Exception e) {
+                resetTerminal(terminal);
+                throw new CemtException("Problem retrieving properties for " + operation, e);
+            }
+        }
+
+        try {
+            terminal.pf3();
+            terminal.waitForKeyboard();
+            terminal.clear();
+            terminal.waitForKeyboard();
+        }catch(Exception e) {
+            throw new CemtException("Unable to return terminal back into reset state", e);
+        }
+
+        return results;
+    }
+
+    private void resetTerminal(ICicsTerminal terminal) throws CemtException {
+        try {
+            terminal.resetAndClear();
+        } catch (CicstsManagerException e) {
+            throw new CemtException("Unable to return terminal back into reset state", e);
+        }
+    }
 
 }
@@ -12,6 +12,8 @@ import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
 import dev.galasa.framework.spi.language.GalasaTest;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.List;
 
@@ -19,22 +21,38 @@ import javax.validation.constraints.NotNull;
 
 import org.osgi.service.component.annotations.Component;
 
+import dev.galasa.ICredentials;
+import dev.galasa.ICredentialsUsernamePassword;
 import dev.galasa.ManagerException;
 import dev.galasa.cicsts.CemtManagerException;
 import dev.galasa.cicsts.CicstsManagerException;
 import dev.galasa.cicsts.ICemt;
 import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.cemt.internal.properties.CemtBackend;
 import dev.galasa.cicsts.cemt.internal.properties.CemtPropertiesSingleton;
+import dev.galasa.cicsts.cemt.internal.properties.CmciContext;
+import dev.galasa.cicsts.cemt.internal.properties.CmciCredentials;
+import dev.galasa.cicsts.cemt.internal.properties.CmciHostname;
+import dev.galasa.cicsts.cemt.internal.properties.CmciHttps;
+import dev.galasa.cicsts.cemt.internal.properties.CmciPort;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
 import dev.galasa.cicsts.cemt.spi.ICemtManagerSpi;
 import dev.galasa.cicsts.spi.ICemtProvider;
 import dev.galasa.cicsts.spi.ICicstsManagerSpi;
+import dev.galasa.framework.spi.creds.CredentialsException;
+import dev.galasa.http.HttpClientException;
+import dev.galasa.http.IHttpClient;
+import dev.galasa.http.spi.IHttpManagerSpi;
+import dev.galasa.zos.ZosManagerException;
 
 @Component(service = { IManager.class })
 public class CemtManagerImpl extends AbstractManager implements ICemtManagerSpi, ICemtProvider {
    
    protected static final String NAMESPACE = "cemt";
    private ICicstsManagerSpi cicstsManager;
+   private IHttpManagerSpi httpManager;
    private HashMap<ICicsRegion, ICemt> regionCemt = new HashMap<>();
+   private HashMap<ICicsRegion, CmciClient> regionCmciClient = new HashMap<>();
    
    @Override
    public void initialise(@NotNull IFramework framework, @NotNull List<IManager> allManagers, @NotNull List<IManager> activeManagers, @NotNull GalasaTest galasaTest) throws ManagerException {
@@ -69,16 +87,29 @@ public class CemtManagerImpl extends AbstractManager implements ICemtManagerSpi,
       
       cicstsManager.registerCemtProvider(this);
       
+      // The HTTP Manager is only needed to reach a CMCI server
+      if(CemtBackend.isCmciConfigured()) {
+         httpManager = addDependentManager(allManagers, activeManagers, galasaTest, IHttpManagerSpi.class);
+         
+         if(httpManager == null) {
+            throw new CemtManagerException("The HTTP Manager is not available");
+         }
+      }
+      
    }
 
 
    @Override
-   public @NotNull ICemt getCemt(ICicsRegion cicsRegion) {
+   public @NotNull ICemt getCemt(ICicsRegion cicsRegion) throws CicstsManagerException {
       
       ICemt cemt = regionCemt.get(cicsRegion);
       
       if(cemt == null) {
          cemt = new CemtImpl(cicsRegion);
+         CmciClient cmciClient = getCmciClient(cicsRegion);
+         if(cmciClient != null) {
+            cemt = new CemtCmciImpl(cmciClient, cemt);
+         }
          regionCemt.put(cicsRegion, cemt);
       }
       
@@ -86,4 +117,66 @@ public class CemtManagerImpl extends AbstractManager implements ICemtManagerSpi,
       
    }
    
+   
+   @Override
+   public CmciClient getCmciClient(ICicsRegion cicsRegion) throws CemtManagerException {
+      
+      CmciClient cmciClient = regionCmciClient.get(cicsRegion);
+      
+      if(cmciClient == null) {
+         if(!CemtBackend.isCmci(cicsRegion.getTag())) {
+            return null;
+         }
+         cmciClient = new CmciClient(cicsRegion, newCmciHttpClient(cicsRegion), CmciContext.get(cicsRegion.getTag()));
+         regionCmciClient.put(cicsRegion, cmciClient);
+      }
+      
+      return cmciClient;
+      
+   }
+   
+   
+   /**
+    * One client per region, so the connections to the CMCI server are reused
+    */
+   protected IHttpClient newCmciHttpClient(ICicsRegion cicsRegion) throws CemtManagerException {
+      String tag = cicsRegion.getTag();
+      
+      if(httpManager == null) {
+         throw new CemtManagerException("The HTTP Manager is not available for the CMCI backend of tag " + tag);
+      }
+      
+      IHttpClient httpClient = httpManager.newHttpClient();
+      try {
+         String hostname = CmciHostname.get(tag);
+         if(hostname == null) {
+            hostname = cicsRegion.getZosImage().getDefaultHostname();
+         }
+         boolean https = CmciHttps.get(tag);
+         httpClient.setURI(new URI((https ? "https" : "http") + "://" + hostname + ":" + CmciPort.get(tag)));
+         
+         ICredentials creds = null;
+         String credsId = CmciCredentials.get(tag);
+         if(credsId != null) {
+            creds = getFramework().getCredentialsService().getCredentials(credsId);
+            if(creds == null) {
+               throw new CemtManagerException("Unable to find CMCI credentials " + credsId + " for tag " + tag);
+            }
+         } else {
+            creds = cicsRegion.getZosImage().getDefaultCredentials();
+         }
+         if(creds instanceof ICredentialsUsernamePassword) {
+            httpClient.setAuthorisation(((ICredentialsUsernamePassword) creds).getUsername(), ((ICredentialsUsernamePassword) creds).getPassword());
+         }
+         if(https) {
+            httpClient.setTrustingSSLContext();
+         }
+         httpClient.build();
+      } catch (HttpClientException | ZosManagerException | CredentialsException | URISyntaxException e) {
+         throw new CemtManagerException("Unable to create the CMCI HTTP client for tag " + tag, e);
+      }
+      
+      return httpClient;
+   }
+   
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal;
+
+import dev.galasa.cicsts.CemtException;
+
+/**
+ * The CMCI resource tables for the CEMT resource types supported by the CMCI backend
+ */
+public enum CmciResourceType {
+
+    PROGRAM("CICSProgram", "PROGRAM", "STATUS", "PROG"),
+    TRANSACTION("CICSLocalTransaction", "TRANID", "STATUS", "TRANS", "TRAN"),
+    FILE("CICSLocalFile", "FILE", "ENABLESTATUS"),
+    JVMSERVER("CICSJVMServer", "NAME", "ENABLESTATUS", "JVMS"),
+    BUNDLE("CICSBundle", "NAME", "ENABLESTATUS"),
+    TCPIPSERVICE("CICSTCPIPService", "NAME", null, "TCPIPS"),
+    URIMAP("CICSURIMap", "NAME", "ENABLESTATUS"),
+    LIBRARY("CICSLibrary", "NAME", "ENABLESTATUS"),
+    PIPELINE("CICSPipeline", "NAME", "ENABLESTATUS"),
+    WEBSERVICE("CICSWebService", "NAME", null);
+
+    private final String   table;
+    private final String   nameAttribute;
+    private final String   statusAttribute;
+    private final String[] abbreviations;
+
+    private CmciResourceType(String table, String nameAttribute, String statusAttribute, String... abbreviations) {
+        this.table = table;
+        this.nameAttribute = nameAttribute;
+        this.statusAttribute = statusAttribute;
+        this.abbreviations = abbreviations;
+    }
+
+    public String getTable() {
+        return this.table;
+    }
+
+    /**
+     * @return the attribute holding the resource name, used in the CRITERIA of a request
+     */
+    public String getNameAttribute() {
+        return this.nameAttribute;
+    }
+
+    /**
+     * @return the attribute set by a CEMT ENABLED or DISABLED, or null if the resource does not have one
+     */
+    public String getStatusAttribute() {
+        return this.statusAttribute;
+    }
+
+    public static CmciResourceType fromCemt(String resourceType) throws CemtException {
+        String type = resourceType.trim().toUpperCase();
+        for (CmciResourceType cmciType : values()) {
+            if (cmciType.name().equals(type)) {
+                return cmciType;
+            }
+            for (String abbreviation : cmciType.abbreviations) {
+                if (abbreviation.equals(type)) {
+                    return cmciType;
+                }
+            }
+        }
+        throw new CemtException("Resource type " + resourceType + " is not supported by the CMCI CEMT backend");
+    }
+
+}
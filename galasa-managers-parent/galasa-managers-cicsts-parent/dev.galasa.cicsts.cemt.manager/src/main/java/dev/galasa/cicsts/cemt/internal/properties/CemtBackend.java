@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import java.util.Map;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CEMT Backend
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.tag.[TAG].backend
+ * 
+ * @galasa.description Selects how CEMT and CEDA commands are issued for the CICS TS region with the tag. <code>terminal</code> drives the CEMT and CEDA transactions on a 3270 terminal, <code>cmci</code> uses the CICS Management Client Interface REST API, which is much quicker for tests that inquire, set or define many resources. CEMT PERFORM commands always use a terminal.
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default terminal
+ * 
+ * @galasa.valid_values terminal or cmci
+ * 
+ * @galasa.examples 
+ * <code>cemt.tag.PRIMARY.backend=cmci</code><br>
+ *
+ */
+public class CemtBackend extends CpsProperties {
+
+    public static boolean isCmci(String tag) throws CemtManagerException {
+        try {
+            String backend = getStringNulled(CemtPropertiesSingleton.cps(), "tag." + tag, "backend");
+            if (backend == null || "terminal".equalsIgnoreCase(backend)) {
+                return false;
+            }
+            if ("cmci".equalsIgnoreCase(backend)) {
+                return true;
+            }
+            throw new CemtManagerException("Invalid CEMT backend \"" + backend + "\" for tag " + tag + ", must be terminal or cmci");
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CEMT backend for tag " + tag, e);
+        }
+    }
+
+    /**
+     * @return true if any tag is configured to use the CMCI backend, so the HTTP Manager is needed
+     */
+    public static boolean isCmciConfigured() throws CemtManagerException {
+        try {
+            for (Map.Entry<String, String> property : CemtPropertiesSingleton.cps().getPrefixedProperties("tag.").entrySet()) {
+                if (property.getKey().endsWith(".backend") && "cmci".equalsIgnoreCase(property.getValue().trim())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CEMT backends", e);
+        }
+    }
+}
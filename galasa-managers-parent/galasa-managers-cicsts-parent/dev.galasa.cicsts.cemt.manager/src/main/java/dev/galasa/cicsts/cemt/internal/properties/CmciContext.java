@@ -0,0 +1,40 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CMCI Context
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.cmci.tag.[TAG].context
+ * 
+ * @galasa.description The CMCI context for the CICS TS region with the tag, the CICSplex name for a CICSPlex SM WUI server
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default The applid of the region, for a single region CMCI server
+ * 
+ * @galasa.valid_values A CICSplex name or applid
+ * 
+ * @galasa.examples 
+ * <code>cemt.cmci.tag.PRIMARY.context=PLEX1</code><br>
+ *
+ */
+public class CmciContext extends CpsProperties {
+
+    public static String get(String tag) throws CemtManagerException {
+        try {
+            return getStringNulled(CemtPropertiesSingleton.cps(), "cmci.tag." + tag, "context");
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CMCI context for tag " + tag, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CMCI Credentials
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.cmci.tag.[TAG].credentials
+ * 
+ * @galasa.description The id of the username and password credentials used to sign on to the CMCI server for the CICS TS region with the tag
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default None, requests are not authenticated
+ * 
+ * @galasa.valid_values A valid credentials id
+ * 
+ * @galasa.examples 
+ * <code>cemt.cmci.tag.PRIMARY.credentials=CMCIUSER</code><br>
+ *
+ */
+public class CmciCredentials extends CpsProperties {
+
+    public static String get(String tag) throws CemtManagerException {
+        try {
+            return getStringNulled(CemtPropertiesSingleton.cps(), "cmci.tag." + tag, "credentials");
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CMCI credentials id for tag " + tag, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CMCI Hostname
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.cmci.tag.[TAG].hostname
+ * 
+ * @galasa.description The hostname of the CMCI server for the CICS TS region with the tag
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default The default hostname of the zOS image the region is running on
+ * 
+ * @galasa.valid_values A hostname or IP address
+ * 
+ * @galasa.examples 
+ * <code>cemt.cmci.tag.PRIMARY.hostname=plex1.example.com</code><br>
+ *
+ */
+public class CmciHostname extends CpsProperties {
+
+    public static String get(String tag) throws CemtManagerException {
+        try {
+            return getStringNulled(CemtPropertiesSingleton.cps(), "cmci.tag." + tag, "hostname");
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CMCI hostname for tag " + tag, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CMCI HTTPS
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.cmci.tag.[TAG].https
+ * 
+ * @galasa.description Whether the CMCI server for the CICS TS region with the tag uses HTTPS
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default true
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>cemt.cmci.tag.PRIMARY.https=false</code><br>
+ *
+ */
+public class CmciHttps extends CpsProperties {
+
+    public static boolean get(String tag) throws CemtManagerException {
+        try {
+            String https = getStringNulled(CemtPropertiesSingleton.cps(), "cmci.tag." + tag, "https");
+            return https == null || Boolean.parseBoolean(https);
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CMCI https setting for tag " + tag, e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal.properties;
+
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CMCI Port
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cemt.cmci.tag.[TAG].port
+ * 
+ * @galasa.description The port of the CMCI server for the CICS TS region with the tag
+ * 
+ * @galasa.required Yes if the CEMT backend is cmci
+ * 
+ * @galasa.default None
+ * 
+ * @galasa.valid_values A valid port number
+ * 
+ * @galasa.examples 
+ * <code>cemt.cmci.tag.PRIMARY.port=1490</code><br>
+ *
+ */
+public class CmciPort extends CpsProperties {
+
+    public static int get(String tag) throws CemtManagerException {
+        String port = null;
+        try {
+            port = getStringNulled(CemtPropertiesSingleton.cps(), "cmci.tag." + tag, "port");
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new CemtManagerException("Problem asking CPS for the CMCI port for tag " + tag, e);
+        }
+        if (port == null) {
+            throw new CemtManagerException("Property cemt.cmci.tag." + tag + ".port is required for the cmci CEMT backend");
+        }
+        try {
+            return Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            throw new CemtManagerException("Invalid CMCI port \"" + port + "\" for tag " + tag, e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.spi;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import dev.galasa.cicsts.CicstsHashMap;
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.http.HttpClientException;
+import dev.galasa.http.HttpClientResponse;
+import dev.galasa.http.IHttpClient;
+
+/**
+ * Requests to the CICS Management Client Interface REST API for a CICS region, used by the CMCI backends of
+ * CEMT and CEDA.
+ *
+ * The records returned are the attributes of the CMCI resource records, with lower case names and trimmed values.
+ */
+public class CmciClient {
+
+    private static final Log    logger          = LogFactory.getLog(CmciClient.class);
+
+    private static final String CMCI_PATH       = "/CICSSystemManagement/";
+    private static final String RESPONSE_OK     = "1024";
+    private static final String RESPONSE_NODATA = "1027";
+
+    private final ICicsRegion cicsRegion;
+    private final IHttpClient httpClient;
+    private final String      context;
+
+    /**
+     * @param cicsRegion the region the requests are for
+     * @param httpClient the client for the CMCI server, kept so the connections are reused
+     * @param context the CMCI context, null for the applid of the region
+     */
+    public CmciClient(ICicsRegion cicsRegion, IHttpClient httpClient, String context) {
+        this.cicsRegion = cicsRegion;
+        this.httpClient = httpClient;
+        this.context = context;
+    }
+
+    public ICicsRegion getCicsRegion() {
+        return this.cicsRegion;
+    }
+
+    /**
+     * Retrieve the records of a resource table
+     *
+     * @param table the CMCI resource table
+     * @param criteria the CRITERIA of the request, without the enclosing brackets, null for all records
+     * @param parameter the PARAMETER of the request, null for none
+     * @return the records, empty if there are none
+     * @throws CicstsManagerException if the request failed
+     */
+    public List<CicstsHashMap> get(String table, String criteria, String parameter) throws CicstsManagerException {
+        String url = url(table, criteria, parameter);
+        try {
+            return checkResponse("GET", url, this.httpClient.getText(url), true);
+        } catch (HttpClientException e) {
+            throw new CicstsManagerException("Problem sending CMCI GET " + url, e);
+        }
+    }
+
+    /**
+     * Update the records of a resource table or perform an action on them
+     *
+     * @param table the CMCI resource table
+     * @param criteria the CRITERIA of the request, without the enclosing brackets, null for all records
+     * @param parameter the PARAMETER of the request, null for none
+     * @param body the request body
+     * @return the records updated
+     * @throws CicstsManagerException if the request failed or no records were updated
+     */
+    public List<CicstsHashMap> put(String table, String criteria, String parameter, String body) throws CicstsManagerException {
+        String url = url(table, criteria, parameter);
+        try {
+            return checkResponse("PUT", url, this.httpClient.putXML(url, body), false);
+        } catch (HttpClientException e) {
+            throw new CicstsManagerException("Problem sending CMCI PUT " + url, e);
+        }
+    }
+
+    /**
+     * Create a record in a resource table
+     *
+     * @param table the CMCI resource table
+     * @param body the request body
+     * @return the records created
+     * @throws CicstsManagerException if the request failed
+     */
+    public List<CicstsHashMap> post(String table, String body) throws CicstsManagerException {
+        String url = url(table, null, null);
+        try {
+            return checkResponse("POST", url, this.httpClient.postXML(url, body), false);
+        } catch (HttpClientException e) {
+            throw new CicstsManagerException("Problem sending CMCI POST " + url, e);
+        }
+    }
+
+    /**
+     * Remove the records of a resource table
+     *
+     * @param table the CMCI resource table
+     * @param criteria the CRITERIA of the request, without the enclosing brackets
+     * @param parameter the PARAMETER of the request, null for none
+     * @throws CicstsManagerException if the request failed or no records were removed
+     */
+    public void delete(String table, String criteria, String parameter) throws CicstsManagerException {
+        String url = url(table, criteria, parameter);
+        try {
+            checkResponse("DELETE", url, this.httpClient.deleteText(url), false);
+        } catch (HttpClientException e) {
+            throw new CicstsManagerException("Problem sending CMCI DELETE " + url, e);
+        }
+    }
+
+    /**
+     * Escape a value for an XML attribute of a request body
+     */
+    public static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Check the CMCI result summary and return the resource records
+     *
+     * @param noDataAllowed - NODATA is a valid response, for an inquiry of a resource that is not installed
+     */
+    private List<CicstsHashMap> checkResponse(String method, String url, HttpClientResponse<String> response, boolean noDataAllowed) throws CicstsManagerException {
+        Document document = parse(response.getContent());
+        NodeList summaries = document == null ? null : document.getElementsByTagName("resultsummary");
+        if (summaries == null || summaries.getLength() == 0) {
+            throw new CicstsManagerException("Unexpected CMCI response to " + method + " " + url + ": " + response.getStatusLine());
+        }
+
+        Element summary = (Element) summaries.item(0);
+        String apiResponse = summary.getAttribute("api_response1");
+        if (RESPONSE_NODATA.equals(apiResponse) && noDataAllowed) {
+            return new ArrayList<>();
+        }
+        if (!RESPONSE_OK.equals(apiResponse)) {
+            throw new CicstsManagerException("CMCI " + method + " " + url + " failed, response " + summary.getAttribute("api_response1_alt")
+                    + " reason " + summary.getAttribute("api_response2_alt") + ", HTTP status " + response.getStatusCode());
+        }
+        logger.trace("CMCI " + method + " " + url + " returned " + summary.getAttribute("recordcount") + " records");
+
+        List<CicstsHashMap> records = new ArrayList<>();
+        NodeList recordLists = document.getElementsByTagName("records");
+        for (int i = 0; i < recordLists.getLength(); i++) {
+            NodeList children = recordLists.item(i).getChildNodes();
+            for (int j = 0; j < children.getLength(); j++) {
+                Node child = children.item(j);
+                if (child.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                CicstsHashMap record = new CicstsHashMap();
+                NamedNodeMap attributes = child.getAttributes();
+                for (int k = 0; k < attributes.getLength(); k++) {
+                    Node attribute = attributes.item(k);
+                    record.put(attribute.getNodeName().toLowerCase(), attribute.getNodeValue().trim());
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private Document parse(String content) throws CicstsManagerException {
+        if (content == null || content.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return builder.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new CicstsManagerException("Unable to parse the CMCI response", e);
+        }
+    }
+
+    private String url(String table, String criteria, String parameter) throws CicstsManagerException {
+        String applid = this.cicsRegion.getApplid();
+        StringBuilder url = new StringBuilder(CMCI_PATH);
+        url.append(table).append("/");
+        url.append(this.context == null ? applid : this.context).append("/");
+        url.append(applid);
+        try {
+            String separator = "?";
+            if (criteria != null) {
+                url.append(separator).append("CRITERIA=").append(URLEncoder.encode("(" + criteria + ")", "UTF-8"));
+                separator = "&";
+            }
+            if (parameter != null) {
+                url.append(separator).append("PARAMETER=").append(URLEncoder.encode(parameter, "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new CicstsManagerException("Unable to encode the CMCI request for " + table, e);
+        }
+        return url.toString();
+    }
+
+}
@@ -5,7 +5,18 @@
  */
 package dev.galasa.cicsts.cemt.spi;
 
+import dev.galasa.cicsts.CemtManagerException;
+import dev.galasa.cicsts.ICicsRegion;
 
 public interface ICemtManagerSpi  {
 
+    /**
+     * Returns the CMCI client for a CICS region, so other managers can use the same CMCI server and connections
+     * 
+     * @param cicsRegion the CICS region
+     * @return the client, or null if the region is not configured to use the CMCI backend
+     * @throws CemtManagerException if the client could not be created
+     */
+    CmciClient getCmciClient(ICicsRegion cicsRegion) throws CemtManagerException;
+
 }
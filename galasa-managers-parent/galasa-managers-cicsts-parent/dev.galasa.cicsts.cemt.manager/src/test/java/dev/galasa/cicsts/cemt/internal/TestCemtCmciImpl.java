@@ -0,0 +1,218 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.LogFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import dev.galasa.cicsts.CemtException;
+import dev.galasa.cicsts.CemtOperation;
+import dev.galasa.cicsts.CicstsHashMap;
+import dev.galasa.cicsts.ICemt;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.cemt.spi.CmciClient;
+import dev.galasa.http.IHttpClient;
+import dev.galasa.http.StandAloneHttpClient;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestCemtCmciImpl {
+
+    private static final String APPLID = "IYK2ZAB1";
+
+    private static final String OK = "<resultsummary api_response1=\"1024\" api_response1_alt=\"OK\" api_response2=\"0\" api_response2_alt=\"\" recordcount=\"%d\" displayed_recordcount=\"%d\"/>";
+    private static final String NODATA = "<resultsummary api_response1=\"1027\" api_response1_alt=\"NODATA\" api_response2=\"0\" api_response2_alt=\"\" recordcount=\"0\"/>";
+    private static final String INVALIDPARM = "<resultsummary api_response1=\"1028\" api_response1_alt=\"INVALIDPARM\" api_response2=\"0\" api_response2_alt=\"CRITERIA\"/>";
+
+    @Mock
+    private ICicsRegion cicsRegionMock;
+
+    @Mock
+    private ICemt terminalCemtMock;
+
+    private HttpServer server;
+
+    private final List<String> requests = new ArrayList<>();
+
+    private final Map<String, String> programs = new LinkedHashMap<>();
+
+    private CemtCmciImpl cemt;
+
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(cicsRegionMock.getApplid()).thenReturn(APPLID);
+
+        programs.put("PROGA", "<cicsprogram _keydata=\"D7D9D6C7C1\" eyu_cicsname=\"" + APPLID + "\" program=\"PROGA    \" status=\"ENABLED\" language=\"COBOL\" library=\"DFHRPL\"/>");
+        programs.put("PROGB", "<cicsprogram eyu_cicsname=\"" + APPLID + "\" program=\"PROGB    \" status=\"DISABLED\" language=\"JAVA\"/>");
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/CICSSystemManagement/", this::handle);
+        server.start();
+
+        IHttpClient client = StandAloneHttpClient.getHttpClient(30000, LogFactory.getLog(getClass()));
+        client.setURI(new URI("http://127.0.0.1:" + server.getAddress().getPort()));
+        client.build();
+
+        cemt = new CemtCmciImpl(new CmciClient(cicsRegionMock, client, null), terminalCemtMock);
+    }
+
+    @After
+    public void teardown() {
+        server.stop(0);
+    }
+
+    /**
+     * A mock CMCI server holding a table of programs
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        String criteria = query == null ? null : URLDecoder.decode(query.substring("CRITERIA=".length()), "UTF-8");
+        requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " " + criteria + " " + body);
+
+        StringBuilder response = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><response xmlns=\"http://www.ibm.com/xmlns/prod/CICS/smw2int\" version=\"3.0\">");
+        int status = 200;
+        if (!exchange.getRequestURI().getPath().equals("/CICSSystemManagement/CICSProgram/" + APPLID + "/" + APPLID)) {
+            response.append(INVALIDPARM);
+            status = 400;
+        } else {
+            List<String> records = new ArrayList<>();
+            for (Map.Entry<String, String> program : programs.entrySet()) {
+                if (criteria == null || criteria.contains("PROGRAM=" + program.getKey())) {
+                    records.add(program.getValue());
+                }
+            }
+            if (records.isEmpty()) {
+                response.append(NODATA);
+                status = 404;
+            } else {
+                response.append(String.format(OK, records.size(), records.size()));
+                if (!"DELETE".equals(exchange.getRequestMethod())) {
+                    response.append("<records>");
+                    records.forEach(response::append);
+                    response.append("</records>");
+                }
+            }
+        }
+        response.append("</response>");
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void testInquireResource() throws Exception {
+        CicstsHashMap result = cemt.inquireResource(null, "PROGRAM", "PROGA");
+
+        Assert.assertEquals("PROGA", result.get("program"));
+        Assert.assertTrue(result.isParameterEquals("status", "Enabled"));
+        Assert.assertTrue(result.isParameterEquals("language", "Cobol"));
+        Assert.assertTrue(result.isParameterEquals("library", "DFHRPL"));
+        Assert.assertFalse(result.containsKey("eyu_cicsname"));
+        Assert.assertFalse(result.containsKey("_keydata"));
+        Assert.assertEquals(Arrays.asList("GET /CICSSystemManagement/CICSProgram/" + APPLID + "/" + APPLID + " (PROGRAM=PROGA) "), requests);
+    }
+
+    @Test
+    public void testNameIsUnderCemtResourceType() throws Exception {
+        CicstsHashMap record = new CicstsHashMap();
+        record.put("name", "JVMSRV1");
+        record.put("enablestatus", "DISABLED");
+        record.put("threadlimit", "15");
+
+        cemt.normalise(CmciResourceType.JVMSERVER, record);
+
+        Assert.assertEquals("JVMSRV1", record.get("jvmserver"));
+        Assert.assertFalse(record.containsKey("name"));
+        Assert.assertTrue(record.isParameterEquals("enablestatus", "Disabled"));
+        Assert.assertTrue(record.isParameterEquals("threadlimit", "15"));
+    }
+
+    @Test
+    public void testInquireResourceNotFound() throws Exception {
+        Assert.assertNull(cemt.inquireResource(null, "PROG", "MISSING"));
+    }
+
+    @Test
+    public void testInquireUnsupportedType() throws Exception {
+        Assert.assertThrows(CemtException.class, () -> cemt.inquireResource(null, "TSQUEUE", "Q1"));
+        Assert.assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testBatchInquiriesAreOneRequest() throws Exception {
+        List<CicstsHashMap> results = cemt.performBatch(null, Arrays.asList(
+                CemtOperation.inquire("PROGRAM", "PROGB"),
+                CemtOperation.inquire("PROGRAM", "MISSING"),
+                CemtOperation.inquire("PROGRAM", "PROGA")));
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("PROGB", results.get(0).get("program"));
+        Assert.assertNull(results.get(1));
+        Assert.assertEquals("PROGA", results.get(2).get("program"));
+        Assert.assertEquals(Arrays.asList("GET /CICSSystemManagement/CICSProgram/" + APPLID + "/" + APPLID + " (PROGRAM=PROGB OR PROGRAM=MISSING OR PROGRAM=PROGA) "), requests);
+    }
+
+    @Test
+    public void testSetResourceUpdateAndAction() throws Exception {
+        CicstsHashMap result = cemt.setResource(null, "PROGRAM", "PROGA", "DISABLED NEWCOPY");
+
+        Assert.assertEquals("PROGA", result.get("program"));
+        Assert.assertEquals(2, requests.size());
+        Assert.assertTrue(requests.get(0), requests.get(0).endsWith("(PROGRAM=PROGA) <request><update><attributes STATUS=\"DISABLED\"/></update></request>"));
+        Assert.assertTrue(requests.get(1), requests.get(1).endsWith("(PROGRAM=PROGA) <request><action name=\"NEWCOPY\"/></request>"));
+    }
+
+    @Test
+    public void testSetResourceNotFoundFails() throws Exception {
+        Assert.assertThrows(CemtException.class, () -> cemt.setResource(null, "PROGRAM", "MISSING", "ENABLED"));
+    }
+
+    @Test
+    public void testDiscardResource() throws Exception {
+        cemt.discardResource(null, "PROGRAM", "PROGB");
+
+        Assert.assertEquals(Arrays.asList("DELETE /CICSSystemManagement/CICSProgram/" + APPLID + "/" + APPLID + " (PROGRAM=PROGB) "), requests);
+    }
+
+    @Test
+    public void testPerformIsPassedToTerminal() throws Exception {
+        Mockito.when(terminalCemtMock.performSystemProperty(null, "STATISTICS", "RECORD", "NORMAL")).thenReturn(true);
+
+        Assert.assertTrue(cemt.performSystemProperty(null, "STATISTICS", "RECORD", "NORMAL"));
+        Assert.assertTrue(requests.isEmpty());
+    }
+
+}
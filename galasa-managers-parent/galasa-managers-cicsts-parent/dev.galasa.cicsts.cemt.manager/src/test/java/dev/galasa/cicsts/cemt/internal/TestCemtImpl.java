@@ -0,0 +1,91 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.cemt.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import dev.galasa.cicsts.CemtException;
+import dev.galasa.cicsts.CemtOperation;
+import dev.galasa.cicsts.CicstsHashMap;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.ICicsTerminal;
+
+public class TestCemtImpl {
+
+    private static final String COMMAND_SCREEN = "STATUS:  RESULTS - OVERTYPE TO MODIFY\n RESPONSE: NORMAL";
+
+    private ICicsRegion cicsRegion;
+
+    private ICicsTerminal terminal;
+
+    private CemtImpl cemt;
+
+    @Before
+    public void setup() {
+        cicsRegion = Mockito.mock(ICicsRegion.class);
+        terminal = Mockito.mock(ICicsTerminal.class, Mockito.RETURNS_SELF);
+        Mockito.when(terminal.getCicsRegion()).thenReturn(cicsRegion);
+        Mockito.when(terminal.isClearScreen()).thenReturn(true);
+        cemt = new CemtImpl(cicsRegion);
+    }
+
+    @Test
+    public void testPerformBatchInOneSession() throws Exception {
+        Mockito.when(terminal.retrieveScreen()).thenReturn(
+                COMMAND_SCREEN,
+                "RESULT - OVERTYPE TO MODIFY\n Program(PROG1)\n Status( Enabled )",
+                "RESULT - OVERTYPE TO MODIFY\n Program(PROG1)\n Status( Enabled )",
+                COMMAND_SCREEN);
+
+        List<CicstsHashMap> results = cemt.performBatch(terminal, Arrays.asList(
+                CemtOperation.inquire("PROGRAM", "PROG1"),
+                CemtOperation.discard("PROGRAM", "PROG2")));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).containsEntry("program", "PROG1").containsEntry("status", "Enabled");
+        assertThat(results.get(1)).isEmpty();
+
+        InOrder inOrder = Mockito.inOrder(terminal);
+        inOrder.verify(terminal).type("CEMT INQUIRE PROGRAM(PROG1)");
+        inOrder.verify(terminal).type("DISCARD PROGRAM(PROG2)");
+        inOrder.verify(terminal).pf3();
+        Mockito.verify(terminal, Mockito.never()).resetAndClear();
+    }
+
+    @Test
+    public void testPerformBatchInquireWithoutExpandedDisplay() throws Exception {
+        Mockito.when(terminal.retrieveScreen()).thenReturn(COMMAND_SCREEN, "NOT THE EXPANDED DISPLAY");
+
+        assertThatThrownBy(() -> cemt.performBatch(terminal, Arrays.asList(CemtOperation.inquire("PROGRAM", "PROG1"))))
+            .isInstanceOf(CemtException.class)
+            .hasMessageContaining("Problem retrieving properties for CEMT INQUIRE PROGRAM(PROG1)")
+            .hasRootCauseMessage("Problem finding properties");
+        Mockito.verify(terminal).resetAndClear();
+    }
+
+    @Test
+    public void testPerformBatchStopsAtFailedSet() throws Exception {
+        Mockito.when(terminal.retrieveScreen()).thenReturn("STATUS:  RESPONSE: 1 ERROR");
+
+        assertThatThrownBy(() -> cemt.performBatch(terminal, Arrays.asList(
+                CemtOperation.set("PROGRAM", "PROG1", "DISABLED"),
+                CemtOperation.inquire("PROGRAM", "PROG1"))))
+            .isInstanceOf(CemtException.class)
+            .hasMessage("Errors detected whilst performing CEMT SET PROGRAM(PROG1) DISABLED");
+        Mockito.verify(terminal, Mockito.never()).type("INQUIRE PROGRAM(PROG1)");
+        Mockito.verify(terminal).resetAndClear();
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * A single CEMT INQUIRE, SET or DISCARD for use with
+ * {@link ICemt#performBatch(ICicsTerminal, java.util.List)}
+ */
+public class CemtOperation {
+
+    public enum Type {
+        INQUIRE,
+        SET,
+        DISCARD
+    }
+
+    private final Type   type;
+    private final String resourceType;
+    private final String resourceName;
+    private final String action;
+
+    private CemtOperation(Type type, String resourceType, String resourceName, String action) {
+        this.type = type;
+        this.resourceType = resourceType;
+        this.resourceName = resourceName;
+        this.action = action;
+    }
+
+    /**
+     * Inquire a resource, the same as {@link ICemt#inquireResource(ICicsTerminal, String, String)}
+     */
+    public static CemtOperation inquire(@NotNull String resourceType, @NotNull String resourceName) {
+        return new CemtOperation(Type.INQUIRE, resourceType, resourceName, null);
+    }
+
+    /**
+     * Set a resource, the same as {@link ICemt#setResource(ICicsTerminal, String, String, String)}
+     */
+    public static CemtOperation set(@NotNull String resourceType, String resourceName, @NotNull String action) {
+        return new CemtOperation(Type.SET, resourceType, resourceName, action);
+    }
+
+    /**
+     * Discard a resource, the same as {@link ICemt#discardResource(ICicsTerminal, String, String)}
+     */
+    public static CemtOperation discard(@NotNull String resourceType, @NotNull String resourceName) {
+        return new CemtOperation(Type.DISCARD, resourceType, resourceName, null);
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public String getResourceType() {
+        return this.resourceType;
+    }
+
+    public String getResourceName() {
+        return this.resourceName;
+    }
+
+    public String getAction() {
+        return this.action;
+    }
+
+    /**
+     * @return the CEMT command, without the transaction id
+     */
+    public String getCommand() {
+        switch (this.type) {
+            case INQUIRE:
+                return "INQUIRE " + this.resourceType + "(" + this.resourceName + ")";
+            case SET:
+                if (this.resourceName == null) {
+                    return "SET ALL " + this.resourceType + " " + this.action;
+                }
+                return "SET " + this.resourceType + "(" + this.resourceName + ") " + this.action;
+            case DISCARD:
+            default:
+                if (this.resourceName == null) {
+                    return "DISCARD " + this.resourceType;
+                }
+                return "DISCARD " + this.resourceType + "(" + this.resourceName + ")";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CEMT " + getCommand();
+    }
+
+}
@@ -5,6 +5,9 @@
  */
 package dev.galasa.cicsts;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.validation.constraints.NotNull;
 
 import dev.galasa.zos3270.ITerminal;
@@ -82,4 +85,42 @@ public interface ICemt {
                                          @NotNull String systemArea,
                                          @NotNull String setRequest,
                                          @NotNull String expectedResponse)throws CemtException;
+
+
+    /**
+     * Perform a list of inquire, set and discard operations in a single CEMT session.
+     * The screen is reset and CEMT is started with the first operation, then the following commands are
+     * overtyped on the CEMT command line one after another, rather than starting and ending the transaction
+     * for each, so is much quicker for a large number of resources.
+     * Stops at the first set or discard that fails and leaves the terminal in the reset state.
+     * The default implementation performs each operation with its own CEMT transaction.
+     * @param cemtTerminal an {@link ITerminal} object logged on to the CICS region.
+     * If mixed case is required, the terminal should be presented with no upper case translate status.
+     * For example, the test could first issue <code>CEOT TRANIDONLY</code>
+     * @param operations the {@link CemtOperation}s to perform, in order.
+     * @return a {@link CicstsHashMap} for each operation, in the same order. The properties of the resource for
+     * an inquire or set, {@code null} for an inquire of a resource that is not found and an empty map for a discard.
+     * @throws CemtException
+     */
+
+    public default List<CicstsHashMap> performBatch(@NotNull ICicsTerminal cemtTerminal,
+                                                    @NotNull List<CemtOperation> operations) throws CemtException {
+        List<CicstsHashMap> results = new ArrayList<>(operations.size());
+        for (CemtOperation operation : operations) {
+            switch (operation.getType()) {
+                case INQUIRE:
+                    results.add(inquireResource(cemtTerminal, operation.getResourceType(), operation.getResourceName()));
+                    break;
+                case SET:
+                    results.add(setResource(cemtTerminal, operation.getResourceType(), operation.getResourceName(), operation.getAction()));
+                    break;
+                case DISCARD:
+                default:
+                    discardResource(cemtTerminal, operation.getResourceType(), operation.getResourceName());
+                    results.add(new CicstsHashMap());
+                    break;
+            }
+        }
+        return results;
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.ICicsTerminal;
+import dev.galasa.cicsts.spi.CicsTerminalImpl;
+import dev.galasa.zos3270.TerminalInterruptedException;
+
+/**
+ * A pool of connected and logged on terminals for a CICS TS region. A terminal is leased,
+ * used and returned, rather than a new terminal being connected and logged on each time one
+ * is needed. Returned terminals are reset to a clear screen, and a terminal is checked before
+ * it is leased again, with a replacement connected if it is no longer usable.
+ */
+public class CicsTerminalPool {
+
+    private static final Log logger = LogFactory.getLog(CicsTerminalPool.class);
+
+    /**
+     * Creates a new, unconnected, terminal for the pool
+     */
+    public interface ITerminalFactory {
+        CicsTerminalImpl newTerminal() throws CicstsManagerException;
+    }
+
+    private final ICicsRegion      region;
+    private final ITerminalFactory factory;
+
+    private final Deque<CicsTerminalImpl> idle   = new ArrayDeque<>();
+    private final Set<CicsTerminalImpl>   leased = new HashSet<>();
+
+    public CicsTerminalPool(ICicsRegion region, ITerminalFactory factory) {
+        this.region = region;
+        this.factory = factory;
+    }
+
+    /**
+     * Connect and logon terminals ready to be leased
+     *
+     * @param count the number of idle terminals the pool should have
+     * @throws CicstsManagerException if a terminal could not be connected
+     */
+    public void prewarm(int count) throws CicstsManagerException {
+        int needed;
+        synchronized (this) {
+            needed = count - this.idle.size();
+        }
+        if (needed <= 0) {
+            return;
+        }
+        logger.info("Connecting " + needed + " pooled terminal(s) to " + this.region);
+        List<CicsTerminalImpl> terminals = new ArrayList<>();
+        for (int i = 0; i < needed; i++) {
+            terminals.add(connectNewTerminal());
+        }
+        synchronized (this) {
+            this.idle.addAll(terminals);
+        }
+    }
+
+    /**
+     * Lease a connected and logged on terminal with a clear screen, connecting a new one
+     * if there are no usable terminals idle in the pool
+     *
+     * @return the terminal, which must be given back with {@link #giveBack(ICicsTerminal)}
+     * @throws CicstsManagerException if a new terminal could not be connected
+     */
+    public ICicsTerminal lease() throws CicstsManagerException {
+        CicsTerminalImpl terminal = take();
+        if (terminal == null) {
+            terminal = connectNewTerminal();
+        }
+
+        synchronized (this) {
+            this.leased.add(terminal);
+        }
+        logger.debug("Leased pooled terminal " + terminal.getId() + " for " + this.region);
+        return terminal;
+    }
+
+    /**
+     * Take a usable idle terminal out of the pool for good, eg for a manager that keeps the
+     * terminal for the rest of the run
+     *
+     * @return the terminal, or null if there are no usable terminals idle in the pool
+     */
+    public CicsTerminalImpl take() {
+        CicsTerminalImpl terminal;
+        while ((terminal = takeIdle()) != null) {
+            if (isUsable(terminal)) {
+                return terminal;
+            }
+            discard(terminal);
+        }
+        return null;
+    }
+
+    /**
+     * Return a leased terminal to the pool. The terminal is reset to a clear screen, and is
+     * disconnected instead of being pooled if that fails
+     *
+     * @param terminal the leased terminal
+     * @throws CicstsManagerException if the terminal was not leased from this pool
+     */
+    public void giveBack(ICicsTerminal terminal) throws CicstsManagerException {
+        CicsTerminalImpl pooled = null;
+        synchronized (this) {
+            if (terminal instanceof CicsTerminalImpl && this.leased.remove(terminal)) {
+                pooled = (CicsTerminalImpl) terminal;
+            }
+        }
+        if (pooled == null) {
+            throw new CicstsManagerException("Terminal " + terminal.getId() + " was not leased from the terminal pool for " + this.region);
+        }
+
+        try {
+            pooled.resetAndClear();
+        } catch (CicstsManagerException e) {
+            logger.warn("Unable to reset pooled terminal " + pooled.getId() + ", it will be disconnected", e);
+            discard(pooled);
+            return;
+        }
+
+        synchronized (this) {
+            this.idle.push(pooled);
+        }
+    }
+
+    /**
+     * @return the number of terminals waiting to be leased
+     */
+    public synchronized int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * @return the number of terminals leased and not yet given back
+     */
+    public synchronized int getLeasedCount() {
+        return this.leased.size();
+    }
+
+    /**
+     * Forget all the terminals, which are disconnected when the manager stops
+     */
+    public synchronized void clear() {
+        this.idle.clear();
+        this.leased.clear();
+    }
+
+    private synchronized CicsTerminalImpl takeIdle() {
+        return this.idle.poll();
+    }
+
+    /**
+     * A terminal is usable if it is still connected and is on the clear screen it was returned with,
+     * otherwise the region may have been restarted or the session ended
+     */
+    private boolean isUsable(CicsTerminalImpl terminal) {
+        if (!terminal.isConnected()) {
+            return false;
+        }
+        if (terminal.isClearScreen()) {
+            return true;
+        }
+        try {
+            terminal.resetAndClear();
+            return true;
+        } catch (CicstsManagerException e) {
+            logger.debug("Pooled terminal " + terminal.getId() + " is not usable", e);
+            return false;
+        }
+    }
+
+    private CicsTerminalImpl connectNewTerminal() throws CicstsManagerException {
+        CicsTerminalImpl terminal = this.factory.newTerminal();
+        if (!terminal.connectToCicsRegion()) {
+            discard(terminal);
+            throw new CicstsManagerException("Failed to connect pooled terminal to " + this.region);
+        }
+        return terminal;
+    }
+
+    private void discard(CicsTerminalImpl terminal) {
+        try {
+            terminal.disconnect();
+        } catch (TerminalInterruptedException e) { // NOSONAR - wish to hide disconnect errors
+        }
+    }
+
+}
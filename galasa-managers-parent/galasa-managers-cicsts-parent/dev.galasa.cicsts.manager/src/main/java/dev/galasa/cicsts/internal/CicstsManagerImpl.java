@@ -31,6 +31,7 @@ import dev.galasa.cicsts.internal.properties.CicstsPropertiesSingleton;
 import dev.galasa.cicsts.internal.properties.DefaultVersion;
 import dev.galasa.cicsts.internal.properties.ExtraBundles;
 import dev.galasa.cicsts.internal.properties.ProvisionType;
+import dev.galasa.cicsts.internal.properties.TerminalPoolPrewarm;
 import dev.galasa.cicsts.spi.CicsTerminalImpl;
 import dev.galasa.cicsts.spi.ICeciProvider;
 import dev.galasa.cicsts.spi.ICedaProvider;
@@ -74,6 +75,7 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
     private final ArrayList<ICicsRegionProvisioner> provisioners = new ArrayList<>();
     private final ArrayList<CicsTerminalImpl> terminals = new ArrayList<>();
     private final ArrayList<ICicsRegionLogonProvider> logonProviders = new ArrayList<>();
+    private final HashMap<ICicsRegion, CicsTerminalPool> terminalPools = new HashMap<>();
 
     private String provisionType;
     
@@ -218,7 +220,9 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
 
         try {
             CicsTerminalImpl newTerminal = new CicsTerminalImpl(this, getFramework(), region, annotation.connectAtStartup(), this.textScanner, loginCredentialsTag);
-            this.terminals.add(newTerminal);
+            synchronized (this.terminals) {
+                this.terminals.add(newTerminal);
+            }
             return newTerminal;
         } catch (TerminalInterruptedException e) {
             throw new CicstsManagerException(
@@ -234,9 +238,23 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
             throw new CicstsManagerException("Unable to setup CICS Terminal for tag " + tag + ", no region was provisioned");
         }
 
+        // Hand over a pre-warmed terminal if the region has one, rather than connecting and logging on another
+        CicsTerminalPool pool;
+        synchronized (this.terminalPools) {
+            pool = this.terminalPools.get(region);
+        }
+        if (pool != null) {
+            CicsTerminalImpl prewarmed = pool.take();
+            if (prewarmed != null) {
+                return prewarmed;
+            }
+        }
+
         try {
             CicsTerminalImpl newTerminal = new CicsTerminalImpl(this, getFramework(), region, true, this.textScanner);
-            this.terminals.add(newTerminal);
+            synchronized (this.terminals) {
+                this.terminals.add(newTerminal);
+            }
             return newTerminal;
         } catch (TerminalInterruptedException | ManagerException e) {
             throw new CicstsManagerException(
@@ -276,7 +294,7 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
 
         // Start the autoconnect terminals - in case they were not started during the above provisioner code
         logger.info("Connecting CICS Terminals");
-        for (CicsTerminalImpl terminal : this.terminals) {
+        for (CicsTerminalImpl terminal : getCicsTerminalImpls()) {
             if (terminal.isConnected()) {
                 continue;
             }
@@ -295,11 +313,25 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
                 throw new CicstsManagerException("Failed to connect to the " + terminal.getCicsRegion(), e);
             }
         }
+
+        // Fill the terminal pools of the started regions
+        for (ICicsRegionProvisioned region : this.provisionedCicsRegions.values()) {
+            if (region.isProvisionStart()) {
+                prewarmTerminalPool(region);
+            }
+        }
     }
 
     @Override
     public void provisionStop() {
-        for (CicsTerminalImpl terminal : this.terminals) {
+        synchronized (this.terminalPools) {
+            for (CicsTerminalPool pool : this.terminalPools.values()) {
+                pool.clear();
+            }
+            this.terminalPools.clear();
+        }
+
+        for (CicsTerminalImpl terminal : getCicsTerminalImpls()) {
             try {
                 terminal.writeRasOutput();
             	terminal.flushTerminalCache();
@@ -416,7 +448,7 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
         
         // Connect terminals that are associated with the region
         
-        for(CicsTerminalImpl terminal : terminals) {
+        for(CicsTerminalImpl terminal : getCicsTerminalImpls()) {
             if (terminal.getCicsRegion() == region) {
                 if (terminal.isConnectAtStartup()) {
                     if (!terminal.connectToCicsRegion()) {
@@ -425,6 +457,11 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
                 }
             }
         }
+        
+        // Fill the terminal pool of the region
+        if (region instanceof ICicsRegionProvisioned) {
+            prewarmTerminalPool((ICicsRegionProvisioned) region);
+        }
     }
 
 	@Override
@@ -452,6 +489,64 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
 
 	@Override
 	public List<ICicsTerminal> getCicsTerminals() {	
-		return new ArrayList<>(this.terminals);
+		synchronized (this.terminals) {
+			return new ArrayList<>(this.terminals);
+		}
+	}
+
+	@Override
+	public ICicsTerminal leaseCicsTerminal(String tag) throws CicstsManagerException {
+		ICicsRegionProvisioned region = this.provisionedCicsRegions.get(tag);
+		if (region == null) {
+			throw new CicstsManagerException("Unable to lease CICS Terminal for tag " + tag + ", no region was provisioned");
+		}
+		return getTerminalPool(region).lease();
+	}
+
+	@Override
+	public void returnCicsTerminal(ICicsTerminal terminal) throws CicstsManagerException {
+		CicsTerminalPool pool;
+		synchronized (this.terminalPools) {
+			pool = this.terminalPools.get(terminal.getCicsRegion());
+		}
+		if (pool == null) {
+			throw new CicstsManagerException("Terminal " + terminal.getId() + " was not leased from a CICS TS terminal pool");
+		}
+		pool.giveBack(terminal);
+	}
+
+	private List<CicsTerminalImpl> getCicsTerminalImpls() {
+		synchronized (this.terminals) {
+			return new ArrayList<>(this.terminals);
+		}
+	}
+
+	private void prewarmTerminalPool(ICicsRegionProvisioned region) throws CicstsManagerException {
+		int prewarm = TerminalPoolPrewarm.get(region.getTag());
+		if (prewarm > 0) {
+			getTerminalPool(region).prewarm(prewarm);
+		}
+	}
+
+	protected CicsTerminalPool getTerminalPool(ICicsRegionProvisioned region) {
+		synchronized (this.terminalPools) {
+			return this.terminalPools.computeIfAbsent(region, r -> new CicsTerminalPool(region, () -> newPooledTerminal(region)));
+		}
+	}
+
+	/**
+	 * Pooled terminals are connected by the pool rather than at startup, but are kept with the
+	 * other terminals so they are logged and disconnected when the manager stops 
+	 */
+	private CicsTerminalImpl newPooledTerminal(ICicsRegionProvisioned region) throws CicstsManagerException {
+		try {
+			CicsTerminalImpl newTerminal = new CicsTerminalImpl(this, getFramework(), region, false, this.textScanner);
+			synchronized (this.terminals) {
+				this.terminals.add(newTerminal);
+			}
+			return newTerminal;
+		} catch (TerminalInterruptedException | ManagerException e) {
+			throw new CicstsManagerException("Unable to setup pooled CICS Terminal for " + region, e);
+		}
 	}
 }
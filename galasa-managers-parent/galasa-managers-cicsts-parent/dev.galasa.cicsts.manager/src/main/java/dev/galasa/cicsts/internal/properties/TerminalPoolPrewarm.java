@@ -0,0 +1,46 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.internal.properties;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CICS TS Region - Pre-warmed terminals
+ *
+ * @galasa.cps.property
+ *
+ * @galasa.name cicsts.tag.[TAG].terminal.prewarm
+ *
+ * @galasa.description The number of terminals to connect and logon to the CICS TS region when it is
+ * provisioned, ready to be leased from the terminal pool by other managers
+ *
+ * @galasa.required No
+ *
+ * @galasa.default 0
+ *
+ * @galasa.valid_values 0 or a positive number
+ *
+ * @galasa.examples
+ * <code>cicsts.tag.PRIMARY.terminal.prewarm=2</code><br>
+ *
+ */
+public class TerminalPoolPrewarm extends CpsProperties {
+
+    private static final Log logger = LogFactory.getLog(TerminalPoolPrewarm.class);
+
+    public static int get(String tag) {
+        try {
+            return getIntWithDefault(CicstsPropertiesSingleton.cps(), 0, "tag", "terminal.prewarm", tag);
+        } catch (CicstsManagerException e) {
+            logger.error("Problem accessing the CPS for the pre-warmed terminals of tag " + tag + ", defaulting to 0");
+            return 0;
+        }
+    }
+}
@@ -101,4 +101,24 @@ public interface ICicstsManagerSpi {
 	public ICicsRegion locateCicsRegion(String tag) throws CicstsManagerException;
 
 	public List<ICicsTerminal> getCicsTerminals();
+
+	/**
+	 * Lease a connected and logged on terminal from the terminal pool of a CICS TS region, saving the
+	 * cost of connecting and logging on a new terminal each time one is needed.  The terminal will be
+	 * on a clear screen.  Settings changed on the terminal, such as CEOT, should be restored before
+	 * it is returned.
+	 * 
+	 * @param tag the tag of the CICS TS region
+	 * @return the leased terminal, which must be returned with {@link #returnCicsTerminal(ICicsTerminal)}
+	 * @throws CicstsManagerException
+	 */
+	public ICicsTerminal leaseCicsTerminal(String tag) throws CicstsManagerException;
+
+	/**
+	 * Return a terminal leased with {@link #leaseCicsTerminal(String)} to the terminal pool
+	 * 
+	 * @param terminal the leased terminal
+	 * @throws CicstsManagerException
+	 */
+	public void returnCicsTerminal(ICicsTerminal terminal) throws CicstsManagerException;
 }
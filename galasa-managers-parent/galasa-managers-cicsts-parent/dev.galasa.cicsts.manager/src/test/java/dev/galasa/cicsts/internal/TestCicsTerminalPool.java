@@ -0,0 +1,121 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cicsts.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.cicsts.ICicsRegion;
+import dev.galasa.cicsts.ICicsTerminal;
+import dev.galasa.cicsts.spi.CicsTerminalImpl;
+
+public class TestCicsTerminalPool {
+
+    private final List<CicsTerminalImpl> created = new ArrayList<>();
+
+    private CicsTerminalPool pool;
+
+    @Before
+    public void setup() {
+        pool = new CicsTerminalPool(Mockito.mock(ICicsRegion.class), () -> {
+            CicsTerminalImpl terminal = Mockito.mock(CicsTerminalImpl.class);
+            Mockito.when(terminal.connectToCicsRegion()).thenReturn(true);
+            Mockito.when(terminal.isConnected()).thenReturn(true);
+            Mockito.when(terminal.isClearScreen()).thenReturn(true);
+            created.add(terminal);
+            return terminal;
+        });
+    }
+
+    @Test
+    public void testPrewarmConnectsTerminals() throws Exception {
+        pool.prewarm(2);
+
+        Assert.assertEquals(2, created.size());
+        Assert.assertEquals(2, pool.getIdleCount());
+        Mockito.verify(created.get(0)).connectToCicsRegion();
+        Mockito.verify(created.get(1)).connectToCicsRegion();
+
+        // Already warm
+        pool.prewarm(2);
+        Assert.assertEquals(2, created.size());
+    }
+
+    @Test
+    public void testLeaseReusesReturnedTerminal() throws Exception {
+        ICicsTerminal first = pool.lease();
+        Assert.assertEquals(1, pool.getLeasedCount());
+
+        pool.giveBack(first);
+        Mockito.verify(created.get(0)).resetAndClear();
+        Assert.assertEquals(0, pool.getLeasedCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+
+        Assert.assertSame(first, pool.lease());
+        Assert.assertEquals(1, created.size());
+    }
+
+    @Test
+    public void testTakeRemovesTerminalFromPool() throws Exception {
+        Assert.assertNull(pool.take());
+
+        pool.prewarm(1);
+        Assert.assertSame(created.get(0), pool.take());
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertEquals(0, pool.getLeasedCount());
+        Assert.assertThrows(CicstsManagerException.class, () -> pool.giveBack(created.get(0)));
+    }
+
+    @Test
+    public void testDisconnectedTerminalIsReplaced() throws Exception {
+        pool.prewarm(1);
+        CicsTerminalImpl stale = created.get(0);
+        Mockito.when(stale.isConnected()).thenReturn(false);
+
+        ICicsTerminal terminal = pool.lease();
+
+        Assert.assertNotSame(stale, terminal);
+        Assert.assertEquals(2, created.size());
+        Mockito.verify(stale).disconnect();
+    }
+
+    @Test
+    public void testTerminalThatCannotBeResetIsNotPooled() throws Exception {
+        ICicsTerminal terminal = pool.lease();
+        Mockito.when(terminal.resetAndClear()).thenThrow(new CicstsManagerException("reset failed"));
+
+        pool.giveBack(terminal);
+
+        Assert.assertEquals(0, pool.getIdleCount());
+        Mockito.verify(created.get(0)).disconnect();
+    }
+
+    @Test
+    public void testGiveBackUnknownTerminalFails() throws Exception {
+        CicsTerminalImpl other = Mockito.mock(CicsTerminalImpl.class);
+
+        Assert.assertThrows(CicstsManagerException.class, () -> pool.giveBack(other));
+    }
+
+    @Test
+    public void testFailedConnectIsReported() throws Exception {
+        pool = new CicsTerminalPool(Mockito.mock(ICicsRegion.class), () -> {
+            CicsTerminalImpl terminal = Mockito.mock(CicsTerminalImpl.class);
+            created.add(terminal);
+            return terminal;
+        });
+
+        Assert.assertThrows(CicstsManagerException.class, () -> pool.lease());
+        Mockito.verify(created.get(0)).disconnect();
+    }
+
+}
@@ -9,7 +9,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +131,9 @@ public class JvmserverImpl implements IJvmserver {
     private static final String TRACE_CEMT_PARAMETER = "Trace";
     private static final String TRACE_PROFILE_OPTION = "JVMTRACE";
     private static final String TRACE_FILE_SUFFIX = "dfhjvmtrc";
+    
+    private static final long MIN_STATUS_POLL_INTERVAL = 250;
+    private static final long MAX_STATUS_POLL_INTERVAL = 4000;
 
     public JvmserverImpl(CicsResourceManagerImpl cicsResourceManager, ICicsRegion cicsRegion, ICicsTerminal cicsTerminal, String name, String group, String jvmprofileName, JvmserverType jvmserverType) throws CicsJvmserverResourceException {
         this.cicsResourceManager = cicsResourceManager;
@@ -550,18 +552,12 @@ public class JvmserverImpl implements IJvmserver {
     @Override
     public boolean waitForEnable(int timeout) throws CicsJvmserverResourceException {
         logger.trace("Waiting " + timeout + " second(s) for " + RESOURCE_TYPE_JVMSERVER + " " +  getName() + " to be enabled");
-        LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            if (isEnabled()) {
-                return true;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
+        if (waitForEnableStatus(true, timeout)) {
+            logger.trace(RESOURCE_TYPE_JVMSERVER + " " +  getName() + " is enabled");
+            return true;
         }
-        return isEnabled();
+        logger.trace(RESOURCE_TYPE_JVMSERVER + " " +  getName() + " is NOT enabled");
+        return false;
     }
 
     @Override
@@ -633,21 +629,49 @@ public class JvmserverImpl implements IJvmserver {
     @Override
     public boolean waitForDisable(int timeout) throws CicsJvmserverResourceException {
         logger.trace("Waiting " + timeout + " second(s) for " + RESOURCE_TYPE_JVMSERVER + " " +  getName() + " to be disabled");
-        LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            if (!isEnabled()) {
+        if (!waitForEnableStatus(false, timeout)) {
+            throw new CicsJvmserverResourceException(RESOURCE_TYPE_JVMSERVER + " " + getName() + " not disabled in " + timeout + " second(s)");
+        }
+        return true;
+    }
+
+    /**
+     * Poll the enable status until it matches. The poll interval starts short, as enable and disable usually
+     * complete quickly, and doubles up to {@link #MAX_STATUS_POLL_INTERVAL}
+     */
+    protected boolean waitForEnableStatus(boolean enabled, int timeout) throws CicsJvmserverResourceException {
+        long timeoutTime = System.currentTimeMillis() + timeout * 1000L;
+        long pollInterval = MIN_STATUS_POLL_INTERVAL;
+        while (true) {
+            if (inquireEnabled() == enabled) {
                 return true;
             }
+            long remaining = timeoutTime - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
             try {
-                Thread.sleep(3000);
+                Thread.sleep(Math.min(pollInterval, remaining));
             } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new CicsJvmserverResourceException("Interrupted during wait", e);
             }
+            pollInterval = Math.min(pollInterval * 2, MAX_STATUS_POLL_INTERVAL);
         }
-        if (isEnabled()) {
-            throw new CicsJvmserverResourceException(RESOURCE_TYPE_JVMSERVER + " " + getName() + " not disabled in " + timeout + " second(s)");
+    }
+
+    /**
+     * The enable status from a single CEMT inquire, where {@link #isEnabled()} takes three. A JVM server that is not
+     * installed is not enabled
+     */
+    protected boolean inquireEnabled() throws CicsJvmserverResourceException {
+        CicstsHashMap cemtMap;
+        try {
+            cemtMap = this.cicsRegion.cemt().inquireResource(this.cicsTerminal, RESOURCE_TYPE_JVMSERVER, getName());
+        } catch (CicstsManagerException e) {
+            throw new CicsJvmserverResourceException("Problem inquiring " + RESOURCE_TYPE_JVMSERVER + " " + getName(), e);
         }
-        return true;
+        return cemtMap != null && cemtMap.isParameterEquals("enablestatus", CicsResourceStatus.ENABLED.toString());
     }
 
     @Override
@@ -10,7 +10,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
@@ -24,6 +24,7 @@ import dev.galasa.textscan.ITextScannable;
 import dev.galasa.textscan.IncorrectOccurrencesException;
 import dev.galasa.textscan.MissingTextException;
 import dev.galasa.textscan.TextScanException;
+import dev.galasa.textscan.spi.PolledLog;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosfile.IZosUNIXFile;
@@ -41,6 +42,10 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
     private static final String LOG_PROBLEM_SEARCHING_LOG = "Problem searching log for ";
     private static final String LOG_SINCE_CHECKPOINT = " since last checkpoint";
 
+    private static final String LOG_PROBLEM_WAITING_FOR_LOG = "Problem waiting in log for ";
+
+    private final PolledLog polledLog = new PolledLog(logSource());
+
     public JvmserverLogImpl(IZosUNIXFile zosUnixFile, ILogScanner logScanner) throws CicsJvmserverResourceException {
         this.zosUnixFile = zosUnixFile;
         this.scannableName = this.zosUnixFile.getUnixPath();
@@ -125,6 +130,7 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
         } catch (ZosUNIXFileException e) {
             throw new CicsJvmserverResourceException("Unable to delete Log", e);
         }
+        this.polledLog.reset();
     }
 
     @Override
@@ -275,128 +281,130 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
 
     @Override
     public String waitForText(String searchText, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForText(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForText(searchText, null, timeout);
     }
 
     @Override
     public String waitForText(String searchText, String failText, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForText(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
+        try {
+            return this.polledLog.waitForText(searchText, failText, 0, timeout * 1000);
+        } catch (TextScanException e) {
+            throw new CicsJvmserverResourceException(LOG_PROBLEM_WAITING_FOR_LOG + searchText, e);
         }
-        return null;
     }
 
     @Override
     public String waitForTextSinceCheckpoint(String searchText, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForTextSinceCheckpoint(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForTextSinceCheckpoint(searchText, null, timeout);
     }
 
     @Override
     public String waitForTextSinceCheckpoint(String searchText, String failText, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForTextSinceCheckpoint(searchText, failText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
+        try {
+            return this.polledLog.waitForText(searchText, failText, getCheckpoint(), timeout * 1000);
+        } catch (TextScanException e) {
+            throw new CicsJvmserverResourceException(LOG_PROBLEM_WAITING_FOR_LOG + searchText + LOG_SINCE_CHECKPOINT, e);
         }
-        return null;
     }
 
     @Override
     public String waitForPattern(Pattern searchPattern, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForPattern(searchPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-        }
-        return null;
+        return waitForPattern(searchPattern, null, timeout);
     }
 
     @Override
     public String waitForPattern(Pattern searchPattern, Pattern failPattern, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForPattern(searchPattern, failPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
+        try {
+            return this.polledLog.waitForPattern(searchPattern, failPattern, 0, timeout * 1000);
+        } catch (TextScanException e) {
+            throw new CicsJvmserverResourceException(LOG_PROBLEM_WAITING_FOR_LOG + searchPattern, e);
         }
-        return null;
     }
 
     @Override
     public String waitForPatternSinceCheckpoint(Pattern searchPattern, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForPatternSinceCheckpoint(searchPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForPatternSinceCheckpoint(searchPattern, null, timeout);
     }
 
     @Override
     public String waitForPatternSinceCheckpoint(Pattern searchPattern, Pattern failPattern, long timeout) throws CicsJvmserverResourceException {
-    	LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
-            String returnText = searchForPatternSinceCheckpoint(searchPattern, failPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
+        try {
+            return this.polledLog.waitForPattern(searchPattern, failPattern, getCheckpoint(), timeout * 1000);
+        } catch (TextScanException e) {
+            throw new CicsJvmserverResourceException(LOG_PROBLEM_WAITING_FOR_LOG + searchPattern + LOG_SINCE_CHECKPOINT, e);
+        }
+    }
+
+    /**
+     * The log as polled by the wait methods. A zOS UNIX file is read in text mode, so output added to it is
+     * read by line, starting with the last line already read as it may not have been complete
+     */
+    private PolledLog.LogSource logSource() {
+        return new PolledLog.LogSource() {
+            private long lastLine;
+            private int  lastLineLength;
+
+            @Override
+            public long getSize() throws TextScanException {
+                try {
+                    if (isZosUNIXFile()) {
+                        return zosUnixFile.getSize();
+                    } else if (isZosBatchJobSpoolFile()) {
+                        return zosBatchJobOutputSpoolFile.getSize();
+                    }
+                    throw new TextScanException("Log is not a zOS UNIX File or zOS Batch Job spool file");
+                } catch (ZosUNIXFileException | ZosBatchException e) {
+                    throw new TextScanException("Problem retrieving size of log", e);
+                }
             }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new CicsJvmserverResourceException("Interrupted during wait", e);
+
+            @Override
+            public byte[] retrieve() throws TextScanException {
+                try {
+                    byte[] content = ((ByteArrayOutputStream) JvmserverLogImpl.this.retrieve()).toByteArray();
+                    this.lastLine = 0;
+                    this.lastLineLength = 0;
+                    keepLastLine(content);
+                    return content;
+                } catch (CicsJvmserverResourceException e) {
+                    throw new TextScanException("Problem retrieving content of log", e);
+                }
             }
-        }
-        return null;
+
+            @Override
+            public byte[] retrieve(long offset, int length) throws TextScanException {
+                if (!isZosUNIXFile()) {
+                    return PolledLog.LogSource.super.retrieve(offset, length);
+                }
+                try {
+                    // Each line added has at least one byte
+                    byte[] content = zosUnixFile.retrieveAsText(this.lastLine, length + 1).getBytes();
+                    int alreadyRead = Math.min(this.lastLineLength, content.length);
+                    keepLastLine(content);
+                    return Arrays.copyOfRange(content, alreadyRead, content.length);
+                } catch (ZosUNIXFileException e) {
+                    throw new TextScanException("Problem retrieving new content of log", e);
+                }
+            }
+
+            /**
+             * Remember the last line of the content, which starts at the start of a line, as the next read
+             * starts with it
+             */
+            private void keepLastLine(byte[] content) {
+                if (content.length == 0) {
+                    return;
+                }
+                int lastLineStart = 0;
+                for (int i = 0; i < content.length - 1; i++) {
+                    if (content[i] == '\n') {
+                        this.lastLine++;
+                        lastLineStart = i + 1;
+                    }
+                }
+                this.lastLineLength = content.length - lastLineStart;
+            }
+        };
     }
 
     @Override
@@ -430,11 +438,7 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
 
     @Override
     public String getScannableString() throws TextScanException {
-        try {
-            return new String(((ByteArrayOutputStream) retrieve()).toByteArray());
-        } catch (CicsJvmserverResourceException e) {
-            throw new TextScanException("Problem retrieving " + getScannableName(), e);
-        }
+        return this.polledLog.getContent();
     }
     
     @Override
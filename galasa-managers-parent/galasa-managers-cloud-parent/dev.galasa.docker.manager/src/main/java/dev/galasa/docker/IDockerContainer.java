@@ -9,6 +9,8 @@ import java.util.List;
 import java.util.Map;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Instant;
 
 /**
  * Docker Container Resource Object
@@ -130,6 +132,46 @@ public interface IDockerContainer {
 	 * @throws DockerManagerException
 	 */
 	public String retrieveStdErr() throws DockerManagerException;
+
+	/**
+	 * Retrieve the STDOUT for the Docker Container written since a time, limited to the last lines
+	 * 
+	 * @param since - Only output written after this time, or null for all output
+	 * @param tail - The number of lines from the end of the output, or -1 for all lines
+	 * @return Container STDOUT contents
+	 * @throws DockerManagerException
+	 */
+	public String retrieveStdOut(Instant since, int tail) throws DockerManagerException;
+
+	/**
+	 * Retrieve the STDERR for the Docker Container written since a time, limited to the last lines
+	 * 
+	 * @param since - Only output written after this time, or null for all output
+	 * @param tail - The number of lines from the end of the output, or -1 for all lines
+	 * @return Container STDERR contents
+	 * @throws DockerManagerException
+	 */
+	public String retrieveStdErr(Instant since, int tail) throws DockerManagerException;
+
+	/**
+	 * Follow the STDOUT and STDERR of the Docker Container as it is written. The stream
+	 * ends when the container stops, and must be closed by the caller.
+	 * 
+	 * @param since - Only output written after this time, or null for all output
+	 * @return The container output
+	 * @throws DockerManagerException
+	 */
+	public InputStream followLog(Instant since) throws DockerManagerException;
+
+	/**
+	 * Wait for text to be written to the STDOUT or STDERR of the Docker Container.
+	 * 
+	 * @param text - The text to wait for
+	 * @param timeout - A timeout in milliseconds
+	 * @return true if the text was written, false if the timeout expired or the container stopped
+	 * @throws DockerManagerException
+	 */
+	public boolean waitForLog(String text, long timeout) throws DockerManagerException;
 	
 	/**
 	 * Checks with the docker engine to find the running state of this container.
@@ -157,6 +199,26 @@ public interface IDockerContainer {
 	 */
 	public void storeFile(String absolutePath, InputStream file) throws DockerManagerException;
 
+	/**
+	 * Stores a local file onto the container. Path must be fully qualified including the name of the file
+	 * on the container.
+	 * 
+	 * @param absolutePath
+	 * @param file
+	 * @throws DockerManagerException
+	 */
+	public void storeFile(String absolutePath, Path file) throws DockerManagerException;
+
+	/**
+	 * Stores a local directory, and everything beneath it, onto the container. Path must be the fully
+	 * qualified name of the directory on the container, the parent of which must already exist.
+	 * 
+	 * @param absolutePath
+	 * @param directory
+	 * @throws DockerManagerException
+	 */
+	public void storeDirectory(String absolutePath, Path directory) throws DockerManagerException;
+
 	/**
 	 * Retreievs a InputStream of a file on the container.
 	 * 
@@ -165,6 +227,15 @@ public interface IDockerContainer {
 	 * @throws DockerManagerException
 	 */
 	public InputStream retrieveFile(String path) throws DockerManagerException;
+
+	/**
+	 * Copies a file on the container to a local file.
+	 * 
+	 * @param path
+	 * @param destination
+	 * @throws DockerManagerException
+	 */
+	public void retrieveFile(String path, Path destination) throws DockerManagerException;
 	
 	/**
 	 * Retrieves a file from the container and passes the contents back as a string.
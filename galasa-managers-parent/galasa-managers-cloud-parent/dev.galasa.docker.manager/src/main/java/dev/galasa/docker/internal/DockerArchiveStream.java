@@ -0,0 +1,209 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.docker.DockerManagerException;
+
+/**
+ * A tar.gz archive for the Docker engine archive API that is written as it is read. The archive
+ * is produced on a separate thread into a pipe, so it is never held on disk or in memory, and
+ * uploads from concurrent tests do not share any state. Only the content of a single file of
+ * unknown size is buffered, as the tar header needs its size.
+ *
+ * The stream must be passed to the request and then {@link #finish()} called to collect any
+ * failure in producing the archive.
+ */
+public class DockerArchiveStream {
+
+    private static final Log logger = LogFactory.getLog(DockerArchiveStream.class);
+
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    /**
+     * Writes the entries of the archive
+     */
+    public interface IArchiveContent {
+        void write(TarArchiveOutputStream tar) throws IOException;
+    }
+
+    private final PipedInputStream input;
+    private final Thread            writer;
+
+    private volatile IOException failure;
+
+    private DockerArchiveStream(String name, IArchiveContent content) throws DockerManagerException {
+        try {
+            this.input = new PipedInputStream(PIPE_SIZE);
+            PipedOutputStream output = new PipedOutputStream(this.input);
+
+            this.writer = new Thread(() -> write(output, content), "docker-archive-" + name);
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } catch (IOException e) {
+            throw new DockerManagerException("Unable to create the archive stream for " + name, e);
+        }
+    }
+
+    /**
+     * An archive containing a single file
+     *
+     * @param fileName the name of the file in the archive
+     * @param file the content of the file
+     * @return the archive stream
+     * @throws DockerManagerException
+     */
+    public static DockerArchiveStream forFile(String fileName, InputStream file) throws DockerManagerException {
+        long size;
+        InputStream content;
+        try {
+            if (file instanceof FileInputStream) {
+                // available() is only an estimate for a file, so use the size of the file from the read position
+                FileChannel channel = ((FileInputStream) file).getChannel();
+                size = channel.size() - channel.position();
+                content = file;
+            } else if (file instanceof ByteArrayInputStream) {
+                // Reports exactly what is left to read
+                size = file.available();
+                content = file;
+            } else {
+                // A tar header needs the size of the file before its content, which is unknown for other streams
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                IOUtils.copy(file, buffer);
+                size = buffer.size();
+                content = new ByteArrayInputStream(buffer.toByteArray());
+            }
+        } catch (IOException e) {
+            throw new DockerManagerException("Unable to read the file to be stored", e);
+        }
+
+        return fileArchive(fileName, size, content);
+    }
+
+    /**
+     * An archive containing a single local file
+     *
+     * @param fileName the name of the file in the archive
+     * @param file the local file
+     * @return the archive stream
+     * @throws DockerManagerException
+     */
+    public static DockerArchiveStream forFile(String fileName, Path file) throws DockerManagerException {
+        try {
+            return fileArchive(fileName, Files.size(file), Files.newInputStream(file));
+        } catch (IOException e) {
+            throw new DockerManagerException("Unable to read the file '" + file + "' to be stored", e);
+        }
+    }
+
+    private static DockerArchiveStream fileArchive(String fileName, long size, InputStream content) throws DockerManagerException {
+        return new DockerArchiveStream(fileName, tar -> {
+            TarArchiveEntry entry = new TarArchiveEntry(fileName);
+            entry.setSize(size);
+            tar.putArchiveEntry(entry);
+            try (InputStream in = content) {
+                IOUtils.copyLarge(in, tar, 0, size);
+            }
+            tar.closeArchiveEntry();
+        });
+    }
+
+    /**
+     * An archive containing a local directory and everything beneath it
+     *
+     * @param directoryName the name of the directory in the archive
+     * @param directory the local directory
+     * @return the archive stream
+     * @throws DockerManagerException
+     */
+    public static DockerArchiveStream forDirectory(String directoryName, Path directory) throws DockerManagerException {
+        if (!Files.isDirectory(directory)) {
+            throw new DockerManagerException("'" + directory + "' is not a directory");
+        }
+
+        return new DockerArchiveStream(directoryName, tar -> {
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(directory)) {
+                paths = walk.sorted().collect(Collectors.toList());
+            }
+            for (Path path : paths) {
+                String name = directoryName;
+                if (!path.equals(directory)) {
+                    name = name + "/" + directory.relativize(path).toString().replace('\\', '/');
+                }
+                TarArchiveEntry entry = new TarArchiveEntry(path.toFile(), name);
+                tar.putArchiveEntry(entry);
+                if (entry.isFile()) {
+                    Files.copy(path, tar);
+                }
+                tar.closeArchiveEntry();
+            }
+        });
+    }
+
+    /**
+     * @return the archive to send as the request body
+     */
+    public InputStream getInputStream() {
+        return this.input;
+    }
+
+    /**
+     * Wait for the archive to be written, stopping it if the request did not read all of it
+     *
+     * @throws DockerManagerException if the archive could not be written
+     */
+    public void finish() throws DockerManagerException {
+        try {
+            this.input.close();
+        } catch (IOException e) {
+            logger.trace("Failed to close archive stream", e);
+        }
+
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DockerManagerException("Interrupted waiting for the archive to be written", e);
+        }
+
+        if (this.failure != null) {
+            throw new DockerManagerException("Failed to write the archive", this.failure);
+        }
+    }
+
+    private void write(PipedOutputStream output, IArchiveContent content) {
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(output, PIPE_SIZE))) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            content.write(tar);
+            tar.finish();
+        } catch (IOException e) {
+            this.failure = e;
+        }
+    }
+
+}
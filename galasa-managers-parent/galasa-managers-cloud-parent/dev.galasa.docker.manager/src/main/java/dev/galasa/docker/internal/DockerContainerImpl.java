@@ -5,43 +5,44 @@
  */
 package dev.galasa.docker.internal;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.docker.DockerManagerException;
+import dev.galasa.docker.DockerNotFoundException;
 import dev.galasa.docker.DockerProvisionException;
 import dev.galasa.docker.IDockerContainer;
 import dev.galasa.docker.IDockerContainerConfig;
 import dev.galasa.docker.IDockerExec;
 import dev.galasa.docker.IDockerImage;
 import dev.galasa.docker.IDockerVolume;
+import dev.galasa.docker.internal.properties.DockerContainerReadyTimeout;
 import dev.galasa.docker.internal.properties.DockerLeaveRunning;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
@@ -56,6 +57,9 @@ public class DockerContainerImpl implements IDockerContainer {
 
     private static final String CONTAINER_NAME_PREFIX = "GALASA_";
 
+    private static final long READY_POLL_MIN_MILLIS = 50;
+    private static final long READY_POLL_MAX_MILLIS = 1000;
+
     private IFramework framework;
     private DockerManagerImpl dockerManager;
     private String tag;
@@ -272,8 +276,8 @@ public class DockerContainerImpl implements IDockerContainer {
             checkContainer();
             logger.debug("Starting Docker container: " + tag);
             dockerEngine.startContainer(containerID);
+            waitForContainerReady();
             logger.info("Started Docker container: " + tag);
-            Thread.sleep(2000);
             alreadyUp = true;
         } catch (Exception e) {
             throw new DockerManagerException("Failed to start Docker container: " + tag, e);
@@ -283,6 +287,49 @@ public class DockerContainerImpl implements IDockerContainer {
 
     }
 
+    /**
+     * Waits for the docker engine to report the container as started, and if the image has a health
+     * check, as healthy. A container that has already finished is not waited for.
+     * 
+     * @throws DockerManagerException
+     * @throws InterruptedException
+     */
+    private void waitForContainerReady() throws DockerManagerException, InterruptedException {
+        long deadline = System.currentTimeMillis() + DockerContainerReadyTimeout.get(this) * 1000L;
+        long interval = READY_POLL_MIN_MILLIS;
+        while (true) {
+            JsonObject response = dockerEngine.getContainer(containerID);
+            if (response == null) {
+                throw new DockerManagerException("Docker container '" + tag + "' has disappeared");
+            }
+            JsonObject state = response.getAsJsonObject("State");
+            String status = state.get("Status").getAsString();
+            JsonObject health = state.getAsJsonObject("Health");
+
+            if (!"created".equals(status)) {
+                if (!"running".equals(status) || health == null) {
+                    return;
+                }
+                String healthStatus = health.get("Status").getAsString();
+                if ("healthy".equals(healthStatus)) {
+                    logger.debug("Docker container '" + tag + "' is healthy");
+                    return;
+                }
+                if ("unhealthy".equals(healthStatus)) {
+                    logger.warn("Docker container '" + tag + "' is unhealthy");
+                    return;
+                }
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new DockerManagerException("Docker container '" + tag + "' did not become ready, status '" + status + "'");
+            }
+            Thread.sleep(Math.min(interval, remaining));
+            interval = Math.min(interval * 2, READY_POLL_MAX_MILLIS);
+        }
+    }
+
     /**
      * Issues the "docker stop" command
      */
@@ -475,7 +522,7 @@ public class DockerContainerImpl implements IDockerContainer {
      */
     @Override
     public String retrieveStdOut() throws DockerManagerException {
-        return dockerEngine.getLog("/containers/" + containerID + "/logs?stdout=true&timestamps=true");
+        return retrieveStdOut(null, -1);
     }
 
     /**
@@ -485,7 +532,142 @@ public class DockerContainerImpl implements IDockerContainer {
      */
     @Override
     public String retrieveStdErr() throws DockerManagerException {
-        return dockerEngine.getLog("/containers/" + containerID + "/logs?stderr=true&timestamps=true");
+        return retrieveStdErr(null, -1);
+    }
+
+    /**
+     * Retrieves the stdOut from the container written since a time, limited to the last lines
+     * 
+     * @param since
+     * @param tail
+     * @throws DockerManaerException
+     */
+    @Override
+    public String retrieveStdOut(Instant since, int tail) throws DockerManagerException {
+        return retrieveLog("stdout=true", since, tail);
+    }
+
+    /**
+     * Retrieves the stdErr from the container written since a time, limited to the last lines
+     * 
+     * @param since
+     * @param tail
+     * @throws DockerManaerException
+     */
+    @Override
+    public String retrieveStdErr(Instant since, int tail) throws DockerManagerException {
+        return retrieveLog("stderr=true", since, tail);
+    }
+
+    /**
+     * Follows the stdOut and stdErr of the container, the stream ends when the container stops
+     * 
+     * @param since
+     * @throws DockerManaerException
+     */
+    @Override
+    public InputStream followLog(Instant since) throws DockerManagerException {
+        InputStream log = openLog("stdout=true&stderr=true&follow=true", since, -1);
+        if (log == null) {
+            throw new DockerNotFoundException("Docker container '" + this.tag + "' not found");
+        }
+        return log;
+    }
+
+    /**
+     * Waits for text to appear in the stdOut or stdErr of the container. The log is followed and
+     * each part is checked as it arrives, so only the text being looked for is held.
+     * 
+     * @param text
+     * @param timeout in milliseconds
+     * @return true if the text was found, false if the timeout expired or the container stopped first
+     * @throws DockerManaerException
+     */
+    @Override
+    public boolean waitForLog(String text, long timeout) throws DockerManagerException {
+        long deadline = System.currentTimeMillis() + timeout;
+        // Keep enough of the previous read to find text split across reads
+        int overlap = Math.max(0, text.length() - 1);
+        StringBuilder window = new StringBuilder();
+        char[] buffer = new char[8192];
+
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "docker-log-wait-" + this.tag);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Instant since = null;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                Instant opened = Instant.now();
+                InputStream log = followLog(since);
+                // Closing the log unblocks the read when the timeout expires
+                timer.schedule(() -> closeQuietly(log), deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                try (Reader reader = new InputStreamReader(log, StandardCharsets.UTF_8)) {
+                    int count;
+                    while ((count = reader.read(buffer)) >= 0) {
+                        window.append(buffer, 0, count);
+                        if (window.indexOf(text) >= 0) {
+                            return true;
+                        }
+                        window.delete(0, Math.max(0, window.length() - overlap));
+                    }
+                    // The log only ends when the container stops
+                    return false;
+                } catch (IOException e) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        break;
+                    }
+                    // The engine connection timed out while the log was quiet, follow it again from when it was last opened
+                    logger.debug("Reading the log of Docker container '" + this.tag + "' failed, following it again", e);
+                    since = opened;
+                }
+            }
+        } finally {
+            timer.shutdownNow();
+        }
+        return false;
+    }
+
+    private String retrieveLog(String streams, Instant since, int tail) throws DockerManagerException {
+        try (InputStream log = openLog(streams + "&timestamps=true", since, tail)) {
+            if (log == null) {
+                return null;
+            }
+            return IOUtils.toString(log, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DockerManagerException("Failed to read the log of Docker container '" + this.tag + "'", e);
+        }
+    }
+
+    private InputStream openLog(String query, Instant since, int tail) throws DockerManagerException {
+        StringBuilder path = new StringBuilder(query);
+        if (since != null) {
+            path.append("&since=").append(since.getEpochSecond()).append(String.format(".%09d", since.getNano()));
+        }
+        if (tail >= 0) {
+            path.append("&tail=").append(tail);
+        }
+        return dockerEngine.getLogStream(containerID, path.toString(), !hasTty());
+    }
+
+    /**
+     * The engine only multiplexes stdOut and stdErr when the container does not have a TTY
+     */
+    private boolean hasTty() throws DockerManagerException {
+        JsonObject response = dockerEngine.getContainer(containerID);
+        if (response == null || !response.has("Config")) {
+            return false;
+        }
+        JsonElement tty = response.getAsJsonObject("Config").get("Tty");
+        return tty != null && !tty.isJsonNull() && tty.getAsBoolean();
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) { // NOSONAR - only used to stop a blocked read
+        }
     }
 
     /**
@@ -649,6 +831,13 @@ public class DockerContainerImpl implements IDockerContainer {
         return containerID;
     }
 
+    /**
+     * @return true if the container is to be left running after the test
+     */
+    public boolean isLeaveRunning() {
+        return leaveRunning;
+    }
+
     /**
      * Checks to see if this container should be left running.
      * 
@@ -661,12 +850,29 @@ public class DockerContainerImpl implements IDockerContainer {
             return;
         }
 
+        discardContainer();
+        discardSlot();
+    }
+
+    /**
+     * Deletes the container from the docker engine as it is discarded
+     * 
+     * @throws DockerManagerException
+     */
+    public void discardContainer() throws DockerManagerException {
         try {
             deleteContainer();
         } catch (DockerManagerException e) {
             throw new DockerManagerException("Unable to stop container: " + tag, e);
         }
+    }
 
+    /**
+     * Frees the docker slot of the container as it is discarded
+     * 
+     * @throws DockerManagerException
+     */
+    public void discardSlot() throws DockerManagerException {
         try {
             dockerSlot.free();
         } catch (Exception e) {
@@ -687,18 +893,65 @@ public class DockerContainerImpl implements IDockerContainer {
             throw new DockerManagerException("Please specify the absolute path of the location on the container, including file name");
         }
         Path locPath = Paths.get(absolutePath);
-        File tar = compressToTar(file, locPath.getFileName().toString());
+        sendArchive(DockerArchiveStream.forFile(locPath.getFileName().toString(), file), locPath.getParent());
+    }
 
-        try{
-        
-        InputStream is = new FileInputStream(tar);
-        dockerEngine.sendArchiveFile(this, is,locPath.getParent().toString()+"/");
-        tar.delete();
-        } catch (FileNotFoundException e) {
-            logger.error("Failed to find compressed file", e);
-            tar.delete();
-            throw new DockerManagerException("Failed to create tar file.");
+    /**
+     * Allows a local file to be stored on a running docker container
+     * 
+     * @param absolutePath
+     * @param file
+     */
+    @Override
+    public void storeFile(String absolutePath, Path file) throws DockerManagerException {
+        if(!absolutePath.startsWith("/")) {
+            throw new DockerManagerException("Please specify the absolute path of the location on the container, including file name");
+        }
+        Path locPath = Paths.get(absolutePath);
+        sendArchive(DockerArchiveStream.forFile(locPath.getFileName().toString(), file), locPath.getParent());
+    }
+
+    /**
+     * Allows a local directory, and everything beneath it, to be stored on a running docker container
+     * 
+     * @param absolutePath
+     * @param directory
+     */
+    @Override
+    public void storeDirectory(String absolutePath, Path directory) throws DockerManagerException {
+        if(!absolutePath.startsWith("/")) {
+            throw new DockerManagerException("Please specify the absolute path of the directory on the container");
+        }
+        Path locPath = Paths.get(absolutePath);
+        if (locPath.getFileName() == null) {
+            throw new DockerManagerException("Unable to replace the root directory of the container");
         }
+        sendArchive(DockerArchiveStream.forDirectory(locPath.getFileName().toString(), directory), locPath.getParent());
+    }
+
+    /**
+     * Streams the archive to the docker engine, which extracts it into the directory on the container
+     * 
+     * @param archive
+     * @param parent
+     * @throws DockerManagerException
+     */
+    private void sendArchive(DockerArchiveStream archive, Path parent) throws DockerManagerException {
+        String location = parent.toString();
+        if (!location.endsWith("/")) {
+            location = location + "/";
+        }
+        try {
+            dockerEngine.sendArchiveFile(this, archive.getInputStream(), location);
+        } catch (DockerManagerException e) {
+            try {
+                archive.finish();
+            } catch (DockerManagerException finishFailure) {
+                e.addSuppressed(finishFailure);
+            }
+            throw e;
+        }
+        archive.finish();
     }
 
      /**
@@ -712,72 +965,33 @@ public class DockerContainerImpl implements IDockerContainer {
     }
 
     /**
-     * Returns the contents of a file on the container as a string.
+     * Copies a file from a running docker container to a local file, the file is
+     * streamed from the archive returned by the docker engine.
      * 
      * @param path
-     * @return String
+     * @param destination
      */
     @Override
-    public String retrieveFileAsString(String path) throws DockerManagerException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		String output = "";
-        InputStream in = dockerEngine.getArchiveFile(this, path);
-
-        try {
-            IOUtils.copy(in, bos);
-            output = bos.toString();
-            bos.close();
+    public void retrieveFile(String path, Path destination) throws DockerManagerException {
+        try (InputStream in = dockerEngine.getArchiveFile(this, path)) {
+            Files.copy(in, destination, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            throw new DockerManagerException();
+            throw new DockerManagerException("Failed to copy file '" + path + "' from Docker container '" + this.tag + "'", e);
         }
-        
-        return output;
     }
 
     /**
-     * Takes a input stream from a file and compresses to a tar.gz, used for the docker engine API 
-     *  to send archive files.
-     * @param file
-     * @param fileName
-     * @return
-     * @throws DockerManagerException
+     * Returns the contents of a file on the container as a string.
+     * 
+     * @param path
+     * @return String
      */
-    private File compressToTar(InputStream file, String fileName) throws DockerManagerException {
-        File targetFile = new File("output.tar.gz");
-        BufferedInputStream bIn = new BufferedInputStream(file);
-        FileOutputStream out = null;
-        TarArchiveOutputStream taos = null;
-        try {
-            out = new FileOutputStream(targetFile);
-
-            taos = new TarArchiveOutputStream(new GZIPOutputStream(new BufferedOutputStream(out)));
-            TarArchiveEntry aEntry = new TarArchiveEntry(fileName);
-            aEntry.setSize(file.available());
-            taos.putArchiveEntry(aEntry);
-            
-            int count;
-            byte data[] = new byte[2048];
-            while((count = bIn.read(data)) != -1) {
-                taos.write(data, 0, count);
-            }
-            taos.closeArchiveEntry();
-            
-            taos.flush();
-            taos.close();
-            bIn.close();
-            out.close();
+    @Override
+    public String retrieveFileAsString(String path) throws DockerManagerException {
+        try (InputStream in = dockerEngine.getArchiveFile(this, path)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
         } catch (IOException e) {
-            logger.error("IO error, failed to create tar", e);
-            throw new DockerManagerException(e);
-        } finally {
-            try {
-                out.close();
-                taos.close();
-            } catch (IOException e) {
-                throw new DockerManagerException(e);
-            }
-            
+            throw new DockerManagerException("Failed to read file '" + path + "' from Docker container '" + this.tag + "'", e);
         }
-        return targetFile;
     }
 }
\ No newline at end of file
@@ -43,6 +43,7 @@ public class DockerEngineImpl implements IDockerEngine {
 	private IFramework framework;
 	private DockerManagerImpl dockerManager;
 	private final IHttpClient dockerEngineClient;
+	private final ThreadLocal<IHttpClient> workerClient = new ThreadLocal<>();
 	private final IDynamicStatusStoreService dss;
 
 	private URI uri;
@@ -175,30 +176,35 @@ public class DockerEngineImpl implements IDockerEngine {
 	}
 
 	/**
-	 * Retrieve docker logs from a docker container from the url
+	 * Opens the log of a docker container, which is read as it is returned by the engine. A
+	 * separate client is used so a followed log does not hold a connection of the engine client.
 	 * 
-	 * @param path
-	 * @return
+	 * @param containerId
+	 * @param query the parameters of the logs request
+	 * @param multiplexed true if the container does not have a TTY
+	 * @return the log, which must be closed, or null if the container does not exist
 	 * @throws DockerManagerException
 	 */
-	public String getLog(String path) throws DockerManagerException {
-		try {
-			HttpClientResponse<String> response = dockerEngineClient.getText(path);
+	public InputStream getLogStream(@NotNull String containerId, String query, boolean multiplexed) throws DockerManagerException {
+		String path = "/containers/" + containerId + "/logs?" + query;
 
-			String repsString = response.getContent();
+		IHttpClient logClient = newEngineClient();
+		try {
+			CloseableHttpResponse response = logClient.getFile(path);
+			int status = response.getStatusLine().getStatusCode();
+			if (status == HttpStatus.SC_OK) {
+				return new DockerLogStream(response.getEntity().getContent(), multiplexed, response, logClient);
+			}
 
-			switch (response.getStatusCode()) {
-			case HttpStatus.SC_OK:
-				return repsString;
-			case HttpStatus.SC_NOT_FOUND:
+			response.close();
+			logClient.close();
+			if (status == HttpStatus.SC_NOT_FOUND) {
 				return null;
 			}
-
-			logger.error(
-					"Get Log failed to Docker engine - " + response.getStatusLine().toString() + "\n" + repsString);
-			throw new DockerManagerException(
-					"Log Get failed to Docker engine - " + response.getStatusLine().toString());
-		} catch (Exception e) {
+			logger.error("Get Log failed to Docker engine - " + response.getStatusLine().toString());
+			throw new DockerManagerException("Log Get failed to Docker engine - " + response.getStatusLine().toString());
+		} catch (HttpClientException | IOException e) {
+			logClient.close();
 			throw new DockerManagerException("Get Log failed to Docker engine", e);
 		}
 	}
@@ -215,9 +221,14 @@ public class DockerEngineImpl implements IDockerEngine {
 	}
 
 	public String pullImage(@NotNull String fullName, String registryToken) throws DockerManagerException {
-
-		dockerEngineClient.addCommonHeader("X-Registry-Auth", registryToken);
-		return pullImage(fullName);
+		// A client of its own, so the token is not sent with the requests for other images pulled at the same time
+		IHttpClient pullClient = newEngineClient();
+		try {
+			pullClient.addCommonHeader("X-Registry-Auth", registryToken);
+			return postString(pullClient, "/images/create?fromImage=" + fullName, "");
+		} finally {
+			pullClient.close();
+		}
 	}
 
 	public byte[] buildImage(String imageName, Path dockerfile) throws DockerManagerException, IOException {
@@ -226,7 +237,7 @@ public class DockerEngineImpl implements IDockerEngine {
 
 	public byte[] postBinary(String path, byte[] data) throws DockerManagerException {
 		try {
-			HttpClientResponse<byte[]> resp = dockerEngineClient.postBinary(path, data);
+			HttpClientResponse<byte[]> resp = client().postBinary(path, data);
 			byte[] response = resp.getContent();
 
 			switch (resp.getStatusCode()) {
@@ -396,6 +407,46 @@ public class DockerEngineImpl implements IDockerEngine {
 		return this.uri;
 	}
 
+	/**
+	 * Give the current thread a client of its own for the requests to the docker engine, as the
+	 * engine client must not be used by several threads at the same time
+	 */
+	public void openWorkerClient() {
+		workerClient.set(newEngineClient());
+	}
+
+	/**
+	 * Close the client given to the current thread by {@link #openWorkerClient()}
+	 */
+	public void closeWorkerClient() {
+		IHttpClient client = workerClient.get();
+		if (client != null) {
+			workerClient.remove();
+			client.close();
+		}
+	}
+
+	/**
+	 * The client for requests from the current thread
+	 * 
+	 * @return IHttpClient
+	 */
+	private IHttpClient client() {
+		IHttpClient client = workerClient.get();
+		return client != null ? client : dockerEngineClient;
+	}
+
+	/**
+	 * A new client for the docker engine, for requests that should not share the engine client
+	 * 
+	 * @return IHttpClient
+	 */
+	private IHttpClient newEngineClient() {
+		IHttpClient client = dockerManager.getHttpManager().newHttpClient();
+		client.setURI(this.uri);
+		return client;
+	}
+
 	/**
 	 * Issues a HTTP DELETE command to the specified path
 	 * 
@@ -405,7 +456,7 @@ public class DockerEngineImpl implements IDockerEngine {
 	 */
 	private String deleteString(String path) throws DockerManagerException {
 		try {
-			HttpClientResponse<String> response = dockerEngineClient.deleteText(path);
+			HttpClientResponse<String> response = client().deleteText(path);
 			String resp = response.getContent();
 
 			switch (response.getStatusCode()) {
@@ -420,7 +471,7 @@ public class DockerEngineImpl implements IDockerEngine {
 			logger.error("Delete failed to Docker engine - " + resp);
 			throw new DockerManagerException("Delete failed to Docker engine - " + resp);
 		} catch (Exception e) {
-			dockerEngineClient.close();
+			client().close();
 			throw new DockerManagerException("Delete failed to Docker engine", e);
 		}
 	}
@@ -434,7 +485,7 @@ public class DockerEngineImpl implements IDockerEngine {
 	 */
 	private JsonObject getJson(String path) throws DockerManagerException {
 		try {
-			HttpClientResponse<JsonObject> response = dockerEngineClient.getJson(path);
+			HttpClientResponse<JsonObject> response = client().getJson(path);
 
 			JsonObject jsonResponse = response.getContent();
 
@@ -463,7 +514,7 @@ public class DockerEngineImpl implements IDockerEngine {
 	 */
 	private JsonObject postJson(String path, JsonObject data) throws DockerManagerException {
 		try {
-			HttpClientResponse<JsonObject> json = dockerEngineClient.postJson(path, data);
+			HttpClientResponse<JsonObject> json = client().postJson(path, data);
 			JsonObject response = json.getContent();
 
 			switch (json.getStatusCode()) {
@@ -493,9 +544,13 @@ public class DockerEngineImpl implements IDockerEngine {
 	 * @throws DockerManagerException
 	 */
 	private String postString(String path, String data) throws DockerManagerException {
+		return postString(client(), path, data);
+	}
+
+	private String postString(IHttpClient client, String path, String data) throws DockerManagerException {
 		try {
 			logger.debug("Posting: " + data + "to the endpoint: " + path);
-			HttpClientResponse<String> response = dockerEngineClient.postText(path, data);
+			HttpClientResponse<String> response = client.postText(path, data);
 			String resp = response.getContent();
 
 			switch (response.getStatusCode()) {
@@ -511,7 +566,7 @@ public class DockerEngineImpl implements IDockerEngine {
 			logger.error("Post failed to docker engine - " + resp);
 			throw new DockerManagerException("Post failed to Docker engine - " + resp);
 		} catch (Exception e) {
-			dockerEngineClient.close();
+			client.close();
 			throw new DockerManagerException("Post failed to Docker engine", e);
 		}
 	}
@@ -521,15 +576,28 @@ public class DockerEngineImpl implements IDockerEngine {
 	 * @param container
 	 * @param file
 	 * @param location
+	 * @throws DockerManagerException if the archive was not extracted onto the container
 	 */
-	public void sendArchiveFile(DockerContainerImpl container, InputStream file, String location) {
+	public void sendArchiveFile(DockerContainerImpl container, InputStream file, String location) throws DockerManagerException {
 		String path = "/containers/" + container.getContainerId() + "/archive?path=" + location;
 
-		dockerEngineClient.putFile(path, file);
+		try (CloseableHttpResponse response = client().putArchive(path, file)) {
+			int status = response.getStatusLine().getStatusCode();
+			if (status != HttpStatus.SC_OK) {
+				if (status == HttpStatus.SC_NOT_FOUND) {
+					throw new DockerNotFoundException("Directory '" + location + "' not found in container " + container.getContainerId());
+				}
+				throw new DockerManagerException("Put archive failed to Docker engine - " + response.getStatusLine().toString());
+			}
+		} catch (HttpClientException | IOException e) {
+			throw new DockerManagerException("Failed to send archive to container " + container.getContainerId(), e);
+		}
 	}
 
 	/**
-	 * Returns the contents of a file on a container running in the docker engine
+	 * Returns the contents of a file on a container running in the docker engine. The
+	 * archive is read from the response as the returned stream is read, and the
+	 * stream must be closed to release the connection.
 	 * 
 	 * @param container
 	 * @param filePath
@@ -540,7 +608,15 @@ public class DockerEngineImpl implements IDockerEngine {
 		String path = "/containers/" + container.getContainerId() + "/archive?path=" + filePath;
 
 		try {
-			CloseableHttpResponse response = dockerEngineClient.getFile(path);
+			CloseableHttpResponse response = client().getFile(path);
+			int status = response.getStatusLine().getStatusCode();
+			if (status != HttpStatus.SC_OK) {
+				response.close();
+				if (status == HttpStatus.SC_NOT_FOUND) {
+					throw new DockerNotFoundException("File '" + filePath + "' not found in container " + container.getContainerId());
+				}
+				throw new DockerManagerException("Get archive failed to Docker engine - " + response.getStatusLine().toString());
+			}
 			InputStream in = response.getEntity().getContent();
 			
 			TarArchiveInputStream tais = new TarArchiveInputStream(in);
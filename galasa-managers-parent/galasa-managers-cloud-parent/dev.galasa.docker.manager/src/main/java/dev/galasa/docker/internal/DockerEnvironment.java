@@ -10,8 +10,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -42,6 +49,12 @@ public class DockerEnvironment implements IDockerEnvironment {
     private Map<String, DockerEngineImpl> enginesByTag = new HashMap<>();
     private boolean dockerEnginesChecked;
     private List<DockerVolumeImpl> volumes = new ArrayList<>();
+    private boolean deferStarts;
+    private List<DockerContainerImpl> deferredStarts = new ArrayList<>();
+
+    private static final int MAX_PARALLEL = 10;
+    private static final long SLOT_RETRY_MIN_MILLIS = 10;
+    private static final long SLOT_RETRY_MAX_MILLIS = 100;
 
     private final static Log logger = LogFactory.getLog(DockerEnvironment.class);
 
@@ -98,8 +111,13 @@ public class DockerEnvironment implements IDockerEnvironment {
 
             DockerImageImpl image = new DockerImageImpl(framework, dockerManager, engine, imageName);
 
-            container = new DockerContainerImpl(framework, dockerManager, tag, engine, image, start, slot);
+            // Containers provisioned from annotations are started together when the environment is built
+            boolean deferStart = start && deferStarts;
+            container = new DockerContainerImpl(framework, dockerManager, tag, engine, image, start && !deferStart, slot);
             containersByTag.put(tag, container);
+            if (deferStart) {
+                deferredStarts.add(container);
+            }
 
             logger.debug("Docker Container '" + tag + "' was provisioned as slot '"
                     + container.getDockerSlot().getSlotName());
@@ -111,7 +129,16 @@ public class DockerEnvironment implements IDockerEnvironment {
     }
 
     /**
-     * Builds all the recorded docker containers
+     * Containers provisioned with start until the environment is built are not started
+     * straight away, but together by {@link #build(List)}
+     */
+    public void deferStarts() {
+        this.deferStarts = true;
+    }
+
+    /**
+     * Starts the containers that were deferred. The images are pulled, and the containers
+     * created and started, for all the containers at the same time.
      * 
      * @param testClasses
      * @throws DockerProvisionException
@@ -122,13 +149,18 @@ public class DockerEnvironment implements IDockerEnvironment {
             checkDockerEngines();
             dockerEnginesChecked = true;
         }
-        // if (this.dockerEngine != null) {
-        // this.dockerEngine.checkEngine();
-        // dockerEnginesChecked = true;
-        // }
 
-        for (DockerContainerImpl container : getContainers()) {
-            container.checkContainer();
+        List<DockerContainerImpl> starting = new ArrayList<>(deferredStarts);
+        deferredStarts.clear();
+        deferStarts = false;
+
+        Map<DockerContainerImpl, DockerManagerException> failures = runInParallel(starting, DockerContainerImpl::start);
+        if (!failures.isEmpty()) {
+            for (Entry<DockerContainerImpl, DockerManagerException> failure : failures.entrySet()) {
+                logger.error("Failed to start Docker container '" + failure.getKey().getContainerTag() + "'", failure.getValue());
+            }
+            throw new DockerProvisionException("Failed to start " + failures.size() + " Docker container(s)",
+                    failures.values().iterator().next());
         }
     }
 
@@ -146,12 +178,101 @@ public class DockerEnvironment implements IDockerEnvironment {
      */
     @Override
     public void discard() throws DockerManagerException {
+        List<DockerContainerImpl> discarding = new ArrayList<>();
         for (DockerContainerImpl container : containersByTag.values()) {
-            container.discard();
+            if (!container.isLeaveRunning()) {
+                discarding.add(container);
+            }
         }
-        for (DockerVolumeImpl volume : volumes) {
-            removeDockerVolume(volume);
+
+        Map<Object, DockerManagerException> failures = new LinkedHashMap<>();
+        failures.putAll(runInParallel(discarding, DockerContainerImpl::discardContainer));
+
+        // All the slots update the same slot count on the engine, so free them one at a time
+        for (DockerContainerImpl container : discarding) {
+            if (!failures.containsKey(container)) {
+                try {
+                    container.discardSlot();
+                } catch (DockerManagerException e) {
+                    failures.put(container, e);
+                }
+            }
         }
+
+        // Volumes may only be removed once the containers using them have gone
+        failures.putAll(runInParallel(volumes, this::removeDockerVolume));
+
+        if (!failures.isEmpty()) {
+            for (DockerManagerException failure : failures.values()) {
+                logger.error("Failed to discard Docker resource", failure);
+            }
+            throw new DockerManagerException("Failed to discard " + failures.size() + " Docker resource(s)",
+                    failures.values().iterator().next());
+        }
+    }
+
+    private interface IParallelAction<T> {
+        void run(T item) throws DockerManagerException;
+    }
+
+    /**
+     * Run the action for all the items at the same time, as each mostly waits for the docker
+     * engine, and wait for them all to finish. Each worker has its own clients for the engines,
+     * as the engine clients cannot be shared between threads.
+     * 
+     * @return the items that failed, in the order of the collection
+     */
+    private <T> Map<T, DockerManagerException> runInParallel(Collection<T> items, IParallelAction<T> action) {
+        LinkedHashMap<T, DockerManagerException> failures = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return failures;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(items.size(), MAX_PARALLEL), runnable -> {
+            Thread thread = new Thread(runnable, "Docker environment thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LinkedHashMap<T, Future<Void>> futures = new LinkedHashMap<>();
+            for (T item : items) {
+                futures.put(item, executor.submit(() -> {
+                    List<DockerEngineImpl> engines = new ArrayList<>(enginesByTag.values());
+                    for (DockerEngineImpl engine : engines) {
+                        engine.openWorkerClient();
+                    }
+                    try {
+                        action.run(item);
+                    } finally {
+                        for (DockerEngineImpl engine : engines) {
+                            engine.closeWorkerClient();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Entry<T, Future<Void>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof DockerManagerException) {
+                        failures.put(future.getKey(), (DockerManagerException) cause);
+                    } else {
+                        failures.put(future.getKey(), new DockerManagerException("Unexpected failure in the Docker environment", cause));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (T item : items) {
+                failures.putIfAbsent(item, new DockerManagerException("Interrupted waiting for the Docker environment", e));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
     }
 
     /**
@@ -332,7 +453,7 @@ public class DockerEnvironment implements IDockerEnvironment {
             otherProps.put(slotKey, "free");
             if (!dss.putSwap("engine." + dockerEngineId + ".current.slots", currentSlot, Integer.toString(usedSlots),
                     otherProps)) {
-                Thread.sleep(200);
+                waitBeforeRetry();
                 freeDockerSlot(dockerSlot);
                 return;
             }
@@ -388,7 +509,7 @@ public class DockerEnvironment implements IDockerEnvironment {
 
             if ("active".equals(dss.get(slotStatusKey))) {
                 if (!dss.putSwap(numberOfSlotKey, currentSlot, Integer.toString(usedSlots), dockerDssProps)) {
-                    Thread.sleep(200);
+                    waitBeforeRetry();
                     deleteStaleDssSlot(runName, dockerEngineId, slotName, dss);
                     return;
                 }
@@ -403,6 +524,14 @@ public class DockerEnvironment implements IDockerEnvironment {
         }
     }
 
+    /**
+     * Another run changed the slot count at the same time, wait a short random time before
+     * trying again so the runs do not keep colliding
+     */
+    private static void waitBeforeRetry() throws InterruptedException {
+        Thread.sleep(ThreadLocalRandom.current().nextLong(SLOT_RETRY_MIN_MILLIS, SLOT_RETRY_MAX_MILLIS));
+    }
+
     @Override
     public DockerVolumeImpl allocateDockerVolume(String volumeName, String tag, String mountPath, String dockerEngineTag, boolean readOnly) throws DockerProvisionException {
 
@@ -34,6 +34,10 @@ public class DockerImageImpl implements IDockerImage {
     
     private boolean                     authRequired = false;
     private boolean                     local = false;
+    private boolean                     pinned = false;
+    private boolean                     onEngine = false;
+
+    private static final String         DIGEST_SEPARATOR = "@";
 
     private static final Log            logger = LogFactory.getLog(DockerImageImpl.class);
 
@@ -85,17 +89,25 @@ public class DockerImageImpl implements IDockerImage {
         String workingName = getWorkingName(this.fullImageName);
 
 		List<DockerRegistryImpl> registries = dockerManager.getRegistries();
+        if (this.pinned && locateImageOnEngine(registries, workingName)) {
+            return;
+        }
+
 		for(DockerRegistryImpl registry : registries) {
-			if (registry.doYouHave(this)) {
-                this.fullName = registry.getHost() + "/" + registry.getPrefix() + workingName;
-                this.authToken = registry.getAuthToken();
-                if (this.authToken != null) {
-                    authRequired = true;
+            // Containers are started in parallel, and the registry holds the token of the last image checked
+            synchronized (registry) {
+                if (!registry.doYouHave(this)) {
+                    continue;
                 }
-				logger.info("Docker Image located in registry: " + registry.getHost());
-				logger.info( "Docker image full name is '" + this.fullName + "'");
-				return;
+                this.authToken = registry.getAuthToken();
+            }
+            this.fullName = registry.getHost() + "/" + registry.getPrefix() + workingName;
+            if (this.authToken != null) {
+                authRequired = true;
             }
+			logger.info("Docker Image located in registry: " + registry.getHost());
+			logger.info( "Docker image full name is '" + this.fullName + "'");
+			return;
         }
 
         JsonObject image = dockerEngine.getImage(workingName);
@@ -109,6 +121,26 @@ public class DockerImageImpl implements IDockerImage {
 		throw new DockerManagerException("Unable to locate Docker Image '" + this.fullImageName + "'");
     }
 
+    /**
+     * The content of a digest never changes, so if the engine already has a pinned image, under the name
+     * it would have been pulled with from any of the registries, the registries do not need to be asked for it.
+     * 
+     * @return true if the engine has the image
+     * @throws DockerManagerException
+     */
+    private boolean locateImageOnEngine(List<DockerRegistryImpl> registries, String workingName) throws DockerManagerException {
+        for(DockerRegistryImpl registry : registries) {
+            String registryName = registry.getHost() + "/" + registry.getPrefix() + workingName;
+            if (dockerEngine.getImage(registryName) != null) {
+                this.fullName = registryName;
+                this.onEngine = true;
+                logger.info("Docker image digest '" + this.fullName + "' is already on the engine");
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getWorkingName(String fullImageName) {
         if(!fullImageName.contains(":")){
             fullImageName = fullImageName+":latest";
@@ -118,10 +150,24 @@ public class DockerImageImpl implements IDockerImage {
     }
 
     private void splitName(String fullImageName) {
+        if (fullImageName.contains(DIGEST_SEPARATOR)) {
+            // Pinned to a digest, e.g. 'library/busybox@sha256:...'
+            this.imageName = fullImageName.substring(0, fullImageName.indexOf(DIGEST_SEPARATOR));
+            this.tag = fullImageName.substring(fullImageName.indexOf(DIGEST_SEPARATOR)+1);
+            this.pinned = true;
+            return;
+        }
         this.imageName = fullImageName.substring(0, fullImageName.indexOf(":"));
         this.tag = fullImageName.substring(fullImageName.indexOf(":")+1);
     }
 
+    /**
+     * @return true if the image is pinned to a digest, rather than a tag that can be moved
+     */
+    public boolean isPinned() {
+        return this.pinned;
+    }
+
     /**
      * Sets the full name of the image
      */
@@ -145,6 +191,11 @@ public class DockerImageImpl implements IDockerImage {
             return;
         }
 
+        if (this.onEngine) {
+            logger.info("No need to pull " + this.fullName + ", the engine already has the image digest");
+            return;
+        }
+
         if(authRequired) {
             pull = dockerEngine.pullImage(this.fullName, this.authToken);
         } else {
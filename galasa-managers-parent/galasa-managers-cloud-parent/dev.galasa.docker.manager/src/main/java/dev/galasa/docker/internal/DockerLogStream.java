@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+
+import dev.galasa.http.IHttpClient;
+
+/**
+ * The log of a container as it is returned by the Docker engine. Unless the container has a TTY the
+ * engine multiplexes stdout and stderr into frames, each with an 8 byte header, which are removed
+ * here so only the log text is read. Closing the stream closes the response and the client it was
+ * read with, which also stops a read blocked waiting for a followed log.
+ */
+public class DockerLogStream extends FilterInputStream {
+
+    private static final int HEADER_LENGTH = 8;
+
+    private final CloseableHttpResponse response;
+    private final IHttpClient           client;
+    private final boolean               multiplexed;
+    private final byte[]                header = new byte[HEADER_LENGTH];
+
+    private long    frameRemaining;
+    private boolean ended;
+
+    public DockerLogStream(InputStream in, boolean multiplexed) {
+        this(in, multiplexed, null, null);
+    }
+
+    public DockerLogStream(InputStream in, boolean multiplexed, CloseableHttpResponse response, IHttpClient client) {
+        super(in);
+        this.multiplexed = multiplexed;
+        this.response = response;
+        this.client = client;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int len = read(b, 0, 1);
+        if (len <= 0) {
+            return -1;
+        }
+        return b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!this.multiplexed) {
+            return super.read(b, off, len);
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        while (this.frameRemaining == 0) {
+            if (this.ended || !readHeader()) {
+                this.ended = true;
+                return -1;
+            }
+        }
+
+        int count = super.read(b, off, (int) Math.min(len, this.frameRemaining));
+        if (count < 0) {
+            throw new EOFException("Docker log ended part way through a frame");
+        }
+        this.frameRemaining -= count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 4096)];
+        long skipped = 0;
+        while (skipped < n) {
+            int count = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (count < 0) {
+                break;
+            }
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (!this.multiplexed) {
+            return super.available();
+        }
+        return (int) Math.min(this.frameRemaining, super.available());
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.response != null) {
+                // Closes the connection rather than reading to the end, which never comes for a followed log
+                this.response.close();
+            }
+            super.close();
+        } finally {
+            if (this.client != null) {
+                this.client.close();
+            }
+        }
+    }
+
+    /**
+     * @return false if the log ended before the header
+     */
+    private boolean readHeader() throws IOException {
+        int read = 0;
+        while (read < HEADER_LENGTH) {
+            int count = super.read(this.header, read, HEADER_LENGTH - read);
+            if (count < 0) {
+                if (read == 0) {
+                    return false;
+                }
+                throw new EOFException("Docker log ended part way through a frame header");
+            }
+            read += count;
+        }
+
+        this.frameRemaining = ((this.header[4] & 0xffL) << 24)
+                | ((this.header[5] & 0xffL) << 16)
+                | ((this.header[6] & 0xffL) << 8)
+                | (this.header[7] & 0xffL);
+        return true;
+    }
+
+}
@@ -10,6 +10,7 @@ import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.validation.constraints.NotNull;
@@ -232,7 +233,10 @@ public class DockerManagerImpl extends AbstractManager implements IDockerManager
         logger.info("Registering Docker registries");
         registerDockerRegistires();
         logger.info("Finding all Docker related annotations");
+        dockerEnvironment.deferStarts();
         generateDockerFields();
+        logger.info("Starting Docker containers");
+        dockerEnvironment.build(Collections.singletonList(getTestClass()));
     }
 
     /**
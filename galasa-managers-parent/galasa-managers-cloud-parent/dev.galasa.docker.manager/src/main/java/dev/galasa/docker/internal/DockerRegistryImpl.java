@@ -8,13 +8,17 @@ package dev.galasa.docker.internal;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
@@ -60,6 +64,40 @@ public class DockerRegistryImpl {
 
 	private static final Log logger 			= LogFactory.getLog(DockerRegistryImpl.class);
 
+	// Registries are shared by all the runs in this JVM, so are the tokens for them
+	private static final Map<String, Challenge>   challenges = new ConcurrentHashMap<>();
+	private static final Map<String, CachedToken> tokens     = new ConcurrentHashMap<>();
+
+	private static final long DEFAULT_TOKEN_EXPIRY_SECONDS = 60;
+	private static final long TOKEN_EXPIRY_MARGIN_SECONDS  = 10;
+
+	/**
+	 * The authentication a registry asked for for a repository, an empty type if none
+	 */
+	private static class Challenge {
+		private final String type;
+		private final URL    realmUrl;
+
+		private Challenge(String type, URL realmUrl) {
+			this.type = type;
+			this.realmUrl = realmUrl;
+		}
+	}
+
+	private static class CachedToken {
+		private final String  token;
+		private final Instant expires;
+
+		private CachedToken(String token, Instant expires) {
+			this.token = token;
+			this.expires = expires;
+		}
+
+		private boolean isValid() {
+			return Instant.now().plusSeconds(TOKEN_EXPIRY_MARGIN_SECONDS).isBefore(this.expires);
+		}
+	}
+
 	/**
 	 * Sets up the registry that the manager can use to pull images from.
 	 * 
@@ -104,12 +142,19 @@ public class DockerRegistryImpl {
 		String resp = null;
 		String path = "";
 		try {
-			registryAuthenticate(image);
+			boolean cached = registryAuthenticate(image);
 
 			path = "/v2/" + getPrefix() + image.getImageName() + "/manifests/" + image.getTag();
 			logger.trace("Checking if image is available at location: " + path);
 
 			HttpClientResponse<JsonObject> response = client.getJson(path);
+			if (cached && response.getStatusCode() == HttpStatus.SC_UNAUTHORIZED) {
+				// The cached authentication is no longer accepted, start again
+				logger.trace("Cached authentication for " + path + " was refused");
+				forgetAuthentication(image);
+				registryAuthenticate(image);
+				response = client.getJson(path);
+			}
 			if (response.getStatusCode() == (HttpStatus.SC_OK)) {
 				return true;
 			}
@@ -128,29 +173,71 @@ public class DockerRegistryImpl {
 	}
 
 	/**
-	 * Registry authentication
+	 * Registry authentication. The authentication the registry asks for is remembered for each
+	 * repository, and bearer tokens for each scope until they expire, so they are only
+	 * requested from the registry again when needed.
 	 * 
-	 * @param namespace
-	 * @param repository
+	 * @param image
+	 * @return true if cached authentication was used
 	 * @throws DockerManagerException
 	 */
-	public void registryAuthenticate(DockerImageImpl image) throws DockerManagerException {
-		if (!retrieveRealm(image)) {
+	public boolean registryAuthenticate(DockerImageImpl image) throws DockerManagerException {
+		String repository = getRepositoryKey(image);
+		Challenge challenge = challenges.get(repository);
+		boolean cached = challenge != null;
+		if (cached) {
+			this.registryRealmType = challenge.type;
+			this.registryRealmURL = challenge.realmUrl;
+		} else {
+			if (!retrieveRealm(image)) {
+				this.registryRealmType = "";
+				this.registryRealmURL = null;
+			}
+			challenges.put(repository, new Challenge(this.registryRealmType, this.registryRealmURL));
+		}
+
+		if ("".equals(this.registryRealmType)) {
 			logger.info("No authentication required");
-			return;
+			this.authToken = null;
+			return cached;
 		}
 
 		if ("Bearer realm".equalsIgnoreCase(this.registryRealmType)) {
 			this.authToken = retrieveBearerToken();
-			return;
+			return cached;
 		}
 
 		if ("Basic realm".equalsIgnoreCase(this.registryRealmType)) {
 			this.authToken = retrieveBasicToken();
-			return;
+			return cached;
+		}
+		return cached;
+	}
+
+	/**
+	 * Forget the authentication cached for the repository of the image, and the token for it
+	 * 
+	 * @param image
+	 */
+	private void forgetAuthentication(DockerImageImpl image) {
+		Challenge challenge = challenges.remove(getRepositoryKey(image));
+		if (challenge != null && challenge.realmUrl != null) {
+			tokens.remove(challenge.realmUrl.toString());
 		}
 	}
 
+	private String getRepositoryKey(DockerImageImpl image) {
+		return this.registryUrl + "/v2/" + getPrefix() + image.getImageName();
+	}
+
+	/**
+	 * Clear the authentication cached for all registries
+	 */
+	static void clearAuthenticationCache() {
+		challenges.clear();
+		tokens.clear();
+	}
+
 	/**
 	 * Attempts to gain a bearer token from realm, if unauthorized tries basic credentials login 
 	 * retreive token
@@ -160,12 +247,22 @@ public class DockerRegistryImpl {
 	 * @throws DockerManagerException
 	 */
 	public String retrieveBearerToken() throws DockerManagerException {
+		// The realm URL includes the scope the token is for
+		String scope = this.registryRealmURL.toString();
+		CachedToken cachedToken = tokens.get(scope);
+		if (cachedToken != null && cachedToken.isValid()) {
+			logger.trace("Using cached token for " + scope);
+			this.client.addCommonHeader("Authorization", "Bearer " + cachedToken.token);
+			return cachedToken.token;
+		}
+
 		try {
 			this.realmClient.setURI(this.registryRealmURL.toURI());
 			HttpClientResponse<JsonObject> response = this.realmClient.getJson("");
 			if (response.getStatusCode() == (HttpStatus.SC_OK)) {
 				JsonObject json = response.getContent();
 				String token = json.get("token").getAsString();
+				tokens.put(scope, new CachedToken(token, getTokenExpiry(json)));
 				this.client.addCommonHeader("Authorization", "Bearer "+token);
 				return token;
 			}
@@ -188,6 +285,32 @@ public class DockerRegistryImpl {
 		}
 	}
 
+	/**
+	 * Works out when a token expires from the token response, defaulting to 60 seconds from
+	 * now as the token specification does
+	 * 
+	 * @param json
+	 * @return Instant
+	 */
+	private Instant getTokenExpiry(JsonObject json) {
+		long expiresIn = DEFAULT_TOKEN_EXPIRY_SECONDS;
+		JsonElement expiresInElement = json.get("expires_in");
+		if (expiresInElement != null && !expiresInElement.isJsonNull()) {
+			expiresIn = expiresInElement.getAsLong();
+		}
+
+		Instant issued = Instant.now();
+		JsonElement issuedAtElement = json.get("issued_at");
+		if (issuedAtElement != null && !issuedAtElement.isJsonNull()) {
+			try {
+				issued = Instant.parse(issuedAtElement.getAsString());
+			} catch (DateTimeParseException e) {
+				logger.trace("Unable to parse token issued_at '" + issuedAtElement.getAsString() + "'", e);
+			}
+		}
+		return issued.plusSeconds(expiresIn);
+	}
+
 	/**
 	 * Uses basic crednetials to gain a basic auth token.
 	 * 
@@ -13,6 +13,11 @@ import dev.galasa.docker.DockerProvisionException;
 
 public interface IDockerEnvironment {
 	
+	/**
+	 * Defer starting containers provisioned with start until the environment is built.
+	 */
+	public void deferStarts();
+
 	/**
 	 * Build all docker resources, including finding and pulling images, and building containers.
 	 * 
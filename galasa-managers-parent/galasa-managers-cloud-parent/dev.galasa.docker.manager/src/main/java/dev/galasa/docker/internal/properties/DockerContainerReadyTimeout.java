@@ -0,0 +1,43 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal.properties;
+
+import dev.galasa.docker.DockerManagerException;
+import dev.galasa.docker.internal.DockerContainerImpl;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * Docker Container Ready Timeout CPS Property
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name docker.container.[TAG].ready.timeout
+ * 
+ * @galasa.description The number of seconds to wait for a started container to be ready
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 300
+ * 
+ * @galasa.valid_values A valid Java integer value
+ * 
+ * @galasa.examples 
+ * <code>docker.container.ready.timeout=60<br>
+ * docker.container.MYCONTAINER.ready.timeout=600</code>
+ * 
+ * @galasa.extra
+ * A started container is ready once the Docker Engine no longer reports it as created and, if the image has a 
+ * health check, reports it as healthy or unhealthy. The start fails if the container is not ready in time, 
+ * including a container whose health check is still starting.
+ * 
+ */
+public class DockerContainerReadyTimeout extends CpsProperties {
+
+    public static int get(DockerContainerImpl dockerContainer) throws DockerManagerException {
+        return getIntWithDefault(DockerPropertiesSingleton.cps(), 300, "container", "ready.timeout", dockerContainer.getContainerTag());
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import dev.galasa.docker.DockerManagerException;
+
+public class TestDockerArchiveStream {
+
+    @Test
+    public void testFileOfUnknownSizeIsArchived() throws Exception {
+        InputStream file = new BufferedInputStream(new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8)));
+
+        DockerArchiveStream archive = DockerArchiveStream.forFile("test.txt", file);
+        Map<String, String> entries = readArchive(archive.getInputStream());
+        archive.finish();
+
+        assertThat(entries).containsOnlyKeys("test.txt");
+        assertThat(entries.get("test.txt")).isEqualTo("hello world");
+    }
+
+    @Test
+    public void testLocalFileIsArchived() throws Exception {
+        Path file = Files.createTempFile("galasa-docker-test", ".txt");
+        try {
+            Files.write(file, "local file".getBytes(StandardCharsets.UTF_8));
+
+            DockerArchiveStream archive = DockerArchiveStream.forFile("local.txt", file);
+            Map<String, String> entries = readArchive(archive.getInputStream());
+            archive.finish();
+
+            assertThat(entries).containsOnlyKeys("local.txt");
+            assertThat(entries.get("local.txt")).isEqualTo("local file");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testDirectoryIsArchived() throws Exception {
+        Path directory = Files.createTempDirectory("galasa-docker-test");
+        try {
+            Files.write(directory.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+            Files.createDirectory(directory.resolve("sub"));
+            Files.write(directory.resolve("sub").resolve("b.txt"), "b".getBytes(StandardCharsets.UTF_8));
+
+            DockerArchiveStream archive = DockerArchiveStream.forDirectory("app", directory);
+            Map<String, String> entries = readArchive(archive.getInputStream());
+            archive.finish();
+
+            assertThat(entries).containsOnlyKeys("app/", "app/a.txt", "app/sub/", "app/sub/b.txt");
+            assertThat(entries.get("app/a.txt")).isEqualTo("a");
+            assertThat(entries.get("app/sub/b.txt")).isEqualTo("b");
+        } finally {
+            Files.delete(directory.resolve("sub").resolve("b.txt"));
+            Files.delete(directory.resolve("sub"));
+            Files.delete(directory.resolve("a.txt"));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testArchiveNotReadIsStopped() throws Exception {
+        byte[] large = new byte[4 * 1024 * 1024];
+        new Random().nextBytes(large);
+
+        DockerArchiveStream archive = DockerArchiveStream.forFile("large.bin", new ByteArrayInputStream(large));
+
+        // The writer is blocked on the full pipe, and fails once the stream is closed
+        assertThatThrownBy(() -> archive.finish()).isInstanceOf(DockerManagerException.class);
+    }
+
+    private Map<String, String> readArchive(InputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(new GZIPInputStream(in))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), new String(IOUtils.toByteArray(tar), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+}
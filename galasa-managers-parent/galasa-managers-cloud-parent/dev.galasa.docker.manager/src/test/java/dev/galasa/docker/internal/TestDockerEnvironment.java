@@ -0,0 +1,130 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.galasa.docker.DockerManagerException;
+import dev.galasa.docker.DockerProvisionException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+
+public class TestDockerEnvironment {
+
+    private DockerEnvironment environment;
+    private DockerEngineImpl  engine;
+
+    @Before
+    public void setup() throws Exception {
+        IFramework framework = mock(IFramework.class);
+        when(framework.getDynamicStatusStoreService(anyString())).thenReturn(mock(IDynamicStatusStoreService.class));
+
+        environment = new DockerEnvironment(framework, mock(DockerManagerImpl.class));
+
+        engine = mock(DockerEngineImpl.class);
+        this.<Map<String, DockerEngineImpl>>field("enginesByTag").put("PRIMARY", engine);
+    }
+
+    @Test
+    public void testDeferredContainersAreStartedTogether() throws Exception {
+        CountDownLatch allStarting = new CountDownLatch(3);
+        List<DockerContainerImpl> containers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DockerContainerImpl container = container("C" + i);
+            doAnswer(invocation -> {
+                allStarting.countDown();
+                // Only completes if every container is starting at the same time
+                if (!allStarting.await(10, TimeUnit.SECONDS)) {
+                    throw new DockerManagerException("Containers were not started in parallel");
+                }
+                return null;
+            }).when(container).start();
+            containers.add(container);
+        }
+        this.<List<DockerContainerImpl>>field("deferredStarts").addAll(containers);
+
+        environment.build(new ArrayList<>());
+
+        for (DockerContainerImpl container : containers) {
+            verify(container).start();
+        }
+        assertThat(this.<List<DockerContainerImpl>>field("deferredStarts")).isEmpty();
+        verify(engine, times(3)).openWorkerClient();
+        verify(engine, times(3)).closeWorkerClient();
+    }
+
+    @Test
+    public void testFailedStartIsReportedAfterAllStarts() throws Exception {
+        DockerContainerImpl failing = container("FAILING");
+        doThrow(new DockerManagerException("start failed")).when(failing).start();
+        DockerContainerImpl working = container("WORKING");
+        this.<List<DockerContainerImpl>>field("deferredStarts").add(failing);
+        this.<List<DockerContainerImpl>>field("deferredStarts").add(working);
+
+        assertThatThrownBy(() -> environment.build(new ArrayList<>()))
+            .isInstanceOf(DockerProvisionException.class)
+            .hasMessageContaining("1 Docker container");
+        verify(working).start();
+        verify(engine, times(2)).closeWorkerClient();
+    }
+
+    @Test
+    public void testDiscardContinuesAfterFailure() throws Exception {
+        DockerContainerImpl failing = container("FAILING");
+        doThrow(new DockerManagerException("delete failed")).when(failing).discardContainer();
+        DockerContainerImpl working = container("WORKING");
+        DockerContainerImpl leftRunning = container("LEFT");
+        when(leftRunning.isLeaveRunning()).thenReturn(true);
+        Map<String, DockerContainerImpl> containersByTag = field("containersByTag");
+        containersByTag.put("FAILING", failing);
+        containersByTag.put("WORKING", working);
+        containersByTag.put("LEFT", leftRunning);
+
+        assertThatThrownBy(() -> environment.discard())
+            .isInstanceOf(DockerManagerException.class)
+            .hasMessageContaining("1 Docker resource");
+
+        verify(working).discardContainer();
+        verify(working).discardSlot();
+        verify(failing, never()).discardSlot();
+        verify(leftRunning, never()).discardContainer();
+        verify(engine, times(2)).openWorkerClient();
+        verify(engine, times(2)).closeWorkerClient();
+    }
+
+    private DockerContainerImpl container(String tag) {
+        DockerContainerImpl container = mock(DockerContainerImpl.class);
+        when(container.getContainerTag()).thenReturn(tag);
+        return container;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T field(String name) throws Exception {
+        Field field = DockerEnvironment.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(environment);
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+public class TestDockerImageImpl {
+
+    private static final String PINNED = "library/busybox@sha256:0123456789abcdef";
+
+    private DockerManagerImpl  dockerManager;
+    private DockerEngineImpl   dockerEngine;
+    private DockerRegistryImpl registry;
+
+    @Before
+    public void setup() {
+        dockerManager = mock(DockerManagerImpl.class);
+        dockerEngine = mock(DockerEngineImpl.class);
+        registry = mock(DockerRegistryImpl.class);
+        when(registry.getHost()).thenReturn("registry.example.com");
+        when(registry.getPrefix()).thenReturn("");
+        when(dockerManager.getRegistries()).thenReturn(List.of(registry));
+    }
+
+    @Test
+    public void testPinnedImageOnEngineSkipsRegistriesAndPull() throws Exception {
+        when(dockerEngine.getImage("registry.example.com/" + PINNED)).thenReturn(new JsonObject());
+        DockerImageImpl image = new DockerImageImpl(null, dockerManager, dockerEngine, PINNED);
+
+        image.locateImage();
+        image.pullImage();
+
+        assertThat(image.getFullName()).isEqualTo("registry.example.com/" + PINNED);
+        verify(registry, never()).doYouHave(any());
+        verify(dockerEngine, never()).pullImage(anyString());
+    }
+
+    @Test
+    public void testPinnedImageNotOnEngineIsLocatedInRegistry() throws Exception {
+        when(registry.doYouHave(any())).thenReturn(true);
+        when(dockerEngine.pullImage(anyString())).thenReturn("Status: Downloaded newer image");
+        DockerImageImpl image = new DockerImageImpl(null, dockerManager, dockerEngine, PINNED);
+
+        image.locateImage();
+        image.pullImage();
+
+        assertThat(image.getFullName()).isEqualTo("registry.example.com/" + PINNED);
+        verify(dockerEngine).pullImage("registry.example.com/" + PINNED);
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.docker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class TestDockerLogStream {
+
+    @Test
+    public void testFrameHeadersAreRemoved() throws Exception {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        frame(raw, 1, "Starting server\n");
+        frame(raw, 2, "warning: no config\n");
+        frame(raw, 1, "");
+        frame(raw, 1, "Server ready\n");
+
+        DockerLogStream log = new DockerLogStream(new ByteArrayInputStream(raw.toByteArray()), true);
+
+        assertThat(IOUtils.toString(log, StandardCharsets.UTF_8))
+            .isEqualTo("Starting server\nwarning: no config\nServer ready\n");
+    }
+
+    @Test
+    public void testTtyLogIsUnchanged() throws Exception {
+        byte[] raw = "Starting server\n".getBytes(StandardCharsets.UTF_8);
+
+        DockerLogStream log = new DockerLogStream(new ByteArrayInputStream(raw), false);
+
+        assertThat(IOUtils.toString(log, StandardCharsets.UTF_8)).isEqualTo("Starting server\n");
+    }
+
+    @Test
+    public void testTruncatedFrameFails() throws Exception {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        frame(raw, 1, "Starting server\n");
+        byte[] truncated = new byte[raw.size() - 4];
+        System.arraycopy(raw.toByteArray(), 0, truncated, 0, truncated.length);
+
+        DockerLogStream log = new DockerLogStream(new ByteArrayInputStream(truncated), true);
+
+        assertThatThrownBy(() -> IOUtils.toString(log, StandardCharsets.UTF_8)).isInstanceOf(EOFException.class);
+    }
+
+    private void frame(ByteArrayOutputStream raw, int stream, String text) {
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        raw.write(stream);
+        raw.write(0);
+        raw.write(0);
+        raw.write(0);
+        raw.write((data.length >> 24) & 0xff);
+        raw.write((data.length >> 16) & 0xff);
+        raw.write((data.length >> 8) & 0xff);
+        raw.write(data.length & 0xff);
+        raw.write(data, 0, data.length);
+    }
+
+}
@@ -72,6 +72,7 @@ public class TestDockerRegistryImpl {
     @Before
     public void init() throws DynamicStatusStoreException, DockerManagerException, FileNotFoundException, DockerProvisionException {
         MockitoAnnotations.initMocks(this);
+        DockerRegistryImpl.clearAuthenticationCache();
     }
     
     @Test
@@ -129,6 +130,45 @@ public class TestDockerRegistryImpl {
     	assertThat(actualToken).as("Checking barer token value").isEqualTo(token);
     }
     
+    @Test
+    public void retrieveBearerTokenCachedUntilExpiry() throws DockerManagerException, MalformedURLException, CredentialsException, HttpClientException, URISyntaxException {
+    	DockerRegistryImpl dockerRegistry = crateRegistryImplObject();
+    	retrieveRealm(dockerRegistry);
+    	
+    	when(clientMock.getJson("")).thenReturn(bearerResponseMock);
+    	when(bearerResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+    	JsonObject jsonAuthorisation = new JsonObject();
+    	jsonAuthorisation.addProperty("token", "tokenValue");
+    	jsonAuthorisation.addProperty("expires_in", 300);
+    	when(bearerResponseMock.getContent()).thenReturn(jsonAuthorisation);
+    	
+    	assertThat(dockerRegistry.retrieveBearerToken()).isEqualTo("tokenValue");
+    	assertThat(dockerRegistry.retrieveBearerToken()).isEqualTo("tokenValue");
+    	
+    	// Only the first token is requested from the realm
+    	verify(clientMock, times(1)).getJson("");
+    	verify(clientMock, times(2)).addCommonHeader("Authorization", "Bearer tokenValue");
+    }
+    
+    @Test
+    public void retrieveBearerTokenExpiredIsRequestedAgain() throws DockerManagerException, MalformedURLException, CredentialsException, HttpClientException, URISyntaxException {
+    	DockerRegistryImpl dockerRegistry = crateRegistryImplObject();
+    	retrieveRealm(dockerRegistry);
+    	
+    	when(clientMock.getJson("")).thenReturn(bearerResponseMock);
+    	when(bearerResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+    	JsonObject jsonAuthorisation = new JsonObject();
+    	jsonAuthorisation.addProperty("token", "tokenValue");
+    	jsonAuthorisation.addProperty("expires_in", 5);
+    	when(bearerResponseMock.getContent()).thenReturn(jsonAuthorisation);
+    	
+    	dockerRegistry.retrieveBearerToken();
+    	dockerRegistry.retrieveBearerToken();
+    	
+    	// Within the expiry margin, so not reused
+    	verify(clientMock, times(2)).getJson("");
+    }
+    
     private void retrieveRealm(DockerRegistryImpl dockerRegistry) throws HttpClientException, DockerManagerException {
     	// Create Docker image object used for realm retrieval 
     	DockerImageImpl dockerImageImpl = createImageImplObject();
@@ -5,6 +5,8 @@
  */
 package dev.galasa.kubernetes;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -17,4 +19,36 @@ public interface IReplicaSet extends IResource {
 
     public List<IPodLog> getPodLogs(String container) throws KubernetesManagerException;
 
+    /**
+     * @return the names of the pods of this resource
+     * @throws KubernetesManagerException If the pods could not be listed
+     */
+    public List<String> getPodNames() throws KubernetesManagerException;
+
+    /**
+     * Stream the log of a container in one of the pods of this resource, rather than 
+     * retrieving the whole log as a String.
+     * 
+     * @param pod the pod name
+     * @param container the container name
+     * @param follow keep the stream open and return the log as it is written
+     * @param sinceTime only the log written after this time, null for all
+     * @param tailLines only this number of lines from the end of the log, null for all
+     * @return the log stream, must be closed
+     * @throws KubernetesManagerException If the log could not be opened
+     */
+    public InputStream streamPodLog(String pod, String container, boolean follow, Instant sinceTime, Integer tailLines) throws KubernetesManagerException;
+
+    /**
+     * Wait for some text to appear in the log of a container in all the pods of this resource.
+     * The logs are followed, so the wait ends as soon as the line is written. The pods are listed
+     * again while waiting, so pods that are created or replaced during the wait are included.
+     * 
+     * @param container the container name
+     * @param text the text to look for, it must be within a single line
+     * @param timeoutSeconds how long to wait
+     * @throws KubernetesManagerException If the text did not appear in every pod within the timeout
+     */
+    public void waitForPodLogs(String container, String text, long timeoutSeconds) throws KubernetesManagerException;
+
 }
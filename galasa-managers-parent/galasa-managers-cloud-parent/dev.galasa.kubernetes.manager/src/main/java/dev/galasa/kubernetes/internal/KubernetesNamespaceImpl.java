@@ -6,14 +6,22 @@
 package dev.galasa.kubernetes.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,7 +30,7 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import com.google.protobuf.Message;
+import com.google.gson.reflect.TypeToken;
 
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.SetContentType;
@@ -38,12 +46,13 @@ import dev.galasa.kubernetes.internal.properties.KubernetesStorageClass;
 import dev.galasa.kubernetes.internal.resources.ConfigMapImpl;
 import dev.galasa.kubernetes.internal.resources.DeploymentImpl;
 import dev.galasa.kubernetes.internal.resources.PersistentVolumeClaimImpl;
+import dev.galasa.kubernetes.internal.resources.PodLogStream;
 import dev.galasa.kubernetes.internal.resources.SecretImpl;
 import dev.galasa.kubernetes.internal.resources.ServiceImpl;
 import dev.galasa.kubernetes.internal.resources.StatefulSetImpl;
 import dev.galasa.kubernetes.internal.resources.Utility;
-import io.kubernetes.client.ProtoClient;
-import io.kubernetes.client.ProtoClient.ObjectOrStatus;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
@@ -51,16 +60,17 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1ConfigMapList;
 import io.kubernetes.client.openapi.models.V1Container;
-import io.kubernetes.client.openapi.models.V1DeleteOptions;
 import io.kubernetes.client.openapi.models.V1Deployment;
 import io.kubernetes.client.openapi.models.V1DeploymentList;
 import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1ListMeta;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimSpec;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1ReplicaSet;
 import io.kubernetes.client.openapi.models.V1ReplicaSetList;
 import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretList;
@@ -69,8 +79,10 @@ import io.kubernetes.client.openapi.models.V1ServiceList;
 import io.kubernetes.client.openapi.models.V1StatefulSet;
 import io.kubernetes.client.openapi.models.V1StatefulSetList;
 import io.kubernetes.client.openapi.models.V1StatefulSetSpec;
-import io.kubernetes.client.proto.V1.Namespace;
+import io.kubernetes.client.util.Watch;
 import io.kubernetes.client.util.Yaml;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
 
 /**
  * The Kubernetes Namespace implementation.
@@ -87,6 +99,9 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private final static Log                 logger = LogFactory.getLog(KubernetesNamespaceImpl.class);
 
+    //*** The namespace configuration is saved a page of resources at a time
+    private final static int                 SAVE_PAGE_SIZE = 50;
+
     private final KubernetesClusterImpl      cluster;
     private final String                     namespaceId;
     private final IFramework                 framework;
@@ -210,134 +225,154 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
     }
 
     private boolean cleanNamespace() throws KubernetesManagerException {
-        CoreV1Api coreApi = new CoreV1Api(this.cluster.getApi());
-        AppsV1Api appsApi = new AppsV1Api(this.cluster.getApi());
-        ProtoClient pc = new ProtoClient(this.cluster.getApi());
+        ApiClient apiClient = this.cluster.getApi();
+        CoreV1Api coreApi = new CoreV1Api(apiClient);
+        AppsV1Api appsApi = new AppsV1Api(apiClient);
 
         try {
-            //*** Delete all configmaps that exist in the namespace
-            V1ConfigMapList configMapList = coreApi.listNamespacedConfigMap(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
-
-            for(V1ConfigMap configMap : configMapList.getItems()) {
-                logger.debug("Deleting ConfigMap " + this.cluster.getId() + "/" + this.namespaceId + "/" + configMap.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                coreApi.deleteNamespacedConfigMap(configMap.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
-            }
+            //*** Delete each type of resource with a single deletecollection call rather than listing and deleting them one by one
+            logger.debug("Deleting all resources in namespace " + getFullId());
+
+            deleteCollection(apiClient, appsApi.deleteCollectionNamespacedDeploymentCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            deleteCollection(apiClient, appsApi.deleteCollectionNamespacedStatefulSetCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            deleteCollection(apiClient, appsApi.deleteCollectionNamespacedReplicaSetCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            deleteCollection(apiClient, coreApi.deleteCollectionNamespacedConfigMapCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            //*** Leave the secrets of the service accounts
+            deleteCollection(apiClient, coreApi.deleteCollectionNamespacedSecretCall(this.namespaceId, null, null, null, "type!=kubernetes.io/service-account-token", 0, null, null, null, null, null, null, null, null, null));
+            deleteServices(apiClient, coreApi);
+            deleteCollection(apiClient, coreApi.deleteCollectionNamespacedPersistentVolumeClaimCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            deleteCollection(apiClient, coreApi.deleteCollectionNamespacedPodCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
 
-            //*** Delete all secrets that exist in the namespace
-            V1SecretList secretList = coreApi.listNamespacedSecret(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            //*** Waiting for all pods and replicasets to be deleted
 
-            for(V1Secret secret : secretList.getItems()) {
-                // Check the secret is not for a service account
+            logger.info("Waiting for all ReplicaSets, Pods and PersistentVolumeClaims to be deleted");
 
-                V1ObjectMeta metadata = secret.getMetadata();
-                if (metadata != null && metadata.getAnnotations() != null) {
-                    if (metadata.getAnnotations().containsKey("kubernetes.io/service-account.name")) {
-                        continue;
-                    }
-                }
+            long timeoutSeconds = 60;
 
-                logger.debug("Deleting Secret " + this.cluster.getId() + "/" + this.namespaceId + "/" + secret.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                coreApi.deleteNamespacedSecret(secret.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
+            if (this.framework.getTestRun() != null && this.framework.getTestRun().isLocal()) {
+                timeoutSeconds = 30;
             }
 
-            //*** Delete all Deployments that exist in the namespace
-            V1DeploymentList deploymentList = appsApi.listNamespacedDeployment(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            Instant timeout = Instant.now().plusSeconds(timeoutSeconds); //  Allow a maximum of 30 seconds then leave the Resource Management to clean up
 
-            for(V1Deployment deployment : deploymentList.getItems()) {
-                logger.debug("Deleting Deployment " + this.cluster.getId() + "/" + this.namespaceId + "/" + deployment.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                appsApi.deleteNamespacedDeployment(deployment.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
+            if (waitForDeletion(apiClient, "Pods",
+                    (resourceVersion, watchSeconds) -> coreApi.listNamespacedPodCall(this.namespaceId, null, null, null, null, null, null, resourceVersion, null, watchSeconds, watchSeconds != null, null),
+                    new TypeToken<V1PodList>(){}.getType(),
+                    new TypeToken<Watch.Response<V1Pod>>(){}.getType(),
+                    timeout)
+                    && waitForDeletion(apiClient, "ReplicaSets",
+                            (resourceVersion, watchSeconds) -> appsApi.listNamespacedReplicaSetCall(this.namespaceId, null, null, null, null, null, null, resourceVersion, null, watchSeconds, watchSeconds != null, null),
+                            new TypeToken<V1ReplicaSetList>(){}.getType(),
+                            new TypeToken<Watch.Response<V1ReplicaSet>>(){}.getType(),
+                            timeout)
+                    && waitForDeletion(apiClient, "PersistentVolumeClaims",
+                            (resourceVersion, watchSeconds) -> coreApi.listNamespacedPersistentVolumeClaimCall(this.namespaceId, null, null, null, null, null, null, resourceVersion, null, watchSeconds, watchSeconds != null, null),
+                            new TypeToken<V1PersistentVolumeClaimList>(){}.getType(),
+                            new TypeToken<Watch.Response<V1PersistentVolumeClaim>>(){}.getType(),
+                            timeout)) {
+                logger.info("All resources discarded in namespace " + getFullId());
+                return true;
             }
 
-            //*** Delete all StatefulSets that exist in the namespace
-            V1StatefulSetList statefulsetList = appsApi.listNamespacedStatefulSet(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
-
-            for(V1StatefulSet statefulset : statefulsetList.getItems()) {
-                logger.debug("Deleting StatefulSet " + this.cluster.getId() + "/" + this.namespaceId + "/" + statefulset.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                appsApi.deleteNamespacedStatefulSet(statefulset.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
-            }
+            logger.warn("Failed to discard namespace, leaving to the next Resource Management cycle");
+            return false;
+        } catch(Exception e) {
+            throw new KubernetesManagerException("Problem trying to delete all the resources in the namespace " + getFullId(), e);
+        }
+    }
 
-            //*** Delete all Services that exist in the namespace
-            V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+    /**
+     * Issue a deletecollection call.  The response is not parsed as it is the list of objects deleted
+     * rather than the V1Status the generated API expects, the same problem that prevented the single PVC delete
+     * being used.
+     */
+    private void deleteCollection(ApiClient apiClient, Call call) throws ApiException {
+        apiClient.execute(call);
+    }
 
-            for(V1Service service : serviceList.getItems()) {
-                logger.debug("Deleting Service " + this.cluster.getId() + "/" + this.namespaceId + "/" + service.getMetadata().getName());
-                coreApi.deleteNamespacedService(service.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
+    /**
+     * Services only support deletecollection from Kubernetes 1.23, so fall back to deleting them one by one
+     * on older clusters
+     */
+    private void deleteServices(ApiClient apiClient, CoreV1Api coreApi) throws ApiException {
+        try {
+            deleteCollection(apiClient, coreApi.deleteCollectionNamespacedServiceCall(this.namespaceId, null, null, null, null, 0, null, null, null, null, null, null, null, null, null));
+            return;
+        } catch(ApiException e) {
+            if (e.getCode() != 404 && e.getCode() != 405) {
+                throw e;
             }
+        }
 
-            //*** Delete all PVCs that exist in the namespace
-            V1PersistentVolumeClaimList pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+        V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+        for(V1Service service : serviceList.getItems()) {
+            logger.debug("Deleting Service " + this.cluster.getId() + "/" + this.namespaceId + "/" + service.getMetadata().getName());
+            coreApi.deleteNamespacedService(service.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
+        }
+    }
 
-            for(V1PersistentVolumeClaim pvc : pvcList.getItems()) {
-                logger.debug("Deleting PVC " + this.cluster.getId() + "/" + this.namespaceId + "/" + pvc.getMetadata().getName());
-                //TODO raise issue because the delete pvc api call fails
+    /**
+     * Builds a list call for a resource type, a watch if the watch seconds are provided
+     */
+    private interface IListCall {
+        Call build(String resourceVersion, Integer watchSeconds) throws ApiException;
+    }
 
-                //                V1DeleteOptions options = new V1DeleteOptions();
-                //                options.setGracePeriodSeconds(0L);
-                //                coreApi.deleteNamespacedPersistentVolumeClaim(pvc.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
-                ObjectOrStatus<Message> response = pc.delete(Namespace.newBuilder(), "/api/v1/namespaces/" + this.namespaceId + "/persistentvolumeclaims/" + pvc.getMetadata().getName());
-                if (response.status != null) {
-                    throw new KubernetesManagerException("Failed to delete PVC:-\n" + response.status.toString());
-                }
-            }
+    /**
+     * Wait for all the resources of a type to be deleted from the namespace.  The resources are listed once,
+     * then a watch is opened from that list's resource version, so the deletions are seen as they happen
+     * without polling.  The resources are only listed again if the watch is ended by the server.
+     *
+     * @return true if all were deleted, false if the timeout was reached first
+     */
+    private boolean waitForDeletion(ApiClient apiClient, String kind, IListCall listCall, Type listType, Type watchType, Instant timeout) throws ApiException, IOException {
+        while(true) {
+            KubernetesListObject list = apiClient.<KubernetesListObject>execute(listCall.build(null, null), listType).getData();
 
-            //*** Delete all remaining pods
-            V1PodList pods = coreApi.listNamespacedPod(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
-            for(V1Pod pod : pods.getItems()) {
-                logger.debug("Deleting POD " + this.cluster.getId() + "/" + this.namespaceId + "/" + pod.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                try {
-                    coreApi.deleteNamespacedPod(pod.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
-                } catch(Exception e) {} //*** Ignore all errors as may be deleting pods from deployments or statefulsets
+            HashSet<String> remaining = new HashSet<>();
+            for(KubernetesObject item : list.getItems()) {
+                remaining.add(item.getMetadata().getName());
+            }
+            if (remaining.isEmpty()) {
+                return true;
             }
 
-
-            //*** Waiting for all pods and replicasets to be deleted
-
-            logger.info("Waiting for all ReplicaSets, Pods and PersistentVolumeClaims to be deleted");
-
-            long timeoutSeconds = 60;
-            long checkSeconds = 10;
-
-            if (this.framework.getTestRun() != null && this.framework.getTestRun().isLocal()) {
-                timeoutSeconds = 30;
+            long watchSeconds = Duration.between(Instant.now(), timeout).getSeconds();
+            if (watchSeconds <= 0) {
+                logger.debug(kind + " remaining in namespace " + getFullId() + " " + remaining);
+                return false;
             }
 
-            Instant timeout = Instant.now().plusSeconds(timeoutSeconds); //  Allow a maximum of 30 seconds then leave the Resource Management to clean up
-            Instant check = Instant.now().plusSeconds(checkSeconds);
-
-            while(timeout.isAfter(Instant.now())) {
-                V1PodList podList = coreApi.listNamespacedPod(namespaceId, null, null, null, null, null, null, null, null, null, null);
-                V1ReplicaSetList replicaSetList = appsApi.listNamespacedReplicaSet(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
-                pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
-
-                if (podList.getItems().isEmpty() 
-                        && replicaSetList.getItems().isEmpty()
-                        && pvcList.getItems().isEmpty()) {
-                    logger.info("All resources discarded in namespace " + getFullId());
-                    return true;
-                }
+            logger.debug("Still waiting for " + kind + " " + remaining);
 
-                if (check.isBefore(Instant.now())) {
-                    logger.debug("Still waiting");
-                    check = Instant.now().plusSeconds(checkSeconds);
-                }
+            //*** The server ends the watch after the timeout, the client must not give up reading before then
+            OkHttpClient watchClient = apiClient.getHttpClient().newBuilder()
+                    .readTimeout(watchSeconds + 10, TimeUnit.SECONDS)
+                    .build();
+            Call watchCall = watchClient.newCall(listCall.build(list.getMetadata().getResourceVersion(), (int) watchSeconds).request());
 
-                Thread.sleep(1000);
+            try (Watch<KubernetesObject> watch = Watch.createWatch(apiClient, watchCall, watchType)) {
+                for(Watch.Response<KubernetesObject> event : watch) {
+                    if ("ERROR".equals(event.type)) {
+                        break; //*** Most likely the resource version has expired, list again
+                    }
+                    String name = event.object.getMetadata().getName();
+                    if ("DELETED".equals(event.type)) {
+                        remaining.remove(name);
+                    } else if ("ADDED".equals(event.type)) {
+                        remaining.add(name);
+                    }
+                    if (remaining.isEmpty()) {
+                        return true;
+                    }
+                }
+            } catch(RuntimeException e) {
+                logger.debug("Watch of " + kind + " in namespace " + getFullId() + " ended early", e);
             }
 
-            logger.warn("Failed to discard namespace, leaving to the next Resource Management cycle");
-            return false;
-        } catch(Exception e) {
-            throw new KubernetesManagerException("Problem trying to delete all the resources in the namespace " + getFullId(), e);
+            if (!timeout.isAfter(Instant.now())) {
+                return false;
+            }
         }
     }
 
@@ -596,11 +631,15 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespaceConfigMap(CoreV1Api coreApi, Path directory) {
         try {
-            V1ConfigMapList configMapList = coreApi.listNamespacedConfigMap(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1ConfigMapList configMapList = coreApi.listNamespacedConfigMap(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1ConfigMap configMap : configMapList.getItems()) {
-                saveNamespaceFile(directory, configMap, "configmap_", configMap.getMetadata());
-            }
+                for(V1ConfigMap configMap : configMapList.getItems()) {
+                    saveNamespaceFile(directory, configMap, "configmap_", configMap.getMetadata());
+                }
+                continueToken = nextPage(configMapList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException e) {
             logger.error("Failed to save the ConfigMap configuration",e);
         }
@@ -608,11 +647,15 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespacePersistentVolumeClaim(CoreV1Api coreApi, Path directory) {
         try {
-            V1PersistentVolumeClaimList pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1PersistentVolumeClaimList pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1PersistentVolumeClaim pvc : pvcList.getItems()) {
-                saveNamespaceFile(directory, pvc, "pvc_", pvc.getMetadata());
-            }
+                for(V1PersistentVolumeClaim pvc : pvcList.getItems()) {
+                    saveNamespaceFile(directory, pvc, "pvc_", pvc.getMetadata());
+                }
+                continueToken = nextPage(pvcList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException e) {
             logger.error("Failed to save the PVC configuration",e);
         }
@@ -620,20 +663,24 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespaceSecret(CoreV1Api coreApi, Path directory) {
         try {
-            V1SecretList secretList = coreApi.listNamespacedSecret(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1SecretList secretList = coreApi.listNamespacedSecret(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1Secret secret : secretList.getItems()) {
-                // Check the secret is not for a service account
+                for(V1Secret secret : secretList.getItems()) {
+                    // Check the secret is not for a service account
 
-                V1ObjectMeta metadata = secret.getMetadata();
-                if (metadata != null && metadata.getAnnotations() != null) {
-                    if (metadata.getAnnotations().containsKey("kubernetes.io/service-account.name")) {
-                        continue;
+                    V1ObjectMeta metadata = secret.getMetadata();
+                    if (metadata != null && metadata.getAnnotations() != null) {
+                        if (metadata.getAnnotations().containsKey("kubernetes.io/service-account.name")) {
+                            continue;
+                        }
                     }
-                }
 
-                saveNamespaceFile(directory, secret, "secret_", secret.getMetadata());
-            }
+                    saveNamespaceFile(directory, secret, "secret_", secret.getMetadata());
+                }
+                continueToken = nextPage(secretList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException e) {
             logger.error("Failed to save the Secret configuration",e);
         }
@@ -641,11 +688,15 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespaceService(CoreV1Api coreApi, Path directory) {
         try {
-            V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1Service service : serviceList.getItems()) {
-                saveNamespaceFile(directory, service, "service_", service.getMetadata());
-            }
+                for(V1Service service : serviceList.getItems()) {
+                    saveNamespaceFile(directory, service, "service_", service.getMetadata());
+                }
+                continueToken = nextPage(serviceList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException e) {
             logger.error("Failed to save the Service configuration",e);
         }
@@ -653,14 +704,18 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespaceDeployment(AppsV1Api appsApi, CoreV1Api coreApi, Path directory) {
         try {
-            V1DeploymentList deploymentList = appsApi.listNamespacedDeployment(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1DeploymentList deploymentList = appsApi.listNamespacedDeployment(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1Deployment deployment : deploymentList.getItems()) {
-                saveNamespaceFile(directory, deployment, "deployment_", deployment.getMetadata());
+                for(V1Deployment deployment : deploymentList.getItems()) {
+                    saveNamespaceFile(directory, deployment, "deployment_", deployment.getMetadata());
 
 
-                saveNamespacePods(coreApi, directory, deployment.getSpec().getSelector(), "deployment_" + deployment.getMetadata().getName() + "_pod_");
-            }
+                    saveNamespacePods(coreApi, directory, deployment.getSpec().getSelector(), "deployment_" + deployment.getMetadata().getName() + "_pod_");
+                }
+                continueToken = nextPage(deploymentList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException | KubernetesManagerException e) {
             logger.error("Failed to save the Deployment configuration",e);
         }
@@ -669,35 +724,40 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
     private void saveNamespacePods(CoreV1Api coreApi, Path directory, V1LabelSelector labelSelector, String prefix) throws KubernetesManagerException, ApiException, IOException {
         String convertedLabelSelector = Utility.convertLabelSelector(labelSelector);
 
-        V1PodList pods = coreApi.listNamespacedPod(this.namespaceId, null, null, null, null, convertedLabelSelector, null, null, null, null, null);
-        for(V1Pod pod : pods.getItems()) {
-            String name = pod.getMetadata().getName();
+        String continueToken = null;
+        do {
+            V1PodList pods = coreApi.listNamespacedPod(this.namespaceId, null, null, continueToken, null, convertedLabelSelector, SAVE_PAGE_SIZE, null, null, null, null);
+            for(V1Pod pod : pods.getItems()) {
+                String name = pod.getMetadata().getName();
 
-            saveNamespaceFile(directory, pod, prefix, pod.getMetadata());
+                saveNamespaceFile(directory, pod, prefix, pod.getMetadata());
 
-            if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
-                if (pod.getSpec().getContainers().size() == 1) {
-                    if (pod.getSpec().getContainers().get(0).getName() != null) {
-                        saveNamespaceContainer(coreApi, directory, name, pod.getSpec().getContainers().get(0).getName(), prefix + name);
-                    }
-                } else {
-                    for(V1Container container : pod.getSpec().getContainers()) {
-                        if (container.getName() != null) {
-                            saveNamespaceContainer(coreApi, directory, name, container.getName(), prefix + name + "_container_" + container.getName());
-                        }      
+                if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
+                    if (pod.getSpec().getContainers().size() == 1) {
+                        if (pod.getSpec().getContainers().get(0).getName() != null) {
+                            saveNamespaceContainer(coreApi, directory, name, pod.getSpec().getContainers().get(0).getName(), prefix + name);
+                        }
+                    } else {
+                        for(V1Container container : pod.getSpec().getContainers()) {
+                            if (container.getName() != null) {
+                                saveNamespaceContainer(coreApi, directory, name, container.getName(), prefix + name + "_container_" + container.getName());
+                            }      
+                        }
                     }
                 }
             }
-        }
+            continueToken = nextPage(pods.getMetadata());
+        } while(continueToken != null);
     }
 
     private void saveNamespaceContainer(CoreV1Api coreApi, Path directory, String pod, String container, String filename) {
         Path path = directory.resolve(filename + ".log");
 
         try {
-            String log = coreApi.readNamespacedPodLog(pod, this.namespaceId, container, null, null, null, null, null, null, null, null);
-            if (log != null) {
-                Files.write(path, log.getBytes(), StandardOpenOption.CREATE, new SetContentType(ResultArchiveStoreContentType.TEXT));
+            //*** Stream the log straight into the RAS rather than holding it all in memory
+            try (InputStream log = PodLogStream.open(coreApi.getApiClient(), this.namespaceId, pod, container, false, null, null);
+                    OutputStream file = Files.newOutputStream(path, StandardOpenOption.CREATE, new SetContentType(ResultArchiveStoreContentType.TEXT))) {
+                log.transferTo(file);
             }
             //*** Removed the previous container log as it was far too slow.  will have to add code to do it specifically if requested
         } catch(ApiException e) {
@@ -708,14 +768,18 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private void saveNamespaceStatefulSet(AppsV1Api appsApi, CoreV1Api coreApi, Path directory) {
         try {
-            V1StatefulSetList statefulsetList = appsApi.listNamespacedStatefulSet(this.namespaceId, null, null, null, null, null, null, null, null, null, null);
+            String continueToken = null;
+            do {
+                V1StatefulSetList statefulsetList = appsApi.listNamespacedStatefulSet(this.namespaceId, null, null, continueToken, null, null, SAVE_PAGE_SIZE, null, null, null, null);
 
-            for(V1StatefulSet statefulset : statefulsetList.getItems()) {
-                saveNamespaceFile(directory, statefulset, "statefulset_", statefulset.getMetadata());
+                for(V1StatefulSet statefulset : statefulsetList.getItems()) {
+                    saveNamespaceFile(directory, statefulset, "statefulset_", statefulset.getMetadata());
 
 
-                saveNamespacePods(coreApi, directory, statefulset.getSpec().getSelector(), "statefulset_" + statefulset.getMetadata().getName() + "_pod_");
-            }
+                    saveNamespacePods(coreApi, directory, statefulset.getSpec().getSelector(), "statefulset_" + statefulset.getMetadata().getName() + "_pod_");
+                }
+                continueToken = nextPage(statefulsetList.getMetadata());
+            } while(continueToken != null);
         } catch(ApiException | IOException | KubernetesManagerException e) {
             logger.error("Failed to save the Deployment configuration",e);
         }
@@ -724,8 +788,19 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
     private void saveNamespaceFile(Path directory, Object resource, String prefix, V1ObjectMeta metadata) throws IOException {
         String name = prefix + metadata.getName();
         Path path = directory.resolve(name);
-        String yaml = Yaml.dump(resource);
-        Files.write(path, yaml.getBytes(), StandardOpenOption.CREATE, new SetContentType(ResultArchiveStoreContentType.TEXT));
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, new SetContentType(ResultArchiveStoreContentType.TEXT))) {
+            Yaml.dump(resource, writer);
+        }
+    }
+
+    /**
+     * @return the continue token for the next page of a list, or null if this was the last page
+     */
+    private String nextPage(V1ListMeta metadata) {
+        if (metadata == null || metadata.getContinue() == null || metadata.getContinue().isEmpty()) {
+            return null;
+        }
+        return metadata.getContinue();
     }
 
     /**
@@ -5,6 +5,8 @@
  */
 package dev.galasa.kubernetes.internal.resources;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 import dev.galasa.kubernetes.IDeployment;
@@ -58,4 +60,27 @@ public class DeploymentImpl extends ReplicaSetHolder implements IDeployment {
 
         return getPodLogs(this.namespace.getCluster().getApi(), this.deployment.getSpec().getSelector(), this.namespace.getId(), container);
     }
+
+    @Override
+    public List<String> getPodNames() throws KubernetesManagerException {
+        if (deployment.getSpec() == null || deployment.getSpec().getSelector() == null) {
+            throw new KubernetesManagerException("Missing Selector");
+        }
+
+        return getPodNames(this.namespace.getCluster().getApi(), this.deployment.getSpec().getSelector(), this.namespace.getId());
+    }
+
+    @Override
+    public InputStream streamPodLog(String pod, String container, boolean follow, Instant sinceTime, Integer tailLines) throws KubernetesManagerException {
+        return streamPodLog(this.namespace.getCluster().getApi(), this.namespace.getId(), pod, container, follow, sinceTime, tailLines);
+    }
+
+    @Override
+    public void waitForPodLogs(String container, String text, long timeoutSeconds) throws KubernetesManagerException {
+        if (deployment.getSpec() == null || deployment.getSpec().getSelector() == null) {
+            throw new KubernetesManagerException("Missing Selector");
+        }
+
+        waitForPodLogs(this.namespace.getCluster().getApi(), this.deployment.getSpec().getSelector(), this.namespace.getId(), container, text, timeoutSeconds);
+    }
 }
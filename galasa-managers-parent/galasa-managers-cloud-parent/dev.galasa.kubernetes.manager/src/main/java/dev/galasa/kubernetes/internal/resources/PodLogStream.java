@@ -0,0 +1,91 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.kubernetes.internal.resources;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * The log of a container in a pod, read as it is returned by the API server rather than
+ * as a single String.  Closing the stream closes the connection, which also ends a read
+ * blocked waiting for a followed log.
+ *
+ * The generated API does not provide the sinceTime parameter, so it is added to the request here.
+ */
+public class PodLogStream extends FilterInputStream {
+
+    private final Response response;
+
+    private PodLogStream(Response response) {
+        super(response.body().byteStream());
+        this.response = response;
+    }
+
+    /**
+     * Open the log of a container
+     *
+     * @param apiClient the api client
+     * @param namespace the namespace id
+     * @param pod the pod name
+     * @param container the container name, can be null if the pod has a single container
+     * @param follow keep the stream open and return the log as it is written
+     * @param sinceTime only the log written after this time, null for all
+     * @param tailLines only this number of lines from the end of the log, null for all
+     * @return the log stream, must be closed
+     * @throws ApiException if the API server rejected the request, eg the container has not started
+     * @throws IOException if the API server could not be reached
+     */
+    public static PodLogStream open(ApiClient apiClient, String namespace, String pod, String container, boolean follow, Instant sinceTime, Integer tailLines) throws ApiException, IOException {
+        CoreV1Api coreApi = new CoreV1Api(apiClient);
+        Call call = coreApi.readNamespacedPodLogCall(pod, namespace, container, follow, null, null, null, null, null, tailLines, null, null);
+
+        Request request = call.request();
+        if (sinceTime != null) {
+            request = request.newBuilder()
+                    .url(request.url().newBuilder()
+                            .addQueryParameter("sinceTime", sinceTime.truncatedTo(ChronoUnit.SECONDS).toString())
+                            .build())
+                    .build();
+        }
+
+        OkHttpClient httpClient = apiClient.getHttpClient();
+        if (follow) {
+            //*** A followed log can be quiet for any length of time
+            httpClient = httpClient.newBuilder().readTimeout(0, TimeUnit.SECONDS).build();
+        }
+
+        Response response = httpClient.newCall(request).execute();
+        if (!response.isSuccessful()) {
+            String body = null;
+            try {
+                body = response.body().string();
+            } catch(IOException e) {
+            } finally {
+                response.close();
+            }
+            throw new ApiException("Unable to read the log of pod " + namespace + "/" + pod, response.code(), response.headers().toMultimap(), body);
+        }
+
+        return new PodLogStream(response);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.response.close();
+    }
+
+}
@@ -5,11 +5,30 @@
  */
 package dev.galasa.kubernetes.internal.resources;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import dev.galasa.kubernetes.IPodLog;
 import dev.galasa.kubernetes.KubernetesManagerException;
 import io.kubernetes.client.openapi.ApiClient;
@@ -27,6 +46,11 @@ import io.kubernetes.client.openapi.models.V1PodList;
  */
 public abstract class ReplicaSetHolder {
 
+    private final static Log logger = LogFactory.getLog(ReplicaSetHolder.class);
+
+    private static final long POD_LIST_INTERVAL_MILLIS = 2000;
+    private static final long RETRY_INTERVAL_MILLIS    = 1000;
+
     /**
      * Retrieve all the pod logs for a deployment/statefulset
      * 
@@ -66,4 +90,247 @@ public abstract class ReplicaSetHolder {
         }
     }
 
+    /**
+     * Retrieve the names of the pods of a deployment/statefulset
+     *
+     * @param apiClient the api client
+     * @param labelSelector The label selector to find the pods
+     * @param namespace the namespace id
+     * @return the pod names, never null
+     * @throws KubernetesManagerException If the pods could not be listed
+     */
+    @NotNull
+    protected static List<String> getPodNames(ApiClient apiClient, V1LabelSelector labelSelector, String namespace) throws KubernetesManagerException {
+        ArrayList<String> podNames = new ArrayList<>();
+        try {
+            CoreV1Api coreApi = new CoreV1Api(apiClient);
+
+            String convertedLabelSelector = Utility.convertLabelSelector(labelSelector);
+
+            V1PodList pods = coreApi.listNamespacedPod(namespace, null, null, null, null, convertedLabelSelector, null, null, null, null, null);
+            for(V1Pod pod : pods.getItems()) {
+                podNames.add(pod.getMetadata().getName());
+            }
+
+            return podNames;
+        } catch(ApiException e) {
+            throw new KubernetesManagerException("Problem listing the pods", e);
+        }
+    }
+
+    /**
+     * Stream the log of a container in a pod
+     *
+     * @param apiClient the api client
+     * @param namespace the namespace id
+     * @param pod the pod name
+     * @param container the container name
+     * @param follow keep the stream open and return the log as it is written
+     * @param sinceTime only the log written after this time, null for all
+     * @param tailLines only this number of lines from the end of the log, null for all
+     * @return the log stream, must be closed
+     * @throws KubernetesManagerException If the log could not be opened
+     */
+    @NotNull
+    protected static InputStream streamPodLog(ApiClient apiClient, String namespace, String pod, String container, boolean follow, Instant sinceTime, Integer tailLines) throws KubernetesManagerException {
+        try {
+            return PodLogStream.open(apiClient, namespace, pod, container, follow, sinceTime, tailLines);
+        } catch(ApiException | IOException e) {
+            throw new KubernetesManagerException("Problem opening the log of pod " + namespace + "/" + pod, e);
+        }
+    }
+
+    /**
+     * Wait for some text to appear in the log of a container in all the pods of a deployment/statefulset.
+     * The logs are followed and checked line by line as they are written, so only a line of each log is
+     * held at a time however large the logs are.
+     *
+     * The pods are listed again until the wait ends, so a pod created or replaced during the wait is
+     * followed too, and a pod that has gone or is terminating is no longer waited for. Pods are told
+     * apart by their uid, as a statefulset replaces a pod with one of the same name. The wait only ends
+     * once there is at least one pod and the text has appeared in all of them.
+     *
+     * @param apiClient the api client
+     * @param labelSelector The label selector to find the pods
+     * @param namespace the namespace id
+     * @param container the container name
+     * @param text the text to look for
+     * @param timeoutSeconds how long to wait for the text to appear in all the pods
+     * @throws KubernetesManagerException If the text did not appear in every pod within the timeout
+     */
+    protected static void waitForPodLogs(ApiClient apiClient, V1LabelSelector labelSelector, String namespace, String container, String text, long timeoutSeconds) throws KubernetesManagerException {
+        Instant timeout = Instant.now().plusSeconds(timeoutSeconds);
+
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "Kubernetes pod log wait");
+            thread.setDaemon(true);
+            return thread;
+        });
+        //*** Keyed by pod uid
+        LinkedHashMap<String, PodLogWait> waits = new LinkedHashMap<>();
+        LinkedHashMap<String, Future<Boolean>> futures = new LinkedHashMap<>();
+        try {
+            while(true) {
+                Map<String, String> pods = getActivePods(apiClient, labelSelector, namespace);
+
+                //*** Stop following the pods that have gone, and start following the new ones
+                Iterator<Entry<String, PodLogWait>> iterator = waits.entrySet().iterator();
+                while(iterator.hasNext()) {
+                    Entry<String, PodLogWait> wait = iterator.next();
+                    if (!pods.containsKey(wait.getKey())) {
+                        wait.getValue().stop();
+                        futures.remove(wait.getKey());
+                        iterator.remove();
+                    }
+                }
+                for(Entry<String, String> pod : pods.entrySet()) {
+                    if (!waits.containsKey(pod.getKey())) {
+                        PodLogWait wait = new PodLogWait(apiClient, namespace, pod.getValue(), container, text, timeout);
+                        waits.put(pod.getKey(), wait);
+                        futures.put(pod.getKey(), executor.submit(wait));
+                    }
+                }
+
+                ArrayList<String> waiting = new ArrayList<>();
+                for(Entry<String, Future<Boolean>> future : futures.entrySet()) {
+                    if (!future.getValue().isDone() || !future.getValue().get()) {
+                        waiting.add(pods.get(future.getKey()));
+                    }
+                }
+                if (!pods.isEmpty() && waiting.isEmpty()) {
+                    logger.debug("Found the log message '" + text + "' in all the pods");
+                    return;
+                }
+
+                long remaining = Duration.between(Instant.now(), timeout).toMillis();
+                if (remaining <= 0) {
+                    if (pods.isEmpty()) {
+                        throw new KubernetesManagerException("There were no pods to find the log message '" + text + "' in within timeout");
+                    }
+                    throw new KubernetesManagerException("Did not find the log message '" + text + "' in pods " + namespace + "/" + waiting + " within timeout");
+                }
+                Thread.sleep(Math.min(POD_LIST_INTERVAL_MILLIS, remaining));
+            }
+        } catch(ExecutionException e) {
+            throw new KubernetesManagerException("Problem waiting for the log message '" + text + "' in namespace " + namespace, e.getCause());
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesManagerException("Wait for log message interrupted", e);
+        } finally {
+            for(PodLogWait wait : waits.values()) {
+                wait.stop();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The pods that are not being deleted, as a terminating pod is being replaced
+     *
+     * @return the pod names keyed by uid
+     */
+    private static Map<String, String> getActivePods(ApiClient apiClient, V1LabelSelector labelSelector, String namespace) throws KubernetesManagerException {
+        LinkedHashMap<String, String> podNames = new LinkedHashMap<>();
+        try {
+            CoreV1Api coreApi = new CoreV1Api(apiClient);
+
+            String convertedLabelSelector = Utility.convertLabelSelector(labelSelector);
+
+            V1PodList pods = coreApi.listNamespacedPod(namespace, null, null, null, null, convertedLabelSelector, null, null, null, null, null);
+            for(V1Pod pod : pods.getItems()) {
+                if (pod.getMetadata().getDeletionTimestamp() == null) {
+                    podNames.put(pod.getMetadata().getUid(), pod.getMetadata().getName());
+                }
+            }
+
+            return podNames;
+        } catch(ApiException e) {
+            throw new KubernetesManagerException("Problem listing the pods", e);
+        }
+    }
+
+    /**
+     * Follows the log of a single pod until the text is found
+     */
+    private static class PodLogWait implements Callable<Boolean> {
+
+        private final ApiClient apiClient;
+        private final String    namespace;
+        private final String    pod;
+        private final String    container;
+        private final String    text;
+        private final Instant   timeout;
+
+        private volatile InputStream stream;
+        private volatile boolean     stopped;
+
+        private PodLogWait(ApiClient apiClient, String namespace, String pod, String container, String text, Instant timeout) {
+            this.apiClient = apiClient;
+            this.namespace = namespace;
+            this.pod       = pod;
+            this.container = container;
+            this.text      = text;
+            this.timeout   = timeout;
+        }
+
+        /**
+         * @return true if the text was found, false if the wait was stopped or timed out without it
+         */
+        @Override
+        public Boolean call() throws Exception {
+            Instant sinceTime = null;
+            while(!this.stopped && this.timeout.isAfter(Instant.now())) {
+                Instant opened = Instant.now();
+                boolean retry = false;
+                try (InputStream logStream = PodLogStream.open(this.apiClient, this.namespace, this.pod, this.container, true, sinceTime, null)) {
+                    this.stream = logStream;
+                    if (this.stopped) {
+                        return false;
+                    }
+
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(logStream, StandardCharsets.UTF_8));
+                    String line;
+                    while((line = reader.readLine()) != null) {
+                        if (line.contains(this.text)) {
+                            return true;
+                        }
+                    }
+                    //*** The log of a followed container only ends when the container does, follow the
+                    //*** log of its replacement, the pod name is kept by a statefulset
+                    logger.trace("Log of pod " + this.namespace + "/" + this.pod + " ended without the log message, following it again");
+                    sinceTime = null;
+                    retry = true;
+                } catch(ApiException e) {
+                    if (e.getCode() != 400 && e.getCode() != 404) {
+                        throw e;
+                    }
+                    //*** The container has not started yet, or the pod is being replaced
+                    retry = true;
+                } catch(IOException e) {
+                    if (this.stopped) {
+                        return false;
+                    }
+                    //*** The connection was dropped, carry on from when it was opened
+                    logger.trace("Log of pod " + this.namespace + "/" + this.pod + " ended early, reconnecting", e);
+                    sinceTime = opened;
+                }
+                if (retry) {
+                    Thread.sleep(RETRY_INTERVAL_MILLIS);
+                }
+            }
+            return false;
+        }
+
+        private void stop() {
+            this.stopped = true;
+            InputStream logStream = this.stream;
+            if (logStream != null) {
+                try {
+                    logStream.close();
+                } catch(IOException e) {
+                }
+            }
+        }
+    }
+
 }
@@ -285,6 +285,19 @@ public interface IHttpClient {
      */
     void putFile(String path, InputStream file);
 
+    /**
+     * Send a compressed (tar) file to a specified destination on a host, returning the response so
+     * the caller can check the status. Clients that do not support this throw an {@link HttpClientException}.
+     * 
+     * @param path URL path
+     * @param archive tar archive file, read until the end but not closed
+     * @return the response, which must be closed
+     * @throws HttpClientException if the request could not be sent
+     */
+    default CloseableHttpResponse putArchive(String path, InputStream archive) throws HttpClientException {
+        throw new HttpClientException("Sending an archive is not supported by this HTTP client");
+    }
+
     /**
      * Execute an {@link HttpClientRequest} returning a JAXB object available
      * through the returned {@link HttpClientResponse}. In order to unmarshal the
@@ -347,7 +360,8 @@ public interface IHttpClient {
     void addOkResponseCode(int responseCode);
 
     /**
-     * Build the client
+     * Build the client. The built client, and so its connections, are used for all the requests until the
+     * configuration of the client is changed or it is closed
      * 
      * @return the built client
      */
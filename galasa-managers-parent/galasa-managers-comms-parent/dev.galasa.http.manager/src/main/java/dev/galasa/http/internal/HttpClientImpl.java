@@ -421,6 +421,7 @@ public class HttpClientImpl implements IHttpClient {
     public IHttpClient setSSLContext(SSLContext sslContext) {
 
         this.sslContext = sslContext;
+        rebuild();
 
         return this;
     }
@@ -435,6 +436,7 @@ public class HttpClientImpl implements IHttpClient {
     public IHttpClient setHostnameVerifier(HostnameVerifier hostnameVerifier) {
 
         this.hostnameVerifier = hostnameVerifier;
+        rebuild();
 
         return this;
     }
@@ -447,6 +449,7 @@ public class HttpClientImpl implements IHttpClient {
     public IHttpClient setNoopHostnameVerifier() {
 
         this.hostnameVerifier = NoopHostnameVerifier.INSTANCE;
+        rebuild();
 
         return this;
     }
@@ -501,11 +504,12 @@ public class HttpClientImpl implements IHttpClient {
     }
 
     /**
-     * Build the client
+     * Build the client. The built client, and so its connections, are used for all the requests until the
+     * configuration of the client is changed or it is closed
      * 
      * @return the built client
      */
-    public IHttpClient build() {
+    public synchronized IHttpClient build() {
     	RequestConfig.Builder requestBuilder = RequestConfig.custom();
     	HttpClientBuilder builder = HttpClientBuilder.create();
     	builder.setDefaultCookieStore(cookieStore);
@@ -562,8 +566,7 @@ public class HttpClientImpl implements IHttpClient {
         while (true) {
             CloseableHttpResponse response = null;
             try {
-                this.build();
-                response = httpClient.execute(request, httpContext);
+                response = client().execute(request, httpContext);
                 StatusLine status = response.getStatusLine();
                 if (status.getStatusCode() != HttpStatus.SC_OK
                         && status.getStatusCode() != HttpStatus.SC_CREATED
@@ -783,10 +786,7 @@ public class HttpClientImpl implements IHttpClient {
 
     public void putFile(String path, InputStream file) {    
         try {
-            BufferedInputStream in = new BufferedInputStream(file);
-            CloseableHttpResponse response = putStream(path, null, ContentType.APPLICATION_X_TAR, in, new ContentType[] {
-                    ContentType.APPLICATION_XML, ContentType.APPLICATION_JSON, ContentType.TEXT_PLAIN }, null, false);
-            in.close();
+            CloseableHttpResponse response = putArchive(path, file);
             response.close();
             file.close();
         } catch (HttpClientException | IOException e) {
@@ -794,6 +794,11 @@ public class HttpClientImpl implements IHttpClient {
         }
     }
 
+    public CloseableHttpResponse putArchive(String path, InputStream archive) throws HttpClientException {
+        return putStream(path, null, ContentType.APPLICATION_X_TAR, new BufferedInputStream(archive), new ContentType[] {
+                ContentType.APPLICATION_XML, ContentType.APPLICATION_JSON, ContentType.TEXT_PLAIN }, null, false);
+    }
+
     public CloseableHttpResponse putStream(String path, Map<String, String> queryParams, ContentType contentType, Object data,
             ContentType[] acceptTypes, Class<?>[] jaxbClasses, boolean retry) throws HttpClientException {
 
@@ -809,7 +814,7 @@ public class HttpClientImpl implements IHttpClient {
                 entity = new InputStreamEntity((InputStream) data);
                 put.setEntity(entity);
                 addHeaders(put, contentType, acceptTypes);
-                return httpClient.execute(put, context);
+                return client().execute(put, context);
             } catch (IOException e) {
                 logger.error("IO error with input stream", e);
                 throw new HttpClientException(e);
@@ -829,11 +834,13 @@ public class HttpClientImpl implements IHttpClient {
         });
         commonHeaders.removeAll(toRemove);
         commonHeaders.add(new BasicHeader(name, value));
+        rebuild();
     }
 
     @Override
     public void clearCommonHeaders() {
         commonHeaders.clear();
+        rebuild();
     }
 
     private HttpClientResponse<Document> executeXmlRequest(HttpClientRequest request) throws HttpClientException {
@@ -847,16 +854,33 @@ public class HttpClientImpl implements IHttpClient {
     }
 
     private CloseableHttpResponse execute(HttpUriRequest request) throws HttpClientException {
-        this.build();
         try {
-            return httpClient.execute(request, httpContext);
+            return client().execute(request, httpContext);
         } catch (IOException e) {
             throw new HttpClientException("Error executing http request", e);
         }
     }
 
+    /**
+     * The built client, building it if it has not been built since it was last changed or closed
+     */
+    private synchronized CloseableHttpClient client() {
+        if (this.httpClient == null) {
+            build();
+        }
+        return this.httpClient;
+    }
+
+    /**
+     * Build the client again for the next request, as its configuration has changed. The previous client is not
+     * closed, as responses from it may still be being read
+     */
+    private synchronized void rebuild() {
+        this.httpClient = null;
+    }
+
     @Override
-    public void close() {
+    public synchronized void close() {
         if (this.httpClient == null) {
             return;
         }
@@ -865,6 +889,7 @@ public class HttpClientImpl implements IHttpClient {
             httpClient.close();
         } catch (IOException e) {
         }
+        this.httpClient = null;
 
     }
 
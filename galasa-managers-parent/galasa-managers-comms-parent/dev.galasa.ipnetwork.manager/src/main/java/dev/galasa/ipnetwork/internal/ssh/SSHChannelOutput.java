@@ -0,0 +1,60 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Collects the output of an exec channel. JSch closes the stream set with
+ * setOutputStream when the server sends end of file, and the stream set with
+ * setExtOutputStream when the channel is closed.
+ *
+ */
+public class SSHChannelOutput extends OutputStream {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private boolean                     ended;
+
+    @Override
+    public synchronized void write(int b) {
+        buffer.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        buffer.write(b, off, len);
+    }
+
+    @Override
+    public synchronized void close() {
+        ended = true;
+        notifyAll();
+    }
+
+    /**
+     * @return true if the output ended before the timeout
+     */
+    public synchronized boolean waitForEnd(long whenTimeout) throws InterruptedException {
+        while (!ended) {
+            long remaining = whenTimeout - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    public synchronized byte[] toByteArray() {
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import dev.galasa.ipnetwork.SSHException;
+
+/**
+ * Shares connected SSH sessions between the SSH clients of a JVM.
+ *
+ * Sessions are keyed by host, port, userid and credentials. Each session carries
+ * up to {@link #MAX_CHANNELS_PER_SESSION} concurrent channels, which is the OpenSSH
+ * default for MaxSessions, a new session is connected when all the sessions for a key
+ * are full. Sessions with no open channels are disconnected once they have been idle
+ * for {@link #IDLE_TIMEOUT} milliseconds.
+ *
+ */
+public class SSHSessionPool {
+
+    private static final Log            logger                   = LogFactory.getLog(SSHSessionPool.class);
+
+    public static final int             MAX_CHANNELS_PER_SESSION = 10;
+
+    // Some commands we run download the isolated build zip which takes ages...
+    // Timeout increased from 60secs to 120secs to allow the download to complete.
+    public static final long            IDLE_TIMEOUT             = 120000;
+
+    private static final long           REAP_INTERVAL            = 10000;
+
+    private static final SSHSessionPool INSTANCE                 = new SSHSessionPool();
+
+    private final HashMap<String, List<PooledSession>> sessions = new HashMap<>();
+
+    private Thread                      reaperThread;
+
+    /**
+     * Connects a new session for the pool
+     */
+    @FunctionalInterface
+    public interface SessionConnector {
+        Session connect() throws SSHException;
+    }
+
+    /**
+     * A pooled session together with the number of channels leased on it
+     */
+    public static class PooledSession {
+        private final String  key;
+        private final Session session;
+        private int           channels;
+        private int           maxChannels = MAX_CHANNELS_PER_SESSION;
+        private long          lastUsed    = System.currentTimeMillis();
+
+        private PooledSession(String key, Session session) {
+            this.key = key;
+            this.session = session;
+        }
+
+        public Session getSession() {
+            return this.session;
+        }
+    }
+
+    public static SSHSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Build the pool key for a set of credentials, the secret is hashed so it is
+     * not held in the key
+     */
+    public static String createKey(String hostname, int port, String userid, String password, byte[] token) throws SSHException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (password != null) {
+                digest.update(password.getBytes(StandardCharsets.UTF_8));
+            }
+            if (token != null) {
+                digest.update(token);
+            }
+            return userid + "@" + hostname + ":" + port + "#" + Hex.encodeHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new SSHException("Unable to hash the SSH credentials", e);
+        }
+    }
+
+    /**
+     * Lease a channel slot on a connected session for the key, connecting a new
+     * session if none has a free slot. The lease must be returned with
+     * {@link #release(PooledSession)}.
+     *
+     * @param key       - the key from {@link #createKey(String, int, String, String, byte[])}
+     * @param connector - connects a new session if required
+     * @return the leased session
+     * @throws SSHException
+     */
+    public PooledSession lease(String key, SessionConnector connector) throws SSHException {
+        synchronized (this) {
+            PooledSession available = findAvailable(key);
+            if (available != null) {
+                return available;
+            }
+        }
+
+        // Connect outside the pool lock so other hosts are not held up by a slow connect
+        Session session = connector.connect();
+
+        synchronized (this) {
+            PooledSession pooled = new PooledSession(key, session);
+            pooled.channels = 1;
+            this.sessions.computeIfAbsent(key, k -> new ArrayList<>()).add(pooled);
+            startReaper();
+            return pooled;
+        }
+    }
+
+    /**
+     * Return a channel slot leased by {@link #lease(String, SessionConnector)}
+     */
+    public synchronized void release(PooledSession pooled) {
+        if (pooled.channels > 0) {
+            pooled.channels--;
+        }
+        pooled.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * The server refused to open another channel on the session, so limit the
+     * session to the channels it already has open and return the lease
+     */
+    public synchronized void sessionFull(PooledSession pooled) {
+        release(pooled);
+        pooled.maxChannels = Math.max(1, pooled.channels);
+        logger.trace("SSH server for '" + pooled.key.substring(0, pooled.key.indexOf('#')) + "' limited to " + pooled.maxChannels + " channels per session");
+    }
+
+    /**
+     * JSch reports a channel the server refused to open, eg as it has reached its MaxSessions
+     * limit, as "channel is not opened". Any other failure, such as the session going down, says
+     * nothing about how many channels the session can carry.
+     *
+     * @return true if the exception is a refusal by the server to open the channel
+     */
+    public static boolean isChannelRefused(JSchException e) {
+        return e.getMessage() != null && e.getMessage().startsWith("channel is not opened");
+    }
+
+    private PooledSession findAvailable(String key) {
+        List<PooledSession> keySessions = this.sessions.get(key);
+        if (keySessions == null) {
+            return null;
+        }
+
+        Iterator<PooledSession> iterator = keySessions.iterator();
+        while (iterator.hasNext()) {
+            PooledSession pooled = iterator.next();
+            if (!pooled.session.isConnected()) {
+                iterator.remove();
+                continue;
+            }
+            if (pooled.channels < pooled.maxChannels) {
+                pooled.channels++;
+                pooled.lastUsed = System.currentTimeMillis();
+                return pooled;
+            }
+        }
+        return null;
+    }
+
+    private void startReaper() {
+        if (this.reaperThread != null && this.reaperThread.isAlive()) {
+            return;
+        }
+        this.reaperThread = new Thread(this::reap, "GalasaSSHClient session pool thread");
+        this.reaperThread.setDaemon(true);
+        this.reaperThread.start();
+    }
+
+    private void reap() {
+        while (true) {
+            try {
+                Thread.sleep(REAP_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            ArrayList<Session> idleSessions = new ArrayList<>();
+            synchronized (this) {
+                long idleBefore = System.currentTimeMillis() - IDLE_TIMEOUT;
+                Iterator<List<PooledSession>> keyIterator = this.sessions.values().iterator();
+                while (keyIterator.hasNext()) {
+                    List<PooledSession> keySessions = keyIterator.next();
+                    Iterator<PooledSession> iterator = keySessions.iterator();
+                    while (iterator.hasNext()) {
+                        PooledSession pooled = iterator.next();
+                        if (!pooled.session.isConnected()) {
+                            iterator.remove();
+                        } else if (pooled.channels == 0 && pooled.lastUsed <= idleBefore) {
+                            iterator.remove();
+                            idleSessions.add(pooled.session);
+                        }
+                    }
+                    if (keySessions.isEmpty()) {
+                        keyIterator.remove();
+                    }
+                }
+
+                if (this.sessions.isEmpty() && idleSessions.isEmpty()) {
+                    this.reaperThread = null;
+                    return;
+                }
+            }
+
+            for (Session session : idleSessions) {
+                logger.debug("SSH Client unused after " + IDLE_TIMEOUT + " milliseconds, freeing session");
+                session.disconnect();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import dev.galasa.ipnetwork.SSHException;
+
+/**
+ * Receives the output of a shell channel for the life of the channel.
+ *
+ * JSch writes to this stream from the session thread as the data arrives, so
+ * there is no separate reader to start for each command. A command waits for
+ * its response with {@link #waitForResponse(byte[], byte[], byte[], long)},
+ * which only scans the bytes received since the previous check.
+ *
+ */
+public class SSHShellOutput extends OutputStream {
+
+    private byte[]  buffer = new byte[8192];
+    private int     length;
+    private boolean ended;
+    private long    lastReceived;
+
+    @Override
+    public synchronized void write(int b) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) b;
+        received();
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buffer, length, len);
+        length += len;
+        received();
+    }
+
+    /**
+     * Called by JSch when the channel reaches end of file or is closed
+     */
+    @Override
+    public synchronized void close() {
+        ended = true;
+        notifyAll();
+    }
+
+    /**
+     * Discard everything received so far, called before a command is sent
+     */
+    public synchronized void reset() {
+        length = 0;
+        if (buffer.length > 65536) {
+            buffer = new byte[8192];
+        }
+    }
+
+    /**
+     * Wait for the echo of a command followed by the prompt, and return the output
+     * between them.
+     *
+     * @param commandEcho         - the echo of the command to look for
+     * @param prompt              - the prompt that ends the response
+     * @param ignoredPromptPrefix - an occurrence of the prompt directly after these
+     *                            bytes is part of an echo of the change prompt
+     *                            command rather than the prompt itself, may be null
+     * @param timeoutInMillis     - time to wait with no new output appearing
+     * @return the response, without leading line ends
+     * @throws SSHException         if the wait times out or the channel closes
+     * @throws InterruptedException
+     */
+    public synchronized String waitForResponse(byte[] commandEcho, byte[] prompt, byte[] ignoredPromptPrefix, long timeoutInMillis) throws SSHException, InterruptedException {
+        long waitStart = System.currentTimeMillis();
+        int scanned = 0;
+        int echoEnd = -1;
+        while (true) {
+            if (echoEnd < 0) {
+                int echo = indexOf(commandEcho, Math.max(0, scanned - commandEcho.length + 1));
+                if (echo >= 0) {
+                    echoEnd = echo + commandEcho.length;
+                    scanned = echoEnd;
+                }
+            }
+
+            if (echoEnd >= 0) {
+                int from = Math.max(echoEnd, scanned - prompt.length + 1);
+                int promptStart;
+                while ((promptStart = indexOf(prompt, from)) >= 0 && isPrefixedBy(promptStart, ignoredPromptPrefix)) {
+                    from = promptStart + 1;
+                }
+                if (promptStart >= 0) {
+                    int start = echoEnd;
+                    while (start < promptStart && (buffer[start] == '\r' || buffer[start] == '\n')) {
+                        start++;
+                    }
+                    return new String(buffer, start, promptStart - start);
+                }
+            }
+            scanned = length;
+
+            if (ended) {
+                throw new SSHException("Shell closed whilst waiting for response from ssh. Response so far: " + new String(buffer, 0, length));
+            }
+
+            long remaining = (Math.max(lastReceived, waitStart) + timeoutInMillis) - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SSHException("Timed out waiting for response from ssh. Response so far: " + new String(buffer, 0, length));
+            }
+            wait(remaining);
+        }
+    }
+
+    private void received() {
+        lastReceived = System.currentTimeMillis();
+        notifyAll();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private int indexOf(byte[] target, int from) {
+        int last = length - target.length;
+        for (int i = from; i <= last; i++) {
+            int j = 0;
+            while (j < target.length && buffer[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isPrefixedBy(int position, byte[] prefix) {
+        if (prefix == null || prefix.length == 0 || position < prefix.length) {
+            return false;
+        }
+        int start = position - prefix.length;
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
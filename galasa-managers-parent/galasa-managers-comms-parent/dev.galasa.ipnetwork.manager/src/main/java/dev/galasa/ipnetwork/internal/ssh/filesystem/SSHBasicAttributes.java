@@ -8,16 +8,24 @@ package dev.galasa.ipnetwork.internal.ssh.filesystem;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 
+import com.jcraft.jsch.SftpATTRS;
+
 /**
- * For use with the dummy RAS file system
+ * The attributes of a file read via SFTP
  *
  * @author Michael Baylis
  *
  */
 public class SSHBasicAttributes implements BasicFileAttributes {
 
+    private final SftpATTRS attributes;
+
     protected SSHBasicAttributes(SSHFileSystem filesystem) {
-        // TODO create the attributes
+        this.attributes = null;
+    }
+
+    protected SSHBasicAttributes(SftpATTRS attributes) {
+        this.attributes = attributes;
     }
 
     /*
@@ -27,6 +35,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public FileTime lastModifiedTime() {
+        if (attributes != null) {
+            return FileTime.fromMillis(attributes.getMTime() * 1000L);
+        }
         return FileTime.fromMillis(System.currentTimeMillis());
     }
 
@@ -37,6 +48,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public FileTime lastAccessTime() {
+        if (attributes != null) {
+            return FileTime.fromMillis(attributes.getATime() * 1000L);
+        }
         return FileTime.fromMillis(System.currentTimeMillis());
     }
 
@@ -47,7 +61,8 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public FileTime creationTime() {
-        return FileTime.fromMillis(System.currentTimeMillis());
+        // SFTP does not provide a creation time
+        return lastModifiedTime();
     }
 
     /*
@@ -57,6 +72,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public boolean isRegularFile() {
+        if (attributes != null) {
+            return attributes.isReg();
+        }
         return true;
     }
 
@@ -67,6 +85,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public boolean isDirectory() {
+        if (attributes != null) {
+            return attributes.isDir();
+        }
         return false;
     }
 
@@ -77,6 +98,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public boolean isSymbolicLink() {
+        if (attributes != null) {
+            return attributes.isLink();
+        }
         return false;
     }
 
@@ -87,6 +111,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public boolean isOther() {
+        if (attributes != null) {
+            return !attributes.isReg() && !attributes.isDir() && !attributes.isLink();
+        }
         return false;
     }
 
@@ -97,6 +124,9 @@ public class SSHBasicAttributes implements BasicFileAttributes {
      */
     @Override
     public long size() {
+        if (attributes != null) {
+            return attributes.getSize();
+        }
         return 0;
     }
 
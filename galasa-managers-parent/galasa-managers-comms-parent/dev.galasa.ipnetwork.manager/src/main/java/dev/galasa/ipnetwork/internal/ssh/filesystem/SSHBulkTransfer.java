@@ -0,0 +1,299 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh.filesystem;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+import dev.galasa.ipnetwork.SSHException;
+import dev.galasa.ipnetwork.internal.ssh.SSHChannelOutput;
+
+/**
+ * Bulk upload and download for an {@link SSHFileSystem}.
+ *
+ * Files are transferred concurrently, each over its own sftp channel from the
+ * file system's channel pool. JSch pipelines the write requests of a put, and
+ * the read requests of a get are raised to {@link #BULK_REQUESTS} outstanding,
+ * so a high latency link is not limited to one request per round trip.
+ *
+ */
+public class SSHBulkTransfer {
+
+    private static final Log    logger        = LogFactory.getLog(SSHBulkTransfer.class);
+
+    private static final int    BULK_REQUESTS = 64;
+    private static final int    BUFFER_SIZE   = 65536;
+
+    private final SSHFileSystem fileSystem;
+    private final int           maxConcurrentTransfers;
+
+    @FunctionalInterface
+    private interface Transfer {
+        void run(ChannelSftp channel) throws SftpException, IOException, JSchException;
+    }
+
+    protected SSHBulkTransfer(SSHFileSystem fileSystem, int maxConcurrentTransfers) {
+        this.fileSystem = fileSystem;
+        this.maxConcurrentTransfers = maxConcurrentTransfers;
+    }
+
+    public void uploadFile(Path localFile, Path remoteFile) throws IpNetworkManagerException {
+        String remotePath = remoteFile.toAbsolutePath().toString();
+        fileSystem.invalidateAttributes(remotePath);
+        runTransfers(Collections.singletonList(channel -> put(channel, localFile, remotePath)));
+    }
+
+    public void uploadDirectory(Path localDirectory, Path remoteDirectory, boolean archive) throws IpNetworkManagerException {
+        String remoteRoot = remoteDirectory.toAbsolutePath().toString();
+
+        ArrayList<Path> localPaths = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(localDirectory)) {
+            walk.forEach(localPaths::add);
+        } catch (IOException e) {
+            throw new SSHException("Unable to list the local directory " + localDirectory, e);
+        }
+
+        long start = System.currentTimeMillis();
+        if (archive) {
+            uploadArchive(localDirectory, localPaths, remoteRoot);
+        } else {
+            ArrayList<String> remoteDirectories = new ArrayList<>();
+            ArrayList<Transfer> transfers = new ArrayList<>();
+            for (Path localPath : localPaths) {
+                String remotePath = remotePath(remoteRoot, localDirectory.relativize(localPath));
+                fileSystem.invalidateAttributes(remotePath);
+                if (Files.isDirectory(localPath)) {
+                    remoteDirectories.add(remotePath);
+                } else {
+                    transfers.add(channel -> put(channel, localPath, remotePath));
+                }
+            }
+
+            // Walk order puts each directory before its children
+            createRemoteDirectories(remoteDirectories);
+            runTransfers(transfers);
+        }
+        logger.debug("Uploaded " + localPaths.size() + " files and directories to " + remoteRoot + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public void downloadDirectory(Path remoteDirectory, Path localDirectory) throws IpNetworkManagerException {
+        String remoteRoot = remoteDirectory.toAbsolutePath().toString();
+
+        long start = System.currentTimeMillis();
+        ArrayList<Transfer> transfers = new ArrayList<>();
+        ChannelSftp channel = fileSystem.getFileChannel();
+        try {
+            Files.createDirectories(localDirectory);
+            listRemoteDirectory(channel, remoteRoot, localDirectory, transfers);
+        } catch (SftpException | IOException e) {
+            throw new SSHException("Unable to list the remote directory " + remoteRoot, e);
+        } finally {
+            fileSystem.returnFileChannel(channel);
+        }
+
+        runTransfers(transfers);
+        logger.debug("Downloaded " + transfers.size() + " files from " + remoteRoot + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void listRemoteDirectory(ChannelSftp channel, String remotePath, Path localPath, List<Transfer> transfers) throws SftpException, IOException {
+        for (Object entry : channel.ls(remotePath)) {
+            if (!(entry instanceof LsEntry)) {
+                continue;
+            }
+            LsEntry lsEntry = (LsEntry) entry;
+            String fileName = lsEntry.getFilename();
+            if (".".equals(fileName) || "..".equals(fileName)) {
+                continue;
+            }
+
+            String remoteChild = remotePath + "/" + fileName;
+            Path localChild = localPath.resolve(fileName);
+            SftpATTRS attrs = lsEntry.getAttrs();
+            if (attrs.isDir()) {
+                Files.createDirectories(localChild);
+                listRemoteDirectory(channel, remoteChild, localChild, transfers);
+            } else if (attrs.isReg()) {
+                transfers.add(c -> get(c, remoteChild, localChild));
+            } else {
+                logger.trace("Skipping " + remoteChild + " as it is not a regular file or directory");
+            }
+        }
+    }
+
+    private void createRemoteDirectories(List<String> remoteDirectories) throws IpNetworkManagerException {
+        if (remoteDirectories.isEmpty()) {
+            return;
+        }
+
+        ChannelSftp channel = fileSystem.getFileChannel();
+        try {
+            for (String remoteDirectory : remoteDirectories) {
+                try {
+                    channel.mkdir(remoteDirectory);
+                } catch (SftpException e) {
+                    // SFTP does not report that a directory exists, so check
+                    SftpATTRS attrs;
+                    try {
+                        attrs = channel.stat(remoteDirectory);
+                    } catch (SftpException e2) {
+                        throw new SSHException("Unable to create the remote directory " + remoteDirectory, e);
+                    }
+                    if (!attrs.isDir()) {
+                        throw new SSHException("Unable to create the remote directory " + remoteDirectory + ", a file of that name exists", e);
+                    }
+                }
+            }
+        } finally {
+            fileSystem.returnFileChannel(channel);
+        }
+    }
+
+    /**
+     * Stream the tree to tar on the server, so the files are written without a
+     * round trip each
+     */
+    private void uploadArchive(Path localDirectory, List<Path> localPaths, String remoteRoot) throws IpNetworkManagerException {
+        String command = "mkdir -p " + SSHFileSystem.quote(remoteRoot) + " && tar -xzf - -C " + SSHFileSystem.quote(remoteRoot);
+
+        SSHChannelOutput errors = new SSHChannelOutput();
+        int exitStatus = fileSystem.executeCommand(command, errors, stdin -> {
+            try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(new BufferedOutputStream(stdin, BUFFER_SIZE)))) {
+                tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+                for (Path localPath : localPaths) {
+                    String name = remotePath("", localDirectory.relativize(localPath));
+                    if (name.isEmpty()) {
+                        continue;
+                    }
+                    name = name.substring(1);
+
+                    if (Files.isDirectory(localPath)) {
+                        TarArchiveEntry entry = new TarArchiveEntry(name + "/");
+                        entry.setMode(TarArchiveEntry.DEFAULT_DIR_MODE);
+                        entry.setModTime(Files.getLastModifiedTime(localPath).toMillis());
+                        tar.putArchiveEntry(entry);
+                        tar.closeArchiveEntry();
+                    } else {
+                        TarArchiveEntry entry = new TarArchiveEntry(name);
+                        entry.setSize(Files.size(localPath));
+                        entry.setMode(Files.isExecutable(localPath) ? 0100755 : TarArchiveEntry.DEFAULT_FILE_MODE);
+                        entry.setModTime(Files.getLastModifiedTime(localPath).toMillis());
+                        tar.putArchiveEntry(entry);
+                        Files.copy(localPath, tar);
+                        tar.closeArchiveEntry();
+                    }
+                }
+                tar.finish();
+            }
+        });
+
+        if (exitStatus != 0) {
+            throw new SSHException("Unable to extract the uploaded archive into " + remoteRoot + ", rc=" + exitStatus + ": " + errors.toString().trim());
+        }
+    }
+
+    private void runTransfers(List<Transfer> transfers) throws IpNetworkManagerException {
+        if (transfers.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrentTransfers, transfers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "GalasaSSHFileSystem transfer thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ArrayList<Future<Void>> futures = new ArrayList<>();
+            for (Transfer transfer : transfers) {
+                futures.add(executor.submit(() -> {
+                    ChannelSftp channel = fileSystem.getFileChannel();
+                    try {
+                        transfer.run(channel);
+                    } finally {
+                        fileSystem.returnFileChannel(channel);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IpNetworkManagerException) {
+                        throw (IpNetworkManagerException) cause;
+                    }
+                    throw new SSHException("Bulk file transfer failed", cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SSHException("Interrupted during bulk file transfer", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void put(ChannelSftp channel, Path localFile, String remotePath) throws SftpException, IOException {
+        try (InputStream in = Files.newInputStream(localFile)) {
+            channel.put(in, remotePath, ChannelSftp.OVERWRITE);
+        }
+    }
+
+    private void get(ChannelSftp channel, String remotePath, Path localFile) throws SftpException, IOException, JSchException {
+        // The channel goes back to the pool, so it must not keep the raised setting
+        int bulkRequests = channel.getBulkRequests();
+        channel.setBulkRequests(BULK_REQUESTS);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(localFile), BUFFER_SIZE)) {
+            channel.get(remotePath, out);
+        } finally {
+            channel.setBulkRequests(bulkRequests);
+        }
+    }
+
+    /**
+     * Build the remote path of a relative local path, whatever the separator of
+     * the local file system
+     */
+    private static String remotePath(String remoteRoot, Path relative) {
+        StringBuilder sb = new StringBuilder(remoteRoot);
+        for (Path name : relative) {
+            String part = name.toString();
+            if (!part.isEmpty()) {
+                sb.append("/");
+                sb.append(part);
+            }
+        }
+        return sb.toString();
+    }
+
+}
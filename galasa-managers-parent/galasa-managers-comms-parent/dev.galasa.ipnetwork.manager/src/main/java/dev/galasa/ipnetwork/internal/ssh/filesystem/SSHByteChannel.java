@@ -41,6 +41,12 @@ public class SSHByteChannel implements SeekableByteChannel {
     private final InputStream   inputStream;
     private final OutputStream  outputStream;
 
+    private boolean             closed   = false;
+
+    private static final int    SCRATCH_BUFFER_SIZE = 32768;
+
+    private byte[]              scratch;
+
     public SSHByteChannel(Path path, Set<? extends OpenOption> options, SSHFileSystem fileSystem) throws SSHException {
         this.fileSystem = fileSystem;
         this.path = path.toAbsolutePath();
@@ -53,6 +59,8 @@ public class SSHByteChannel implements SeekableByteChannel {
             if (write) {
                 inputStream = null;
 
+                this.fileSystem.invalidateAttributes(this.path.toString());
+
                 outputStream = this.channel.put(this.path.toString());
             } else {
                 outputStream = null;
@@ -64,6 +72,7 @@ public class SSHByteChannel implements SeekableByteChannel {
                 inputStream = this.channel.get(this.path.toString());
             }
         } catch (SftpException e) {
+            this.fileSystem.returnFileChannel(this.channel);
             throw new SSHException("Unable to open SSH file " + this.path, e);
         }
     }
@@ -75,7 +84,7 @@ public class SSHByteChannel implements SeekableByteChannel {
      */
     @Override
     public boolean isOpen() {
-        return this.channel.isConnected();
+        return !this.closed && this.channel.isConnected();
     }
 
     /*
@@ -85,13 +94,23 @@ public class SSHByteChannel implements SeekableByteChannel {
      */
     @Override
     public void close() throws IOException {
-        if (inputStream != null) {
-            inputStream.close();
+        if (this.closed) {
+            return;
         }
-        if (outputStream != null) {
-            outputStream.close();
+        this.closed = true;
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            // The state of the channel is unknown, so do not reuse it
+            this.channel.disconnect();
+            throw e;
         }
-        this.channel.disconnect();
+        this.fileSystem.returnFileChannel(this.channel);
     }
 
     /*
@@ -105,19 +124,26 @@ public class SSHByteChannel implements SeekableByteChannel {
             throw new ClosedChannelException();
         }
 
-        
-        byte[] data = new byte[dst.remaining()];
-        int len = this.inputStream.read(data);
+        int len;
+        if (dst.hasArray()) {
+            // Read straight into the buffer
+            len = this.inputStream.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            if (len > 0) {
+                dst.position(dst.position() + len);
+            }
+        } else {
+            byte[] data = scratchBuffer();
+            len = this.inputStream.read(data, 0, Math.min(data.length, dst.remaining()));
+            if (len > 0) {
+                dst.put(data, 0, len);
+            }
+        }
         if (len < 0) {
             return len;
         }
         
-        dst.put(data, 0, len);
-        
         position = position + len;
         
-        
-        
 //        int count = 0;
 //        byte[] buffer = new byte[1];
 //        for (int i = 0; i < dst.remaining(); i++) {
@@ -145,10 +171,17 @@ public class SSHByteChannel implements SeekableByteChannel {
         }
 
         int len = src.remaining();
-        byte[] data = new byte[len];
-        src.get(data, 0, len);
-        
-        outputStream.write(data, 0, len);
+        if (src.hasArray()) {
+            outputStream.write(src.array(), src.arrayOffset() + src.position(), len);
+            src.position(src.limit());
+        } else {
+            byte[] data = scratchBuffer();
+            while (src.hasRemaining()) {
+                int chunk = Math.min(data.length, src.remaining());
+                src.get(data, 0, chunk);
+                outputStream.write(data, 0, chunk);
+            }
+        }
         size = size + len;
         position = position + len;
         
@@ -165,6 +198,16 @@ public class SSHByteChannel implements SeekableByteChannel {
 //        return count;
     }
 
+    /**
+     * The buffer used to copy to and from direct buffers, which have no backing array
+     */
+    private byte[] scratchBuffer() {
+        if (this.scratch == null) {
+            this.scratch = new byte[SCRATCH_BUFFER_SIZE];
+        }
+        return this.scratch;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -37,6 +37,7 @@ public class SSHDirectoryStream implements DirectoryStream<Path> {
                     }
 
                     Path child = path.resolve(fileName);
+                    fileSystem.listedAttributes(child.toString(), lsEntry.getAttrs());
                     if (filter.accept(child)) {
                         paths.add(child);
                     }
@@ -45,9 +46,7 @@ public class SSHDirectoryStream implements DirectoryStream<Path> {
         } catch (Exception e) {
             throw new IOException("Unable to get directory listing", e);
         } finally {
-            if (channel != null) {
-                channel.disconnect();
-            }
+            fileSystem.returnFileChannel(channel);
         }
 
     }
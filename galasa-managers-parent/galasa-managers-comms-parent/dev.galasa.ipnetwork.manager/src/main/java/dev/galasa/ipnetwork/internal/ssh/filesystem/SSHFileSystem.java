@@ -6,6 +6,7 @@
 package dev.galasa.ipnetwork.internal.ssh.filesystem;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.FileStore;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
@@ -13,7 +14,9 @@ import java.nio.file.PathMatcher;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.UserPrincipalLookupService;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -21,20 +24,35 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
 
 import dev.galasa.ICredentials;
 import dev.galasa.ICredentialsUsernamePassword;
 import dev.galasa.ICredentialsUsernameToken;
 import dev.galasa.ipnetwork.SSHException;
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+import dev.galasa.ipnetwork.internal.ssh.SSHChannelOutput;
+import dev.galasa.ipnetwork.spi.IBulkFileTransfer;
 
-public class SSHFileSystem extends FileSystem {
+public class SSHFileSystem extends FileSystem implements IBulkFileTransfer {
 
     private final Log                   logger = LogFactory.getLog(SSHFileSystemProvider.class);
 
+    // Open sftp channels are kept for reuse, as opening one costs several round trips
+    private static final int            MAX_IDLE_FILE_CHANNELS = 4;
+
+    // Attributes returned by a directory listing are used for a following attribute
+    // read of the same path, to save a stat per entry when walking a directory
+    private static final long           LISTED_ATTRIBUTES_TIMEOUT = 1000;
+
+    private static final long           COMMAND_TIMEOUT = 300000;
+
     private final String                hostname;
     private final int                   port;
     private final String                userid;
@@ -43,8 +61,31 @@ public class SSHFileSystem extends FileSystem {
     private JSch                        sshClient;
     private Session                     session;
 
+    private final ArrayDeque<ChannelSftp> idleFileChannels = new ArrayDeque<>();
+    private final HashMap<String, ListedAttributes> listedAttributes = new HashMap<>();
+
     private final SSHFileStore          fileStore;
     private final SSHFileSystemProvider fileSystemProvider;
+    private final SSHBulkTransfer       bulkTransfer;
+
+    /**
+     * Writes the standard input of a command run by
+     * {@link SSHFileSystem#executeCommand(String, SSHChannelOutput, CommandInput)}
+     */
+    @FunctionalInterface
+    protected interface CommandInput {
+        void write(OutputStream stdin) throws IOException;
+    }
+
+    private static class ListedAttributes {
+        private final SftpATTRS attributes;
+        private final long      expires;
+
+        private ListedAttributes(SftpATTRS attributes) {
+            this.attributes = attributes;
+            this.expires = System.currentTimeMillis() + LISTED_ATTRIBUTES_TIMEOUT;
+        }
+    }
 
     public SSHFileSystem(String hostname, int port, ICredentials credentials) throws SSHException {
 
@@ -53,6 +94,7 @@ public class SSHFileSystem extends FileSystem {
 
         this.fileStore = new SSHFileStore("sshfilestore-" + hostname);
         this.fileSystemProvider = new SSHFileSystemProvider(this);
+        this.bulkTransfer = new SSHBulkTransfer(this, MAX_IDLE_FILE_CHANNELS);
 
         this.sshClient = new JSch();
         this.session = null;
@@ -140,7 +182,23 @@ public class SSHFileSystem extends FileSystem {
         return;
     }
 
+    /**
+     * Get an sftp channel for the sole use of the caller, reusing an idle channel if
+     * there is one. The channel must be returned with
+     * {@link #returnFileChannel(ChannelSftp)}
+     * 
+     * @throws SSHException
+     */
     protected ChannelSftp getFileChannel() throws SSHException {
+        synchronized (idleFileChannels) {
+            while (!idleFileChannels.isEmpty()) {
+                ChannelSftp channel = idleFileChannels.pop();
+                if (channel.isConnected()) {
+                    return channel;
+                }
+            }
+        }
+
         connect();
 
         try {
@@ -153,12 +211,162 @@ public class SSHFileSystem extends FileSystem {
         }
     }
 
+    /**
+     * Return a channel obtained from {@link #getFileChannel()}, any streams opened
+     * on the channel must have been closed
+     */
+    protected void returnFileChannel(ChannelSftp channel) {
+        if (channel == null) {
+            return;
+        }
+
+        synchronized (idleFileChannels) {
+            if (channel.isConnected() && idleFileChannels.size() < MAX_IDLE_FILE_CHANNELS) {
+                idleFileChannels.push(channel);
+                return;
+            }
+        }
+        channel.disconnect();
+    }
+
+    /**
+     * Run a command on the server using the session of the filesystem, for
+     * operations such as a copy that SFTP can only do by moving the data through
+     * the client
+     * 
+     * @param command - the command to run
+     * @param errors  - receives the error output of the command
+     * @return the exit status of the command
+     * @throws SSHException if the command could not be run or did not complete in time
+     */
+    protected int executeCommand(String command, SSHChannelOutput errors) throws SSHException {
+        return executeCommand(command, errors, null);
+    }
+
+    /**
+     * Run a command on the server using the session of the filesystem, with the
+     * standard input of the command written by the caller
+     * 
+     * @param command - the command to run
+     * @param errors  - receives the error output of the command
+     * @param input   - writes the standard input of the command, may be null
+     * @return the exit status of the command
+     * @throws SSHException if the command could not be run or did not complete in time
+     */
+    protected int executeCommand(String command, SSHChannelOutput errors, CommandInput input) throws SSHException {
+        connect();
+
+        ChannelExec channel = null;
+        try {
+            channel = (ChannelExec) session.openChannel("exec");
+            channel.setOutputStream(new SSHChannelOutput());
+            // The error stream is closed when the channel is closed, by when the exit status has been received
+            channel.setExtOutputStream(errors);
+            channel.setCommand(command);
+            if (input == null) {
+                channel.setInputStream(null);
+                channel.connect();
+            } else {
+                OutputStream stdin = channel.getOutputStream();
+                channel.connect();
+                try {
+                    input.write(stdin);
+                } finally {
+                    // Sends end of file to the command
+                    stdin.close();
+                }
+            }
+
+            if (!errors.waitForEnd(System.currentTimeMillis() + COMMAND_TIMEOUT)) {
+                throw new SSHException("Command '" + command + "' did not complete within " + COMMAND_TIMEOUT + " milliseconds");
+            }
+            return channel.getExitStatus();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SSHException("Interrupted whilst running command '" + command + "'", e);
+        } catch (JSchException | IOException e) {
+            throw new SSHException("Unable to run command '" + command + "'", e);
+        } finally {
+            if (channel != null) {
+                channel.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Quote a path for the remote shell
+     */
+    protected static String quote(String path) {
+        return "'" + path.replace("'", "'\\''") + "'";
+    }
+
+    /**
+     * Read the attributes of a path, using the attributes from a recent directory
+     * listing if there are any
+     * 
+     * @param path        - the absolute path
+     * @param followLinks - true to return the attributes of the target of a link
+     * @throws SftpException
+     * @throws SSHException
+     */
+    protected SftpATTRS readAttributes(String path, boolean followLinks) throws SftpException, SSHException {
+        synchronized (listedAttributes) {
+            ListedAttributes listed = listedAttributes.remove(path);
+            if (listed != null && listed.expires >= System.currentTimeMillis()
+                    && !(followLinks && listed.attributes.isLink())) {
+                return listed.attributes;
+            }
+        }
+
+        ChannelSftp channel = getFileChannel();
+        try {
+            if (followLinks) {
+                return channel.stat(path);
+            }
+            return channel.lstat(path);
+        } finally {
+            returnFileChannel(channel);
+        }
+    }
+
+    /**
+     * Record the attributes returned for a path by a directory listing
+     */
+    protected void listedAttributes(String path, SftpATTRS attributes) {
+        synchronized (listedAttributes) {
+            if (listedAttributes.size() >= 1000) {
+                long now = System.currentTimeMillis();
+                listedAttributes.values().removeIf(listed -> listed.expires < now);
+            }
+            listedAttributes.put(path, new ListedAttributes(attributes));
+        }
+    }
+
+    /**
+     * Forget any listed attributes for a path that is being changed
+     */
+    protected void invalidateAttributes(String path) {
+        synchronized (listedAttributes) {
+            listedAttributes.remove(path);
+        }
+    }
+
     /**
      * Disconnect the client
      * 
      * @throws IOException
      */
     public synchronized void disconnect() throws SSHException {
+        synchronized (idleFileChannels) {
+            for (ChannelSftp channel : idleFileChannels) {
+                channel.disconnect();
+            }
+            idleFileChannels.clear();
+        }
+        synchronized (listedAttributes) {
+            listedAttributes.clear();
+        }
+
         if (session == null) {
             return;
         }
@@ -186,6 +394,21 @@ public class SSHFileSystem extends FileSystem {
         }
     }
 
+    @Override
+    public void uploadFile(Path localFile, Path remoteFile) throws IpNetworkManagerException {
+        this.bulkTransfer.uploadFile(localFile, remoteFile);
+    }
+
+    @Override
+    public void uploadDirectory(Path localDirectory, Path remoteDirectory, boolean archive) throws IpNetworkManagerException {
+        this.bulkTransfer.uploadDirectory(localDirectory, remoteDirectory, archive);
+    }
+
+    @Override
+    public void downloadDirectory(Path remoteDirectory, Path localDirectory) throws IpNetworkManagerException {
+        this.bulkTransfer.downloadDirectory(remoteDirectory, localDirectory);
+    }
+
     @Override
     public Iterable<FileStore> getFileStores() {
         final ArrayList<FileStore> fileStores = new ArrayList<>();
@@ -5,24 +5,24 @@
  */
 package dev.galasa.ipnetwork.internal.ssh.filesystem;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.channels.SeekableByteChannel;
-import java.nio.charset.Charset;
 import java.nio.file.AccessMode;
 import java.nio.file.CopyOption;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileStore;
 import java.nio.file.FileSystem;
-import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
@@ -36,6 +36,7 @@ import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.ChannelSftp.LsEntry;
 
 import dev.galasa.ipnetwork.SSHException;
+import dev.galasa.ipnetwork.internal.ssh.SSHChannelOutput;
 
 import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
@@ -48,6 +49,9 @@ import com.jcraft.jsch.SftpException;
  */
 public class SSHFileSystemProvider extends FileSystemProvider {
 
+    private static final int    COMMAND_NOT_FOUND = 127;
+    private static final int    COPY_BUFFER_SIZE  = 65536;
+
     private final SSHFileSystem fileSystem;
 
     public SSHFileSystemProvider(SSHFileSystem fileSystem) {
@@ -63,10 +67,8 @@ public class SSHFileSystemProvider extends FileSystemProvider {
         for (AccessMode mode : modes) {
             switch (mode) {
                 case READ:
-                    ChannelSftp channel = null;
                     try {
-                        channel = fileSystem.getFileChannel();
-                        channel.lstat(path.toAbsolutePath().toString());
+                        fileSystem.readAttributes(path.toAbsolutePath().toString(), false);
                     } catch (SftpException e) {
                         if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
                             throw new NoSuchFileException(path.toAbsolutePath().toString());
@@ -74,10 +76,6 @@ public class SSHFileSystemProvider extends FileSystemProvider {
                         throw new IOException("Unable to check for read via SFTP", e);
                     } catch (Exception e) {
                         throw new IOException("Unable to check for read via SFTP", e);
-                    } finally {
-                        if (channel != null) {
-                            channel.disconnect();
-                        }
                     }
                     break;
                 case WRITE:
@@ -93,22 +91,143 @@ public class SSHFileSystemProvider extends FileSystemProvider {
 
     @Override
     public void copy(Path source, Path target, CopyOption... options) throws IOException {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("need to write");
+        boolean replaceExisting = false;
+        boolean copyAttributes = false;
+        boolean followLinks = true;
+        for (CopyOption option : options) {
+            if (option == StandardCopyOption.REPLACE_EXISTING) {
+                replaceExisting = true;
+            } else if (option == StandardCopyOption.COPY_ATTRIBUTES) {
+                copyAttributes = true;
+            } else if (option == LinkOption.NOFOLLOW_LINKS) {
+                followLinks = false;
+            }
+        }
+
+        String sourcePath = source.toAbsolutePath().toString();
+        String targetPath = target.toAbsolutePath().toString();
+        fileSystem.invalidateAttributes(targetPath);
+
+        SftpATTRS sourceAttributes;
+        try {
+            sourceAttributes = fileSystem.readAttributes(sourcePath, followLinks);
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw new NoSuchFileException(sourcePath);
+            }
+            throw new IOException("Unable to copy via SFTP for path " + source, e);
+        } catch (SSHException e) {
+            throw new IOException("Unable to copy via SFTP for path " + source, e);
+        }
+
+        if (targetExists(targetPath)) {
+            if (!replaceExisting) {
+                throw new FileAlreadyExistsException(targetPath);
+            }
+            // As with the default provider, a non-empty target directory is not replaced
+            delete(target);
+        }
+
+        // As with the default provider, copying a directory only creates the directory
+        if (sourceAttributes.isDir()) {
+            createDirectory(target);
+            return;
+        }
+
+        // cp -P is not available everywhere, eg z/OS UNIX, so copy the link itself over sftp
+        if (sourceAttributes.isLink()) {
+            copyLink(sourcePath, targetPath);
+            return;
+        }
+
+        // Copy on the server so the data does not cross the network
+        StringBuilder command = new StringBuilder("cp");
+        if (copyAttributes) {
+            command.append(" -p");
+        }
+        command.append(" -- ");
+        command.append(SSHFileSystem.quote(sourcePath));
+        command.append(" ");
+        command.append(SSHFileSystem.quote(targetPath));
+
+        try {
+            SSHChannelOutput errors = new SSHChannelOutput();
+            int exitStatus = fileSystem.executeCommand(command.toString(), errors);
+            if (exitStatus == COMMAND_NOT_FOUND) {
+                copyViaClient(sourcePath, targetPath);
+            } else if (exitStatus != 0) {
+                throw new IOException("Unable to copy " + sourcePath + " to " + targetPath + ", rc=" + exitStatus + ": " + errors.toString().trim());
+            }
+        } catch (SSHException e) {
+            throw new IOException("Unable to copy " + sourcePath + " to " + targetPath, e);
+        }
+    }
+
+    /**
+     * Create the target as a symbolic link to where the source link points
+     */
+    private void copyLink(String sourcePath, String targetPath) throws IOException {
+        ChannelSftp channel = null;
+        try {
+            channel = fileSystem.getFileChannel();
+            channel.symlink(channel.readlink(sourcePath), targetPath);
+        } catch (SftpException | SSHException e) {
+            throw new IOException("Unable to copy link " + sourcePath + " to " + targetPath + " via SFTP", e);
+        } finally {
+            fileSystem.returnFileChannel(channel);
+        }
+    }
+
+    /**
+     * Copy by reading the source and writing the target over sftp, for servers
+     * without a cp command
+     */
+    private void copyViaClient(String sourcePath, String targetPath) throws IOException {
+        ChannelSftp sourceChannel = null;
+        ChannelSftp targetChannel = null;
+        try {
+            sourceChannel = fileSystem.getFileChannel();
+            targetChannel = fileSystem.getFileChannel();
+            try (InputStream in = sourceChannel.get(sourcePath); OutputStream out = targetChannel.put(targetPath)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int len;
+                while ((len = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, len);
+                }
+            }
+        } catch (SftpException | SSHException e) {
+            throw new IOException("Unable to copy " + sourcePath + " to " + targetPath + " via SFTP", e);
+        } finally {
+            fileSystem.returnFileChannel(sourceChannel);
+            fileSystem.returnFileChannel(targetChannel);
+        }
+    }
+
+    private boolean targetExists(String targetPath) throws IOException {
+        try {
+            fileSystem.readAttributes(targetPath, false);
+            return true;
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                return false;
+            }
+            throw new IOException("Unable to check for " + targetPath + " via SFTP", e);
+        } catch (SSHException e) {
+            throw new IOException("Unable to check for " + targetPath + " via SFTP", e);
+        }
     }
 
     @Override
     public void createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
         ChannelSftp channel = null;
         try {
+            fileSystem.invalidateAttributes(dir.toAbsolutePath().toString());
             channel = fileSystem.getFileChannel();
             channel.mkdir(dir.toAbsolutePath().toString());
         } catch (Exception e) {
             throw new IOException("Unable to create directory via SFTP", e);
         } finally {
-            if (channel != null) {
-                channel.disconnect();
-            }
+            fileSystem.returnFileChannel(channel);
         }
     }
 
@@ -116,10 +235,11 @@ public class SSHFileSystemProvider extends FileSystemProvider {
     public void delete(Path path) throws IOException {
         ChannelSftp channel = null;
         try {
+            fileSystem.invalidateAttributes(path.toAbsolutePath().toString());
             channel = fileSystem.getFileChannel();
 
             SftpATTRS attrs = channel.lstat(path.toAbsolutePath().toString());
-            if (attrs.isReg()) {
+            if (!attrs.isDir()) {
                 channel.rm(path.toAbsolutePath().toString());
             } else {
                 @SuppressWarnings("unchecked")
@@ -140,6 +260,8 @@ public class SSHFileSystemProvider extends FileSystemProvider {
                 channel.rmdir(path.toAbsolutePath().toString());
             }
 
+        } catch (DirectoryNotEmptyException e) {
+            throw e;
         } catch (SftpException e) {
             if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
                 throw new NoSuchFileException(path.toAbsolutePath().toString());
@@ -148,9 +270,7 @@ public class SSHFileSystemProvider extends FileSystemProvider {
         } catch (Exception e) {
             throw new IOException("Unable to delete via SFTP for path " + path, e);
         } finally {
-            if (channel != null) {
-                channel.disconnect();
-            }
+            fileSystem.returnFileChannel(channel);
         }
     }
 
@@ -197,19 +317,46 @@ public class SSHFileSystemProvider extends FileSystemProvider {
 
     @Override
     public void move(Path source, Path target, CopyOption... options) throws IOException {
+        boolean replaceExisting = false;
+        for (CopyOption option : options) {
+            if (option == StandardCopyOption.REPLACE_EXISTING) {
+                replaceExisting = true;
+            }
+        }
+
+        String sourcePath = source.toAbsolutePath().toString();
+        String targetPath = target.toAbsolutePath().toString();
+        fileSystem.invalidateAttributes(sourcePath);
+        fileSystem.invalidateAttributes(targetPath);
+
+        boolean targetExists = targetExists(targetPath);
+        if (targetExists && !replaceExisting) {
+            throw new FileAlreadyExistsException(targetPath);
+        }
+
+        // Rename on the server so the data does not cross the network
         ChannelSftp channel = null;
         try {
             channel = fileSystem.getFileChannel();
-            String filecontent = new String(Files.readAllBytes(source), Charset.defaultCharset());
-            InputStream sourceStream = new ByteArrayInputStream(filecontent.getBytes());
-            channel.put(sourceStream, target.toAbsolutePath().toString());
-            channel.rm(source.toString());
-        } catch (Exception e) {
+            try {
+                channel.rename(sourcePath, targetPath);
+            } catch (SftpException e) {
+                if (!targetExists || e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                    throw e;
+                }
+                // Servers without posix-rename will not replace an existing file
+                channel.rm(targetPath);
+                channel.rename(sourcePath, targetPath);
+            }
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw new NoSuchFileException(sourcePath);
+            }
+            throw new IOException("Unable to move file via SFTP", e);
+        } catch (SSHException e) {
             throw new IOException("Unable to move file via SFTP", e);
         } finally {
-            if (channel != null) {
-                channel.disconnect();
-            }
+            fileSystem.returnFileChannel(channel);
         }
     }
 
@@ -238,7 +385,23 @@ public class SSHFileSystemProvider extends FileSystemProvider {
     @Override
     public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options)
             throws IOException {
-        return (A) new SSHBasicAttributes(fileSystem);
+        boolean followLinks = true;
+        for (LinkOption option : options) {
+            if (option == LinkOption.NOFOLLOW_LINKS) {
+                followLinks = false;
+            }
+        }
+
+        try {
+            return (A) new SSHBasicAttributes(fileSystem.readAttributes(path.toAbsolutePath().toString(), followLinks));
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw new NoSuchFileException(path.toAbsolutePath().toString());
+            }
+            throw new IOException("Unable to read attributes via SFTP for path " + path, e);
+        } catch (SSHException e) {
+            throw new IOException("Unable to read attributes via SFTP for path " + path, e);
+        }
     }
 
     @Override
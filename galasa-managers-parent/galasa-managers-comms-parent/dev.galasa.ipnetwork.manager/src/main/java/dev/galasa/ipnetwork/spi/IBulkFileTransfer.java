@@ -0,0 +1,60 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.spi;
+
+import java.nio.file.Path;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+
+/**
+ * Bulk transfer of files to and from a remote file system.
+ *
+ * Implemented by the file systems returned by
+ * {@link IIpNetworkManagerSpi#getFileSystem(dev.galasa.ipnetwork.IIpHost)}, so
+ * a manager holding a remote path can check
+ * {@code path.getFileSystem() instanceof IBulkFileTransfer}. Files are
+ * transferred several at a time over separate channels, each with many
+ * requests outstanding.
+ *
+ */
+public interface IBulkFileTransfer {
+
+    /**
+     * Upload a single file, replacing the remote file if it exists
+     *
+     * @param localFile  - the file on the local file system
+     * @param remoteFile - the file on this file system
+     * @throws IpNetworkManagerException
+     */
+    void uploadFile(@NotNull Path localFile, @NotNull Path remoteFile) throws IpNetworkManagerException;
+
+    /**
+     * Upload a directory tree, creating the remote directory if required and
+     * replacing any existing remote files
+     *
+     * @param localDirectory  - the directory on the local file system
+     * @param remoteDirectory - the directory on this file system
+     * @param archive         - stream the tree as a single tar+gzip archive that
+     *                        is extracted on the server, which is quicker for
+     *                        trees of many small files. The server must have a
+     *                        tar command that supports -z
+     * @throws IpNetworkManagerException
+     */
+    void uploadDirectory(@NotNull Path localDirectory, @NotNull Path remoteDirectory, boolean archive) throws IpNetworkManagerException;
+
+    /**
+     * Download a directory tree, creating the local directory if required and
+     * replacing any existing local files
+     *
+     * @param remoteDirectory - the directory on this file system
+     * @param localDirectory  - the directory on the local file system
+     * @throws IpNetworkManagerException
+     */
+    void downloadDirectory(@NotNull Path remoteDirectory, @NotNull Path localDirectory) throws IpNetworkManagerException;
+
+}
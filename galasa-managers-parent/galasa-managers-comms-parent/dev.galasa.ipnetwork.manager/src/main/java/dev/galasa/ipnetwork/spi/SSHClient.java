@@ -6,18 +6,7 @@
 package dev.galasa.ipnetwork.spi;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Calendar;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,10 +24,18 @@ import dev.galasa.ICredentialsUsernameToken;
 import dev.galasa.ipnetwork.ICommandShell;
 import dev.galasa.ipnetwork.SSHAuthFailException;
 import dev.galasa.ipnetwork.SSHException;
+import dev.galasa.ipnetwork.internal.ssh.SSHChannelOutput;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool.PooledSession;
+import dev.galasa.ipnetwork.internal.ssh.SSHShellOutput;
 
 /**
  * SSH client for Galasa
  * 
+ * Sessions are shared with other clients for the same host and credentials
+ * through the {@link SSHSessionPool}, so concurrent commands each run on their
+ * own exec channel rather than queueing behind a single session.
+ * 
  * @author James Bartlett
  * 
  */
@@ -46,8 +43,6 @@ public class SSHClient implements ICommandShell {
 
     private final Log           logger        = LogFactory.getLog(SSHClient.class);
 
-    private KeepAliveThread     keepAliveThread;
-
     private final long          defaultTimeout;
 
     private final String        hostname;
@@ -55,11 +50,12 @@ public class SSHClient implements ICommandShell {
     private final String        userid;
     private final String        password;
 
+    private final String        poolKey;
+
     private JSch                sshClient;
-    private Session             session;
+    private PooledSession       shellSession  = null;
     private Channel             channel       = null;
-
-    private long                lastCommandTimestamp;
+    private SSHShellOutput      shellOutput   = null;
 
     private boolean             logShellResults;
     
@@ -77,8 +73,8 @@ public class SSHClient implements ICommandShell {
         this.defaultTimeout = defaultTimeoutInMillis;
 
         this.sshClient = new JSch();
-        this.session = null;
 
+        byte[] token = null;
         try {
             if (credentials instanceof ICredentialsUsernamePassword) {
                 ICredentialsUsernamePassword creds = (ICredentialsUsernamePassword) credentials;
@@ -88,7 +84,8 @@ public class SSHClient implements ICommandShell {
                 ICredentialsUsernameToken creds = (ICredentialsUsernameToken) credentials;
                 this.userid = creds.getUsername();
                 this.password = null;
-                this.sshClient.addIdentity(this.userid, creds.getToken(), null, null);
+                token = creds.getToken();
+                this.sshClient.addIdentity(this.userid, token, null, null);
             } else {
                 throw new SSHException("Unsupported credentials type - " + credentials.getClass().getName());
             }
@@ -98,6 +95,7 @@ public class SSHClient implements ICommandShell {
             throw new SSHException("Problem adding credentials to SSH", e);
         }
 
+        this.poolKey = SSHSessionPool.createKey(hostname, port, this.userid, this.password, token);
     }
 
     /**
@@ -153,42 +151,27 @@ public class SSHClient implements ICommandShell {
      * @throws SSHException
      */
     @Override
-    public synchronized String issueCommand(String command, boolean newShell, long timeoutInMillis) throws SSHException {
+    public String issueCommand(String command, boolean newShell, long timeoutInMillis) throws SSHException {
 
-        // Connect if we are not already connected
-        connect();
         try {
-            synchronized (sshClient) {
-                // SessionChannelClient session = null;
-                // if (session == null || session.)
-                try {
-
-                    logger.trace("Issuing '" + command + "'");
-                    lastCommandTimestamp = System.currentTimeMillis();
+            logger.trace("Issuing '" + command + "'");
 
-                    // Issue the desired command and retrieve the response to a
-                    // string
-                    String response = retrieveOutput(command, timeoutInMillis);
+            // Issue the desired command and retrieve the response to a
+            // string
+            String response = retrieveOutput(command, timeoutInMillis);
 
-                    if (logShellResults) {
-                        logger.trace("Received '" + response);
-                    }
-                    lastCommandTimestamp = System.currentTimeMillis();
-
-                    return response;
-                } catch (SSHException e) {
-                    throw e;
-                } catch (IOException e) {
-                    throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new SSHException("Interrupted while trying to retrieve output", e);
-                } catch (ExecutionException e) {
-                    throw new SSHException("Execution error while trying to retrieve output", e);
-                }
+            if (logShellResults) {
+                logger.trace("Received '" + response);
             }
-        } finally {
-            // disconnect();
+
+            return response;
+        } catch (SSHException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SSHException("Interrupted while trying to retrieve output", e);
         }
     }
 
@@ -256,66 +239,63 @@ public class SSHClient implements ICommandShell {
     @Override
     public synchronized String issueCommandToShell(String command, boolean newShell, long timeoutInMillis) throws SSHException {
 
-        connect();
-
         try {
 
             if (channel == null || channel.isClosed() || newShell) {
-                if (channel != null && !channel.isClosed()) {
-                    logger.trace("Closing old shell session");
-                    channel.disconnect();
-                }
+                closeShell();
                 logger.trace("Opening new shell session to ssh");
-                channel = session.openChannel("shell");
+                shellSession = SSHSessionPool.getInstance().lease(poolKey, this::openSession);
+                channel = shellSession.getSession().openChannel("shell");
                 ((ChannelShell) channel).setPty(true);
                 ((ChannelShell) channel).setPtyType("ansi", 2048, 24, 0, 0);
+                shellOutput = new SSHShellOutput();
+                channel.setOutputStream(shellOutput);
                 channel.connect();
-                Thread.sleep(5000); // NOSONAR - Sleep is sufficent
             }
 
-            lastCommandTimestamp = System.currentTimeMillis();
-            // Set a special prompt so we can easily identify responses to our commands
+            // Set a special prompt so we can easily identify responses to our commands.
+            // The shell is ready once the new prompt appears, so a new shell needs no
+            // settling time
             logger.trace("Setting special prompt '" + specialPrompt + "'");
             retrieveOutputFromShell(channel, changePromptCommand, timeoutInMillis);
-            Thread.sleep(500); // NOSONAR - Sleep is sufficent
 
             // Issue the desired command and retrieve the response to a string
-            lastCommandTimestamp = System.currentTimeMillis();
-            String response = retrieveOutputFromShell(channel, command, timeoutInMillis);
-            lastCommandTimestamp = System.currentTimeMillis();
-            
-            return response;
+            return retrieveOutputFromShell(channel, command, timeoutInMillis);
 
         } catch (IOException e) {
             throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
         } catch (JSchException e) {
+            closeShell();
             throw new SSHException(e);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new SSHException("Interrupted while trying to retrieve output", e);
-        } catch (ExecutionException e) {
-            throw new SSHException("Execution error while trying to retrieve output", e);
-        } finally {
-            // disconnect();
         }
     }
 
+    /**
+     * Connect to the target system, the session is kept in the pool for the
+     * commands that follow
+     * 
+     * @throws SSHException
+     */
     @Override
     public void connect() throws SSHException {
-        connect(5);
+        SSHSessionPool pool = SSHSessionPool.getInstance();
+        pool.release(pool.lease(poolKey, this::openSession));
+    }
+
+    private Session openSession() throws SSHException {
+        return openSession(5);
     }
 
     /**
-     * Connect to the target system
+     * Open a new session to the target system for the pool
      * 
      * @throws SSHException
      */
-    private synchronized void connect(int retry) throws SSHException {
-        // Do nothing if already connected
-        if (session != null && session.isConnected()) {
-            return;
-        }
-
+    private Session openSession(int retry) throws SSHException {
+        Session session = null;
         try {
 
             try {
@@ -328,19 +308,9 @@ public class SSHClient implements ICommandShell {
 
                 session.connect();
 
-                // Slight delay to allow the connection to stabilise
-                try {
-                    Thread.sleep(200); // NOSONAR - Sleep is sufficent
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new SSHException("Interrupted trying to authenticate using SSH", e);
-                }
-
                 logger.trace("SSH Client connected to '" + hostname + ":" + port);
 
-                this.keepAliveThread = new KeepAliveThread(session);
-                this.keepAliveThread.start();
-
+                return session;
             } catch (Exception e) {
                 if ("Auth fail".equals(e.getMessage())) {
                     throw new SSHAuthFailException(e);
@@ -350,10 +320,9 @@ public class SSHClient implements ICommandShell {
                     logger.trace("Exception caught during SSH connection, will retry.", e);
                     if (session != null && session.isConnected()) {
                         session.disconnect();
-                        session = null;
                     }
                     Thread.sleep(5000); // NOSONAR - Sleep is sufficent
-                    connect(retry - 1);
+                    return openSession(retry - 1);
                 } else {
                     throw e;
                 }
@@ -366,8 +335,6 @@ public class SSHClient implements ICommandShell {
         } catch (Exception e) {
             throw new SSHException("Unrecognised exception in connection", e);
         }
-
-        return;
     }
 
     @Override
@@ -375,97 +342,87 @@ public class SSHClient implements ICommandShell {
     }
 
     /**
-     * Disconnect the client
+     * Disconnect the client, closing the shell and returning its session to the
+     * pool. Idle pooled sessions are disconnected by the pool.
      * 
      * @throws IOException
      */
     @Override
     public synchronized void disconnect() throws SSHException {
-        if (session == null) {
-            return;
-        }
-        synchronized (sshClient) {
+        closeShell();
+        logger.trace("SSH Client disconnected");
+    }
 
-            if (!session.isConnected()) {
-                session = null;
-                return;
+    private void closeShell() {
+        if (channel != null) {
+            if (!channel.isClosed()) {
+                logger.trace("Closing old shell session");
             }
-
-            session.disconnect();
-            logger.trace("SSH Client disconnected");
-
-            session = null;
+            channel.disconnect();
+            channel = null;
+            shellOutput = null;
+        }
+        if (shellSession != null) {
+            SSHSessionPool.getInstance().release(shellSession);
+            shellSession = null;
         }
-        return;
     }
 
     /**
-     * Retrieve all output from the shell, returning only that which is found
-     * between the command issued and the next occurrence of the special prompt we
-     * defined in {@link #issueCommand(String)}
+     * Run the command on an exec channel of a pooled session and return its
+     * output once the server signals the end of the output
      *
      * @param command
      * @param timeoutInMillis
      * @return
      * @throws IOException
      * @throws InterruptedException
-     * @throws ExecutionException
      * @throws SSHException
      */
     private String retrieveOutput(String command, long timeoutInMillis)
-            throws IOException, InterruptedException, ExecutionException, SSHException {
+            throws IOException, InterruptedException, SSHException {
 
-        StringBuilder sb = new StringBuilder();
+        long whenTimeout = System.currentTimeMillis() + timeoutInMillis;
+
+        SSHSessionPool pool = SSHSessionPool.getInstance();
+        SSHChannelOutput output = new SSHChannelOutput();
+        PooledSession pooledSession = null;
         ChannelExec channel = null;
         try {
-            channel = (ChannelExec) session.openChannel("exec");
-            channel.setPty(true);
-            channel.setPtyType("ansi", 2048, 24, 0, 0);
-            channel.setInputStream(null);
-            channel.setErrStream(null);
-            channel.setCommand(command);
-            InputStream is = channel.getInputStream();
-            InputStream err = channel.getErrStream();
-            channel.connect();
-
-            long whenTimeout = Calendar.getInstance().getTimeInMillis() + timeoutInMillis;
-
-            byte[] tmp = new byte[1024];
-            while (true) {
-                if (whenTimeout <= Calendar.getInstance().getTimeInMillis()) {
-                    throw new SSHException("Read of command timed out, response so far:-\n" + sb.toString());
-                }
-                while (is.available() > 0) {
-                    int i = is.read(tmp);
-
-                    if (i < 0) {
-                        break;
-                    }
-                    String data = new String(tmp, 0, i);
-                    sb.append(data);
-                }
-                while (err.available() > 0) {
-                    int i = err.read(tmp);
-
-                    if (i < 0) {
-                        break;
+            for (int attempt = 0;; attempt++) {
+                pooledSession = pool.lease(poolKey, this::openSession);
+                try {
+                    channel = (ChannelExec) pooledSession.getSession().openChannel("exec");
+                    channel.setPty(true);
+                    channel.setPtyType("ansi", 2048, 24, 0, 0);
+                    channel.setInputStream(null);
+                    // Both streams are written by the session thread as the data arrives
+                    channel.setOutputStream(output);
+                    channel.setExtOutputStream(output);
+                    channel.setCommand(command);
+                    channel.connect();
+                    break;
+                } catch (JSchException e) {
+                    if (channel != null) {
+                        channel.disconnect();
+                        channel = null;
                     }
-                    String data = new String(tmp, 0, i);
-                    sb.append(data);
-                }
-                if (channel.isClosed()) {
-                    if (is.available() > 0)
+                    // The server may allow fewer channels per session than the pool assumes
+                    if (SSHSessionPool.isChannelRefused(e)
+                            && pooledSession.getSession().isConnected()
+                            && attempt < SSHSessionPool.MAX_CHANNELS_PER_SESSION) {
+                        pool.sessionFull(pooledSession);
+                        pooledSession = null;
                         continue;
-                    if (err.available() > 0)
-                        continue;
-                    break;
-                }
-                try {
-                    Thread.sleep(100);
-                } catch (Exception ee) {
+                    }
+                    throw e;
                 }
             }
-        } catch (SSHException e) {
+
+            if (!output.waitForEnd(whenTimeout)) {
+                throw new SSHException("Read of command timed out, response so far:-\n" + output.toString());
+            }
+        } catch (SSHException | InterruptedException e) {
             throw e;
         } catch (Exception e) {
             throw new SSHException("Error reading exec output", e);
@@ -473,13 +430,16 @@ public class SSHClient implements ICommandShell {
             if (channel != null) {
                 channel.disconnect();
             }
+            if (pooledSession != null) {
+                pool.release(pooledSession);
+            }
         }
         
         if (this.removeAnsiEscapeCodes) {
-            return new String(removeAnsiEscapeCodes(sb.toString().getBytes()));
+            return new String(removeAnsiEscapeCodes(output.toByteArray()));
         }
 
-        return sb.toString();
+        return output.toString();
 
     }
 
@@ -498,131 +458,33 @@ public class SSHClient implements ICommandShell {
      * @return
      * @throws IOException
      * @throws InterruptedException
-     * @throws ExecutionException
      * @throws SSHException
      */
     private String retrieveOutputFromShell(Channel channel, String command, long timeoutInMillis)
-            throws IOException, InterruptedException, ExecutionException, SSHException {
+            throws IOException, InterruptedException, SSHException {
 
-        // Get the input stream from the current session
-        final InputStream in = channel.getInputStream();
         OutputStream os = channel.getOutputStream();
-        in.skip(in.available()); // NOSONAR - Dont care what is on the buffer to start with
 
         // Remove any unwanted trailing end-of-line characters
         command = command.trim();
         String patternCommand = command.replaceAll(".*[\\r\\n]", "");
 
-        // Construct the pattern which will match the output we are actually interested
-        // in
-        // i.e. everything between our command and the next prompt
-        Pattern responsePattern = Pattern
-                .compile("\\Q" + patternCommand + "\\E[\\r\\n]*(.*)\\Q" + specialPrompt + "\\E", Pattern.DOTALL);
+        // An echo of the change prompt command ends with the special prompt, which must
+        // not be mistaken for the prompt itself
+        String changePromptPrefix = changePromptCommand.substring(0, changePromptCommand.length() - specialPrompt.length());
+
+        // Dont care what is on the buffer to start with
+        shellOutput.reset();
 
         // Submit the command
         logger.trace("Submitting command to host '" + hostname + "':\n'" + command + "'");
         os.write((command + " \r\n").getBytes());
         os.flush();
-        Thread.sleep(500);
-
-        // Create a string builder to build the response, and a buffer in to which to
-        // read
-        // from the input stream
-        StringBuilder responseBuilder = new StringBuilder();
-        final byte buffer[] = new byte[5000];
-
-        // Create an executor and a callable which will allow us to read continuously
-        // from
-        // the input stream with a timeoutInMillis
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-        Callable<Integer> reader = new Callable<Integer>() {
-
-            /**
-             * Return the number of bytes ready to be read from the buffer
-             */
-            @Override
-            public Integer call() throws Exception {
-                return in.read(buffer);
-            }
-        };
-
-        // Retrieve the output
-        while (true) {
-
-            // Submit our callable and wait for it to tell us how many bytes to read
-            Future<Integer> future = executor.submit(reader);
-            int read = 0;
-            try {
-                read = future.get(timeoutInMillis, TimeUnit.MILLISECONDS);
-            } catch (TimeoutException e) {
-                executor.shutdown();
-                throw new SSHException("Timed out waiting for response from ssh. Response so far: " + responseBuilder);
-            }
-
-            // Append the new output to our response
-            responseBuilder.append(new String(buffer, 0, read));
-
-            // If the output matches <command>...<prompt> then we have found the complete
-            // response
-            Matcher responseMatcher = responsePattern.matcher(responseBuilder.toString());
-            if (responseMatcher.find()) {
-                executor.shutdown();
-                String response = responseMatcher.group(1);
-                logger.trace("Retrieved response from host '" + hostname + "':\n'" + response + "'");
-                return response;
-            }
-        }
-    }
-
-    private class KeepAliveThread extends Thread {
-
-        private final Session monitorSession;
-
-        // Some commands we run download the isolated build zip which takes ages...
-        // Timeout increased from 60secs to 120secs to allow the download to complete.
-        private long          idleTimeout = 120000;
-
-        public KeepAliveThread(Session session) {
-            this.monitorSession = session;
-            this.setDaemon(true);
-            this.setName("GalasaSSHClient timeout thread");
-
-            // if (configurationProperties != null) {
-            // String idleTimeoutString =
-            // configurationProperties.getProperty("core.ssh.idle.timeout", "60000");
-            // try {
-            // idleTimeout = Long.parseLong(idleTimeoutString);
-            // } catch(Exception e) {
-            // logger.error("Invalid ssh idle timeout '" + idleTimeoutString + "'",e);
-            // }
-            //
-            // }
-        }
-
-        @Override
-        public void run() {
-
-            lastCommandTimestamp = System.currentTimeMillis();
-
-            while (this.monitorSession.isConnected()) {
-
-                synchronized (SSHClient.this) {
-
-                    long timeout = System.currentTimeMillis() - idleTimeout;
-                    if (timeout >= lastCommandTimestamp) {
-                        logger.debug("SSH Client unused after " + idleTimeout + " milliseconds, freeing session");
-                        this.monitorSession.disconnect();
-                    }
-                }
-
-                try {
-                    Thread.sleep(100);
-                } catch (Exception e) {
-                    return;
-                }
-            }
-        }
 
+        // Wait for everything between our command and the next prompt
+        String response = shellOutput.waitForResponse(patternCommand.getBytes(), specialPrompt.getBytes(), changePromptPrefix.getBytes(), timeoutInMillis);
+        logger.trace("Retrieved response from host '" + hostname + "':\n'" + response + "'");
+        return response;
     }
 
     @Override
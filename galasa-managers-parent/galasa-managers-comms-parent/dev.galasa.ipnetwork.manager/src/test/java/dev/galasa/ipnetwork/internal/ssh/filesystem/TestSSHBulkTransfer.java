@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh.filesystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Vector;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+import dev.galasa.ipnetwork.SSHException;
+
+public class TestSSHBulkTransfer {
+
+    private static final int DEFAULT_BULK_REQUESTS = 16;
+
+    private SSHFileSystem   fileSystem;
+    private ChannelSftp     channel;
+    private SSHBulkTransfer bulkTransfer;
+    private Path            localDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        fileSystem = Mockito.mock(SSHFileSystem.class);
+        channel = Mockito.mock(ChannelSftp.class);
+        Mockito.when(fileSystem.getFileChannel()).thenReturn(channel);
+        Mockito.when(channel.getBulkRequests()).thenReturn(DEFAULT_BULK_REQUESTS);
+        bulkTransfer = new SSHBulkTransfer(fileSystem, 1);
+
+        localDirectory = Files.createTempDirectory("galasa-bulk");
+
+        LsEntry file = mockEntry("file.txt", false);
+        Vector<LsEntry> listing = new Vector<>(Arrays.asList(mockEntry(".", true), mockEntry("..", true), file));
+        Mockito.when(channel.ls("/remote")).thenReturn(listing);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(localDirectory.resolve("file.txt"));
+        Files.deleteIfExists(localDirectory);
+    }
+
+    private LsEntry mockEntry(String filename, boolean dir) {
+        SftpATTRS attributes = Mockito.mock(SftpATTRS.class);
+        Mockito.when(attributes.isDir()).thenReturn(dir);
+        Mockito.when(attributes.isReg()).thenReturn(!dir);
+        LsEntry entry = Mockito.mock(LsEntry.class);
+        Mockito.when(entry.getFilename()).thenReturn(filename);
+        Mockito.when(entry.getAttrs()).thenReturn(attributes);
+        return entry;
+    }
+
+    private Path mockPath(String path) {
+        Path mock = Mockito.mock(Path.class);
+        Mockito.when(mock.toAbsolutePath()).thenReturn(mock);
+        Mockito.when(mock.toString()).thenReturn(path);
+        return mock;
+    }
+
+    @Test
+    public void testDownloadRestoresBulkRequests() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("content".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(channel).get(ArgumentMatchers.eq("/remote/file.txt"), ArgumentMatchers.any(OutputStream.class));
+
+        bulkTransfer.downloadDirectory(mockPath("/remote"), localDirectory);
+
+        assertThat(localDirectory.resolve("file.txt")).hasContent("content");
+        InOrder inOrder = Mockito.inOrder(channel);
+        inOrder.verify(channel).setBulkRequests(64);
+        inOrder.verify(channel).get(ArgumentMatchers.eq("/remote/file.txt"), ArgumentMatchers.any(OutputStream.class));
+        inOrder.verify(channel).setBulkRequests(DEFAULT_BULK_REQUESTS);
+        Mockito.verify(fileSystem, Mockito.times(2)).returnFileChannel(channel);
+    }
+
+    @Test
+    public void testFailedDownloadRestoresBulkRequests() throws Exception {
+        Mockito.doThrow(new SftpException(ChannelSftp.SSH_FX_FAILURE, "Failure"))
+            .when(channel).get(ArgumentMatchers.eq("/remote/file.txt"), ArgumentMatchers.any(OutputStream.class));
+
+        assertThatThrownBy(() -> bulkTransfer.downloadDirectory(mockPath("/remote"), localDirectory))
+            .isInstanceOf(SSHException.class)
+            .hasRootCauseInstanceOf(SftpException.class);
+
+        Mockito.verify(channel).setBulkRequests(DEFAULT_BULK_REQUESTS);
+        Mockito.verify(fileSystem, Mockito.times(2)).returnFileChannel(channel);
+    }
+
+}
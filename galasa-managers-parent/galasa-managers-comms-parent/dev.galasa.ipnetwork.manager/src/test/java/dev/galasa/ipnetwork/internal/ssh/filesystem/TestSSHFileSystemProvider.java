@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.internal.ssh.filesystem;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Vector;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+public class TestSSHFileSystemProvider {
+
+    private SSHFileSystem         fileSystem;
+    private ChannelSftp           channel;
+    private SSHFileSystemProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        fileSystem = Mockito.mock(SSHFileSystem.class);
+        channel = Mockito.mock(ChannelSftp.class);
+        Mockito.when(fileSystem.getFileChannel()).thenReturn(channel);
+        provider = new SSHFileSystemProvider(fileSystem);
+    }
+
+    private Path mockPath(String path) {
+        Path mock = Mockito.mock(Path.class);
+        Mockito.when(mock.toAbsolutePath()).thenReturn(mock);
+        Mockito.when(mock.toString()).thenReturn(path);
+        return mock;
+    }
+
+    private SftpATTRS mockAttributes(boolean dir, boolean link) {
+        SftpATTRS attributes = Mockito.mock(SftpATTRS.class);
+        Mockito.when(attributes.isDir()).thenReturn(dir);
+        Mockito.when(attributes.isLink()).thenReturn(link);
+        Mockito.when(attributes.isReg()).thenReturn(!dir && !link);
+        return attributes;
+    }
+
+    private LsEntry mockEntry(String filename) {
+        LsEntry entry = Mockito.mock(LsEntry.class);
+        Mockito.when(entry.getFilename()).thenReturn(filename);
+        return entry;
+    }
+
+    @Test
+    public void testReplaceEmptyDirectoryWithFile() throws Exception {
+        SftpATTRS file = mockAttributes(false, false);
+        SftpATTRS dir = mockAttributes(true, false);
+        Mockito.when(fileSystem.readAttributes("/source", true)).thenReturn(file);
+        Mockito.when(fileSystem.readAttributes("/target", false)).thenReturn(dir);
+        Mockito.when(channel.lstat("/target")).thenReturn(dir);
+        Vector<LsEntry> listing = new Vector<>(Arrays.asList(mockEntry("."), mockEntry("..")));
+        Mockito.when(channel.ls("/target")).thenReturn(listing);
+        Mockito.when(fileSystem.executeCommand(ArgumentMatchers.anyString(), ArgumentMatchers.any())).thenReturn(0);
+
+        provider.copy(mockPath("/source"), mockPath("/target"), StandardCopyOption.REPLACE_EXISTING);
+
+        Mockito.verify(channel).rmdir("/target");
+        Mockito.verify(fileSystem).executeCommand(ArgumentMatchers.eq("cp -- '/source' '/target'"), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testReplaceNonEmptyDirectoryFails() throws Exception {
+        SftpATTRS file = mockAttributes(false, false);
+        SftpATTRS dir = mockAttributes(true, false);
+        Mockito.when(fileSystem.readAttributes("/source", true)).thenReturn(file);
+        Mockito.when(fileSystem.readAttributes("/target", false)).thenReturn(dir);
+        Mockito.when(channel.lstat("/target")).thenReturn(dir);
+        Vector<LsEntry> listing = new Vector<>(Arrays.asList(mockEntry("."), mockEntry(".."), mockEntry("file")));
+        Mockito.when(channel.ls("/target")).thenReturn(listing);
+
+        assertThatThrownBy(() -> provider.copy(mockPath("/source"), mockPath("/target"), StandardCopyOption.REPLACE_EXISTING))
+            .isInstanceOf(DirectoryNotEmptyException.class);
+
+        Mockito.verify(channel, Mockito.never()).rmdir(ArgumentMatchers.anyString());
+        Mockito.verify(fileSystem, Mockito.never()).executeCommand(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testCopyLinkWithoutFollowing() throws Exception {
+        SftpATTRS link = mockAttributes(false, true);
+        Mockito.when(fileSystem.readAttributes("/source", false)).thenReturn(link);
+        Mockito.when(fileSystem.readAttributes("/target", false)).thenThrow(new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file"));
+        Mockito.when(channel.readlink("/source")).thenReturn("/elsewhere");
+
+        provider.copy(mockPath("/source"), mockPath("/target"), LinkOption.NOFOLLOW_LINKS);
+
+        Mockito.verify(channel).symlink("/elsewhere", "/target");
+        Mockito.verify(fileSystem, Mockito.never()).executeCommand(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ipnetwork.spi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+import dev.galasa.ipnetwork.SSHException;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool.PooledSession;
+
+public class TestSSHClient {
+
+    private static final String USERID   = "user";
+    private static final String PASSWORD = "password";
+
+    /**
+     * Seed the pool with a connected session for the host, so the client does not try to connect
+     */
+    private Session mockPooledSession(String hostname) throws Exception {
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.isConnected()).thenReturn(true);
+
+        SSHSessionPool pool = SSHSessionPool.getInstance();
+        String key = SSHSessionPool.createKey(hostname, 22, USERID, PASSWORD, null);
+        pool.release(pool.lease(key, () -> session));
+        return session;
+    }
+
+    private SSHClient newClient(String hostname) throws Exception {
+        ICredentialsUsernamePassword credentials = Mockito.mock(ICredentialsUsernamePassword.class);
+        Mockito.when(credentials.getUsername()).thenReturn(USERID);
+        Mockito.when(credentials.getPassword()).thenReturn(PASSWORD);
+        return new SSHClient(hostname, 22, credentials, 10000);
+    }
+
+    /**
+     * A channel that writes the output and then ends it, as JSch does when the command ends
+     */
+    private ChannelExec mockChannel(String output) throws Exception {
+        ChannelExec channel = Mockito.mock(ChannelExec.class);
+        ArgumentCaptor<OutputStream> stream = ArgumentCaptor.forClass(OutputStream.class);
+        Mockito.doNothing().when(channel).setOutputStream(stream.capture());
+        Mockito.doAnswer(invocation -> {
+            stream.getValue().write(output.getBytes(StandardCharsets.UTF_8));
+            stream.getValue().close();
+            return null;
+        }).when(channel).connect();
+        return channel;
+    }
+
+    @Test
+    public void testChannelRefusedIsRetriedOnAnotherSession() throws Exception {
+        Session session = mockPooledSession("refused.example.com");
+
+        ChannelExec refused = Mockito.mock(ChannelExec.class);
+        Mockito.doThrow(new JSchException("channel is not opened.")).when(refused).connect();
+        ChannelExec opened = mockChannel("hello");
+        Mockito.when(session.openChannel("exec")).thenReturn(refused, opened);
+
+        String response = newClient("refused.example.com").issueCommand("echo hello");
+
+        assertThat(response).isEqualTo("hello");
+        Mockito.verify(session, Mockito.times(2)).openChannel("exec");
+        Mockito.verify(refused).disconnect();
+    }
+
+    @Test
+    public void testOtherChannelFailureIsNotRetried() throws Exception {
+        String hostname = "down.example.com";
+        Session session = mockPooledSession(hostname);
+
+        ChannelExec failed = Mockito.mock(ChannelExec.class);
+        Mockito.doThrow(new JSchException("session is down")).when(failed).connect();
+        Mockito.when(session.openChannel("exec")).thenReturn(failed);
+
+        assertThatThrownBy(() -> newClient(hostname).issueCommand("echo hello"))
+            .isInstanceOf(IpNetworkManagerException.class)
+            .hasRootCauseMessage("session is down");
+        Mockito.verify(session, Mockito.times(1)).openChannel("exec");
+
+        //*** The session must not have been limited, so all its channels can still be leased
+        SSHSessionPool pool = SSHSessionPool.getInstance();
+        String key = SSHSessionPool.createKey(hostname, 22, USERID, PASSWORD, null);
+        for (int i = 0; i < SSHSessionPool.MAX_CHANNELS_PER_SESSION; i++) {
+            PooledSession pooled = pool.lease(key, () -> {
+                throw new SSHException("A new session should not be needed");
+            });
+            assertThat(pooled.getSession()).isSameAs(session);
+        }
+    }
+
+    @Test
+    public void testChannelRefused() {
+        assertThat(SSHSessionPool.isChannelRefused(new JSchException("channel is not opened."))).isTrue();
+        assertThat(SSHSessionPool.isChannelRefused(new JSchException("session is down"))).isFalse();
+        assertThat(SSHSessionPool.isChannelRefused(new JSchException())).isFalse();
+    }
+
+}
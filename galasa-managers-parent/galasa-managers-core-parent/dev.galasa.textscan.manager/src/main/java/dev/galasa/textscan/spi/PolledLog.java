@@ -0,0 +1,281 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.spi;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dev.galasa.textscan.ILogScanner;
+import dev.galasa.textscan.TextScanException;
+
+/**
+ * A log that can only be retrieved as a whole, such as a zOS UNIX file, polled while waiting for text or a
+ * pattern to appear in it.
+ *
+ * The content is kept between polls and only read again when the size of the log changes. When the log grows
+ * only the bytes added since the last read are retrieved, and a log that has become shorter, so has been
+ * replaced, is retrieved in full. Each poll only scans the output appended since the previous scan, plus an
+ * overlap so a match spanning the boundary is not missed. A size check is cheap, so the poll interval starts
+ * short and doubles while the log is unchanged, and after reading new output the log is polled at the longest
+ * interval.
+ *
+ * Checkpoints and sizes are in bytes of the log, the content is decoded with the default charset.
+ */
+public class PolledLog {
+
+    public static final long MIN_POLL_INTERVAL = 250;
+    public static final long MAX_POLL_INTERVAL = 3000;
+
+    private static final int PATTERN_OVERLAP = 4096;
+
+    /**
+     * Where the log is read from
+     */
+    public interface LogSource {
+        /**
+         * @return the size of the log in bytes, or -1 if it does not exist
+         */
+        long getSize() throws TextScanException;
+
+        /**
+         * @return the whole content of the log
+         */
+        byte[] retrieve() throws TextScanException;
+
+        /**
+         * Retrieve the content of the log from an offset, eg the output appended since it was last read. The
+         * default retrieves the whole log, so a source that can read part of the log should override it.
+         *
+         * @param offset the offset in bytes to read from
+         * @param length the number of bytes the log has grown by since the offset
+         * @return the content of the log from the offset
+         */
+        default byte[] retrieve(long offset, int length) throws TextScanException {
+            byte[] content = retrieve();
+            return Arrays.copyOfRange(content, (int) Math.min(offset, content.length), content.length);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LogMatcher {
+        String find(String content, int from);
+    }
+
+    private final LogSource source;
+    private final Object    refreshLock = new Object();
+
+    private byte[] bytes;
+    private String content;
+    private long contentSize = -1;
+    private long contentVersion;
+
+    public PolledLog(LogSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Return the content of the log, only retrieving it again if its size has changed since it was last retrieved
+     *
+     * @return the content, empty if the log does not exist
+     * @throws TextScanException if the log could not be retrieved
+     */
+    public String getContent() throws TextScanException {
+        refresh();
+        synchronized (this) {
+            return this.content;
+        }
+    }
+
+    /**
+     * Return the size in bytes of the content of the log, eg to wait for output written after this point
+     *
+     * @return the size, 0 if the log does not exist
+     * @throws TextScanException if the log could not be retrieved
+     */
+    public long getContentSize() throws TextScanException {
+        refresh();
+        synchronized (this) {
+            return this.bytes.length;
+        }
+    }
+
+    /**
+     * Forget the kept content, eg as the log has been deleted
+     */
+    public synchronized void reset() {
+        this.bytes = null;
+        this.content = null;
+        this.contentSize = -1;
+    }
+
+    /**
+     * Wait for the search text or the fail text, with the same result as
+     * {@link ILogScanner#scanForMatch(String, String, int)}
+     *
+     * @param searchText the text to wait for
+     * @param failText the text that ends the wait early, can be null
+     * @param fromByte the offset in the log to scan from, 0 for the whole log or the checkpoint
+     * @param millisecondTimeout how long to wait
+     * @return the fail text if found, otherwise the search text if found, null if neither appeared in time
+     * @throws TextScanException if the log could not be retrieved, the checkpoint was not set or the wait was
+     *         interrupted
+     */
+    public String waitForText(String searchText, String failText, long fromByte, long millisecondTimeout) throws TextScanException {
+        int overlap = Math.max(searchText.length(), failText == null ? 0 : failText.length());
+        return waitForMatch((text, from) -> findText(text, from, searchText, failText), overlap, fromByte, millisecondTimeout);
+    }
+
+    /**
+     * Wait for the search pattern or the fail pattern, with the same result as
+     * {@link ILogScanner#scanForMatch(Pattern, Pattern, int)}
+     *
+     * @param searchPattern the pattern to wait for
+     * @param failPattern the pattern that ends the wait early, can be null
+     * @param fromByte the offset in the log to scan from, 0 for the whole log or the checkpoint
+     * @param millisecondTimeout how long to wait
+     * @return the first fail pattern match if found, otherwise the last search pattern match if found, null if
+     *         neither appeared in time
+     * @throws TextScanException if the log could not be retrieved, the checkpoint was not set or the wait was
+     *         interrupted
+     */
+    public String waitForPattern(Pattern searchPattern, Pattern failPattern, long fromByte, long millisecondTimeout) throws TextScanException {
+        return waitForMatch((text, from) -> findPattern(text, from, searchPattern, failPattern), PATTERN_OVERLAP, fromByte, millisecondTimeout);
+    }
+
+    private String waitForMatch(LogMatcher matcher, int overlap, long fromByte, long millisecondTimeout) throws TextScanException {
+        if (fromByte < 0) {
+            throw new TextScanException("Log has not been checkpointed");
+        }
+        long timeout = System.currentTimeMillis() + millisecondTimeout;
+        long pollInterval = MIN_POLL_INTERVAL;
+        int scanFrom = -1;
+        int scannedTo = -1;
+        long scannedVersion = -1;
+        while (true) {
+            boolean retrieved = refresh();
+            String text;
+            long version;
+            synchronized (this) {
+                text = this.content;
+                version = this.contentVersion;
+                if (scanFrom < 0) {
+                    scanFrom = charOffset(fromByte);
+                }
+            }
+            if (version != scannedVersion) {
+                if (text.length() < scannedTo) {
+                    // The log has been replaced, scan it all
+                    scanFrom = 0;
+                }
+                String returnText = matcher.find(text, Math.min(scanFrom, text.length()));
+                if (returnText != null && !returnText.isEmpty()) {
+                    return returnText;
+                }
+                scannedVersion = version;
+                scannedTo = text.length();
+                scanFrom = Math.max(scanFrom, scannedTo - overlap);
+            }
+
+            if (retrieved) {
+                pollInterval = MAX_POLL_INTERVAL;
+            } else {
+                pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL);
+            }
+
+            long remaining = timeout - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(pollInterval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TextScanException("Interrupted during wait", e);
+            }
+        }
+    }
+
+    /**
+     * Read the log again if its size has changed, only retrieving the bytes added if it has grown
+     *
+     * @return true if the content was retrieved
+     */
+    private boolean refresh() throws TextScanException {
+        synchronized (this.refreshLock) {
+            long size = this.source.getSize();
+            byte[] keptBytes;
+            long keptSize;
+            synchronized (this) {
+                if (this.content != null && size == this.contentSize) {
+                    return false;
+                }
+                keptBytes = this.bytes;
+                keptSize = this.content == null ? -1 : this.contentSize;
+            }
+
+            byte[] newBytes;
+            if (size < 0) {
+                newBytes = new byte[0];
+            } else if (keptSize > 0 && size > keptSize && keptBytes.length > 0) {
+                byte[] appended = this.source.retrieve(keptBytes.length, (int) Math.min(size - keptSize, Integer.MAX_VALUE));
+                newBytes = Arrays.copyOf(keptBytes, keptBytes.length + appended.length);
+                System.arraycopy(appended, 0, newBytes, keptBytes.length, appended.length);
+            } else {
+                newBytes = this.source.retrieve();
+            }
+
+            synchronized (this) {
+                this.bytes = newBytes;
+                this.content = new String(newBytes, Charset.defaultCharset());
+                this.contentSize = size;
+                this.contentVersion++;
+            }
+            return size >= 0;
+        }
+    }
+
+    /**
+     * Convert an offset in bytes of the log to an index in the decoded content. An offset beyond the end of the
+     * log means it has been replaced since the offset was taken, so the whole log is scanned
+     */
+    private int charOffset(long fromByte) {
+        if (fromByte == 0 || this.bytes == null || fromByte > this.bytes.length) {
+            return 0;
+        }
+        return new String(this.bytes, 0, (int) fromByte, Charset.defaultCharset()).length();
+    }
+
+    private static String findText(String content, int from, String searchText, String failText) {
+        if (failText != null && content.indexOf(failText, from) >= 0) {
+            return failText;
+        }
+        if (content.indexOf(searchText, from) >= 0) {
+            return searchText;
+        }
+        return null;
+    }
+
+    private static String findPattern(String content, int from, Pattern searchPattern, Pattern failPattern) {
+        if (failPattern != null) {
+            Matcher failMatcher = region(failPattern.matcher(content), from);
+            if (failMatcher.find()) {
+                return failMatcher.group();
+            }
+        }
+        Matcher matcher = region(searchPattern.matcher(content), from);
+        String match = null;
+        while (matcher.find()) {
+            match = matcher.group();
+        }
+        return match;
+    }
+
+    private static Matcher region(Matcher matcher, int from) {
+        return matcher.region(from, matcher.regionEnd()).useTransparentBounds(true).useAnchoringBounds(false);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.TextScanException;
+
+public class TestPolledLog {
+
+    /**
+     * A log that has a line appended to it each time its size is checked, until there are no more lines
+     */
+    private static class GrowingLogSource implements PolledLog.LogSource {
+        private final String[] lines;
+        private String content;
+        private int next;
+        private int retrieves;
+        private int rangedRetrieves;
+
+        private GrowingLogSource(String initial, String... lines) {
+            this.content = initial;
+            this.lines = lines;
+        }
+
+        @Override
+        public long getSize() {
+            if (this.next < this.lines.length) {
+                this.content += this.lines[this.next++];
+            }
+            return bytes().length;
+        }
+
+        @Override
+        public byte[] retrieve() {
+            this.retrieves++;
+            return bytes();
+        }
+
+        @Override
+        public byte[] retrieve(long offset, int length) {
+            this.rangedRetrieves++;
+            byte[] bytes = bytes();
+            return Arrays.copyOfRange(bytes, (int) offset, (int) Math.min(offset + length, bytes.length));
+        }
+
+        private byte[] bytes() {
+            return this.content.getBytes(Charset.defaultCharset());
+        }
+    }
+
+    @Test
+    public void testUnchangedLogIsNotRetrievedAgain() throws Exception {
+        GrowingLogSource source = new GrowingLogSource("line 1\n");
+        PolledLog polledLog = new PolledLog(source);
+
+        assertEquals("line 1\n", polledLog.getContent());
+        assertEquals("line 1\n", polledLog.getContent());
+        assertEquals(1, source.retrieves);
+
+        polledLog.reset();
+        polledLog.getContent();
+        assertEquals(2, source.retrieves);
+    }
+
+    @Test
+    public void testGrowingLogOnlyRetrievesAddedBytes() throws Exception {
+        GrowingLogSource source = new GrowingLogSource("line 1\n", "line 2\n", "line 3\n");
+        PolledLog polledLog = new PolledLog(source);
+
+        assertEquals("line 1\nline 2\n", polledLog.getContent());
+        assertEquals("line 1\nline 2\nline 3\n", polledLog.getContent());
+        assertEquals(1, source.retrieves);
+        assertEquals(1, source.rangedRetrieves);
+    }
+
+    @Test
+    public void testShorterLogIsRetrievedInFull() throws Exception {
+        GrowingLogSource source = new GrowingLogSource("a longer first log\n");
+        PolledLog polledLog = new PolledLog(source);
+        polledLog.getContent();
+
+        source.content = "replaced\n";
+        assertEquals("replaced\n", polledLog.getContent());
+        assertEquals(2, source.retrieves);
+        assertEquals(0, source.rangedRetrieves);
+    }
+
+    @Test
+    public void testWaitForTextAppendedLater() throws Exception {
+        GrowingLogSource source = new GrowingLogSource("", "starting\n", "", "", "server started\n");
+        PolledLog polledLog = new PolledLog(source);
+
+        assertEquals("started", polledLog.waitForText("started", null, 0, 10000));
+    }
+
+    @Test
+    public void testWaitForTextReturnsFailText() throws Exception {
+        GrowingLogSource source = new GrowingLogSource("starting\n", "failed to start\n", "started\n");
+        PolledLog polledLog = new PolledLog(source);
+
+        assertEquals("failed", polledLog.waitForText("started", "failed", 0, 10000));
+    }
+
+    @Test
+    public void testWaitForPatternSinceCheckpointConvertsBytesToChars() throws Exception {
+        String beforeCheckpoint = "café MSG001 done\n";
+        GrowingLogSource source = new GrowingLogSource(beforeCheckpoint, "MSG002 done\n");
+        PolledLog polledLog = new PolledLog(source);
+        long checkpoint = beforeCheckpoint.getBytes(Charset.defaultCharset()).length;
+
+        assertEquals("MSG002", polledLog.waitForPattern(Pattern.compile("MSG00\\d"), null, checkpoint, 10000));
+        assertNull(polledLog.waitForText("MSG001", null, checkpoint, 100));
+    }
+
+    @Test
+    public void testWaitTimesOut() throws Exception {
+        PolledLog polledLog = new PolledLog(new GrowingLogSource("nothing to see\n"));
+
+        assertNull(polledLog.waitForText("started", null, 0, 500));
+    }
+
+    @Test
+    public void testWaitSinceCheckpointWithoutCheckpoint() {
+        PolledLog polledLog = new PolledLog(new GrowingLogSource("started\n"));
+
+        TextScanException expectedException = assertThrows(TextScanException.class, () -> polledLog.waitForText("started", null, -1, 500));
+        assertEquals("Log has not been checkpointed", expectedException.getMessage());
+    }
+
+    @Test
+    public void testMissingLogIsEmpty() throws Exception {
+        PolledLog polledLog = new PolledLog(new PolledLog.LogSource() {
+            @Override
+            public long getSize() {
+                return -1;
+            }
+
+            @Override
+            public byte[] retrieve() {
+                throw new IllegalStateException("A missing log should not be retrieved");
+            }
+        });
+
+        assertEquals("", polledLog.getContent());
+        assertNull(polledLog.waitForText("started", null, 0, 300));
+    }
+
+}
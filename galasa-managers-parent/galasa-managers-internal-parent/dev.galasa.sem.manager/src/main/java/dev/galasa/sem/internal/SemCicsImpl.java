@@ -33,7 +33,6 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zosbatch.IZosBatch;
 import dev.galasa.zosbatch.IZosBatchJob;
 import dev.galasa.zosbatch.IZosBatchJob.JobStatus;
-import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.IZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosconsole.IZosConsole;
@@ -44,6 +43,13 @@ public class SemCicsImpl extends BaseCicsImpl {
 	
     private static final Log logger = LogFactory.getLog(SemCicsImpl.class);
 
+    private static final long POLL_MIN_MILLIS = 250;
+    private static final long POLL_MAX_MILLIS = 2000;
+
+    private static final String[] JESMSGLG_MESSAGES = { "DFHKE0101", "DFHSI1538D", "DFHPA1909", "DFHPA1912", "DFHPA1915",
+            "IEF404I", "$HASP395", "DFHSI1517", "EYUNL0099I", "EYUXL0010I" };
+    private static final String[] EYULOG_MESSAGES = { "EYUVS0005S", "EYUVS0002I" };
+
     private final SemManagerImpl semManager;
     private final SemZosHandler semZosHandler;
 
@@ -57,6 +63,8 @@ public class SemCicsImpl extends BaseCicsImpl {
     private final boolean    provisionStart;
 
     private IZosBatchJob     job;
+    private SpoolMessageScanner jesmsglgScanner;
+    private SpoolMessageScanner eyulogScanner;
 
     private ProductVersion productVersion;
 
@@ -183,6 +191,7 @@ public class SemCicsImpl extends BaseCicsImpl {
         submitRuntimeJcl();
 
         Instant expire = Instant.now().plus(1, ChronoUnit.MINUTES);
+        long pollInterval = POLL_MIN_MILLIS;
         while(expire.isAfter(Instant.now())) {
             if (hasRegionStarted()) {
                 try {
@@ -192,6 +201,7 @@ public class SemCicsImpl extends BaseCicsImpl {
                 }
                 return;
             }
+            pollInterval = pollWait(pollInterval, "Wait for CICS TS region startup was interrupted");
         }
 
         throw new SemManagerException("Provisioned CICS TS Region " + getApplid() + " failed to start in time");
@@ -262,13 +272,9 @@ public class SemCicsImpl extends BaseCicsImpl {
     private boolean waitForRegionsToStop(int timeoutMinutes) throws SemManagerException {
         
         Instant expire = Instant.now().plus(timeoutMinutes, ChronoUnit.MINUTES);
+        long pollInterval = POLL_MIN_MILLIS;
         while(expire.isAfter(Instant.now())) {
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new SemManagerException("Wait for CICS TS region stop interrupted", e);
-            }
+            pollInterval = pollWait(pollInterval, "Wait for CICS TS region stop interrupted");
 
             JobStatus currentStatus = job.getStatus();        
             switch(currentStatus) {
@@ -328,6 +334,20 @@ public class SemCicsImpl extends BaseCicsImpl {
     }
 
 
+    /**
+     * Sleep for the poll interval
+     * @return the next, longer, poll interval
+     */
+    private long pollWait(long pollInterval, String interruptedMessage) throws SemManagerException {
+        try {
+            this.semManager.sleepBetweenPolls(pollInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SemManagerException(interruptedMessage, e);
+        }
+        return Math.min(pollInterval * 2, POLL_MAX_MILLIS);
+    }
+
     private void saveCicsRegion() {
     	
     	try {
@@ -351,28 +371,26 @@ public class SemCicsImpl extends BaseCicsImpl {
         }
 
         logger.info("Submitted provisioned CICS TS region " + getApplid() + " as " + this.job);
+        this.jesmsglgScanner = new SpoolMessageScanner(JESMSGLG_MESSAGES);
+        this.eyulogScanner = new SpoolMessageScanner(EYULOG_MESSAGES);
 
         Instant expire = Instant.now().plus(1, ChronoUnit.MINUTES);
+        long pollInterval = POLL_MIN_MILLIS;
         while(expire.isAfter(Instant.now())) {
-            try {
-                Thread.sleep(2000);
-
-                switch(this.job.getStatus()) {
-                    case ACTIVE:
-                        logger.trace("Wait for region submission completed, job now active");
-                        return;
-                    case INPUT:
-                    case NOTFOUND:
-                        break;
-                    case OUTPUT:
-                        throw new SemManagerException("Wait for region submission failed, job was on output queue");
-                    case UNKNOWN:
-                    default:
-                        throw new SemManagerException("Wait for region submission failed, status unknown");
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new SemManagerException("Wait for region submission was interrupted", e);
+            pollInterval = pollWait(pollInterval, "Wait for region submission was interrupted");
+
+            switch(this.job.getStatus()) {
+                case ACTIVE:
+                    logger.trace("Wait for region submission completed, job now active");
+                    return;
+                case INPUT:
+                case NOTFOUND:
+                    break;
+                case OUTPUT:
+                    throw new SemManagerException("Wait for region submission failed, job was on output queue");
+                case UNKNOWN:
+                default:
+                    throw new SemManagerException("Wait for region submission failed, status unknown");
             }
         }
 
@@ -382,48 +400,56 @@ public class SemCicsImpl extends BaseCicsImpl {
     @Override
     public boolean hasRegionStarted() throws SemManagerException {
 
-        IZosBatchJobOutputSpoolFile jesmsglgSpool;
-        IZosBatchJobOutputSpoolFile eyulogSpool =  null;
+        if (this.jesmsglgScanner == null) {
+            this.jesmsglgScanner = new SpoolMessageScanner(JESMSGLG_MESSAGES);
+            this.eyulogScanner = new SpoolMessageScanner(EYULOG_MESSAGES);
+        }
+
+        // Only the records added since the last poll are retrieved and searched
+        String jesmsglgRecords;
+        String eyulogRecords = null;
         try {
-            jesmsglgSpool = this.job.getSpoolFile("JESMSGLG");
+            jesmsglgRecords = this.job.retrieveSpoolFileRecords("JESMSGLG", this.jesmsglgScanner.getNextRecord());
             if (getMasType() == MasType.WUI) {
-                eyulogSpool = this.job.getSpoolFile("EYULOG");
+                eyulogRecords = this.job.retrieveSpoolFileRecords("EYULOG", this.eyulogScanner.getNextRecord());
             }
         } catch(Exception e) {
             throw new SemManagerException("Failed to retrieve job output during region startup", e);
         }
 
-        String jesmsglg = jesmsglgSpool.getRecords();
-        if (jesmsglg.contains("DFHKE0101")) {
+        this.jesmsglgScanner.scan(jesmsglgRecords);
+        SpoolMessageScanner jesmsglg = this.jesmsglgScanner;
+        if (jesmsglg.isFound("DFHKE0101")) {
             throw new SemManagerException("Startup of CICS TS region " + getApplid() + " failed, not APF authorised");
         }
 
-        if (jesmsglg.contains("DFHSI1538D")) {
+        if (jesmsglg.isFound("DFHSI1538D")) {
             throw new SemManagerException(
                     "Startup of CICS TS region " + getApplid() + " failed, invalid CSD group");
         }
 
-        if (jesmsglg.contains("DFHPA1909") || jesmsglg.contains("DFHPA1912") || jesmsglg.contains("DFHPA1915")) {
+        if (jesmsglg.isFound("DFHPA1909") || jesmsglg.isFound("DFHPA1912") || jesmsglg.isFound("DFHPA1915")) {
             throw new SemManagerException(
                     "Startup of CICS TS region " + getApplid() + " failed, invalid parameter found");
         }
 
-        if (jesmsglg.contains("IEF404I")) {
+        if (jesmsglg.isFound("IEF404I")) {
             throw new SemManagerException("Startup of CICS TS region " + getApplid() + " failed, early termination");
         }
 
-        if (jesmsglg.contains("$HASP395")) {
+        if (jesmsglg.isFound("$HASP395")) {
             throw new SemManagerException("Startup of CICS TS region " + getApplid() + " failed, early termination");
         }
 
         if (getMasType() == MasType.WUI) {
-            String eyulog = eyulogSpool.getRecords();
+            this.eyulogScanner.scan(eyulogRecords);
+            SpoolMessageScanner eyulog = this.eyulogScanner;
 
-            if (eyulog.contains("EYUVS0005S")) {
+            if (eyulog.isFound("EYUVS0005S")) {
                 throw new SemManagerException("Startup of WUI region " + getApplid() + " failed, EYUVS0005S detected");
             }
 
-            boolean DFHSI1517   = jesmsglg.contains("DFHSI1517");
+            boolean DFHSI1517   = jesmsglg.isFound("DFHSI1517");
 
             //            if (wuiBasicStartup) {
             //                if (DFHSI1517) {
@@ -432,8 +458,8 @@ public class SemCicsImpl extends BaseCicsImpl {
             //                    checkDefaultSecurity(output);
             //                }
             //            } else {
-            boolean EYUVS0002I  = eyulog.contains("EYUVS0002I");
-            boolean EYUNL0099I  = jesmsglg.contains("EYUNL0099I");
+            boolean EYUVS0002I  = eyulog.isFound("EYUVS0002I");
+            boolean EYUNL0099I  = jesmsglg.isFound("EYUNL0099I");
 
             if (DFHSI1517 && EYUVS0002I && EYUNL0099I) {
                 logger.info("WUI Region " + getApplid() + " has completed startup");
@@ -442,7 +468,7 @@ public class SemCicsImpl extends BaseCicsImpl {
             }
             //            }
         } else if (getMasType() == MasType.CMAS) {
-            boolean DFHSI1517   = jesmsglg.contains("DFHSI1517");
+            boolean DFHSI1517   = jesmsglg.isFound("DFHSI1517");
 
             //            if (cmasBasicStartup) {
             //                if (DFHSI1517) {
@@ -451,7 +477,7 @@ public class SemCicsImpl extends BaseCicsImpl {
             //                    checkDefaultSecurity(output);
             //                }
             //            } else {
-            boolean EYUXL0010I  = jesmsglg.contains("EYUXL0010I");
+            boolean EYUXL0010I  = jesmsglg.isFound("EYUXL0010I");
 
             if (DFHSI1517 && EYUXL0010I) {
                 logger.info("CMAS Region " + getApplid() + " has completed startup");
@@ -459,7 +485,7 @@ public class SemCicsImpl extends BaseCicsImpl {
                 return true;
             }
         } else {
-            if (jesmsglg.contains("DFHSI1517")) {
+            if (jesmsglg.isFound("DFHSI1517")) {
                 logger.info("CICS TS Region " + getApplid() + " has completed startup");
                 //                checkDefaultSecurity(output);
                 return true;
@@ -12,14 +12,22 @@ import java.io.PrintStream;
 import java.lang.annotation.Annotation;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.validation.constraints.NotNull;
 
@@ -94,6 +102,9 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
     protected static final String NAMESPACE = "sem";
 
     private static final Log logger = LogFactory.getLog(SemManagerImpl.class);
+
+    private static final long DISCARD_POLL_MIN_MILLIS = 1000;
+    private static final long DISCARD_POLL_MAX_MILLIS = 15000;
     private boolean required;
 
     private IDynamicStatusStoreService dss;
@@ -119,6 +130,13 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
     private HashMap<String, SemCicsImpl> taggedRegions = new HashMap<>();
     private HashMap<String, SemCicsImpl> applidRegions = new HashMap<>();
 
+    /**
+     * Held by a region while it is being started or stopped, other than while it is waiting to poll again.
+     * The z/OS batch, console and z/OS MF code, and the region started callbacks, are not thread safe,
+     * so only the waits of the regions overlap
+     */
+    private final ReentrantLock regionLock = new ReentrantLock();
+
     private IBundleResources semBundleResources;
     private IHttpClient      httpClient;
 
@@ -706,16 +724,95 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
     }
 
     private void startupCics(List<ICicsRegion> regions) throws SemManagerException {
-        ArrayList<SemCicsImpl> submittedRegions = new ArrayList<>(regions.size());        
+        ArrayList<SemCicsImpl> cmasRegions = new ArrayList<>();
+        ArrayList<SemCicsImpl> otherRegions = new ArrayList<>();
         for(ICicsRegion oRegion : regions) {
             if (!(oRegion instanceof SemCicsImpl)) {
                 continue; // Ignore regions from other provisioners
             }
 
             SemCicsImpl region = (SemCicsImpl) oRegion;
-            region.startup();  // TODO multithread startup and wait
-            submittedRegions.add(region);
+            if (region.getMasType() == MasType.CMAS) {
+                cmasRegions.add(region);
+            } else {
+                otherRegions.add(region);
+            }
+        }
+
+        // The CMASs have to be up before the WUIs and MASs can connect to them
+        startupCics("CMAS", cmasRegions);
+        startupCics("CICS TS", otherRegions);
+    }
+
+    private void startupCics(String description, List<SemCicsImpl> regions) throws SemManagerException {
+        Map<SemCicsImpl, SemManagerException> failures = runForRegions(regions, SemCicsImpl::startup);
+        for (Entry<SemCicsImpl, SemManagerException> failure : failures.entrySet()) {
+            logger.error("Startup of " + description + " region " + failure.getKey().getApplid() + " failed", failure.getValue());
+        }
+        if (!failures.isEmpty()) {
+            throw failures.values().iterator().next();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RegionAction {
+        void run(SemCicsImpl region) throws SemManagerException;
+    }
+
+    /**
+     * Run the action for all the regions at the same time and wait for them all to finish,
+     * so the time taken is that of the slowest region rather than the total of them all.
+     * Each action holds the region lock, so only one region at a time is calling z/OS,
+     * and releases it while waiting to poll again
+     * 
+     * @return the regions that failed, in the order of the list
+     */
+    private Map<SemCicsImpl, SemManagerException> runForRegions(List<SemCicsImpl> regions, RegionAction action) {
+        LinkedHashMap<SemCicsImpl, SemManagerException> failures = new LinkedHashMap<>();
+        if (regions.isEmpty()) {
+            return failures;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(regions.size(), runnable -> {
+            Thread thread = new Thread(runnable, "SEM CICS TS region thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LinkedHashMap<SemCicsImpl, Future<Void>> futures = new LinkedHashMap<>();
+            for (SemCicsImpl region : regions) {
+                futures.put(region, executor.submit(() -> {
+                    regionLock.lock();
+                    try {
+                        action.run(region);
+                    } finally {
+                        regionLock.unlock();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Entry<SemCicsImpl, Future<Void>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SemManagerException) {
+                        failures.put(future.getKey(), (SemManagerException) cause);
+                    } else {
+                        failures.put(future.getKey(), new SemManagerException("Unexpected failure for CICS TS region " + future.getKey().getApplid(), cause));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (SemCicsImpl region : regions) {
+                failures.putIfAbsent(region, new SemManagerException("Interrupted waiting for CICS TS region " + region.getApplid(), e));
+            }
+        } finally {
+            executor.shutdownNow();
         }
+        return failures;
     }
 
     @Override
@@ -726,12 +823,21 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
         }
 
         logger.info("Stopping all SEM provisioned CICS regions");
-        ArrayList<SemCicsImpl> regions = new ArrayList<>(this.applidRegions.values());
-        for(SemCicsImpl region : regions) {
-            try { 
-                region.shutdown(); // TODO multithread shutdown and wait
-            } catch(SemManagerException e) {
-                logger.error("Shutdown of CICS TS region " + region.getApplid() + " failed");
+        ArrayList<SemCicsImpl> cmasRegions = new ArrayList<>();
+        ArrayList<SemCicsImpl> otherRegions = new ArrayList<>();
+        for(SemCicsImpl region : this.applidRegions.values()) {
+            if (region.getMasType() == MasType.CMAS) {
+                cmasRegions.add(region);
+            } else {
+                otherRegions.add(region);
+            }
+        }
+
+        // Stop the CMASs last, so the WUIs and MASs are not left without them while stopping
+        for(List<SemCicsImpl> regions : List.of(otherRegions, cmasRegions)) {
+            Map<SemCicsImpl, SemManagerException> failures = runForRegions(regions, SemCicsImpl::shutdown);
+            for (Entry<SemCicsImpl, SemManagerException> failure : failures.entrySet()) {
+                logger.error("Shutdown of CICS TS region " + failure.getKey().getApplid() + " failed", failure.getValue());
             }
         }
         logger.info("All SEM provisioned CICS regions have stopped");
@@ -766,10 +872,12 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
             }
         }
 
-        Instant expire = Instant.now().plus(20, ChronoUnit.MINUTES); // time out after 10 minutes
-        // Wait for them to complete
+        Instant expire = Instant.now().plus(20, ChronoUnit.MINUTES); // time out after 20 minutes
+        // Wait for them to complete, checking less often the longer they take so
+        // a slow discard does not flood z/OS with status requests
         List<IZosBatchJob> waiting = this.semZosHandler.getJobs();
         ArrayList<IZosBatchJob> completed = new ArrayList<>(waiting.size());
+        long pollInterval = DISCARD_POLL_MIN_MILLIS;
         while(Instant.now().isBefore(expire)) {
             Iterator<IZosBatchJob> jobi = waiting.iterator();
             while(jobi.hasNext()) {
@@ -784,6 +892,16 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
             if (waiting.isEmpty()) {
                 break;
             }
+
+            long remaining = Duration.between(Instant.now(), expire).toMillis();
+            try {
+                Thread.sleep(Math.max(0, Math.min(pollInterval, remaining)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Wait for the SEM discard jobs was interrupted");
+                break;
+            }
+            pollInterval = Math.min(pollInterval * 2, DISCARD_POLL_MAX_MILLIS);
         }
 
         // record the output
@@ -844,4 +962,22 @@ public class SemManagerImpl extends AbstractManager implements ICicsRegionProvis
         return this.zosConsole;
     }
 
+    /**
+     * Sleep between polls of a region, letting the other regions being started or stopped
+     * use z/OS in the meantime
+     */
+    protected void sleepBetweenPolls(long millis) throws InterruptedException {
+        if (!this.regionLock.isHeldByCurrentThread()) {
+            Thread.sleep(millis);
+            return;
+        }
+
+        this.regionLock.unlock();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            this.regionLock.lock();
+        }
+    }
+
 }
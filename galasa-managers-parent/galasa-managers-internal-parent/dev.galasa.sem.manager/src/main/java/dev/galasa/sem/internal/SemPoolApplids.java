@@ -6,6 +6,7 @@
 package dev.galasa.sem.internal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 
@@ -14,10 +15,6 @@ import org.apache.commons.logging.LogFactory;
 
 import com.ibm.hursley.cicsts.test.sem.interfaces.complex.IPool;
 
-import dev.galasa.framework.spi.DssAdd;
-import dev.galasa.framework.spi.DssDelete;
-import dev.galasa.framework.spi.DssResourceDeletePrefix;
-import dev.galasa.framework.spi.DssResourceUpdate;
 import dev.galasa.framework.spi.DssUpdate;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
@@ -30,6 +27,10 @@ public class SemPoolApplids implements IPool {
 
     private static final Log logger = LogFactory.getLog(SemPoolApplids.class);
 
+    // Enough for most complexes in one reservation, the unused are freed when generation is complete
+    private static final int RESERVE_MINIMUM = 10;
+    private static final int RESERVE_MAXIMUM = 25;
+
     private final SemManagerImpl             manager;
     private final IDynamicStatusStoreService dss;
     private final IResourcePoolingService    rps;
@@ -37,6 +38,7 @@ public class SemPoolApplids implements IPool {
     private final String runName;
 
     private final List<String> resourceStrings;
+    private final SemPoolReservation reservation;
 
     private final ArrayList<String> rejectedApplids = new ArrayList<>();
     private final ArrayList<String> availableApplids = new ArrayList<>();
@@ -48,30 +50,18 @@ public class SemPoolApplids implements IPool {
         this.rps     = rps;
         this.runName = this.manager.getFramework().getTestRunName();
         this.resourceStrings = ModelApplids.get();
+        this.reservation = new SemPoolReservation(dss, this.runName, "applid");
     }
 
 
 
     private void reserveApplids() throws SemManagerException {
         while(this.availableApplids.isEmpty()) {
-            List<String> possibleApplids;
             try {
-                possibleApplids = this.rps.obtainResources(this.resourceStrings, this.rejectedApplids, 10, 10, dss, "applid");
-
-                // Quickly reserve them to help maintain blocks of applids,  will free them 
-                for(String possibleApplid : possibleApplids) {
-                    try {
-                        this.dss.performActions(
-                                new DssAdd("applid." + possibleApplid, this.runName), 
-                                new DssAdd("run." + this.runName + ".applid." + possibleApplid, "active"),
-                                new DssResourceUpdate("applid." + possibleApplid + ".run", this.runName)
-                                );
-                        this.availableApplids.add(possibleApplid);
-                        logger.trace("Reserved APPLID '" + possibleApplid + "' for SEM complex");
-                    } catch (DynamicStatusStoreException e) {
-                        this.rejectedApplids.add(possibleApplid);
-                    }
-                }
+                List<String> possibleApplids = this.rps.obtainResources(this.resourceStrings, this.rejectedApplids, RESERVE_MINIMUM, RESERVE_MAXIMUM, dss, "applid");
+
+                // Quickly reserve them in one go to help maintain blocks of applids, will free them 
+                this.availableApplids.addAll(this.reservation.reserve(possibleApplids, this.rejectedApplids));
             } catch (InsufficientResourcesAvailableException e) {
                 throw new SemManagerException("Not enough applids for this run", e);
             }
@@ -103,38 +93,22 @@ public class SemPoolApplids implements IPool {
     }
 
     public void generateComplete() {
-        for(String applid : this.availableApplids) {
-            freeApplid(applid);
-            logger.trace("Freed APPLID '" + applid + "' from reservation list");
-        }
-    }
-
-
-
-    private void freeApplid(String applid) {
-        try {
-            deleteDss(this.runName, applid, this.dss);
-        } catch(DynamicStatusStoreException e) {
-            logger.debug("Failed to release applid '" + applid + "', leaving for resource management",e);
-        }
+        this.reservation.release(this.availableApplids);
+        logger.trace("Freed APPLIDs " + this.availableApplids + " from reservation list");
+        this.availableApplids.clear();
     }
 
 
 
     public void discard() {
-        // Free any applids remaining in available, shouldn't be, but just in case
-
-        for(String applid : this.availableApplids) {
-            freeApplid(applid);
-        }
-
-        // Free any used Applids
-
+        // Free any applids remaining in available, shouldn't be, but just in case, and the used Applids
+        //TODO Call commserver to reset the applids on the zos image 
+        ArrayList<String> applids = new ArrayList<>(this.availableApplids);
+        applids.addAll(this.usedApplids);
+        this.reservation.release(applids);
         for(String applid : this.usedApplids) {
-            //TODO Call commserver to reset the applid on the zos image 
-            freeApplid(applid);
             logger.debug("Discarded APPLID '" + applid + "'");
-        }       
+        }
     }
 
 
@@ -163,10 +137,6 @@ public class SemPoolApplids implements IPool {
         
         // TODO - Should be calling zoscommserver manager to deactive and reactive the applid
         
-        dss.performActions(
-                new DssDelete("applid." + applid, null), 
-                new DssDelete("applid." + applid + ".image", null), 
-                new DssDelete("run." + runName + ".applid." + applid, null),
-                new DssResourceDeletePrefix("applid." + applid + "."));
+        dss.performActions(SemPoolReservation.releaseActions("applid", runName, Collections.singletonList(applid)));
     }
 }
@@ -6,6 +6,7 @@
 package dev.galasa.sem.internal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -13,12 +14,9 @@ import org.apache.commons.logging.LogFactory;
 
 import com.ibm.hursley.cicsts.test.sem.interfaces.complex.IPool;
 
-import dev.galasa.framework.spi.DssAdd;
-import dev.galasa.framework.spi.DssDelete;
-import dev.galasa.framework.spi.DssResourceDeletePrefix;
-import dev.galasa.framework.spi.DssResourceUpdate;
 import dev.galasa.framework.spi.DssUpdate;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IResourcePoolingService;
 import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
@@ -29,6 +27,10 @@ public class SemPoolPorts implements IPool {
 
     private static final Log logger = LogFactory.getLog(SemPoolPorts.class);
 
+    // Enough for most complexes in one reservation, the unused are freed when generation is complete
+    private static final int RESERVE_MINIMUM = 10;
+    private static final int RESERVE_MAXIMUM = 25;
+
     private final SemManagerImpl             manager;
     private final IDynamicStatusStoreService dss;
     private final IResourcePoolingService    rps;
@@ -36,6 +38,7 @@ public class SemPoolPorts implements IPool {
     private final String runName;
 
     private final List<String> resourceStrings;
+    private final SemPoolReservation reservation;
 
     private final ArrayList<String> rejectedPorts = new ArrayList<>();
     private final ArrayList<String> availablePorts = new ArrayList<>();
@@ -47,30 +50,18 @@ public class SemPoolPorts implements IPool {
         this.rps     = rps;
         this.runName = this.manager.getFramework().getTestRunName();
         this.resourceStrings = ModelPorts.get();
+        this.reservation = new SemPoolReservation(dss, this.runName, "port");
     }
 
 
 
     private void reservePorts() throws SemManagerException {
         while(this.availablePorts.isEmpty()) {
-            List<String> possiblePorts;
             try {
-                possiblePorts = this.rps.obtainResources(this.resourceStrings, this.rejectedPorts, 10, 10, dss, "port");
-
-                // Quickly reserve them to help maintain blocks of ports,  will free them 
-                for(String possiblePort : possiblePorts) {
-                    try {
-                        this.dss.performActions(
-                                new DssAdd("port." + possiblePort, this.runName), 
-                                new DssAdd("run." + this.runName + ".port." + possiblePort, "active"),
-                                new DssResourceUpdate("port." + possiblePort + ".run", this.runName)
-                                );
-                        this.availablePorts.add(possiblePort);
-                        logger.trace("Reserved PORT '" + possiblePort + "' for SEM complex");
-                    } catch (DynamicStatusStoreException e) {
-                        this.rejectedPorts.add(possiblePort);
-                    }
-                }
+                List<String> possiblePorts = this.rps.obtainResources(this.resourceStrings, this.rejectedPorts, RESERVE_MINIMUM, RESERVE_MAXIMUM, dss, "port");
+
+                // Quickly reserve them in one go to help maintain blocks of ports, will free them 
+                this.availablePorts.addAll(this.reservation.reserve(possiblePorts, this.rejectedPorts));
             } catch (InsufficientResourcesAvailableException e) {
                 throw new SemManagerException("Not enough ports for this run", e);
             }
@@ -102,53 +93,40 @@ public class SemPoolPorts implements IPool {
     }
 
     public void generateComplete() {
-        for(String port : this.availablePorts) {
-            freePort(port);
-            logger.trace("Freed PORT '" + port + "' from reservation list");
-        }
-    }
-
-
-
-    private void freePort(String port) {
-        try {
-            deleteDss(this.runName, port, this.dss);
-        } catch(DynamicStatusStoreException e) {
-            logger.debug("Failed to release port '" + port + "', leaving for resource management",e);
-        }
+        this.reservation.release(this.availablePorts);
+        logger.trace("Freed PORTs " + this.availablePorts + " from reservation list");
+        this.availablePorts.clear();
     }
 
 
 
     public void discard() {
-        // Free any ports remaining in available, shouldn't be, but just in case
-
-        for(String port : this.availablePorts) {
-            freePort(port);
-        }
-
-        // Free any used Ports
-
+        // Free any ports remaining in available, shouldn't be, but just in case, and the used Ports
+        //TODO Call commserver to reset the ports on the zos image 
+        ArrayList<String> ports = new ArrayList<>(this.availablePorts);
+        ports.addAll(this.usedPorts);
+        this.reservation.release(ports);
         for(String port : this.usedPorts) {
-            //TODO Call commserver to reset the port on the zos image 
-            freePort(port);
             logger.debug("Discarded PORT '" + port + "'");
-        }       
+        }
     }
 
 
 
     public void setSystem(String sysid) throws SemManagerException {
-        for(String port : usedPorts) {
-            try {
-                this.dss.performActions(
-                        new DssUpdate("port." + port + ".image", sysid)
-                        );
-            } catch(DynamicStatusStoreException e) {
-                throw new SemManagerException("Failed to add port systems in DSS",e);
-            }
+        if (usedPorts.isEmpty()) {
+            return;
         }
 
+        ArrayList<IDssAction> actions = new ArrayList<>();
+        for(String port : usedPorts) {
+            actions.add(new DssUpdate("port." + port + ".image", sysid));
+        }
+        try {
+            this.dss.performActions(actions.toArray(new IDssAction[actions.size()]));
+        } catch(DynamicStatusStoreException e) {
+            throw new SemManagerException("Failed to add port systems in DSS",e);
+        }
     }
 
 
@@ -156,10 +134,6 @@ public class SemPoolPorts implements IPool {
     public static void deleteDss(String runName, String port, IDynamicStatusStoreService dss) throws DynamicStatusStoreException {
         // TODO - Should be calling zoscommserver manager to deactive and reactive the port
         
-        dss.performActions(
-                new DssDelete("port." + port, null), 
-                new DssDelete("port." + port + ".image", null), 
-                new DssDelete("run." + runName + ".port." + port, null),
-                new DssResourceDeletePrefix("port." + port + "."));
+        dss.performActions(SemPoolReservation.releaseActions("port", runName, Collections.singletonList(port)));
     }
 }
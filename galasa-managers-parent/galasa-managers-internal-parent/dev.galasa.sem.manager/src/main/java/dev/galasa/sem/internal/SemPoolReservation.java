@@ -0,0 +1,149 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.sem.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DssResourceDeletePrefix;
+import dev.galasa.framework.spi.DssResourceUpdate;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.sem.SemManagerException;
+
+/**
+ * Reserves and releases the values of a SEM pool in the DSS, a block of values in a single
+ * DSS transaction rather than a transaction for each value
+ */
+public class SemPoolReservation {
+
+    private static final Log logger = LogFactory.getLog(SemPoolReservation.class);
+
+    private static final long BACKOFF_MIN_MILLIS = 100;
+    private static final long BACKOFF_MAX_MILLIS = 2000;
+
+    private final IDynamicStatusStoreService dss;
+    private final String                     runName;
+    private final String                     type;
+
+    private long backoff = BACKOFF_MIN_MILLIS;
+
+    /**
+     * @param type the DSS key prefix of the pool, eg "applid" or "port"
+     */
+    public SemPoolReservation(IDynamicStatusStoreService dss, String runName, String type) {
+        this.dss     = dss;
+        this.runName = runName;
+        this.type    = type;
+    }
+
+    /**
+     * Reserve the candidate values for this run. All of them are claimed in one transaction, only
+     * if that conflicts with another run are they claimed one by one to find those that are taken.
+     * If all of them were taken there is a short, growing, pause before returning so the caller
+     * does not immediately compete for the same values again.
+     *
+     * @param candidates the values obtained from the resource pooling service
+     * @param rejected the values taken by other runs are added to this list
+     * @return the values reserved
+     * @throws SemManagerException if interrupted during the pause
+     */
+    public List<String> reserve(List<String> candidates, List<String> rejected) throws SemManagerException {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            this.dss.performActions(reserveActions(candidates));
+            this.backoff = BACKOFF_MIN_MILLIS;
+            logger.trace("Reserved " + this.type + "s " + candidates + " for SEM complex");
+            return new ArrayList<>(candidates);
+        } catch (DynamicStatusStoreException e) {
+            logger.trace("Reservation of " + this.type + "s " + candidates + " conflicted with another run, reserving individually");
+        }
+
+        ArrayList<String> reserved = new ArrayList<>();
+        for (String candidate : candidates) {
+            try {
+                this.dss.performActions(reserveActions(Collections.singletonList(candidate)));
+                reserved.add(candidate);
+                logger.trace("Reserved " + this.type + " '" + candidate + "' for SEM complex");
+            } catch (DynamicStatusStoreException e) {
+                rejected.add(candidate);
+            }
+        }
+
+        if (!reserved.isEmpty()) {
+            this.backoff = BACKOFF_MIN_MILLIS;
+            return reserved;
+        }
+
+        try {
+            Thread.sleep(this.backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SemManagerException("Interrupted during reservation of SEM " + this.type + "s", e);
+        }
+        this.backoff = Math.min(this.backoff * 2, BACKOFF_MAX_MILLIS);
+        return reserved;
+    }
+
+    /**
+     * Release the values in one transaction, falling back to releasing them one by one if
+     * some have already been released, eg by resource management
+     */
+    public void release(Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.dss.performActions(releaseActions(this.type, this.runName, values));
+            logger.trace("Released " + this.type + "s " + values);
+            return;
+        } catch (DynamicStatusStoreException e) {
+            logger.debug("Bulk release of " + this.type + "s failed, releasing individually", e);
+        }
+
+        for (String value : values) {
+            try {
+                this.dss.performActions(releaseActions(this.type, this.runName, Collections.singletonList(value)));
+            } catch (DynamicStatusStoreException e) {
+                logger.debug("Failed to release " + this.type + " '" + value + "', leaving for resource management", e);
+            }
+        }
+    }
+
+    private IDssAction[] reserveActions(Collection<String> values) {
+        ArrayList<IDssAction> actions = new ArrayList<>();
+        for (String value : values) {
+            actions.add(new DssAdd(this.type + "." + value, this.runName));
+            actions.add(new DssAdd("run." + this.runName + "." + this.type + "." + value, "active"));
+            actions.add(new DssResourceUpdate(this.type + "." + value + ".run", this.runName));
+        }
+        return actions.toArray(new IDssAction[actions.size()]);
+    }
+
+    public static IDssAction[] releaseActions(String type, String runName, Collection<String> values) {
+        ArrayList<IDssAction> actions = new ArrayList<>();
+        for (String value : values) {
+            actions.add(new DssDelete(type + "." + value, null));
+            actions.add(new DssDelete(type + "." + value + ".image", null));
+            actions.add(new DssDelete("run." + runName + "." + type + "." + value, null));
+            actions.add(new DssResourceDeletePrefix(type + "." + value + "."));
+        }
+        return actions.toArray(new IDssAction[actions.size()]);
+    }
+
+}
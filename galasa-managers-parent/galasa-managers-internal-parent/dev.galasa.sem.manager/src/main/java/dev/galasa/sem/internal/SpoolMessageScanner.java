@@ -0,0 +1,73 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.sem.internal;
+
+import java.util.HashSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Looks for a set of message ids in a spool file that is growing, such as the JESMSGLG of a running
+ * region. The scanner keeps the number of the next record to scan, so only the records added since
+ * the last scan need to be retrieved and searched, and the messages found are remembered, so each
+ * poll costs the same however long the job log gets.
+ */
+public class SpoolMessageScanner {
+
+    private final Pattern          pattern;
+    private final HashSet<String>  found = new HashSet<>();
+
+    private int nextRecord;
+
+    public SpoolMessageScanner(String... messageIds) {
+        StringBuilder regex = new StringBuilder();
+        for (String messageId : messageIds) {
+            if (regex.length() > 0) {
+                regex.append("|");
+            }
+            regex.append(Pattern.quote(messageId));
+        }
+        this.pattern = Pattern.compile(regex.toString());
+    }
+
+    /**
+     * @return the number of the first record not yet scanned, from 0
+     */
+    public int getNextRecord() {
+        return this.nextRecord;
+    }
+
+    /**
+     * Scan the records retrieved from {@link #getNextRecord()} onwards
+     *
+     * @param records the records, each ending with a new line, or null if the spool file does not exist yet
+     */
+    public void scan(String records) {
+        if (records == null) {
+            return;
+        }
+
+        Matcher matcher = this.pattern.matcher(records);
+        while (matcher.find()) {
+            this.found.add(matcher.group());
+        }
+
+        // A last record without its new line is retrieved, and scanned, again
+        for (int i = 0; i < records.length(); i++) {
+            if (records.charAt(i) == '\n') {
+                this.nextRecord++;
+            }
+        }
+    }
+
+    /**
+     * @return true if the message id has been found in any scan
+     */
+    public boolean isFound(String messageId) {
+        return this.found.contains(messageId);
+    }
+
+}
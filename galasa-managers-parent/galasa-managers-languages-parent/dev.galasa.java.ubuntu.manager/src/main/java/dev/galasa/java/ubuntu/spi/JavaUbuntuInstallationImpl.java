@@ -5,6 +5,8 @@
  */
 package dev.galasa.java.ubuntu.spi;
 
+import java.io.IOException;
+import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -21,6 +23,8 @@ import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.SetContentType;
 import dev.galasa.framework.spi.ResourceUnavailableException;
 import dev.galasa.ipnetwork.ICommandShell;
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+import dev.galasa.ipnetwork.spi.IBulkFileTransfer;
 import dev.galasa.java.JavaManagerException;
 import dev.galasa.java.JavaType;
 import dev.galasa.java.JavaVersion;
@@ -139,7 +143,7 @@ public class JavaUbuntuInstallationImpl extends JavaInstallationImpl implements
 
 
                 remoteArchive = runHome.resolve(actualFilename);
-                Files.copy(localArchive, remoteArchive);
+                uploadFile(localArchive, remoteArchive);
                 logger.debug("Java archive for tag " + getTag() + " has been transferred to the linux image");
             }
 
@@ -214,7 +218,7 @@ public class JavaUbuntuInstallationImpl extends JavaInstallationImpl implements
                     }
 
                     this.jacocoAgent = runHome.resolve("jacocoagent.jar");
-                    Files.copy(localJacoco, this.jacocoAgent);
+                    uploadFile(localJacoco, this.jacocoAgent);
                     logger.info("Jacoco agent has been copied to " + this.jacocoAgent);
                 }
             }
@@ -223,6 +227,19 @@ public class JavaUbuntuInstallationImpl extends JavaInstallationImpl implements
         }
     }
 
+    /**
+     * Upload a file to the image, using the pipelined bulk transfer of the image
+     * file system if it has one
+     */
+    private void uploadFile(Path localFile, Path remoteFile) throws IOException, IpNetworkManagerException {
+        FileSystem remoteFileSystem = remoteFile.getFileSystem();
+        if (remoteFileSystem instanceof IBulkFileTransfer) {
+            ((IBulkFileTransfer) remoteFileSystem).uploadFile(localFile, remoteFile);
+        } else {
+            Files.copy(localFile, remoteFile);
+        }
+    }
+
     public void discard() {
         // save any jacoco exec files we may have
 
@@ -67,7 +67,6 @@ import dev.galasa.kubernetes.IConfigMap;
 import dev.galasa.kubernetes.IDeployment;
 import dev.galasa.kubernetes.IKubernetesNamespace;
 import dev.galasa.kubernetes.IPersistentVolumeClaim;
-import dev.galasa.kubernetes.IPodLog;
 import dev.galasa.kubernetes.IReplicaSet;
 import dev.galasa.kubernetes.IResource;
 import dev.galasa.kubernetes.IService;
@@ -647,38 +646,10 @@ public class KubernetesEcosystemImpl extends AbstractEcosystemImpl implements IK
 
             IReplicaSet podHolder = (IReplicaSet)k8sResource;
 
-            Instant timeout = Instant.now().plusSeconds(timeoutInSeconds);
-            Instant checkMessage = Instant.now().plusSeconds(30);
-
-            while(timeout.isAfter(Instant.now())) {
-                List<IPodLog> podLogs = podHolder.getPodLogs(container);
-
-                boolean found = true;                
-                for(IPodLog podLog : podLogs) {
-                    String log = podLog.getLog();
-
-                    if (log == null || !log.contains(message)) {
-                        found = false;
-                        break;
-                    }
-                }
-
-                if (found) {
-                    logger.debug("Found message in all the pods");
-                    return;
-                }
-
-                if (checkMessage.isBefore(Instant.now())) {
-                    logger.debug("Still waiting for message '" + message + "'");
-                    checkMessage = Instant.now().plusSeconds(30);
-                }
-
-                Thread.sleep(2000);
-            }
-
-            throw new GalasaEcosystemManagerException("Did not find message in log within timeout");
-        } catch(InterruptedException e) {
-            throw new GalasaEcosystemManagerException("Wait for log message interrupted", e);
+            podHolder.waitForPodLogs(container, message, timeoutInSeconds);
+            logger.debug("Found message in all the pods");
+        } catch(KubernetesManagerException e) {
+            throw new GalasaEcosystemManagerException("Did not find message '" + message + "' in all the pod logs", e);
         } catch(Exception e) {
             throw new GalasaEcosystemManagerException("Problem waiting for log message", e);
         }
@@ -0,0 +1,163 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.internal.ZosManagerImpl.ImageUsage;
+import dev.galasa.zos.internal.properties.ImageMaxSlots;
+
+/**
+ * A snapshot of the slot usage of the images in a cluster, held by the zOS manager of a single run.
+ *
+ * The used slot counts of all the images are obtained with a single DSS prefix read,
+ * rather than one read per image, and are updated locally as this run allocates or frees slots.
+ * The snapshot is not shared with other runs, so it only saves DSS reads when a run selects
+ * several images from the same cluster.
+ * The snapshot is only used to order the candidate images, the actual slot allocation is
+ * still performed with a DSS swap so a stale snapshot cannot over allocate an image.
+ */
+public class ZosImageUsageSnapshot {
+
+    private static final String IMAGE_PREFIX         = "image.";
+    private static final String CURRENT_SLOTS_SUFFIX = ".current.slots";
+
+    //*** How long the snapshot can be reused before it is read from the DSS again
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+
+    private final IDynamicStatusStoreService          dss;
+    private final String                              clusterId;
+    private final List<ZosProvisionedImageImpl>       images;
+    private final HashMap<String, Integer>            usedSlots = new HashMap<>();
+
+    private Instant lastRefresh;
+
+    public ZosImageUsageSnapshot(IDynamicStatusStoreService dss, String clusterId, List<ZosProvisionedImageImpl> images) {
+        this.dss       = dss;
+        this.clusterId = clusterId;
+        this.images    = images;
+    }
+
+    /**
+     * Re-read the used slot counts of all the images with a single DSS prefix read
+     *
+     * @throws ZosManagerException if there is a problem accessing the DSS
+     */
+    public synchronized void refresh() throws ZosManagerException {
+        Map<String, String> props;
+        try {
+            props = dss.getPrefix(IMAGE_PREFIX);
+        } catch (DynamicStatusStoreException e) {
+            throw new ZosManagerException("Problem finding used slots for zOS Images in cluster " + this.clusterId, e);
+        }
+
+        usedSlots.clear();
+        for(Entry<String, String> entry : props.entrySet()) {
+            String key = entry.getKey();
+            if (!key.endsWith(CURRENT_SLOTS_SUFFIX)) {
+                continue;
+            }
+
+            String imageId = key.substring(IMAGE_PREFIX.length(), key.length() - CURRENT_SLOTS_SUFFIX.length());
+            try {
+                usedSlots.put(imageId, Integer.parseInt(entry.getValue()));
+            } catch(NumberFormatException e) {
+                throw new ZosManagerException("Problem finding used slots for zOS Image " + imageId, e);
+            }
+        }
+
+        this.lastRefresh = Instant.now();
+    }
+
+    /**
+     * Refresh the snapshot if it has never been read or is older than the maximum age
+     *
+     * @throws ZosManagerException if there is a problem accessing the DSS
+     */
+    public synchronized void refreshIfStale() throws ZosManagerException {
+        if (this.lastRefresh == null || this.lastRefresh.plus(MAX_AGE).isBefore(Instant.now())) {
+            refresh();
+        }
+    }
+
+    /**
+     * Mark the snapshot as stale so that the next selection reads the DSS again
+     */
+    public synchronized void invalidate() {
+        this.lastRefresh = null;
+    }
+
+    public synchronized int getUsedSlots(String imageId) {
+        Integer slots = usedSlots.get(imageId);
+        if (slots == null) {
+            return 0;
+        }
+        return slots;
+    }
+
+    /**
+     * Optimistically record a slot allocated by this run, saves a DSS read on the next selection by this run
+     *
+     * @param imageId the image the slot was allocated on
+     */
+    public synchronized void slotAllocated(String imageId) {
+        usedSlots.put(imageId, getUsedSlots(imageId) + 1);
+    }
+
+    /**
+     * Optimistically record a slot freed by this run
+     *
+     * @param imageId the image the slot was freed on
+     */
+    public synchronized void slotFreed(String imageId) {
+        int slots = getUsedSlots(imageId) - 1;
+        if (slots < 0) {
+            slots = 0;
+        }
+        usedSlots.put(imageId, slots);
+    }
+
+    /**
+     * @return the images of the cluster, least used first
+     * @throws ZosManagerException if there is a problem obtaining the maximum slots of an image
+     */
+    public synchronized List<ImageUsage> getImagesByUsage() throws ZosManagerException {
+        ArrayList<ImageUsage> imageUsages = new ArrayList<>();
+        for(ZosProvisionedImageImpl image : this.images) {
+            imageUsages.add(new ImageUsage(image, calculateUsage(image.getImageID())));
+        }
+
+        Collections.sort(imageUsages);
+        return imageUsages;
+    }
+
+    public List<ZosProvisionedImageImpl> getImages() {
+        return this.images;
+    }
+
+    public String getClusterId() {
+        return this.clusterId;
+    }
+
+    protected Float calculateUsage(String imageId) throws ZosManagerException {
+        float maxSlots = ImageMaxSlots.get(imageId);
+        if (maxSlots <= 0.0f) {
+            return 1.0f;
+        }
+
+        return getUsedSlots(imageId) / maxSlots;
+    }
+}
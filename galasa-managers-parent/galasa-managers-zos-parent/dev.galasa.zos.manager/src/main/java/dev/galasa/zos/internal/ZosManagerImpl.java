@@ -11,7 +11,6 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -51,6 +50,7 @@ import dev.galasa.zos.ZosIpHost;
 import dev.galasa.zos.ZosIpPort;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.ZosManagerField;
+import dev.galasa.zos.internal.metrics.ZosMetricsRecorder;
 import dev.galasa.zos.internal.properties.BatchExtraBundle;
 import dev.galasa.zos.internal.properties.ClusterIdForTag;
 import dev.galasa.zos.internal.properties.ClusterImages;
@@ -110,8 +110,10 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
     private IDynamicStatusStoreService dss;
     private IIpNetworkManagerSpi ipManager;
     private ZosPoolPorts zosPoolPorts;
+    private final ZosMetricsRecorder metricsRecorder = new ZosMetricsRecorder();
 
-    private final ArrayList<ImageUsage> definedImages = new ArrayList<>();
+    private final ArrayList<ZosProvisionedImageImpl> definedImages = new ArrayList<>();
+    private final HashMap<String, ZosImageUsageSnapshot> clusterUsage = new HashMap<>();
 
     private final HashMap<String, ZosBaseImageImpl> taggedImages = new HashMap<>();
     private final HashMap<String, String> taggedPorts = new HashMap<>();
@@ -262,10 +264,39 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         for(ZosBaseImageImpl image : images.values()) {
             if (image instanceof ZosProvisionedImageImpl) {
                 ((ZosProvisionedImageImpl)image).freeImage();
+
+                ZosImageUsageSnapshot usageSnapshot = clusterUsage.get(image.getClusterID());
+                if (usageSnapshot != null) {
+                    usageSnapshot.slotFreed(image.getImageID());
+                }
             }
         }
     }
 
+    /* (non-Javadoc)
+     * @see dev.galasa.framework.spi.AbstractManager#endOfTestRun()
+     */
+    @Override
+    public void endOfTestRun() {
+        //*** Add the metrics recorded during this run to the totals for the metrics server
+        if (this.dss != null) {
+            this.metricsRecorder.flush(this.dss);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see dev.galasa.framework.spi.AbstractManager#shutdown()
+     */
+    @Override
+    public void shutdown() {
+        //*** The other managers make z/OS requests after the end of the test run, eg in provisionStop and 
+        //*** provisionDiscard, so add those too.  Only the requests recorded since the last flush are written
+        if (this.dss != null) {
+            this.metricsRecorder.flush(this.dss);
+        }
+        super.shutdown();
+    }
+
     //*** We do not allow auto generate of the zos image fields as they need
     //*** to be done first AND the primary image needs to be the first one
     protected IZosImage generateZosImage(Field field) throws ZosManagerException {
@@ -382,22 +413,19 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         }
         clusterId = clusterId.toUpperCase();
 
-        //*** Find a list of images
-        logger.info("Searching for list of images for cluster " + clusterId);
-        for(String definedImage : ClusterImages.get(clusterId)) {
-            ZosProvisionedImageImpl image = new ZosProvisionedImageImpl(this, definedImage, clusterId);
-            definedImages.add(new ImageUsage(image));
-        }
+        ZosImageUsageSnapshot usageSnapshot = getClusterUsage(clusterId);
 
-        Collections.sort(definedImages);
+        //*** One DSS read for the whole cluster rather than one per image
+        usageSnapshot.refreshIfStale();
 
         //*** First attempt to use an image that has not been selected for this test yet
-        for(ImageUsage image : definedImages) {
+        for(ImageUsage image : usageSnapshot.getImagesByUsage()) {
             if (this.images.containsKey(image.image.getImageID())) {
                 continue;
             }
 
             if (image.image.allocateImage()) {
+                usageSnapshot.slotAllocated(image.image.getImageID());
                 logger.info(LOG_ZOS_IMAGE + image.image.getImageID() + LOG_SELECTED_FOR_ZOS_TAG + tag + "' with slot name " + image.image.getSlotName());
                 taggedImages.put(tag, image.image);
                 images.put(image.image.getImageID(), image.image);
@@ -406,12 +434,35 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
             }
         }
 
+        //*** The snapshot did not reflect the real usage, make sure the next selection reads the DSS
+        usageSnapshot.invalidate();
+
         //*** Can do some other stuff in the future to reuse already allocated lpars,  but not for now
         DssUtils.incrementMetric(dss, "metrics.slots.insufficent");
         throw new ZosManagerException("Insufficent capacity for images in cluster " + clusterId);
     }
 
 
+    protected ZosImageUsageSnapshot getClusterUsage(String clusterId) throws ZosManagerException {
+        ZosImageUsageSnapshot usageSnapshot = clusterUsage.get(clusterId);
+        if (usageSnapshot != null) {
+            return usageSnapshot;
+        }
+
+        //*** Find a list of images
+        logger.info("Searching for list of images for cluster " + clusterId);
+        ArrayList<ZosProvisionedImageImpl> clusterImages = new ArrayList<>();
+        for(String definedImage : ClusterImages.get(clusterId)) {
+            ZosProvisionedImageImpl image = new ZosProvisionedImageImpl(this, definedImage, clusterId);
+            clusterImages.add(image);
+            definedImages.add(image);
+        }
+
+        usageSnapshot = new ZosImageUsageSnapshot(this.dss, clusterId, clusterImages);
+        clusterUsage.put(clusterId, usageSnapshot);
+        return usageSnapshot;
+    }
+
     protected IDynamicStatusStoreService getDSS() {
         return this.dss;
     }
@@ -426,8 +477,12 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         private       Float        usage;
 
         public ImageUsage(ZosProvisionedImageImpl image) throws ZosManagerException {
+            this(image, image.getCurrentUsage());
+        }
+
+        public ImageUsage(ZosProvisionedImageImpl image, Float usage) {
             this.image = image;
-            usage = image.getCurrentUsage();
+            this.usage = usage;
         }
 
         @Override
@@ -495,16 +550,20 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         
         IZosImage zosImage = this.images.get(imageId);
         if (zosImage == null) {
-            for(ImageUsage imageUsage : definedImages) {
-                if (this.images.containsKey(imageUsage.image.getImageID()) || !imageUsage.image.getImageID().equals(imageId)) {
+            for(ZosProvisionedImageImpl definedImage : definedImages) {
+                if (this.images.containsKey(definedImage.getImageID()) || !definedImage.getImageID().equals(imageId)) {
                     continue;
                 }
     
-                if (imageUsage.image.allocateImage()) {
-                    logger.info(LOG_ZOS_IMAGE + imageUsage.image.getImageID() + " selected with slot name " + imageUsage.image.getSlotName());
-                    images.put(imageUsage.image.getImageID(), imageUsage.image);
+                if (definedImage.allocateImage()) {
+                    ZosImageUsageSnapshot usageSnapshot = clusterUsage.get(definedImage.getClusterID());
+                    if (usageSnapshot != null) {
+                        usageSnapshot.slotAllocated(definedImage.getImageID());
+                    }
+                    logger.info(LOG_ZOS_IMAGE + definedImage.getImageID() + " selected with slot name " + definedImage.getSlotName());
+                    images.put(definedImage.getImageID(), definedImage);
     
-                    return imageUsage.image;
+                    return definedImage;
                 }
             }
         } else {
@@ -697,6 +756,11 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         return this.zosConnectInstallDir;
     }
     
+    @Override
+    public ZosMetricsRecorder getMetricsRecorder() {
+        return this.metricsRecorder;
+    }
+    
     public ZosPoolPorts getZosPortController() {
     	return this.zosPoolPorts;
     }
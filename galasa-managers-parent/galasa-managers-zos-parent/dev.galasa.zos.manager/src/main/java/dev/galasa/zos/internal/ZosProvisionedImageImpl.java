@@ -58,6 +58,16 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
     }
 
     public boolean allocateImage() throws ZosManagerException {
+        long start = System.currentTimeMillis();
+        boolean allocated = allocateSlot();
+        //*** Only successful allocations are recorded, a full image would skew the latency
+        if (allocated) {
+            getZosManager().getMetricsRecorder().recordSlotAllocation(System.currentTimeMillis() - start);
+        }
+        return allocated;
+    }
+
+    private boolean allocateSlot() throws ZosManagerException {
         String runName = getZosManager().getFramework().getTestRunName();
 
         int maxSlots = ImageMaxSlots.get(getImageID());
@@ -76,8 +86,9 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
             usedSlots++;        
             if (!dss.putSwap("image." + getImageID() + ".current.slots", currentSlots, Integer.toString(usedSlots))) {
                 //*** The value of the current slots changed whilst this was running,  so we need to try again with the updated value
+                getZosManager().getMetricsRecorder().recordSlotConflict();
                 Thread.sleep(200); //*** To avoid race conditions
-                return allocateImage();
+                return allocateSlot();
             }
 
             //*** Now generate a slot name so that we can track who is using all the slots
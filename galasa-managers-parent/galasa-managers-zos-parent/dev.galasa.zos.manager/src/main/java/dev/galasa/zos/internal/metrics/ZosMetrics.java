@@ -5,6 +5,9 @@
  */
 package dev.galasa.zos.internal.metrics;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
@@ -12,21 +15,30 @@ import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.annotations.Component;
 
 import dev.galasa.framework.spi.AbstractManager;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IMetricsProvider;
 import dev.galasa.framework.spi.IMetricsServer;
 import dev.galasa.framework.spi.MetricsServerException;
+import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.internal.metrics.ZosMetricsCollector.ImageSlots;
+import dev.galasa.zos.internal.properties.ImageMaxSlots;
 import io.prometheus.client.Gauge;
 
 @Component(service= {IMetricsProvider.class})
 public class ZosMetrics implements IMetricsProvider, Runnable {
+    private static final String IMAGE_PREFIX         = "image.";
+    private static final String CURRENT_SLOTS_SUFFIX = ".current.slots";
+
     private final Log                          logger = LogFactory.getLog(getClass());    
     private IFramework                         framework;
     private IMetricsServer                     metricsServer;
     private IDynamicStatusStoreService         dss;
+    private IConfigurationPropertyStoreService cps;
 
     private Gauge                              noSlots;
+    private ZosMetricsCollector                collector;
 
     @Override
     public boolean initialise(IFramework framework, IMetricsServer metricsServer) throws MetricsServerException {
@@ -34,6 +46,7 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
         this.metricsServer = metricsServer;
         try {
             this.dss = this.framework.getDynamicStatusStoreService("zos");
+            this.cps = this.framework.getConfigurationPropertyService("zos");
         } catch (Exception e) {
             throw new MetricsServerException("Unable to initialise zOS Metrics", e);
         }
@@ -43,6 +56,8 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
                 .help("How many times insufficent slots has occurred")
                 .register();
 
+        this.collector = new ZosMetricsCollector().register();
+
         return true;
     }
 
@@ -64,14 +79,18 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
         logger.info("zOS Poll");;
 
         try {
+            //*** All the run recorded metrics in one read
+            Map<String, String> metrics = dss.getPrefix(ZosMetricsRecorder.METRICS_PREFIX);
+
             //*** Insufficent Slots
-            String sNoSlots = AbstractManager.nulled(dss.get("metrics.slots.insufficent"));
+            String sNoSlots = AbstractManager.nulled(metrics.get("metrics.slots.insufficent"));
             if (sNoSlots == null) {
                 this.noSlots.set(0.0);
             } else {
                 this.noSlots.set(Double.parseDouble(sNoSlots));
             }
 
+            this.collector.update(metrics, getImageSlots());
 
             this.metricsServer.metricsPollSuccessful();
         } catch(Exception e) {
@@ -80,5 +99,25 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
 
     }
 
+    private Map<String, ImageSlots> getImageSlots() throws Exception {
+        HashMap<String, ImageSlots> imageSlots = new HashMap<>();
+        for(Entry<String, String> entry : dss.getPrefix(IMAGE_PREFIX).entrySet()) {
+            String key = entry.getKey();
+            if (!key.endsWith(CURRENT_SLOTS_SUFFIX)) {
+                continue;
+            }
+
+            String imageId = key.substring(IMAGE_PREFIX.length(), key.length() - CURRENT_SLOTS_SUFFIX.length());
+            int maxSlots;
+            try {
+                maxSlots = ImageMaxSlots.get(this.cps, imageId);
+            } catch(ZosManagerException | NumberFormatException e) {
+                logger.warn("Unable to determine the max slots for zOS Image " + imageId, e);
+                continue;
+            }
+            imageSlots.put(imageId, new ImageSlots((int) ZosMetricsRecorder.parse(entry.getValue()), maxSlots));
+        }
+        return imageSlots;
+    }
 
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.prometheus.client.Collector;
+
+/**
+ * Publishes the zOS metrics most recently polled from the DSS by {@link ZosMetrics}.
+ *
+ * The totals written by {@link ZosMetricsRecorder} are converted to Prometheus
+ * histograms and counters, the image slot counts to gauges.
+ */
+public class ZosMetricsCollector extends Collector {
+
+    private static final String SLOT_ALLOCATION_PREFIX = ZosMetricsRecorder.METRICS_PREFIX + ZosMetricsRecorder.SLOT_ALLOCATION + ".";
+    private static final String SLOT_CONFLICTS_KEY     = ZosMetricsRecorder.METRICS_PREFIX + ZosMetricsRecorder.SLOT_CONFLICTS;
+
+    private static final Pattern apiRequestPattern = Pattern.compile("^metrics\\.api\\.([^.]+)\\.([^.]+)\\.([^.]+)\\.(count|sum\\.ms|errors|le\\.\\d+)$");
+    private static final Pattern apiCounterPattern = Pattern.compile("^metrics\\.api\\.([^.]+)\\.(retries|failovers)$");
+
+    private static final List<String> IMAGE_LABELS = Collections.singletonList("image");
+    private static final List<String> API_LABELS   = Collections.singletonList("api");
+    private static final List<String> REQUEST_LABELS = Arrays.asList("api", "request_type", "endpoint");
+
+    private volatile Map<String, String> metrics = new HashMap<>();
+    private volatile Map<String, ImageSlots> imageSlots = new HashMap<>();
+
+    public static class ImageSlots {
+        private final int usedSlots;
+        private final int maxSlots;
+
+        public ImageSlots(int usedSlots, int maxSlots) {
+            this.usedSlots = usedSlots;
+            this.maxSlots  = maxSlots;
+        }
+    }
+
+    /**
+     * Replace the published values with a new poll of the DSS
+     * @param metrics the {@code metrics.} properties of the zOS DSS
+     * @param imageSlots the used and maximum slots of each image
+     */
+    public void update(Map<String, String> metrics, Map<String, ImageSlots> imageSlots) {
+        this.metrics    = metrics;
+        this.imageSlots = imageSlots;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        Map<String, String> currentMetrics = this.metrics;
+        Map<String, ImageSlots> currentImageSlots = this.imageSlots;
+
+        ArrayList<MetricFamilySamples> families = new ArrayList<>();
+        collectImageSlots(families, currentImageSlots);
+        collectSlotAllocation(families, currentMetrics);
+        collectApiRequests(families, currentMetrics);
+        return families;
+    }
+
+    private void collectImageSlots(List<MetricFamilySamples> families, Map<String, ImageSlots> currentImageSlots) {
+        ArrayList<MetricFamilySamples.Sample> used = new ArrayList<>();
+        ArrayList<MetricFamilySamples.Sample> max = new ArrayList<>();
+        ArrayList<MetricFamilySamples.Sample> utilization = new ArrayList<>();
+        for (Entry<String, ImageSlots> entry : new TreeMap<>(currentImageSlots).entrySet()) {
+            List<String> labelValues = Collections.singletonList(entry.getKey());
+            ImageSlots slots = entry.getValue();
+            used.add(new MetricFamilySamples.Sample("galasa_zos_image_slots_used", IMAGE_LABELS, labelValues, slots.usedSlots));
+            max.add(new MetricFamilySamples.Sample("galasa_zos_image_slots_max", IMAGE_LABELS, labelValues, slots.maxSlots));
+            double ratio = slots.maxSlots <= 0 ? 1.0 : ((double) slots.usedSlots / slots.maxSlots);
+            utilization.add(new MetricFamilySamples.Sample("galasa_zos_image_slot_utilization", IMAGE_LABELS, labelValues, ratio));
+        }
+        families.add(new MetricFamilySamples("galasa_zos_image_slots_used", Type.GAUGE, "The number of slots in use on a zOS Image", used));
+        families.add(new MetricFamilySamples("galasa_zos_image_slots_max", Type.GAUGE, "The maximum number of slots on a zOS Image", max));
+        families.add(new MetricFamilySamples("galasa_zos_image_slot_utilization", Type.GAUGE, "The ratio of used to maximum slots on a zOS Image", utilization));
+    }
+
+    private void collectSlotAllocation(List<MetricFamilySamples> families, Map<String, String> currentMetrics) {
+        Histogram allocation = new Histogram();
+        for (Entry<String, String> entry : currentMetrics.entrySet()) {
+            if (entry.getKey().startsWith(SLOT_ALLOCATION_PREFIX)) {
+                allocation.add(entry.getKey().substring(SLOT_ALLOCATION_PREFIX.length()), entry.getValue());
+            }
+        }
+
+        ArrayList<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        allocation.addSamples(samples, "galasa_zos_slot_allocation_seconds", Collections.emptyList(), Collections.emptyList());
+        families.add(new MetricFamilySamples("galasa_zos_slot_allocation_seconds", Type.HISTOGRAM, "The time taken to allocate a slot on a zOS Image", samples));
+
+        double conflicts = ZosMetricsRecorder.parse(currentMetrics.get(SLOT_CONFLICTS_KEY));
+        families.add(new MetricFamilySamples("galasa_zos_slot_allocation_conflicts_total", Type.COUNTER,
+                "How many times a slot allocation conflicted with another run",
+                Collections.singletonList(new MetricFamilySamples.Sample("galasa_zos_slot_allocation_conflicts_total", Collections.emptyList(), Collections.emptyList(), conflicts))));
+    }
+
+    private void collectApiRequests(List<MetricFamilySamples> families, Map<String, String> currentMetrics) {
+        TreeMap<List<String>, Histogram> requests = new TreeMap<>(ZosMetricsCollector::compareLabels);
+        TreeMap<List<String>, Long> errors = new TreeMap<>(ZosMetricsCollector::compareLabels);
+        TreeMap<List<String>, Long> retries = new TreeMap<>(ZosMetricsCollector::compareLabels);
+        TreeMap<List<String>, Long> failovers = new TreeMap<>(ZosMetricsCollector::compareLabels);
+
+        for (Entry<String, String> entry : currentMetrics.entrySet()) {
+            Matcher matcher = apiRequestPattern.matcher(entry.getKey());
+            if (matcher.matches()) {
+                List<String> labelValues = Arrays.asList(matcher.group(1), matcher.group(2), matcher.group(3));
+                if (ZosMetricsRecorder.ERRORS.equals(matcher.group(4))) {
+                    errors.merge(labelValues, ZosMetricsRecorder.parse(entry.getValue()), Long::sum);
+                } else {
+                    requests.computeIfAbsent(labelValues, k -> new Histogram()).add(matcher.group(4), entry.getValue());
+                }
+                continue;
+            }
+
+            matcher = apiCounterPattern.matcher(entry.getKey());
+            if (matcher.matches()) {
+                List<String> labelValues = Collections.singletonList(matcher.group(1));
+                if (ZosMetricsRecorder.RETRIES.equals(matcher.group(2))) {
+                    retries.merge(labelValues, ZosMetricsRecorder.parse(entry.getValue()), Long::sum);
+                } else {
+                    failovers.merge(labelValues, ZosMetricsRecorder.parse(entry.getValue()), Long::sum);
+                }
+            }
+        }
+
+        ArrayList<MetricFamilySamples.Sample> requestSamples = new ArrayList<>();
+        for (Entry<List<String>, Histogram> entry : requests.entrySet()) {
+            entry.getValue().addSamples(requestSamples, "galasa_zos_api_request_seconds", REQUEST_LABELS, entry.getKey());
+            errors.putIfAbsent(entry.getKey(), 0L);
+        }
+        families.add(new MetricFamilySamples("galasa_zos_api_request_seconds", Type.HISTOGRAM, "The latency of z/OSMF and RSE API requests by endpoint", requestSamples));
+        families.add(counter("galasa_zos_api_request_errors_total", "How many z/OSMF and RSE API requests failed, by endpoint", REQUEST_LABELS, errors));
+        families.add(counter("galasa_zos_api_retries_total", "How many z/OSMF and RSE API requests were retried", API_LABELS, retries));
+        families.add(counter("galasa_zos_api_failovers_total", "How many times an alternate z/OSMF or RSE API server was selected", API_LABELS, failovers));
+    }
+
+    private MetricFamilySamples counter(String name, String help, List<String> labelNames, Map<List<String>, Long> values) {
+        ArrayList<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        for (Entry<List<String>, Long> entry : values.entrySet()) {
+            samples.add(new MetricFamilySamples.Sample(name, labelNames, entry.getKey(), entry.getValue()));
+        }
+        return new MetricFamilySamples(name, Type.COUNTER, help, samples);
+    }
+
+    private static int compareLabels(List<String> a, List<String> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int result = a.get(i).compareTo(b.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    /**
+     * The DSS totals of one histogram, the buckets are held non-cumulative
+     */
+    private static class Histogram {
+        private final long[] buckets = new long[ZosMetricsRecorder.BUCKETS_MS.length];
+        private long count;
+        private long sumMillis;
+
+        private void add(String stat, String value) {
+            long parsed = ZosMetricsRecorder.parse(value);
+            if (ZosMetricsRecorder.COUNT.equals(stat)) {
+                count = parsed;
+            } else if (ZosMetricsRecorder.SUM.equals(stat)) {
+                sumMillis = parsed;
+            } else if (stat.startsWith(ZosMetricsRecorder.BUCKET)) {
+                long bound = ZosMetricsRecorder.parse(stat.substring(ZosMetricsRecorder.BUCKET.length()));
+                for (int i = 0; i < ZosMetricsRecorder.BUCKETS_MS.length; i++) {
+                    if (ZosMetricsRecorder.BUCKETS_MS[i] == bound) {
+                        buckets[i] = parsed;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void addSamples(List<MetricFamilySamples.Sample> samples, String name, List<String> labelNames, List<String> labelValues) {
+            ArrayList<String> bucketLabelNames = new ArrayList<>(labelNames);
+            bucketLabelNames.add("le");
+
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                ArrayList<String> bucketLabelValues = new ArrayList<>(labelValues);
+                bucketLabelValues.add(doubleToGoString(ZosMetricsRecorder.BUCKETS_MS[i] / MILLISECONDS_PER_SECOND));
+                samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames, bucketLabelValues, cumulative));
+            }
+            ArrayList<String> infLabelValues = new ArrayList<>(labelValues);
+            infLabelValues.add("+Inf");
+            samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames, infLabelValues, count));
+            samples.add(new MetricFamilySamples.Sample(name + "_count", labelNames, labelValues, count));
+            samples.add(new MetricFamilySamples.Sample(name + "_sum", labelNames, labelValues, sumMillis / MILLISECONDS_PER_SECOND));
+        }
+    }
+}
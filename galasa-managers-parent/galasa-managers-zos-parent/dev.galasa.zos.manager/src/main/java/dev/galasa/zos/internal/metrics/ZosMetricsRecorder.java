@@ -0,0 +1,171 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssSwap;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.spi.IZosMetricsRecorder;
+
+/**
+ * Accumulates the zOS metrics of a run in memory and adds them to the totals held in the DSS
+ * in a single transaction at the end of the run, so recording an observation never costs a DSS
+ * round trip. The totals are published by {@link ZosMetrics}.
+ */
+public class ZosMetricsRecorder implements IZosMetricsRecorder {
+
+    private static final Log logger = LogFactory.getLog(ZosMetricsRecorder.class);
+
+    protected static final String METRICS_PREFIX   = "metrics.";
+    protected static final String SLOT_ALLOCATION  = "slots.allocation";
+    protected static final String SLOT_CONFLICTS   = "slots.conflicts";
+    protected static final String API_PREFIX       = "api.";
+    protected static final String RETRIES          = "retries";
+    protected static final String FAILOVERS        = "failovers";
+    protected static final String COUNT            = "count";
+    protected static final String SUM              = "sum.ms";
+    protected static final String ERRORS           = "errors";
+    protected static final String BUCKET           = "le.";
+
+    //*** Upper bounds of the latency histogram buckets in milliseconds
+    protected static final long[] BUCKETS_MS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    private static final int MAX_FLUSH_ATTEMPTS = 10;
+
+    private final HashMap<String, Long> deltas = new HashMap<>();
+
+    /**
+     * Record the time taken to successfully allocate a slot on a zOS Image, including any retries
+     * @param elapsedMillis the elapsed time
+     */
+    public void recordSlotAllocation(long elapsedMillis) {
+        observe(SLOT_ALLOCATION, elapsedMillis);
+    }
+
+    /**
+     * Record a conflicting update of the current slots of a zOS Image
+     */
+    public void recordSlotConflict() {
+        add(SLOT_CONFLICTS, 1);
+    }
+
+    @Override
+    public void recordApiRequest(String api, String requestType, String endpoint, long elapsedMillis, boolean failed) {
+        String base = API_PREFIX + sanitise(api) + "." + sanitise(requestType) + "." + sanitise(endpoint);
+        observe(base, elapsedMillis);
+        if (failed) {
+            add(base + "." + ERRORS, 1);
+        }
+    }
+
+    @Override
+    public void recordApiRetry(String api) {
+        add(API_PREFIX + sanitise(api) + "." + RETRIES, 1);
+    }
+
+    @Override
+    public void recordApiFailover(String api) {
+        add(API_PREFIX + sanitise(api) + "." + FAILOVERS, 1);
+    }
+
+    /**
+     * Add the metrics recorded since the last flush to the totals in the DSS
+     * @param dss the zOS DSS
+     */
+    public void flush(IDynamicStatusStoreService dss) {
+        HashMap<String, Long> pending;
+        synchronized (this.deltas) {
+            if (this.deltas.isEmpty()) {
+                return;
+            }
+            pending = new HashMap<>(this.deltas);
+            this.deltas.clear();
+        }
+
+        for (int attempt = 0; attempt < MAX_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                Map<String, String> current = dss.getPrefix(METRICS_PREFIX);
+
+                ArrayList<IDssAction> actions = new ArrayList<>();
+                for (Entry<String, Long> entry : pending.entrySet()) {
+                    String key = METRICS_PREFIX + entry.getKey();
+                    String oldValue = current.get(key);
+                    if (oldValue == null) {
+                        actions.add(new DssAdd(key, Long.toString(entry.getValue())));
+                    } else {
+                        actions.add(new DssSwap(key, oldValue, Long.toString(parse(oldValue) + entry.getValue())));
+                    }
+                }
+
+                dss.performActions(actions.toArray(new IDssAction[actions.size()]));
+                return;
+            } catch (DynamicStatusStoreMatchException e) {
+                //*** Another run updated the totals whilst this was running, try again with the updated values
+                try {
+                    Thread.sleep(100 + (attempt * 100));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } catch (Exception e) {
+                logger.warn("Unable to record zOS metrics in the DSS", e);
+                return;
+            }
+        }
+        logger.warn("Unable to record zOS metrics in the DSS, too many conflicting updates");
+    }
+
+    private void observe(String base, long elapsedMillis) {
+        add(base + "." + COUNT, 1);
+        add(base + "." + SUM, elapsedMillis);
+        for (long bucket : BUCKETS_MS) {
+            if (elapsedMillis <= bucket) {
+                add(base + "." + BUCKET + bucket, 1);
+                break;
+            }
+        }
+    }
+
+    private void add(String key, long value) {
+        synchronized (this.deltas) {
+            this.deltas.merge(key, value, Long::sum);
+        }
+    }
+
+    protected Map<String, Long> getPending() {
+        synchronized (this.deltas) {
+            return new HashMap<>(this.deltas);
+        }
+    }
+
+    protected static long parse(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * DSS keys are dot separated, so dots cannot appear in a key component
+     */
+    protected static String sanitise(String value) {
+        if (value == null || value.isEmpty()) {
+            return "unknown";
+        }
+        return value.replace('.', '_');
+    }
+}
@@ -221,4 +221,11 @@ public interface IZosManagerSpi extends IZosManager {
 	 * @return Map of tags to ports
 	 */
 	HashMap<String, String> getTaggedPorts();
+
+	/**
+	 * Returns the recorder for z/OS resource metrics of this run, such as z/OSMF and RSE API request latency
+	 * @return the metrics recorder, never null
+	 */
+	@NotNull
+	IZosMetricsRecorder getMetricsRecorder();
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.spi;
+
+/**
+ * Records z/OS resource metrics for the current run.
+ *
+ * Observations are accumulated in memory and written to the zOS DSS at the end of the run,
+ * where they are picked up by the zOS metrics provider of the metrics server.
+ */
+public interface IZosMetricsRecorder {
+
+    /**
+     * Record a REST API request to a z/OS server
+     * @param api the API, e.g. {@code zosmf} or {@code rseapi}
+     * @param requestType the request type, e.g. {@code GET}
+     * @param endpoint the endpoint of the request, i.e. the request path without variable content such as data set names
+     * @param elapsedMillis the elapsed time of the request
+     * @param failed true if the request failed or returned an unexpected status code
+     */
+    void recordApiRequest(String api, String requestType, String endpoint, long elapsedMillis, boolean failed);
+
+    /**
+     * Record a retry of a REST API request
+     * @param api the API, e.g. {@code zosmf} or {@code rseapi}
+     */
+    void recordApiRetry(String api);
+
+    /**
+     * Record a switch to an alternate server for a REST API
+     * @param api the API, e.g. {@code zosmf} or {@code rseapi}
+     */
+    void recordApiFailover(String api);
+
+    /**
+     * Reduce a request path to its endpoint, e.g. with 3 segments {@code /zosmf/restjobs/jobs/JOBNAME/JOBID} becomes
+     * {@code /zosmf/restjobs/jobs}, so metrics are not recorded per data set, file or job
+     * @param path the request path
+     * @param segments the number of leading path segments that identify the endpoint
+     * @return the endpoint
+     */
+    static String endpoint(String path, int segments) {
+        if (path == null) {
+            return "";
+        }
+        int queryIndex = path.indexOf('?');
+        if (queryIndex >= 0) {
+            path = path.substring(0, queryIndex);
+        }
+        StringBuilder endpoint = new StringBuilder();
+        int count = 0;
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (count++ == segments) {
+                break;
+            }
+            endpoint.append("/");
+            endpoint.append(segment);
+        }
+        return endpoint.toString();
+    }
+}
@@ -155,6 +155,34 @@ public interface IZosBatchJob {
      */
     public IZosBatchJobOutputSpoolFile getSpoolFile(String ddname) throws ZosBatchException;
     
+    /**
+     * Retrieve the records of a spool file from the batch job given the ddname, starting at a record number. 
+     * Used to read only the records added to the spool file of a running job since it was last read.<p>
+     * <b>NOTE:</b> Uses the first matching instance in the list, as {@link #getSpoolFile(String)}. The default 
+     * implementation retrieves the whole spool file and returns the requested records from it.
+     * 
+     * @param ddname of the spool file
+     * @param firstRecord the number of the first record to return, the first record of the spool file being 0
+     * @return the records, each ending with a new line, or null if there is no spool file with the specified ddname
+     * @throws ZosBatchException
+     */
+    public default String retrieveSpoolFileRecords(String ddname, int firstRecord) throws ZosBatchException {
+        IZosBatchJobOutputSpoolFile spoolFile = getSpoolFile(ddname);
+        if (spoolFile == null || spoolFile.getRecords() == null) {
+            return null;
+        }
+        String records = spoolFile.getRecords();
+        int start = 0;
+        for (int i = 0; i < firstRecord; i++) {
+            int end = records.indexOf('\n', start);
+            if (end < 0) {
+                return "";
+            }
+            start = end + 1;
+        }
+        return records.substring(start);
+    }
+    
     /**
      * Cancel the batch job
      * 
@@ -6,6 +6,7 @@
 package dev.galasa.zosfile;
 
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.SortedMap;
 
@@ -138,6 +139,30 @@ public interface IZosUNIXFile {
      */
     public String retrieveAsText() throws ZosUNIXFileException;
 
+    /**
+     * Retrieve lines of the content of the zOS UNIX file from the zOS image in Text mode, eg the lines 
+     * appended to a log since it was last retrieved. The file is not checked for existence first.
+     * <p>The default implementation retrieves the whole file and returns the requested lines
+     * @param firstLine the number of lines to skip
+     * @param lines the maximum number of lines to retrieve
+     * @return the lines, with their line ends
+     * @throws ZosUNIXFileException
+     */
+    public default String retrieveAsText(long firstLine, int lines) throws ZosUNIXFileException {
+        String content = retrieveAsText();
+        int from = 0;
+        for (long line = 0; line < firstLine && from < content.length(); line++) {
+            int end = content.indexOf('\n', from);
+            from = end < 0 ? content.length() : end + 1;
+        }
+        int to = from;
+        for (int line = 0; line < lines && to < content.length(); line++) {
+            int end = content.indexOf('\n', to);
+            to = end < 0 ? content.length() : end + 1;
+        }
+        return content.substring(from, to);
+    }
+
     /**
      * Retrieve content of the zOS UNIX file from the zOS image in Binary mode
      * <p>See {@link #setDataType(DatasetDataType)}
@@ -146,6 +171,21 @@ public interface IZosUNIXFile {
      */
     public byte[] retrieveAsBinary() throws ZosUNIXFileException;
 
+    /**
+     * Retrieve part of the content of the zOS UNIX file from the zOS image in Binary mode, eg the output 
+     * appended to a log since it was last retrieved. The file is not checked for existence first.
+     * <p>The default implementation retrieves the whole file and returns the content from the offset
+     * @param offset the offset in bytes of the first byte to retrieve
+     * @param length the number of bytes to retrieve
+     * @return the content, shorter than the length if the file ends first
+     * @throws ZosUNIXFileException
+     */
+    public default byte[] retrieveAsBinary(long offset, int length) throws ZosUNIXFileException {
+        byte[] content = retrieveAsBinary();
+        int from = (int) Math.min(offset, content.length);
+        return Arrays.copyOfRange(content, from, (int) Math.min((long) from + length, content.length));
+    }
+
     /**
      * Recursively store the content of the zOS UNIX file or directory to the Results Archive Store
      * @param rasPath path in Results Archive Store
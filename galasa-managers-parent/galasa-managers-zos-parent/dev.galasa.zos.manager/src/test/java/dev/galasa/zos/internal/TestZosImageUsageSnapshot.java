@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.internal.ZosManagerImpl.ImageUsage;
+import dev.galasa.zos.internal.properties.ZosPropertiesSingleton;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestZosImageUsageSnapshot {
+
+    @Mock
+    private IDynamicStatusStoreService dssMock;
+
+    @Mock
+    private IConfigurationPropertyStoreService cpsMock;
+
+    @Mock
+    private ZosProvisionedImageImpl image1Mock;
+
+    @Mock
+    private ZosProvisionedImageImpl image2Mock;
+
+    private ZosPropertiesSingleton singletonInstance;
+
+    private ZosImageUsageSnapshot snapshot;
+
+    @Before
+    public void setup() throws ZosManagerException {
+        singletonInstance = new ZosPropertiesSingleton();
+        singletonInstance.activate();
+        ZosPropertiesSingleton.setCps(cpsMock);
+
+        Mockito.when(image1Mock.getImageID()).thenReturn("IMAGE1");
+        Mockito.when(image2Mock.getImageID()).thenReturn("IMAGE2");
+
+        List<ZosProvisionedImageImpl> images = Arrays.asList(image1Mock, image2Mock);
+        snapshot = new ZosImageUsageSnapshot(dssMock, "CLUSTER", images);
+    }
+
+    @After
+    public void tearDown() {
+        singletonInstance.deacivate();
+    }
+
+    @Test
+    public void testRefreshReadsAllImagesWithOnePrefixRead() throws Exception {
+        HashMap<String, String> props = new HashMap<>();
+        props.put("image.IMAGE1.current.slots", "2");
+        props.put("image.IMAGE1.slot.SLOT_RUN1", "RUN1");
+        props.put("image.IMAGE2.current.slots", "1");
+        Mockito.when(dssMock.getPrefix("image.")).thenReturn(props);
+
+        snapshot.refreshIfStale();
+        snapshot.refreshIfStale();
+
+        Mockito.verify(dssMock, Mockito.times(1)).getPrefix("image.");
+        Mockito.verify(dssMock, Mockito.never()).get(Mockito.anyString());
+        assertThat(snapshot.getUsedSlots("IMAGE1")).isEqualTo(2);
+        assertThat(snapshot.getUsedSlots("IMAGE2")).isEqualTo(1);
+
+        List<ImageUsage> usages = snapshot.getImagesByUsage();
+        assertThat(usages).extracting(ImageUsage::toString).containsExactly("IMAGE2", "IMAGE1");
+    }
+
+    @Test
+    public void testLocalAllocationUpdatesOrderWithoutDssRead() throws Exception {
+        HashMap<String, String> props = new HashMap<>();
+        props.put("image.IMAGE2.current.slots", "1");
+        Mockito.when(dssMock.getPrefix("image.")).thenReturn(props);
+
+        snapshot.refreshIfStale();
+        snapshot.slotAllocated("IMAGE1");
+        snapshot.slotAllocated("IMAGE1");
+
+        List<ImageUsage> usages = snapshot.getImagesByUsage();
+        assertThat(usages).extracting(ImageUsage::toString).containsExactly("IMAGE2", "IMAGE1");
+
+        snapshot.slotFreed("IMAGE2");
+        snapshot.slotFreed("IMAGE2");
+        assertThat(snapshot.getUsedSlots("IMAGE2")).isZero();
+        Mockito.verify(dssMock, Mockito.times(1)).getPrefix("image.");
+    }
+
+    @Test
+    public void testInvalidateForcesRefresh() throws Exception {
+        Mockito.when(dssMock.getPrefix("image.")).thenReturn(new HashMap<>());
+
+        snapshot.refreshIfStale();
+        snapshot.invalidate();
+        snapshot.refreshIfStale();
+
+        Mockito.verify(dssMock, Mockito.times(2)).getPrefix("image.");
+    }
+
+    @Test
+    public void testRefreshDssException() throws Exception {
+        Mockito.when(dssMock.getPrefix("image.")).thenThrow(new DynamicStatusStoreException());
+
+        assertThatThrownBy(() -> snapshot.refresh())
+            .isInstanceOf(ZosManagerException.class)
+            .hasMessage("Problem finding used slots for zOS Images in cluster CLUSTER");
+    }
+}
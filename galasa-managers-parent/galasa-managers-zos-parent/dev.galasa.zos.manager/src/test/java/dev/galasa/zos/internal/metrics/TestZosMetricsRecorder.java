@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssSwap;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.internal.metrics.ZosMetricsCollector.ImageSlots;
+import dev.galasa.zos.spi.IZosMetricsRecorder;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestZosMetricsRecorder {
+
+    @Mock
+    private IDynamicStatusStoreService dssMock;
+
+    @Test
+    public void testApiRequestsAreAccumulatedPerEndpoint() {
+        ZosMetricsRecorder recorder = new ZosMetricsRecorder();
+        recorder.recordApiRequest("zosmf", "GET", "/zosmf/restjobs/jobs", 20, false);
+        recorder.recordApiRequest("zosmf", "GET", "/zosmf/restjobs/jobs", 300, true);
+        recorder.recordApiRetry("zosmf");
+
+        Map<String, Long> pending = recorder.getPending();
+        assertThat(pending)
+            .containsEntry("api.zosmf.GET./zosmf/restjobs/jobs.count", 2L)
+            .containsEntry("api.zosmf.GET./zosmf/restjobs/jobs.sum.ms", 320L)
+            .containsEntry("api.zosmf.GET./zosmf/restjobs/jobs.le.25", 1L)
+            .containsEntry("api.zosmf.GET./zosmf/restjobs/jobs.le.500", 1L)
+            .containsEntry("api.zosmf.GET./zosmf/restjobs/jobs.errors", 1L)
+            .containsEntry("api.zosmf.retries", 1L);
+    }
+
+    @Test
+    public void testEndpointRemovesVariableSegmentsAndQuery() {
+        assertThat(IZosMetricsRecorder.endpoint("/zosmf/restjobs/jobs/JOBNAME/JOB12345?step-data=Y", 3)).isEqualTo("/zosmf/restjobs/jobs");
+        assertThat(IZosMetricsRecorder.endpoint("/rseapi/api/v1/datasets/HLQ.DATA/content", 4)).isEqualTo("/rseapi/api/v1/datasets");
+        assertThat(IZosMetricsRecorder.endpoint("/zosmf/info", 3)).isEqualTo("/zosmf/info");
+        assertThat(IZosMetricsRecorder.endpoint(null, 3)).isEmpty();
+    }
+
+    @Test
+    public void testFlushAddsToExistingTotalsInOneTransaction() throws Exception {
+        ZosMetricsRecorder recorder = new ZosMetricsRecorder();
+        recorder.recordSlotConflict();
+        recorder.recordApiFailover("rseapi");
+
+        HashMap<String, String> current = new HashMap<>();
+        current.put("metrics.slots.conflicts", "4");
+        Mockito.when(dssMock.getPrefix("metrics.")).thenReturn(current);
+
+        recorder.flush(dssMock);
+
+        ArgumentCaptor<IDssAction> actions = ArgumentCaptor.forClass(IDssAction.class);
+        Mockito.verify(dssMock, Mockito.times(1)).performActions(actions.capture());
+        assertThat(actions.getAllValues()).hasSize(2);
+        for (IDssAction action : actions.getAllValues()) {
+            if (action instanceof DssSwap) {
+                DssSwap swap = (DssSwap) action;
+                assertThat(swap.getKey()).isEqualTo("metrics.slots.conflicts");
+                assertThat(swap.getOldValue()).isEqualTo("4");
+                assertThat(swap.getNewValue()).isEqualTo("5");
+            } else {
+                DssAdd add = (DssAdd) action;
+                assertThat(add.getKey()).isEqualTo("metrics.api.rseapi.failovers");
+                assertThat(add.getValue()).isEqualTo("1");
+            }
+        }
+        assertThat(recorder.getPending()).isEmpty();
+    }
+
+    @Test
+    public void testFlushRetriesOnConflict() throws Exception {
+        ZosMetricsRecorder recorder = new ZosMetricsRecorder();
+        recorder.recordSlotConflict();
+
+        Mockito.when(dssMock.getPrefix("metrics.")).thenReturn(new HashMap<>());
+        Mockito.doThrow(new DynamicStatusStoreMatchException()).doNothing().when(dssMock).performActions(Mockito.any());
+
+        recorder.flush(dssMock);
+
+        Mockito.verify(dssMock, Mockito.times(2)).getPrefix("metrics.");
+        Mockito.verify(dssMock, Mockito.times(2)).performActions(Mockito.any());
+    }
+
+    @Test
+    public void testCollectorPublishesCumulativeHistogram() {
+        HashMap<String, String> metrics = new HashMap<>();
+        metrics.put("metrics.slots.allocation.count", "3");
+        metrics.put("metrics.slots.allocation.sum.ms", "1500");
+        metrics.put("metrics.slots.allocation.le.10", "1");
+        metrics.put("metrics.slots.allocation.le.1000", "2");
+        metrics.put("metrics.api.zosmf.GET./zosmf/restfiles/ds.count", "1");
+        metrics.put("metrics.api.zosmf.GET./zosmf/restfiles/ds.errors", "1");
+
+        HashMap<String, ImageSlots> imageSlots = new HashMap<>();
+        imageSlots.put("SYSA", new ImageSlots(1, 4));
+
+        ZosMetricsCollector collector = new ZosMetricsCollector();
+        collector.update(metrics, imageSlots);
+        List<MetricFamilySamples> families = collector.collect();
+
+        assertThat(sample(families, "galasa_zos_image_slot_utilization", "SYSA"))
+            .hasValueSatisfying(s -> assertThat(s.value).isEqualTo(0.25));
+        assertThat(sample(families, "galasa_zos_slot_allocation_seconds_bucket", "1.0"))
+            .hasValueSatisfying(s -> assertThat(s.value).isEqualTo(3.0));
+        assertThat(sample(families, "galasa_zos_slot_allocation_seconds_bucket", "0.5"))
+            .hasValueSatisfying(s -> assertThat(s.value).isEqualTo(1.0));
+        assertThat(sample(families, "galasa_zos_slot_allocation_seconds_sum", null))
+            .hasValueSatisfying(s -> assertThat(s.value).isEqualTo(1.5));
+        assertThat(sample(families, "galasa_zos_api_request_errors_total", null))
+            .hasValueSatisfying(s -> assertThat(s.labelValues).containsExactly("zosmf", "GET", "/zosmf/restfiles/ds"));
+    }
+
+    private Optional<Sample> sample(List<MetricFamilySamples> families, String name, String labelValue) {
+        return families.stream()
+            .flatMap(f -> f.samples.stream())
+            .filter(s -> s.name.equals(name))
+            .filter(s -> labelValue == null || s.labelValues.contains(labelValue))
+            .findFirst();
+    }
+}
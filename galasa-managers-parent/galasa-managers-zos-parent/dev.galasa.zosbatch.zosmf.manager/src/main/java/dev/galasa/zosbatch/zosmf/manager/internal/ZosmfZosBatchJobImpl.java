@@ -97,6 +97,9 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
     private static final String QUERY = "?";
     public static final String RESTJOBS_PATH = SLASH + "zosmf" + SLASH + "restjobs" + SLASH + "jobs";
     
+    //*** The most records retrieved by one request for a range of spool file records
+    private static final int MAX_SPOOL_RECORDS = 100000;
+    
     private static final String LOG_JOB_NOT_SUBMITTED = "Job has not been submitted by manager";
     
     private static final Log logger = LogFactory.getLog(ZosmfZosBatchJobImpl.class);
@@ -337,6 +340,19 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
         }
         return null;
     }
+    
+    @Override
+    public String retrieveSpoolFileRecords(String ddname, int firstRecord) throws ZosBatchException {
+        Iterator<IZosBatchJobOutputSpoolFile> spoolFilesIterator = listSpoolFiles().iterator();
+        while (spoolFilesIterator.hasNext()) {
+            IZosBatchJobOutputSpoolFile spoolFile = spoolFilesIterator.next();
+            if (spoolFile.getDdname().equals(ddname)) {
+                // Any records after the range are returned by the next call
+                return getSpoolFileContent(spoolFile.getId(), spoolFile.getStepname(), spoolFile.getProcstep(), ddname, firstRecord + "," + MAX_SPOOL_RECORDS);
+            }
+        }
+        return null;
+    }
 
     @Override
     public void saveOutputToResultsArchive(String rasPath) throws ZosBatchException {
@@ -633,10 +649,17 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected String getSpoolFileContent(String id, String stepname, String procstep, String ddname) throws ZosBatchException {
+        return getSpoolFileContent(id, stepname, procstep, ddname, null);
+    }
+
+    protected String getSpoolFileContent(String id, String stepname, String procstep, String ddname, String recordRange) throws ZosBatchException {
 
     	String path = this.jobFilesPath + "/" + id + "/records";
         HashMap<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
+        if (recordRange != null) {
+            headers.put(ZosmfCustomHeaders.X_IBM_RECORD_RANGE.toString(), recordRange);
+        }
         IZosmfResponse response;
         try {
             response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
@@ -301,6 +301,26 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
         return retrieveAsBinary(this.unixPath);
     }
 
+    @Override
+    public String retrieveAsText(long firstLine, int lines) throws ZosUNIXFileException {
+        if (lines <= 0) {
+            return "";
+        }
+        setDataType(UNIXFileDataType.TEXT);
+        // In text mode the record range is a range of lines
+        return retrieveAsText(this.unixPath, firstLine + "," + lines);
+    }
+
+    @Override
+    public byte[] retrieveAsBinary(long offset, int length) throws ZosUNIXFileException {
+        if (length <= 0) {
+            return new byte[0];
+        }
+        setDataType(UNIXFileDataType.BINARY);
+        // In binary mode the record range is a range of bytes
+        return retrieveAsBinary(this.unixPath, offset + "," + length);
+    }
+
     @Override
     public void saveToResultsArchive(String rasPath) throws ZosUNIXFileException {
         saveToResultsArchive(this.unixPath, rasPath);
@@ -730,8 +750,18 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
 
 
     protected String retrieveAsText(String path) throws ZosUNIXFileException {
+        return retrieveAsText(path, null);
+    }
+
+    /**
+     * @param recordRange the X-IBM-Record-Range to retrieve, null for the whole file
+     */
+    protected String retrieveAsText(String path, String recordRange) throws ZosUNIXFileException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
+        if (recordRange != null) {
+            headers.put(ZosmfCustomHeaders.X_IBM_RECORD_RANGE.toString(), recordRange);
+        }
         String urlPath = RESTFILES_FILE_SYSTEM_PATH + path;
         IZosmfResponse response;
         try {
@@ -769,8 +799,18 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
 
 
     protected byte[] retrieveAsBinary(String path) throws ZosUNIXFileException {
+        return retrieveAsBinary(path, null);
+    }
+
+    /**
+     * @param recordRange the X-IBM-Record-Range to retrieve, null for the whole file
+     */
+    protected byte[] retrieveAsBinary(String path, String recordRange) throws ZosUNIXFileException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
+        if (recordRange != null) {
+            headers.put(ZosmfCustomHeaders.X_IBM_RECORD_RANGE.toString(), recordRange);
+        }
         String urlPath = RESTFILES_FILE_SYSTEM_PATH + path;
         IZosmfResponse response;
         try {
@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.attribute.PosixFilePermissions;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -81,6 +80,7 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
     private IZosUNIXFile sharedResourcesDir;
     private IZosUNIXFile serverResourcesDir;
     private IZosUNIXFile serverSecurityDir;
+    private ZosLibertyServerLogImpl messagesLogWatcher;
 	private int defaultTimeout = -1;
     
     private static final String SLASH_SYBMOL = "/";
@@ -90,6 +90,12 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
     private static final String APP_STOPPED_MESSAGE_ID = "CWWKZ0009I";
     private static final String SERVER_STARTED_MESSAGE_ID = "CWWKF0011I";
     private static final String SERVER_STOPPED_MESSAGE_ID = "CWWKE0036I";
+    private static final Pattern SERVER_STARTED_PATTERN = Pattern.compile(SERVER_STARTED_MESSAGE_ID);
+    private static final Pattern SERVER_STOPPED_PATTERN = Pattern.compile(SERVER_STOPPED_MESSAGE_ID);
+    
+    // The server status command is only a fallback for the messages.log watch
+    private static final long MIN_STATUS_INTERVAL = 5000;
+    private static final long MAX_STATUS_INTERVAL = 30000;
     
     public ZosLibertyServerImpl(ZosLibertyImpl zosLiberty, IZosImage zosImage, String wlpInstallDir, String wlpUserDir, String wlpOutputDir) throws ZosLibertyServerException {
         this.zosLiberty = zosLiberty;
@@ -527,9 +533,13 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
     @Override
     public int waitForStart(int timeout) throws ZosLibertyServerException {
         logger.trace("Waiting " + timeout + "second(s) for Liberty server " +  getServerName() + " to start");
-	    
-        LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-	    while (LocalDateTime.now().isBefore(timeoutTime)) {
+        
+        long timeoutTime = System.currentTimeMillis() + timeout * 1000L;
+        ZosLibertyServerLogImpl messagesLog = getMessagesLogWatcher();
+        long offset = messagesLog.currentOffset();
+        long statusInterval = MIN_STATUS_INTERVAL;
+        while (true) {
+            // The server may have started before the wait, so check the status as well as watching for the message
             if (this.zosLibertySeverJob == null || this.zosLibertySeverJob.getStatus() == JobStatus.ACTIVE) {
                 if (status() == 0) {
                     return 0;
@@ -542,11 +552,15 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
                     return status();
                 }
             }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
+            long remaining = timeoutTime - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
             }
+            if (messagesLog.waitForPatternAfter(SERVER_STARTED_PATTERN, offset, Math.min(statusInterval, remaining)) != null) {
+                logger.trace("Liberty server " + getServerName() + " issued " + SERVER_STARTED_MESSAGE_ID);
+                return 0;
+            }
+            statusInterval = Math.min(statusInterval * 2, MAX_STATUS_INTERVAL);
         }
         return status();
     }
@@ -600,16 +614,23 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
             }
         } else {
             logger.trace("Waiting " + timeout + " second(s) for Liberty server " +  getServerName() + " to stop");
-            LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(timeout);
-    	    while (LocalDateTime.now().isBefore(timeoutTime)) {
+            long timeoutTime = System.currentTimeMillis() + timeout * 1000L;
+            ZosLibertyServerLogImpl messagesLog = getMessagesLogWatcher();
+            long offset = messagesLog.currentOffset();
+            long statusInterval = MIN_STATUS_INTERVAL;
+            while (true) {
                 if (status() == 1) {
                     return 1;
                 }
-                try {
-                    Thread.sleep(3000);
-                } catch (InterruptedException e) {
-                    throw new ZosLibertyServerException("Interrupted during wait", e);
+                long remaining = timeoutTime - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                if (messagesLog.waitForPatternAfter(SERVER_STOPPED_PATTERN, offset, Math.min(statusInterval, remaining)) != null) {
+                    logger.trace("Liberty server " + getServerName() + " issued " + SERVER_STOPPED_MESSAGE_ID);
+                    return 1;
                 }
+                statusInterval = Math.min(statusInterval * 2, MAX_STATUS_INTERVAL);
             }
         }
         return status();
@@ -992,6 +1013,24 @@ public class ZosLibertyServerImpl implements IZosLibertyServer {
         return rc;
     }
 
+    /**
+     * A log object for messages.log that is used by the start and stop waits. Unlike the logs from
+     * {@link #getLogs()} it exists before the server has created the file, and it keeps the content
+     * already retrieved between waits
+     */
+    private ZosLibertyServerLogImpl getMessagesLogWatcher() throws ZosLibertyServerException {
+        if (this.messagesLogWatcher == null) {
+            try {
+                IZosUNIXFile messagesLogFile = this.zosFileHandler.newUNIXFile(getLogsDirectory().getUnixPath() + "messages.log", getZosImage());
+                messagesLogFile.setDataType(UNIXFileDataType.BINARY);
+                this.messagesLogWatcher = new ZosLibertyServerLogImpl(messagesLogFile, this.zosLibertyManager.getLogScanner());
+            } catch (ZosUNIXFileException | ZosLibertyManagerException e) {
+                throw new ZosLibertyServerException("Unable to get messages.log", e);
+            }
+        }
+        return this.messagesLogWatcher;
+    }
+
     private String archiveJob(String rasPath) throws ZosLibertyServerException {
         try {
             rasPath = rasPath + SLASH_SYBMOL +
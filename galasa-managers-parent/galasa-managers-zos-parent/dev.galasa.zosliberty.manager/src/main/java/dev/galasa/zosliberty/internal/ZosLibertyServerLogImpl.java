@@ -10,7 +10,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Calendar;
 import java.util.regex.Pattern;
 
 import org.apache.commons.logging.Log;
@@ -21,6 +20,7 @@ import dev.galasa.textscan.ITextScannable;
 import dev.galasa.textscan.IncorrectOccurrencesException;
 import dev.galasa.textscan.MissingTextException;
 import dev.galasa.textscan.TextScanException;
+import dev.galasa.textscan.spi.PolledLog;
 import dev.galasa.zosfile.IZosUNIXFile;
 import dev.galasa.zosfile.ZosUNIXFileException;
 import dev.galasa.zosliberty.IZosLibertyServerLog;
@@ -37,6 +37,10 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
     private static final String LOG_PROBLEM_SEARCHING_LOG = "Problem searching log for ";
     private static final String LOG_SINCE_CHECKPOINT = " since last checkpoint";
 
+    private static final String LOG_PROBLEM_WAITING_FOR_LOG = "Problem waiting in log for ";
+
+    private final PolledLog polledLog = new PolledLog(logSource());
+
     public ZosLibertyServerLogImpl(IZosUNIXFile zosUnixFile, ILogScanner logScanner) throws ZosLibertyServerException {
         this.zosUnixFile = zosUnixFile;
         this.scannableName = this.zosUnixFile.getUnixPath();
@@ -79,6 +83,7 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
             if (checkExists()) {
                 this.zosUnixFile.delete();
             }
+            this.polledLog.reset();
         } catch (ZosUNIXFileException e) {
             throw new ZosLibertyServerException("Unable to delete Log", e);
         }
@@ -226,133 +231,114 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
 
     @Override
     public String waitForText(String searchText, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForText(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForText(searchText, null, millisecondTimeout);
     }
 
     @Override
     public String waitForText(String searchText, String failText, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForText(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
+        try {
+            return this.polledLog.waitForText(searchText, failText, 0, millisecondTimeout);
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException(LOG_PROBLEM_WAITING_FOR_LOG + searchText, e);
         }
-        return null;
     }
 
     @Override
     public String waitForTextSinceCheckpoint(String searchText, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) { 
-            String returnText = searchForTextSinceCheckpoint(searchText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForTextSinceCheckpoint(searchText, null, millisecondTimeout);
     }
 
     @Override
     public String waitForTextSinceCheckpoint(String searchText, String failText, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeoutTimeInMilliseconds = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeoutTimeInMilliseconds) { 
-            String returnText = searchForTextSinceCheckpoint(searchText, failText);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
+        try {
+            return this.polledLog.waitForText(searchText, failText, getCheckpoint(), millisecondTimeout);
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException(LOG_PROBLEM_WAITING_FOR_LOG + searchText + LOG_SINCE_CHECKPOINT, e);
         }
-        return null;
     }
 
     @Override
     public String waitForPattern(Pattern searchPattern, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForPattern(searchPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForPattern(searchPattern, null, millisecondTimeout);
     }
 
     @Override
     public String waitForPattern(Pattern searchPattern, Pattern failPattern, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForPattern(searchPattern, failPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
+        try {
+            return this.polledLog.waitForPattern(searchPattern, failPattern, 0, millisecondTimeout);
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException(LOG_PROBLEM_WAITING_FOR_LOG + searchPattern, e);
         }
-        return null;
     }
 
     @Override
     public String waitForPatternSinceCheckpoint(Pattern searchPattern, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForPatternSinceCheckpoint(searchPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
-            }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
-            }
-        }
-        return null;
+        return waitForPatternSinceCheckpoint(searchPattern, null, millisecondTimeout);
     }
 
     @Override
     public String waitForPatternSinceCheckpoint(Pattern searchPattern, Pattern failPattern, long millisecondTimeout) throws ZosLibertyServerException {
-        long timeout = Calendar.getInstance().getTimeInMillis() + millisecondTimeout;
-        while(Calendar.getInstance().getTimeInMillis() < timeout) {
-            String returnText = searchForPatternSinceCheckpoint(searchPattern, failPattern);
-            if (returnText != null && !returnText.isEmpty()) {
-                return returnText;
+        try {
+            return this.polledLog.waitForPattern(searchPattern, failPattern, getCheckpoint(), millisecondTimeout);
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException(LOG_PROBLEM_WAITING_FOR_LOG + searchPattern + LOG_SINCE_CHECKPOINT, e);
+        }
+    }
+
+    /**
+     * The current size of the log in bytes, to pass to {@link #waitForPatternAfter(Pattern, long, long)}
+     */
+    protected long currentOffset() throws ZosLibertyServerException {
+        try {
+            return this.polledLog.getContentSize();
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException("Problem retrieving content of log", e);
+        }
+    }
+
+    /**
+     * Wait for a pattern in the output written to the log after an offset, leaving the checkpoint unchanged
+     */
+    protected String waitForPatternAfter(Pattern searchPattern, long offset, long millisecondTimeout) throws ZosLibertyServerException {
+        try {
+            return this.polledLog.waitForPattern(searchPattern, null, offset, millisecondTimeout);
+        } catch (TextScanException e) {
+            throw new ZosLibertyServerException(LOG_PROBLEM_WAITING_FOR_LOG + searchPattern, e);
+        }
+    }
+
+    /**
+     * The log as polled by the wait methods, the size is -1 while the file does not exist
+     */
+    private PolledLog.LogSource logSource() {
+        return new PolledLog.LogSource() {
+            @Override
+            public long getSize() throws TextScanException {
+                try {
+                    return zosUnixFile.exists() ? zosUnixFile.getSize() : -1;
+                } catch (ZosUNIXFileException e) {
+                    throw new TextScanException("Problem retrieving size of log", e);
+                }
             }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                throw new ZosLibertyServerException("Interrupted during wait", e);
+
+            @Override
+            public byte[] retrieve() throws TextScanException {
+                try {
+                    return zosUnixFile.retrieveAsBinary();
+                } catch (ZosUNIXFileException e) {
+                    throw new TextScanException("Problem retrieving content of log", e);
+                }
             }
-        }
-        return null;
+
+            @Override
+            public byte[] retrieve(long offset, int length) throws TextScanException {
+                try {
+                    return zosUnixFile.retrieveAsBinary(offset, length);
+                } catch (ZosUNIXFileException e) {
+                    throw new TextScanException("Problem retrieving new content of log", e);
+                }
+            }
+        };
     }
 
     @Override
@@ -386,11 +372,7 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
 
     @Override
     public String getScannableString() throws TextScanException {
-        try {
-            return new String(((ByteArrayOutputStream) retrieve()).toByteArray());
-        } catch (ZosLibertyServerException e) {
-            throw new TextScanException("Problem retrieving " + getScannableName(), e);
-        }
+        return this.polledLog.getContent();
     }
     
     @Override
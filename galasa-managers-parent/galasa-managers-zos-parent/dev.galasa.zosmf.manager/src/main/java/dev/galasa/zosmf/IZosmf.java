@@ -87,6 +87,10 @@ public interface IZosmf {
          * {@code X-IBM-Option}
          */
         X_IBM_OPTION("X-IBM-Option"),
+        /**
+         * {@code X-IBM-Record-Range}
+         */
+        X_IBM_RECORD_RANGE("X-IBM-Record-Range"),
         /**
          * {@code X-IBM-Requested-Method}
          */
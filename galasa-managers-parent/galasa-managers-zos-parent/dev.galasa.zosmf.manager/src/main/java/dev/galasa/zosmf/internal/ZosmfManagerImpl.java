@@ -200,12 +200,12 @@ public class ZosmfManagerImpl extends AbstractManager implements IZosmfManagerSp
             Map<String, IZosmf> zosmfMap = getZosmfs(image);
             for(IZosmf zosmf : zosmfMap.values()) {
                 if (zosmf.getImage().getImageID().equals(image.getImageID())) {
-                    return new ZosmfRestApiProcessor(zosmfMap);
+                    return new ZosmfRestApiProcessor(zosmfMap, this.zosManager.getMetricsRecorder());
                 }
             }
             throw new ZosmfManagerException("No zOSMF server configured on " + image.getImageID());
         }
-        return new ZosmfRestApiProcessor(getZosmfs(image));
+        return new ZosmfRestApiProcessor(getZosmfs(image), this.zosManager.getMetricsRecorder());
     }
 
 
@@ -22,6 +22,7 @@ import org.apache.http.HttpStatus;
 
 import com.google.gson.JsonObject;
 
+import dev.galasa.zos.spi.IZosMetricsRecorder;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosmf.IZosmf;
 import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
@@ -38,9 +39,21 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
     
     private final HashMap<String, IZosmf> zosmfs = new LinkedHashMap<>();
     
+    private final IZosMetricsRecorder metricsRecorder;
+    
+    private static final String METRICS_API = "zosmf";
+    
+    //*** The number of leading path segments that identify the endpoint, the remainder is variable content
+    private static final int ENDPOINT_SEGMENTS = 3;
+    
     private static final Log logger = LogFactory.getLog(ZosmfRestApiProcessor.class);
     
     public ZosmfRestApiProcessor(Map<String, IZosmf> zosmfs) {
+        this(zosmfs, null);
+    }
+    
+    public ZosmfRestApiProcessor(Map<String, IZosmf> zosmfs, IZosMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
         this.zosmfs.putAll(zosmfs);
         this.currentZosmfImageId = this.zosmfs.entrySet().iterator().next().getKey();
         this.currentZosmf = this.zosmfs.get(this.currentZosmfImageId);
@@ -63,6 +76,10 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
         }
         IZosmfResponse response = null;
         for (int i = 0; i <= ((ZosmfImpl) currentZosmf).getRequestRetry(); i++) {
+            if (i > 0) {
+                recordRetry();
+            }
+            long start = System.currentTimeMillis();
             try {
                 IZosmf zosmfServer = getCurrentZosmfServer();
                 if (headers != null) {
@@ -95,12 +112,15 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
                 }
     
                 if (validStatusCodes.contains(response.getStatusCode())) {
+                    recordRequest(requestType, path, start, false);
                     return response;
                 } else {
+                    recordRequest(requestType, path, start, true);
                     logger.error("Expected HTTP status codes: " + validStatusCodes);
                     getNextZosmf();
                 }
             } catch (ZosmfManagerException e) {
+                recordRequest(requestType, path, start, true);
                 logger.error("Problem with zOSMF request", e);
                 getNextZosmf();
             }
@@ -130,9 +150,24 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
                 }
                 this.currentZosmfImageId = entry.getKey();
                 this.currentZosmf = this.zosmfs.get(this.currentZosmfImageId);
+                if (this.metricsRecorder != null) {
+                    this.metricsRecorder.recordApiFailover(METRICS_API);
+                }
                 return;
             }
         }
         logger.debug("No alternate zOSMF server available");
     }
+
+    protected void recordRequest(ZosmfRequestType requestType, String path, long start, boolean failed) {
+        if (this.metricsRecorder != null) {
+            this.metricsRecorder.recordApiRequest(METRICS_API, requestType.toString(), IZosMetricsRecorder.endpoint(path, ENDPOINT_SEGMENTS), System.currentTimeMillis() - start, failed);
+        }
+    }
+
+    protected void recordRetry() {
+        if (this.metricsRecorder != null) {
+            this.metricsRecorder.recordApiRetry(METRICS_API);
+        }
+    }
 }
@@ -7,7 +7,6 @@ package dev.galasa.zosprogram.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +27,11 @@ public class AbstractZosProgramCompiler {
     
     protected ZosProgramImpl zosProgram;
     
+    private String compileJcl;
+    private ZosProgramCompileCache compileCache;
+    private String cacheKey;
+    private IZosBatchJob cacheCopyJob;
+    
     protected static final String NEWLINE = "\n";
     protected static final String SYSLIN = "DISP=(OLD,DELETE),DSN=&&SYSLIN";
     protected static final String DD = "//         DD ";
@@ -49,7 +53,72 @@ public class AbstractZosProgramCompiler {
     }
     
     protected void compile() throws ZosProgramException {
-        submitCompileJob(buildCompileJcl());
+        submit();
+        waitForCompile();
+    }
+
+    /**
+     * Submit the compile job, or when the compile cache holds a load module for the same
+     * compile JCL, a job to copy it into the loadlib
+     */
+    protected void submit() throws ZosProgramException {
+        this.compileJcl = buildCompileJcl();
+        try {
+            this.compileCache = this.zosProgram.getZosProgramManager().getCompileCache(this.zosProgram.getImage());
+        } catch (ZosProgramManagerException e) {
+            throw new ZosProgramException(e);
+        }
+        if (this.compileCache != null) {
+            this.cacheKey = this.compileCache.buildKey(this.zosProgram, this.compileJcl);
+            if (this.compileCache.isCached(this.cacheKey)) {
+                logger.info("Copying " + this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField() + " from compile cache member " + this.compileCache.getCacheLoadlib() + "(" + this.compileCache.memberName(this.cacheKey) + ")");
+                this.cacheCopyJob = this.compileCache.submitCopyFromCache(this.cacheKey, this.zosProgram);
+                // The copy job built the load module, it is replaced if the program has to be compiled
+                this.zosProgram.setCompileJob(this.cacheCopyJob);
+                return;
+            }
+        }
+        submitCompileJob(this.compileJcl);
+    }
+
+    /**
+     * Wait for the job submitted by {@link #submit()}. If the copy from the compile cache
+     * failed, the program is compiled instead
+     */
+    protected void waitForCompile() throws ZosProgramException {
+        if (this.cacheCopyJob != null) {
+            IZosBatchJob copyJob = this.cacheCopyJob;
+            this.cacheCopyJob = null;
+            if (this.compileCache.waitForCopyJob(copyJob)) {
+                logger.info(this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField() + " copied from compile cache, compile not required");
+                return;
+            }
+            this.compileCache.uncache(this.cacheKey);
+            submitCompileJob(this.compileJcl);
+        }
+        waitForCompileJob();
+        if (this.compileCache != null) {
+            saveToCompileCache();
+        }
+    }
+
+    private void saveToCompileCache() {
+        if (!this.compileCache.claim(this.cacheKey)) {
+            return;
+        }
+        IZosBatchJob copyJob;
+        try {
+            copyJob = this.compileCache.submitCopyToCache(this.cacheKey, this.zosProgram);
+        } catch (ZosProgramException e) {
+            logger.warn("Unable to save " + this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField() + " to the compile cache", e);
+            this.compileCache.unclaim(this.cacheKey);
+            return;
+        }
+        if (this.compileCache.waitForCopyJob(copyJob)) {
+            this.compileCache.cached(this.cacheKey);
+        } else {
+            this.compileCache.unclaim(this.cacheKey);
+        }
     }
 
     protected String buildCompileJcl() throws ZosProgramException {
@@ -63,13 +132,16 @@ public class AbstractZosProgramCompiler {
     }
 
     protected void submitCompileJob(String compileJcl) throws ZosProgramException {
-        IZosBatchJob compileJob;
         try {
-            compileJob = this.zosProgram.getZosProgramManager().getZosBatchForImage(zosProgram.getImage()).submitJob(compileJcl, null);
+            IZosBatchJob compileJob = this.zosProgram.getZosProgramManager().getZosBatchForImage(zosProgram.getImage()).submitJob(compileJcl, null);
             this.zosProgram.setCompileJob(compileJob);
         } catch (ZosBatchException e) {
             throw new ZosProgramException("Problem submitting compile job for " + this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField(), e);
         }
+    }
+
+    protected void waitForCompileJob() throws ZosProgramException {
+        IZosBatchJob compileJob = this.zosProgram.getCompileJob();
         int maxCc;
         try {
             maxCc = compileJob.waitForJob();
@@ -77,12 +149,7 @@ public class AbstractZosProgramCompiler {
             throw new ZosProgramException("Problem waiting for compile job for " + this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField() + ". " + compileJob.toString(), e);
         }
         try {
-        	String folderName = compileJob.getJobname() + "_" + compileJob.getJobId() + "_" + compileJob.getRetcode().replace(" ", "-").replace("????", "UNKNOWN");
-        	Path archivePath = this.zosProgram.getZosProgramManager().getArchivePath();
-        	String uniquePathName = this.zosProgram.getZosProgramManager().getZosManager().buildUniquePathName(archivePath, folderName);
-        	Path rasPath = archivePath.resolve(uniquePathName);
-        	compileJob.saveOutputToResultsArchive(rasPath.toString());
-            compileJob.purge();
+            this.zosProgram.getZosProgramManager().saveJobOutput(compileJob);
         } catch (ZosBatchException e) {
             throw new ZosProgramException("Problem saving compile job output for " + this.zosProgram.getLanguage() + PROGRAM + this.zosProgram.getName() + this.zosProgram.logForField() + ". " + compileJob.toString(), e);
         }
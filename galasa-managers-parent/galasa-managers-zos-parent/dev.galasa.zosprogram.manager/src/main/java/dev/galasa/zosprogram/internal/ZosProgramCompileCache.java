@@ -0,0 +1,214 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosprogram.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.artifact.IBundleResources;
+import dev.galasa.artifact.TestBundleResourceException;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.IZosBatchJob;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosprogram.ZosProgramException;
+
+/**
+ * Cache of link-edited load modules in a shared loadlib, so a program whose compile
+ * and link JCL is unchanged since a previous run is copied rather than compiled.
+ *
+ * The cache key is a SHA-256 hash of the language, the CICS option and the compile JCL
+ * with the target loadlib removed, so it covers the source, the compiler and link-edit
+ * options and the names of the SYSLIB data sets. It does not cover the contents of those
+ * data sets, so a change to a copybook, macro or link-edit library is not seen. The cache
+ * must only be configured where those libraries do not change between runs, and a new
+ * cache loadlib used when they do, as the entries are recorded against the cache loadlib.
+ *
+ * The cached member is named from the start of the hash. A member is claimed in the DSS
+ * before it is saved, and the full hash is recorded once the save worked, so a program
+ * whose hash has the same start as a cached one is compiled but not cached.
+ *
+ */
+public class ZosProgramCompileCache {
+
+    private static final Log logger = LogFactory.getLog(ZosProgramCompileCache.class);
+
+    private static final String DSS_PREFIX = "compile.cache.";
+    private static final String SKEL_NAME = "copyLoadModule.skel";
+    private static final String SYSLMOD_PLACEHOLDER = "++SYSLMOD++";
+    private static final String SAVING_PREFIX = "saving-";
+
+    private final ZosProgramManagerImpl zosProgramManager;
+    private final IZosImage image;
+    private final String cacheLoadlib;
+    private final IDynamicStatusStoreService dss;
+
+    public ZosProgramCompileCache(ZosProgramManagerImpl zosProgramManager, IZosImage image, String cacheLoadlib, IDynamicStatusStoreService dss) {
+        this.zosProgramManager = zosProgramManager;
+        this.image = image;
+        this.cacheLoadlib = cacheLoadlib;
+        this.dss = dss;
+    }
+
+    public String getCacheLoadlib() {
+        return this.cacheLoadlib;
+    }
+
+    protected String buildKey(ZosProgramImpl zosProgram, String compileJcl) throws ZosProgramException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((zosProgram.getLanguage() + "|" + zosProgram.isCics() + "|").getBytes(StandardCharsets.UTF_8));
+            digest.update(compileJcl.replace(zosProgram.getLoadlib().getName(), SYSLMOD_PLACEHOLDER).getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02X", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ZosProgramException("Unable to hash the compile JCL for " + zosProgram.getLanguage() + " program " + zosProgram.getName(), e);
+        }
+    }
+
+    /**
+     * Member names must start with a letter, so use a fixed letter and the start of the hash
+     */
+    protected String memberName(String key) {
+        return "G" + key.substring(0, 7);
+    }
+
+    protected boolean isCached(String key) throws ZosProgramException {
+        try {
+            return key.equals(this.dss.get(dssKey(key)));
+        } catch (DynamicStatusStoreException e) {
+            throw new ZosProgramException("Problem reading the compile cache from the DSS", e);
+        }
+    }
+
+    /**
+     * Claim the cache member for the key before saving the load module to it
+     *
+     * @return false if the member is in use for another key, or is being saved by another run
+     */
+    protected boolean claim(String key) {
+        try {
+            String current = this.dss.get(dssKey(key));
+            if (current == null) {
+                return this.dss.putSwap(dssKey(key), null, SAVING_PREFIX + key);
+            }
+            if (!current.equals(key)) {
+                logger.debug("Compile cache member " + memberName(key) + " is in use for another program, not cached");
+            }
+            return false;
+        } catch (DynamicStatusStoreException e) {
+            logger.warn("Unable to claim compile cache member " + memberName(key) + " in the DSS", e);
+            return false;
+        }
+    }
+
+    /**
+     * Record the load module saved to the member claimed by {@link #claim(String)}
+     */
+    protected void cached(String key) {
+        try {
+            if (!this.dss.putSwap(dssKey(key), SAVING_PREFIX + key, key)) {
+                logger.warn("Compile cache member " + memberName(key) + " was no longer claimed when saved, not recorded");
+            }
+        } catch (DynamicStatusStoreException e) {
+            logger.warn("Unable to record cached load module " + memberName(key) + " in the DSS", e);
+        }
+    }
+
+    /**
+     * Release the claim on a member that could not be saved
+     */
+    protected void unclaim(String key) {
+        remove(key, SAVING_PREFIX + key);
+    }
+
+    /**
+     * Remove a cached load module that could not be copied from the cache
+     */
+    protected void uncache(String key) {
+        remove(key, key);
+    }
+
+    private void remove(String key, String value) {
+        try {
+            if (value.equals(this.dss.get(dssKey(key)))) {
+                this.dss.delete(dssKey(key));
+            }
+        } catch (DynamicStatusStoreException e) {
+            logger.warn("Unable to remove compile cache member " + memberName(key) + " from the DSS", e);
+        }
+    }
+
+    protected IZosBatchJob submitCopyFromCache(String key, ZosProgramImpl zosProgram) throws ZosProgramException {
+        return submitCopyJob(this.cacheLoadlib, memberName(key), zosProgram.getLoadlib().getName(), zosProgram.getName());
+    }
+
+    protected IZosBatchJob submitCopyToCache(String key, ZosProgramImpl zosProgram) throws ZosProgramException {
+        return submitCopyJob(zosProgram.getLoadlib().getName(), zosProgram.getName(), this.cacheLoadlib, memberName(key));
+    }
+
+    /**
+     * Wait for a copy job, save its output and purge it
+     *
+     * @return true if the copy worked, failures are logged but not thrown as the program can always be compiled
+     */
+    protected boolean waitForCopyJob(IZosBatchJob copyJob) {
+        int maxCc;
+        try {
+            maxCc = copyJob.waitForJob();
+        } catch (ZosBatchException e) {
+            logger.warn("Problem waiting for compile cache copy job. " + copyJob.toString(), e);
+            return false;
+        }
+        try {
+            this.zosProgramManager.saveJobOutput(copyJob);
+        } catch (ZosBatchException e) {
+            logger.warn("Problem saving compile cache copy job output. " + copyJob.toString(), e);
+        }
+        if (maxCc < 0 || maxCc > 4) {
+            logger.warn("Compile cache copy job failed: " + copyJob.getRetcode() + ". " + copyJob.toString());
+            return false;
+        }
+        return true;
+    }
+
+    private IZosBatchJob submitCopyJob(String fromDsn, String fromMember, String toDsn, String toMember) throws ZosProgramException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("FROM.DSN", fromDsn);
+        parameters.put("FROM.MEMBER", fromMember);
+        parameters.put("TO.DSN", toDsn);
+        parameters.put("TO.MEMBER", toMember);
+        String copyJcl;
+        IBundleResources managerBundleResources = this.zosProgramManager.getManagerBundleResources();
+        try {
+            InputStream inputStream = managerBundleResources.retrieveSkeletonFile("resources/" + SKEL_NAME, parameters);
+            copyJcl = managerBundleResources.streamAsString(inputStream);
+        } catch (TestBundleResourceException | IOException e) {
+            throw new ZosProgramException("Problem loading JCL skeleton", e);
+        }
+        try {
+            return this.zosProgramManager.getZosBatchForImage(this.image).submitJob(copyJcl, null);
+        } catch (ZosBatchException e) {
+            throw new ZosProgramException("Problem submitting compile cache copy job for " + fromDsn + "(" + fromMember + ")", e);
+        }
+    }
+
+    private String dssKey(String key) {
+        return DSS_PREFIX + this.image.getImageID() + "." + this.cacheLoadlib + "." + memberName(key);
+    }
+}
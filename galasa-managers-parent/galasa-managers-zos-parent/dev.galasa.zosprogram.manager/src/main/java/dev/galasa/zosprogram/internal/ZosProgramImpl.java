@@ -170,28 +170,37 @@ public class ZosProgramImpl implements IZosProgram {
 
     @Override
     public IZosProgram compile() throws ZosProgramManagerException {
+        submitCompile().waitForCompile();
+        return this;
+    }
+
+    /**
+     * Submit the compile without waiting for it, so several programs can compile at once
+     * 
+     * @return the compiler, call {@link AbstractZosProgramCompiler#waitForCompile()} to complete the compile
+     * @throws ZosProgramManagerException
+     */
+    protected AbstractZosProgramCompiler submitCompile() throws ZosProgramManagerException {
         logger.info("Compile " + getLanguage() + " program \"" + getName() + "\"" + logForField());
+        AbstractZosProgramCompiler compiler;
         switch (getLanguage()) {
         case ASSEMBLER:
-            ZosAssemblerProgramCompiler assemblerProgram = new ZosAssemblerProgramCompiler(this);
-            assemblerProgram.compile();
+            compiler = new ZosAssemblerProgramCompiler(this);
             break;
         case COBOL:
-            ZosCobolProgramCompiler cobolProgram = new ZosCobolProgramCompiler(this);
-            cobolProgram.compile();
+            compiler = new ZosCobolProgramCompiler(this);
             break;
         case C:
-            ZosCProgramCompiler cProgram = new ZosCProgramCompiler(this);
-            cProgram.compile();
+            compiler = new ZosCProgramCompiler(this);
             break;
         case PL1:
-            ZosPl1ProgramCompiler pl1Program = new ZosPl1ProgramCompiler(this);
-            pl1Program.compile();
+            compiler = new ZosPl1ProgramCompiler(this);
             break;
         default:
             throw new ZosProgramManagerException("Invalid program language: " + getLanguage());
         }
-        return this;
+        compiler.submit();
+        return compiler;
     }
 
     protected boolean getCompile() {
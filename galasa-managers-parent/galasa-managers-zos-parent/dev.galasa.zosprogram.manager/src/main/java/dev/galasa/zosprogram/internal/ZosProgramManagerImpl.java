@@ -8,6 +8,8 @@ package dev.galasa.zosprogram.internal;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
@@ -24,7 +26,9 @@ import dev.galasa.artifact.IBundleResources;
 import dev.galasa.framework.spi.AbstractManager;
 import dev.galasa.framework.spi.AnnotatedField;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.GenerateAnnotatedField;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
 import dev.galasa.framework.spi.ResourceUnavailableException;
@@ -33,6 +37,8 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.spi.IZosManagerSpi;
 import dev.galasa.zosbatch.IZosBatch;
+import dev.galasa.zosbatch.IZosBatchJob;
+import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosbatch.spi.IZosBatchSpi;
 import dev.galasa.zosfile.IZosDataset;
 import dev.galasa.zosfile.IZosDataset.DSType;
@@ -44,6 +50,7 @@ import dev.galasa.zosprogram.IZosProgram;
 import dev.galasa.zosprogram.ZosProgram;
 import dev.galasa.zosprogram.ZosProgram.Language;
 import dev.galasa.zosprogram.ZosProgramManagerException;
+import dev.galasa.zosprogram.internal.properties.CompileCacheLoadlib;
 import dev.galasa.zosprogram.internal.properties.ZosProgramPropertiesSingleton;
 import dev.galasa.zosprogram.spi.IZosProgramManagerSpi;
 
@@ -103,6 +110,10 @@ public class ZosProgramManagerImpl extends AbstractManager implements IZosProgra
     protected IZosDataset runLoadlib;
 
     private final LinkedHashMap<String, ZosProgramImpl> zosPrograms = new LinkedHashMap<>();
+
+    private final HashMap<String, ZosProgramCompileCache> compileCaches = new HashMap<>();
+
+    private IDynamicStatusStoreService dss;
     
     /* (non-Javadoc)
      * @see dev.galasa.framework.spi.AbstractManager#initialise(dev.galasa.framework.spi.IFramework, java.util.List, java.util.List, java.lang.Class)
@@ -185,13 +196,36 @@ public class ZosProgramManagerImpl extends AbstractManager implements IZosProgra
     	this.archivePath = getFramework().getResultArchiveStore().getStoredArtifactsRoot().resolve(PROVISIONING).resolve(ZOSBATCH_JOBS).resolve(PRE_TEST);
         this.managerBundleResources = artifactManager.getBundleResources(this.getClass());
         this.testBundleResources = artifactManager.getBundleResources(getTestClass());
+        // Submit all the compiles before waiting for any of them
+        ArrayList<AbstractZosProgramCompiler> compilers = new ArrayList<>();
+        ZosProgramManagerException compileException = null;
         for (Entry<String, ZosProgramImpl> entry : zosPrograms.entrySet()) {
             if (entry.getValue().getCompile()) {
-                entry.getValue().compile();
+                try {
+                    compilers.add(entry.getValue().submitCompile());
+                } catch (ZosProgramManagerException e) {
+                    compileException = e;
+                    break;
+                }
             } else {
                 logger.warn("WARNING: " + entry.getValue().getLanguage() + " program \"" + entry.getValue().getName() + "\"" + ((ZosProgramImpl) entry.getValue()).logForField() + " is set to \"compile = false\" and has not been compiled");
             }
         }
+        // Wait for every submitted job, so none are left on the spool, and report the first failure
+        for (AbstractZosProgramCompiler compiler : compilers) {
+            try {
+                compiler.waitForCompile();
+            } catch (ZosProgramManagerException e) {
+                if (compileException == null) {
+                    compileException = e;
+                } else {
+                    logger.error("Additional compile failure", e);
+                }
+            }
+        }
+        if (compileException != null) {
+            throw compileException;
+        }
     }
     
     @GenerateAnnotatedField(annotation=ZosProgram.class)
@@ -223,6 +257,33 @@ public class ZosProgramManagerImpl extends AbstractManager implements IZosProgra
         return zosBatch.getZosBatch(image);
     }
     
+    protected synchronized ZosProgramCompileCache getCompileCache(IZosImage image) throws ZosProgramManagerException {
+        String imageId = image.getImageID();
+        if (!compileCaches.containsKey(imageId)) {
+            ZosProgramCompileCache compileCache = null;
+            String cacheLoadlib = CompileCacheLoadlib.get(imageId);
+            if (cacheLoadlib != null) {
+                try {
+                    if (this.dss == null) {
+                        this.dss = getFramework().getDynamicStatusStoreService(NAMESPACE);
+                    }
+                } catch (DynamicStatusStoreException e) {
+                    throw new ZosProgramManagerException("Unable to request framework services", e);
+                }
+                compileCache = new ZosProgramCompileCache(this, image, cacheLoadlib, this.dss);
+            }
+            compileCaches.put(imageId, compileCache);
+        }
+        return compileCaches.get(imageId);
+    }
+
+    protected void saveJobOutput(IZosBatchJob job) throws ZosBatchException {
+        String folderName = job.getJobname() + "_" + job.getJobId() + "_" + job.getRetcode().replace(" ", "-").replace("????", "UNKNOWN");
+        String uniquePathName = getZosManager().buildUniquePathName(getArchivePath(), folderName);
+        job.saveOutputToResultsArchive(getArchivePath().resolve(uniquePathName).toString());
+        job.purge();
+    }
+    
     public IZosDataset getRunLoadlib(IZosImage image) throws ZosProgramManagerException {
         if (runLoadlib == null) {
             try {
@@ -0,0 +1,46 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosprogram.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosprogram.ZosProgramManagerException;
+
+/**
+ * zOS Program compile cache loadlib
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosprogram.cache.[imageid].loadlib
+ * 
+ * @galasa.description The name of a shared PDSE load library used to cache link-edited load modules between runs. When a 
+ * program's compile and link JCL is unchanged since a previous run, the cached load module is copied into the loadlib instead 
+ * of the program being compiled. The data set must exist and be allocated with RECFM=U.<br>
+ * Only the names of the SYSLIB data sets are compared, not their contents, so only set this where the copybook, macro and 
+ * link-edit libraries do not change between runs, and use a new cache loadlib when they do
+ *  
+ * @galasa.required No
+ * 
+ * @galasa.default None, programs are always compiled
+ * 
+ * @galasa.valid_values A valid zOS data set name
+ * 
+ * @galasa.examples 
+ * <code>zosprogram.cache.MVSA.loadlib=GALASA.PROGRAM.CACHE.LOAD</code><br>
+ * <code>zosprogram.cache.default.loadlib=GALASA.PROGRAM.CACHE.LOAD</code>
+ *
+ */
+public class CompileCacheLoadlib extends CpsProperties {
+
+    public static String get(String imageId) throws ZosProgramManagerException {
+        try {
+            return getStringNulled(ZosProgramPropertiesSingleton.cps(), "cache", "loadlib", imageId);
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ZosProgramManagerException("Problem asking the CPS for the zOS program compile cache loadlib for zOS image "  + imageId, e);
+        }
+    }
+
+}
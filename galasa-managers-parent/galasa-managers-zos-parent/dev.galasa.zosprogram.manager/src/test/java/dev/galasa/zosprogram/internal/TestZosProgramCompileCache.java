@@ -0,0 +1,135 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosprogram.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.IZosBatchJob;
+import dev.galasa.zosfile.IZosDataset;
+import dev.galasa.zosprogram.ZosProgram.Language;
+
+public class TestZosProgramCompileCache {
+
+    private static final String CACHE_LOADLIB = "GALASA.CACHE.LOAD";
+
+    private static final String RUN_LOADLIB = "GALASA.RUN1.LOAD";
+
+    private static final String JCL = "//SYSLMOD  DD DISP=SHR,DSN=" + RUN_LOADLIB + "(PROG1)";
+
+    private ZosProgramManagerImpl zosProgramManagerMock;
+
+    private IDynamicStatusStoreService dssMock;
+
+    private ZosProgramImpl zosProgramMock;
+
+    private ZosProgramCompileCache compileCache;
+
+    private String key;
+
+    private String dssKey;
+
+    @Before
+    public void setup() throws Exception {
+        zosProgramManagerMock = Mockito.mock(ZosProgramManagerImpl.class);
+        dssMock = Mockito.mock(IDynamicStatusStoreService.class);
+
+        IZosImage imageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(imageMock.getImageID()).thenReturn("IMAGE");
+
+        IZosDataset loadlibMock = Mockito.mock(IZosDataset.class);
+        Mockito.when(loadlibMock.getName()).thenReturn(RUN_LOADLIB);
+
+        zosProgramMock = Mockito.mock(ZosProgramImpl.class);
+        Mockito.when(zosProgramMock.getName()).thenReturn("PROG1");
+        Mockito.when(zosProgramMock.getLanguage()).thenReturn(Language.COBOL);
+        Mockito.when(zosProgramMock.getLoadlib()).thenReturn(loadlibMock);
+        Mockito.when(zosProgramMock.getImage()).thenReturn(imageMock);
+        Mockito.when(zosProgramMock.getZosProgramManager()).thenReturn(zosProgramManagerMock);
+
+        compileCache = new ZosProgramCompileCache(zosProgramManagerMock, imageMock, CACHE_LOADLIB, dssMock);
+        key = compileCache.buildKey(zosProgramMock, JCL);
+        dssKey = "compile.cache.IMAGE." + CACHE_LOADLIB + "." + compileCache.memberName(key);
+    }
+
+    @Test
+    public void testKeyIgnoresTheRunLoadlib() throws Exception {
+        IZosDataset otherLoadlibMock = Mockito.mock(IZosDataset.class);
+        Mockito.when(otherLoadlibMock.getName()).thenReturn("GALASA.RUN2.LOAD");
+        Mockito.when(zosProgramMock.getLoadlib()).thenReturn(otherLoadlibMock);
+
+        assertThat(compileCache.buildKey(zosProgramMock, JCL.replace(RUN_LOADLIB, "GALASA.RUN2.LOAD"))).isEqualTo(key);
+        assertThat(compileCache.buildKey(zosProgramMock, JCL + "\n//SYSLIB   DD DISP=SHR,DSN=OTHER.COPYLIB")).isNotEqualTo(key);
+    }
+
+    @Test
+    public void testClaimFreeMember() throws Exception {
+        Mockito.when(dssMock.putSwap(dssKey, null, "saving-" + key)).thenReturn(true);
+
+        assertThat(compileCache.claim(key)).isTrue();
+    }
+
+    @Test
+    public void testClaimMemberInUseForAnotherKey() throws Exception {
+        Mockito.when(dssMock.get(dssKey)).thenReturn("ANOTHERKEY");
+
+        assertThat(compileCache.claim(key)).isFalse();
+        Mockito.verify(dssMock, Mockito.never()).putSwap(Mockito.anyString(), Mockito.any(), Mockito.anyString());
+        Mockito.verify(dssMock, Mockito.never()).put(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void testCachedOnlyWhenRecordedForTheKey() throws Exception {
+        assertThat(compileCache.isCached(key)).isFalse();
+
+        Mockito.when(dssMock.get(dssKey)).thenReturn("saving-" + key);
+        assertThat(compileCache.isCached(key)).isFalse();
+
+        compileCache.cached(key);
+        Mockito.verify(dssMock).putSwap(dssKey, "saving-" + key, key);
+
+        Mockito.when(dssMock.get(dssKey)).thenReturn(key);
+        assertThat(compileCache.isCached(key)).isTrue();
+    }
+
+    @Test
+    public void testUncacheLeavesAnotherKey() throws Exception {
+        Mockito.when(dssMock.get(dssKey)).thenReturn("ANOTHERKEY");
+        compileCache.uncache(key);
+        compileCache.unclaim(key);
+        Mockito.verify(dssMock, Mockito.never()).delete(dssKey);
+
+        Mockito.when(dssMock.get(dssKey)).thenReturn(key);
+        compileCache.uncache(key);
+        Mockito.verify(dssMock).delete(dssKey);
+    }
+
+    @Test
+    public void testCacheHitSetsTheCompileJob() throws Exception {
+        ZosProgramCompileCache compileCacheMock = Mockito.mock(ZosProgramCompileCache.class);
+        IZosBatchJob copyJobMock = Mockito.mock(IZosBatchJob.class);
+        Mockito.when(zosProgramManagerMock.getCompileCache(Mockito.any())).thenReturn(compileCacheMock);
+        Mockito.when(compileCacheMock.buildKey(zosProgramMock, JCL)).thenReturn(key);
+        Mockito.when(compileCacheMock.isCached(key)).thenReturn(true);
+        Mockito.when(compileCacheMock.submitCopyFromCache(key, zosProgramMock)).thenReturn(copyJobMock);
+
+        AbstractZosProgramCompiler compiler = new AbstractZosProgramCompiler(zosProgramMock) {
+            @Override
+            protected String buildCompileJcl() {
+                return JCL;
+            }
+        };
+        compiler.submit();
+
+        Mockito.verify(zosProgramMock).setCompileJob(copyJobMock);
+    }
+
+}
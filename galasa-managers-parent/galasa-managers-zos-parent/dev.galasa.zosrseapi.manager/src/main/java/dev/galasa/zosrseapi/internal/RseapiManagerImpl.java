@@ -211,11 +211,11 @@ public class RseapiManagerImpl extends AbstractManager implements IRseapiManager
             Map<String, IRseapi> rseapiMap = getRseapis(image);
             for(IRseapi rseapi : rseapiMap.values()) {
                 if (rseapi.getImage().getImageID().equals(image.getImageID())) {
-                    return new RseapiRestApiProcessor(rseapiMap);
+                    return new RseapiRestApiProcessor(rseapiMap, this.zosManager.getMetricsRecorder());
                 }
             }
             throw new RseapiManagerException("No RSE API server configured on " + image.getImageID());
         }
-        return new RseapiRestApiProcessor(getRseapis(image));
+        return new RseapiRestApiProcessor(getRseapis(image), this.zosManager.getMetricsRecorder());
     }
 }
@@ -22,6 +22,7 @@ import org.apache.http.HttpStatus;
 
 import com.google.gson.JsonObject;
 
+import dev.galasa.zos.spi.IZosMetricsRecorder;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosrseapi.IRseapi;
 import dev.galasa.zosrseapi.IRseapiResponse;
@@ -37,9 +38,21 @@ public class RseapiRestApiProcessor implements IRseapiRestApiProcessor {
     
     private final HashMap<String, IRseapi> rseapis = new LinkedHashMap<>();
     
+    private final IZosMetricsRecorder metricsRecorder;
+    
+    private static final String METRICS_API = "rseapi";
+    
+    //*** The number of leading path segments that identify the endpoint, the remainder is variable content
+    private static final int ENDPOINT_SEGMENTS = 4;
+    
     private static final Log logger = LogFactory.getLog(RseapiRestApiProcessor.class);
     
     public RseapiRestApiProcessor(Map<String, IRseapi> rseapis) {
+        this(rseapis, null);
+    }
+    
+    public RseapiRestApiProcessor(Map<String, IRseapi> rseapis, IZosMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
         this.rseapis.putAll(rseapis);
         this.currentRseapiImageId = this.rseapis.entrySet().iterator().next().getKey();
         this.currentRseapi = this.rseapis.get(this.currentRseapiImageId);
@@ -66,6 +79,10 @@ public class RseapiRestApiProcessor implements IRseapiRestApiProcessor {
         }
         IRseapiResponse response = null;
         for (int i = 0; i <= ((RseapiImpl) currentRseapi).getRequestRetry(); i++) {
+            if (i > 0) {
+                recordRetry();
+            }
+            long start = System.currentTimeMillis();
             try {
                 IRseapi rseapiServer = getCurrentRseapiServer();
                 if (headers != null) {
@@ -98,12 +115,15 @@ public class RseapiRestApiProcessor implements IRseapiRestApiProcessor {
                 }
     
                 if (validStatusCodes.contains(response.getStatusCode())) {
+                    recordRequest(requestType, path, start, false);
                     return response;
                 } else {
+                    recordRequest(requestType, path, start, true);
                     logger.error("Expected HTTP status codes: " + validStatusCodes);
                     getNextRseapi();
                 }
             } catch (RseapiManagerException e) {
+                recordRequest(requestType, path, start, true);
                 logger.error("Problem with RSE API request", e);
                 getNextRseapi();
             }
@@ -133,9 +153,24 @@ public class RseapiRestApiProcessor implements IRseapiRestApiProcessor {
                 }
                 this.currentRseapiImageId = entry.getKey();
                 this.currentRseapi = this.rseapis.get(this.currentRseapiImageId);
+                if (this.metricsRecorder != null) {
+                    this.metricsRecorder.recordApiFailover(METRICS_API);
+                }
                 return;
             }
         }
         logger.debug("No alternate RSE API server available");
     }
+
+    protected void recordRequest(RseapiRequestType requestType, String path, long start, boolean failed) {
+        if (this.metricsRecorder != null) {
+            this.metricsRecorder.recordApiRequest(METRICS_API, requestType.toString(), IZosMetricsRecorder.endpoint(path, ENDPOINT_SEGMENTS), System.currentTimeMillis() - start, failed);
+        }
+    }
+
+    protected void recordRetry() {
+        if (this.metricsRecorder != null) {
+            this.metricsRecorder.recordApiRetry(METRICS_API);
+        }
+    }
 }